@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.services.AlgorithmService;
+import org.planqk.atlas.core.services.ImplementationService;
+import org.planqk.atlas.core.services.LinkingService;
+import org.planqk.atlas.core.services.PublicationService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures the deletion of an algorithm with the given amount of implementations, each linked to a publication, by
+ * the {@link AlgorithmService}.
+ * <p>
+ * The benchmark runs against a PostgreSQL database, see {@link BenchmarkApplication}. The deleted algorithms are
+ * created before each invocation, so each measurement is a single deletion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = AlgorithmDeleteBenchmark.WARMUP_DELETIONS)
+@Measurement(iterations = AlgorithmDeleteBenchmark.MEASURED_DELETIONS)
+@Fork(1)
+public class AlgorithmDeleteBenchmark {
+
+    static final int WARMUP_DELETIONS = 10;
+
+    static final int MEASURED_DELETIONS = 20;
+
+    @Param({"10", "100", "1000"})
+    private int implementations;
+
+    private ConfigurableApplicationContext context;
+
+    private AlgorithmService algorithmService;
+
+    private ImplementationService implementationService;
+
+    private LinkingService linkingService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private UUID publicationId;
+
+    private UUID algorithmId;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.run();
+        algorithmService = context.getBean(AlgorithmService.class);
+        implementationService = context.getBean(ImplementationService.class);
+        linkingService = context.getBean(LinkingService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        final Publication publication = new Publication();
+        publication.setTitle("Benchmark publication");
+        publication.setAuthors(List.of("Benchmark author"));
+        publicationId = context.getBean(PublicationService.class).create(publication).getId();
+    }
+
+    @Setup(Level.Invocation)
+    public void createAlgorithm() {
+        algorithmId = transactionTemplate.execute(status -> {
+            final Algorithm algorithm = new ClassicAlgorithm();
+            algorithm.setName("Benchmark algorithm");
+            algorithm.setComputationModel(ComputationModel.CLASSIC);
+            final UUID id = algorithmService.create(algorithm).getId();
+            for (int i = 0; i < implementations; i++) {
+                final Implementation implementation = new Implementation();
+                implementation.setName("Benchmark implementation " + i);
+                final UUID implementationId = implementationService.create(implementation, id).getId();
+                linkingService.linkImplementationAndPublication(implementationId, publicationId);
+            }
+            return id;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void deleteAlgorithm() {
+        algorithmService.delete(algorithmId);
+    }
+}
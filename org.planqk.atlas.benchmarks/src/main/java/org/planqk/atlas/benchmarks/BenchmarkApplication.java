@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.planqk.atlas.web.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Starts the application for the benchmarks and load tests that run against the services and their PostgreSQL
+ * database.
+ * <p>
+ * If the system property {@code spring.datasource.url} is set, e.g. by {@code -jvmArgsAppend
+ * "-Dspring.datasource.url=jdbc:postgresql://localhost:5060/planqk -Dspring.datasource.username=planqk
+ * -Dspring.datasource.password=planqk"}, the benchmarks use that database. Otherwise a PostgreSQL container is started
+ * with Testcontainers, which requires Docker, and shared by all benchmarks of the forked JVM.
+ * <p>
+ * The search index is enabled, each context uses a new, empty search index directory, as an index left by an earlier
+ * run does not match the database.
+ */
+final class BenchmarkApplication {
+
+    private static final String IMAGE = "postgres:12-alpine";
+
+    private static PostgreSQLContainer<?> container;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext run() {
+        return run(WebApplicationType.NONE);
+    }
+
+    /**
+     * Start the application with its web server on a random port, see {@link #getBaseUrl(ConfigurableApplicationContext)}.
+     */
+    static ConfigurableApplicationContext runServer() {
+        return run(WebApplicationType.SERVLET, "--server.port=0");
+    }
+
+    static String getBaseUrl(ConfigurableApplicationContext context) {
+        final String contextPath = context.getBean(ServerProperties.class).getServlet().getContextPath();
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + (contextPath == null ? "" : contextPath);
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType type, String... additionalArguments) {
+        final List<String> arguments = new ArrayList<>(List.of(additionalArguments));
+        arguments.add("--logging.level.org.planqk.atlas=INFO");
+        arguments.add("--atlas.search.index.enabled=true");
+        try {
+            arguments.add("--atlas.search.index.directory=" + Files.createTempDirectory("atlas-benchmark-index"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (System.getProperty("spring.datasource.url") == null) {
+            final PostgreSQLContainer<?> database = getContainer();
+            arguments.add("--spring.datasource.url=" + database.getJdbcUrl());
+            arguments.add("--spring.datasource.username=" + database.getUsername());
+            arguments.add("--spring.datasource.password=" + database.getPassword());
+        }
+        return new SpringApplicationBuilder(Application.class)
+                .web(type)
+                .run(arguments.toArray(new String[0]));
+    }
+
+    // stopped by Testcontainers when the forked JVM exits
+    private static synchronized PostgreSQLContainer<?> getContainer() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>(IMAGE);
+            container.start();
+        }
+        return container;
+    }
+}
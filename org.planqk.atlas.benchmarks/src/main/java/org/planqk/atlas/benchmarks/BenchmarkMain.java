@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Main class of the benchmark jar, which runs JMH with the given command line and writes the results as JSON to
+ * {@value #RESULT_FILE}, so they can be compared between builds to detect regressions. Passing {@code -rf} or {@code
+ * -rff} selects another result format or file.
+ */
+public final class BenchmarkMain {
+
+    static final String RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final List<String> arguments = new ArrayList<>();
+        if (!Arrays.asList(args).contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+        }
+        if (!Arrays.asList(args).contains("-rff")) {
+            arguments.addAll(List.of("-rff", RESULT_FILE));
+        }
+        arguments.addAll(Arrays.asList(args));
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+    }
+}
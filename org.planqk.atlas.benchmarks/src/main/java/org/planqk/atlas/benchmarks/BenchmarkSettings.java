@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+/**
+ * Iteration settings shared by the benchmarks. They can be overridden on the command line of the benchmark jar, e.g.
+ * {@code java -jar benchmarks.jar -wi 10 -i 10}.
+ */
+public final class BenchmarkSettings {
+
+    public static final int WARMUP_ITERATIONS = 5;
+
+    public static final int MEASUREMENT_ITERATIONS = 5;
+
+    public static final int ITERATION_SECONDS = 1;
+
+    private BenchmarkSettings() {
+    }
+}
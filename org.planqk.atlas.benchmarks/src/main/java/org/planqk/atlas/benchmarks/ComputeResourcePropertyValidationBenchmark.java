@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.planqk.atlas.core.model.ComputeResourcePropertyDataType;
+
+/**
+ * Measures the validation of compute resource property values by {@link ComputeResourcePropertyDataType#isValid(String)}
+ * for valid and invalid values, as invalid numbers are detected by a thrown exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = BenchmarkSettings.WARMUP_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkSettings.MEASUREMENT_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Fork(1)
+public class ComputeResourcePropertyValidationBenchmark {
+
+    @Param({"INTEGER", "FLOAT", "STRING"})
+    private ComputeResourcePropertyDataType dataType;
+
+    // not constant, so the parsing is not folded by the JIT compiler
+    private String validValue = "1024";
+
+    private String decimalValue = "0.0125";
+
+    private String invalidValue = "about 1024";
+
+    @Benchmark
+    public boolean validValue() {
+        return dataType.isValid(validValue);
+    }
+
+    @Benchmark
+    public boolean decimalValue() {
+        return dataType.isValid(decimalValue);
+    }
+
+    @Benchmark
+    public boolean invalidValue() {
+        return dataType.isValid(invalidValue);
+    }
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.model.ComputeResourceProperty;
+import org.planqk.atlas.core.model.ComputeResourcePropertyDataType;
+import org.planqk.atlas.core.model.ComputeResourcePropertyType;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.QuantumAlgorithm;
+import org.planqk.atlas.core.model.QuantumComputationModel;
+import org.planqk.atlas.core.model.Sketch;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.web.dtos.AlgorithmDto;
+import org.planqk.atlas.web.dtos.ComputeResourcePropertyDto;
+import org.planqk.atlas.web.dtos.ImplementationDto;
+import org.planqk.atlas.web.utils.ModelMapperUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Compares the conversion of entity pages into DTO pages by the reflective model mapper with the reflection free
+ * mappers used by {@link ModelMapperUtils#convertPage(Page, Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = BenchmarkSettings.WARMUP_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkSettings.MEASUREMENT_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int SKETCHES_PER_ALGORITHM = 2;
+
+    private static final int PLATFORMS_PER_IMPLEMENTATION = 3;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private Page<Algorithm> algorithms;
+
+    private Page<Implementation> implementations;
+
+    private Page<ComputeResourceProperty> computeResourceProperties;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        final List<Algorithm> algorithmList = new ArrayList<>();
+        final List<Implementation> implementationList = new ArrayList<>();
+        final List<ComputeResourceProperty> propertyList = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            final Algorithm algorithm = algorithm(i);
+            algorithmList.add(algorithm);
+            implementationList.add(implementation(i, algorithm));
+            propertyList.add(computeResourceProperty(i));
+        }
+        final PageRequest pageable = PageRequest.of(0, pageSize);
+        algorithms = new PageImpl<>(algorithmList, pageable, pageSize);
+        implementations = new PageImpl<>(implementationList, pageable, pageSize);
+        computeResourceProperties = new PageImpl<>(propertyList, pageable, pageSize);
+    }
+
+    @Benchmark
+    public Page<AlgorithmDto> algorithmsModelMapper() {
+        return algorithms.map(algorithm -> ModelMapperUtils.mapper.map(algorithm, AlgorithmDto.class));
+    }
+
+    @Benchmark
+    public Page<AlgorithmDto> algorithmsDtoMappers() {
+        return ModelMapperUtils.convertPage(algorithms, AlgorithmDto.class);
+    }
+
+    @Benchmark
+    public Page<ImplementationDto> implementationsModelMapper() {
+        return implementations.map(implementation -> ModelMapperUtils.mapper.map(implementation, ImplementationDto.class));
+    }
+
+    @Benchmark
+    public Page<ImplementationDto> implementationsDtoMappers() {
+        return ModelMapperUtils.convertPage(implementations, ImplementationDto.class);
+    }
+
+    @Benchmark
+    public Page<ComputeResourcePropertyDto> computeResourcePropertiesModelMapper() {
+        return computeResourceProperties.map(property -> ModelMapperUtils.mapper.map(property, ComputeResourcePropertyDto.class));
+    }
+
+    @Benchmark
+    public Page<ComputeResourcePropertyDto> computeResourcePropertiesDtoMappers() {
+        return ModelMapperUtils.convertPage(computeResourceProperties, ComputeResourcePropertyDto.class);
+    }
+
+    private static Algorithm algorithm(int index) {
+        final Algorithm algorithm;
+        if (index % 2 == 0) {
+            final QuantumAlgorithm quantumAlgorithm = new QuantumAlgorithm();
+            quantumAlgorithm.setComputationModel(ComputationModel.QUANTUM);
+            quantumAlgorithm.setNisqReady(true);
+            quantumAlgorithm.setQuantumComputationModel(QuantumComputationModel.GATE_BASED);
+            quantumAlgorithm.setSpeedUp("exponential");
+            algorithm = quantumAlgorithm;
+        } else {
+            algorithm = new ClassicAlgorithm();
+            algorithm.setComputationModel(ComputationModel.CLASSIC);
+        }
+        algorithm.setId(UUID.randomUUID());
+        algorithm.setCreationDate(new Date());
+        algorithm.setLastModifiedAt(new Date());
+        algorithm.setName("Algorithm " + index);
+        algorithm.setAcronym("A" + index);
+        algorithm.setIntent("Intent of algorithm " + index);
+        algorithm.setProblem("Problem of algorithm " + index);
+        algorithm.setInputFormat("Input format");
+        algorithm.setAlgoParameter("Parameters");
+        algorithm.setOutputFormat("Output format");
+        algorithm.setSolution("Solution of algorithm " + index);
+        algorithm.setAssumptions("Assumptions");
+        for (int i = 0; i < SKETCHES_PER_ALGORITHM; i++) {
+            final Sketch sketch = new Sketch();
+            sketch.setId(UUID.randomUUID());
+            sketch.setImageURL("/algorithms/" + algorithm.getId() + "/sketches/" + i);
+            sketch.setDescription("Sketch " + i);
+            sketch.setAlgorithm(algorithm);
+            algorithm.getSketches().add(sketch);
+        }
+        return algorithm;
+    }
+
+    private static Implementation implementation(int index, Algorithm algorithm) throws MalformedURLException {
+        final Implementation implementation = new Implementation();
+        implementation.setId(UUID.randomUUID());
+        implementation.setImplementedAlgorithm(algorithm);
+        implementation.setName("Implementation " + index);
+        implementation.setDescription("Description of implementation " + index);
+        implementation.setContributors("Contributors");
+        implementation.setAssumptions("Assumptions");
+        implementation.setParameter("Parameters");
+        implementation.setDependencies("Dependencies");
+        implementation.setVersion("1.0");
+        implementation.setLicense("Apache-2.0");
+        implementation.setTechnology("Qiskit");
+        implementation.setProblemStatement("Problem statement");
+        implementation.setInputFormat("Input format");
+        implementation.setOutputFormat("Output format");
+        for (int i = 0; i < PLATFORMS_PER_IMPLEMENTATION; i++) {
+            final SoftwarePlatform softwarePlatform = new SoftwarePlatform();
+            softwarePlatform.setId(UUID.randomUUID());
+            softwarePlatform.setName("Platform " + i);
+            softwarePlatform.setLink(new URL("https://www.example.com/platforms/" + i));
+            softwarePlatform.setLicence("Apache-2.0");
+            softwarePlatform.setVersion("1." + i);
+            implementation.getSoftwarePlatforms().add(softwarePlatform);
+        }
+        return implementation;
+    }
+
+    private static ComputeResourceProperty computeResourceProperty(int index) {
+        final ComputeResourcePropertyType type = new ComputeResourcePropertyType();
+        type.setId(UUID.randomUUID());
+        type.setName("Qubits");
+        type.setDatatype(ComputeResourcePropertyDataType.INTEGER);
+        type.setDescription("Number of qubits");
+        final ComputeResourceProperty property = new ComputeResourceProperty();
+        property.setId(UUID.randomUUID());
+        property.setValue(String.valueOf(index));
+        property.setComputeResourcePropertyType(type);
+        return property;
+    }
+}
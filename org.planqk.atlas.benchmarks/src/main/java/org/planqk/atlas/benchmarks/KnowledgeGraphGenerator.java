@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Generates a synthetic knowledge graph as records of the bulk import ({@code POST /import}), one JSON object per
+ * line.
+ * <p>
+ * The graph consists of tags, publications, software platforms supporting compute resources, trees of problem types
+ * and algorithms with their implementations, linked to randomly chosen entities of the other types. The same volumes
+ * and seed always generate the same records. As tags are identified by their value, the records can only be imported
+ * once into the same database.
+ */
+public class KnowledgeGraphGenerator {
+
+    private static final String[] WORDS = {"quantum", "fourier", "phase", "estimation", "amplitude", "amplification",
+            "variational", "eigensolver", "approximate", "optimization", "annealing", "factoring", "search", "walk",
+            "kernel", "classifier", "sampling", "simulation", "chemistry", "linear", "systems", "error", "correction",
+            "circuit", "learning", "graph", "coloring", "shortest", "path", "hamiltonian"};
+
+    private static final String[] COMPUTATION_MODELS = {"QUANTUM", "CLASSIC", "HYBRID"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Volumes volumes;
+
+    private final Random random;
+
+    public KnowledgeGraphGenerator(@NonNull Volumes volumes, long seed) {
+        this.volumes = volumes;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Write the records of the knowledge graph, each record after the records of the entities it refers to.
+     *
+     * @param output The stream to write the records to, which is not closed
+     * @return The amount of written records
+     */
+    public long write(@NonNull OutputStream output) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            final RecordWriter writer = new RecordWriter(generator);
+            writeTags(writer);
+            writePublications(writer);
+            writeSoftwarePlatforms(writer);
+            writeProblemTypes(writer);
+            writeAlgorithms(writer);
+            return writer.records;
+        }
+    }
+
+    private void writeTags(RecordWriter writer) throws IOException {
+        for (int i = 0; i < volumes.tags; i++) {
+            writer.entity("tag", "t" + i, null, data().put("value", "tag-" + i + "-" + word()));
+        }
+    }
+
+    private void writePublications(RecordWriter writer) throws IOException {
+        for (int i = 0; i < volumes.publications; i++) {
+            final ObjectNode data = data()
+                    .put("title", capitalize(words(6)))
+                    .put("url", "https://www.example.com/publications/" + i)
+                    .put("doi", "10.1000/atlas." + i);
+            data.putArray("authors").add("Author " + random.nextInt(1000)).add("Author " + random.nextInt(1000));
+            writer.entity("publication", "p" + i, null, data);
+        }
+    }
+
+    private void writeSoftwarePlatforms(RecordWriter writer) throws IOException {
+        for (int i = 0; i < volumes.computeResources; i++) {
+            writer.entity("compute-resource", "cr" + i, null, data()
+                    .put("name", "Compute resource " + i)
+                    .put("vendor", "Vendor " + random.nextInt(10))
+                    .put("technology", capitalize(word()))
+                    .put("quantumComputationModel", "GATE_BASED"));
+        }
+        for (int i = 0; i < volumes.softwarePlatforms; i++) {
+            writer.entity("software-platform", "sp" + i, null, data()
+                    .put("name", "Platform " + i + " " + word())
+                    .put("link", "https://www.example.com/platforms/" + i)
+                    .put("licence", "Apache-2.0")
+                    .put("version", "1." + i));
+            for (int computeResource : pick(volumes.computeResourcesPerSoftwarePlatform, volumes.computeResources)) {
+                writer.link("software-platform", "sp" + i, "compute-resource", "cr" + computeResource);
+            }
+        }
+    }
+
+    /**
+     * The first problem types are the roots of the trees, every further problem type is a child of an earlier one, so
+     * that each tree is filled level by level.
+     */
+    private void writeProblemTypes(RecordWriter writer) throws IOException {
+        final int roots = Math.max(1, volumes.problemTypeTrees);
+        for (int i = 0; i < volumes.problemTypes; i++) {
+            final String parent = i < roots ? null : "pt" + (i - roots) / Math.max(1, volumes.problemTypeChildren);
+            writer.entity("problem-type", "pt" + i, parent, data().put("name", "Problem type " + i + " " + word()));
+        }
+    }
+
+    private void writeAlgorithms(RecordWriter writer) throws IOException {
+        for (int i = 0; i < volumes.algorithms; i++) {
+            final String algorithm = "a" + i;
+            final String computationModel = COMPUTATION_MODELS[random.nextInt(COMPUTATION_MODELS.length)];
+            final ObjectNode data = data()
+                    .put("name", capitalize(words(3)) + " " + i)
+                    .put("acronym", "A" + i)
+                    .put("computationModel", computationModel)
+                    .put("intent", capitalize(words(20)))
+                    .put("problem", capitalize(words(30)))
+                    .put("solution", capitalize(words(40)))
+                    .put("assumptions", capitalize(words(10)));
+            if (!computationModel.equals("CLASSIC")) {
+                data.put("quantumComputationModel", "GATE_BASED")
+                        .put("nisqReady", random.nextBoolean())
+                        .put("speedUp", random.nextBoolean() ? "exponential" : "quadratic");
+            }
+            writer.entity("algorithm", algorithm, null, data);
+            for (int publication : pick(volumes.publicationsPerAlgorithm, volumes.publications)) {
+                writer.link("algorithm", algorithm, "publication", "p" + publication);
+            }
+            for (int tag : pick(volumes.tagsPerAlgorithm, volumes.tags)) {
+                writer.link("algorithm", algorithm, "tag", "t" + tag);
+            }
+            for (int problemType : pick(volumes.problemTypesPerAlgorithm, volumes.problemTypes)) {
+                writer.link("algorithm", algorithm, "problem-type", "pt" + problemType);
+            }
+            for (int j = 0; j < volumes.implementationsPerAlgorithm; j++) {
+                writeImplementation(writer, algorithm, i, j);
+            }
+        }
+    }
+
+    private void writeImplementation(RecordWriter writer, String algorithm, int algorithmIndex, int index)
+            throws IOException {
+        final String implementation = "i" + algorithmIndex + "-" + index;
+        writer.entity("implementation", implementation, algorithm, data()
+                .put("name", "Implementation " + index + " of algorithm " + algorithmIndex)
+                .put("description", capitalize(words(30)))
+                .put("contributors", "Contributor " + random.nextInt(100))
+                .put("version", "1." + index)
+                .put("license", "Apache-2.0")
+                .put("technology", capitalize(word())));
+        for (int softwarePlatform : pick(volumes.softwarePlatformsPerImplementation, volumes.softwarePlatforms)) {
+            writer.link("implementation", implementation, "software-platform", "sp" + softwarePlatform);
+        }
+        for (int publication : pick(volumes.publicationsPerImplementation, volumes.publications)) {
+            writer.link("implementation", implementation, "publication", "p" + publication);
+        }
+    }
+
+    private ObjectNode data() {
+        return objectMapper.createObjectNode();
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String words(int count) {
+        final StringBuilder builder = new StringBuilder(word());
+        for (int i = 1; i < count; i++) {
+            builder.append(' ').append(word());
+        }
+        return builder.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    /**
+     * Pick distinct random indexes.
+     *
+     * @param count The amount of indexes to pick, at most {@code bound}
+     * @param bound The exclusive upper bound of the indexes
+     */
+    private Set<Integer> pick(int count, int bound) {
+        final Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, bound)) {
+            picked.add(random.nextInt(bound));
+        }
+        return picked;
+    }
+
+    /**
+     * The volumes of the generated knowledge graph. The volumes of {@link #scaled(int) scale} 1 are small enough to
+     * generate and import them in a few seconds.
+     */
+    @Getter
+    @Builder
+    public static class Volumes {
+
+        @Builder.Default
+        private final int algorithms = 100;
+
+        @Builder.Default
+        private final int implementationsPerAlgorithm = 3;
+
+        @Builder.Default
+        private final int publications = 50;
+
+        @Builder.Default
+        private final int publicationsPerAlgorithm = 2;
+
+        @Builder.Default
+        private final int publicationsPerImplementation = 1;
+
+        @Builder.Default
+        private final int tags = 20;
+
+        @Builder.Default
+        private final int tagsPerAlgorithm = 3;
+
+        @Builder.Default
+        private final int problemTypes = 40;
+
+        @Builder.Default
+        private final int problemTypeTrees = 4;
+
+        @Builder.Default
+        private final int problemTypeChildren = 3;
+
+        @Builder.Default
+        private final int problemTypesPerAlgorithm = 2;
+
+        @Builder.Default
+        private final int softwarePlatforms = 10;
+
+        @Builder.Default
+        private final int softwarePlatformsPerImplementation = 2;
+
+        @Builder.Default
+        private final int computeResources = 10;
+
+        @Builder.Default
+        private final int computeResourcesPerSoftwarePlatform = 3;
+
+        /**
+         * Get volumes with all amounts of entities multiplied by the given scale. The amounts of links per entity and
+         * the shape of the problem type trees are not scaled.
+         */
+        public static Volumes scaled(int scale) {
+            if (scale < 1) {
+                throw new IllegalArgumentException("The scale must be positive");
+            }
+            final Volumes defaults = builder().build();
+            return builder()
+                    .algorithms(defaults.algorithms * scale)
+                    .publications(defaults.publications * scale)
+                    .tags(defaults.tags * scale)
+                    .problemTypes(defaults.problemTypes * scale)
+                    .problemTypeTrees(defaults.problemTypeTrees * scale)
+                    .softwarePlatforms(defaults.softwarePlatforms * scale)
+                    .computeResources(defaults.computeResources * scale)
+                    .build();
+        }
+    }
+
+    private static class RecordWriter {
+
+        private final JsonGenerator generator;
+
+        private long records;
+
+        RecordWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void entity(String type, String reference, String parent, ObjectNode data) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeStringField("ref", reference);
+            if (parent != null) {
+                generator.writeStringField("parent", parent);
+            }
+            generator.writeFieldName("data");
+            generator.writeTree(data);
+            generator.writeEndObject();
+            endRecord();
+        }
+
+        void link(String sourceType, String source, String targetType, String target) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", "link");
+            generator.writeObjectFieldStart("link");
+            generator.writeStringField(sourceType, source);
+            generator.writeStringField(targetType, target);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            endRecord();
+        }
+
+        private void endRecord() throws IOException {
+            generator.writeRaw('\n');
+            records++;
+        }
+    }
+}
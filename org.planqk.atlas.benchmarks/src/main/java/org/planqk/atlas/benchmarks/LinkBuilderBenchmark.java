@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.planqk.atlas.web.annotation.VersionedRequestHandlerMapping;
+import org.planqk.atlas.web.controller.AlgorithmController;
+import org.planqk.atlas.web.controller.AlgorithmRelationTypeController;
+import org.planqk.atlas.web.controller.ApplicationAreaController;
+import org.planqk.atlas.web.controller.CloudServiceController;
+import org.planqk.atlas.web.controller.ComputeResourceController;
+import org.planqk.atlas.web.controller.ComputeResourcePropertyTypeController;
+import org.planqk.atlas.web.controller.DiscussionCommentController;
+import org.planqk.atlas.web.controller.DiscussionTopicController;
+import org.planqk.atlas.web.controller.ImplementationController;
+import org.planqk.atlas.web.controller.ImplementationGlobalController;
+import org.planqk.atlas.web.controller.LearningMethodController;
+import org.planqk.atlas.web.controller.PatternRelationController;
+import org.planqk.atlas.web.controller.PatternRelationTypeController;
+import org.planqk.atlas.web.controller.ProblemTypeController;
+import org.planqk.atlas.web.controller.PublicationController;
+import org.planqk.atlas.web.controller.SoftwarePlatformController;
+import org.planqk.atlas.web.controller.TagController;
+import org.planqk.atlas.web.linkassembler.LinkBuilderService;
+import org.planqk.atlas.web.utils.ListParameters;
+import org.planqk.atlas.web.utils.ListParametersMethodArgumentResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.web.util.UriComponents;
+
+/**
+ * Measures the cost of building a single link with the {@link LinkBuilderService}, with all controllers of the API
+ * registered in the handler mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = BenchmarkSettings.WARMUP_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkSettings.MEASUREMENT_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Fork(1)
+public class LinkBuilderBenchmark {
+
+    private static final List<Class<?>> CONTROLLERS = List.of(AlgorithmController.class,
+            AlgorithmRelationTypeController.class, ApplicationAreaController.class, CloudServiceController.class,
+            ComputeResourceController.class, ComputeResourcePropertyTypeController.class, DiscussionCommentController.class,
+            DiscussionTopicController.class, ImplementationController.class, ImplementationGlobalController.class,
+            LearningMethodController.class, PatternRelationController.class, PatternRelationTypeController.class,
+            ProblemTypeController.class, PublicationController.class, SoftwarePlatformController.class, TagController.class);
+
+    private static final int PAGE_SIZE = 20;
+
+    private final UUID algorithmId = UUID.randomUUID();
+
+    private final UUID publicationId = UUID.randomUUID();
+
+    private final ListParameters listParameters = new ListParameters(PageRequest.of(1, PAGE_SIZE), "search");
+
+    private LinkBuilderService linkBuilderService;
+
+    @Setup
+    public void setup() {
+        final VersionedRequestHandlerMapping mappings = new VersionedRequestHandlerMapping();
+        // the controllers are only used to detect their handler methods, so their dependencies are not required
+        final Objenesis objenesis = new ObjenesisStd();
+        CONTROLLERS.forEach(controller -> mappings.populateFromHandler(objenesis.newInstance(controller)));
+        linkBuilderService = new LinkBuilderService(new ListParametersMethodArgumentResolver(), mappings);
+    }
+
+    @Benchmark
+    public UriComponents linkWithoutParameters() {
+        return linkBuilderService.urlTo(methodOn(AlgorithmController.class).getAlgorithms(ListParameters.getDefault()));
+    }
+
+    @Benchmark
+    public UriComponents linkWithPathVariable() {
+        return linkBuilderService.urlTo(methodOn(AlgorithmController.class).getAlgorithm(algorithmId));
+    }
+
+    @Benchmark
+    public UriComponents linkWithPathVariables() {
+        return linkBuilderService.urlTo(methodOn(AlgorithmController.class).getPublicationOfAlgorithm(algorithmId, publicationId));
+    }
+
+    @Benchmark
+    public UriComponents linkWithListParameters() {
+        return linkBuilderService.urlTo(methodOn(AlgorithmController.class).getPublicationsOfAlgorithm(algorithmId, listParameters));
+    }
+}
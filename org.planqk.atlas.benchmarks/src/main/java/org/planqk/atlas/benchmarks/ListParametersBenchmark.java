@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.controller.AlgorithmController;
+import org.planqk.atlas.web.utils.ListParameters;
+import org.planqk.atlas.web.utils.ListParametersMethodArgumentResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Measures the resolution of the list parameters of a request by the {@link ListParametersMethodArgumentResolver},
+ * which is done for every request of a list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = BenchmarkSettings.WARMUP_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkSettings.MEASUREMENT_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Fork(1)
+public class ListParametersBenchmark {
+
+    private final ListParametersMethodArgumentResolver resolver = new ListParametersMethodArgumentResolver();
+
+    private MethodParameter parameter;
+
+    private NativeWebRequest defaultRequest;
+
+    private NativeWebRequest pagedRequest;
+
+    private NativeWebRequest cursorRequest;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        parameter = new MethodParameter(AlgorithmController.class.getMethod("getAlgorithms", ListParameters.class), 0);
+        defaultRequest = request(Map.of());
+        pagedRequest = request(Map.of(Constants.PAGE, "3", Constants.SIZE, "20", Constants.SEARCH, "shor",
+                "sort", "name,desc", Constants.COUNT, "estimated"));
+        cursorRequest = request(Map.of(Constants.AFTER, UUID.randomUUID().toString(), Constants.SIZE, "20"));
+    }
+
+    @Benchmark
+    public Object defaultParameters() {
+        return resolver.resolveArgument(parameter, null, defaultRequest, null);
+    }
+
+    @Benchmark
+    public Object pagedAndSorted() {
+        return resolver.resolveArgument(parameter, null, pagedRequest, null);
+    }
+
+    @Benchmark
+    public Object cursorPaged() {
+        return resolver.resolveArgument(parameter, null, cursorRequest, null);
+    }
+
+    private static NativeWebRequest request(Map<String, String> parameters) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/algorithms");
+        parameters.forEach(request::addParameter);
+        return new ServletWebRequest(request);
+    }
+}
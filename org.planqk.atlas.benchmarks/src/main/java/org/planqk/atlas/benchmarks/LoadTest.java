@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load test of the REST API: fills the database with a {@link KnowledgeGraphGenerator synthetic knowledge graph} by
+ * the bulk import and then runs a {@link Workload} of reads and writes, reporting the throughput and the latency
+ * percentiles of each operation.
+ * <p>
+ * Run it from the benchmark jar, e.g. {@code java -cp benchmarks.jar org.planqk.atlas.benchmarks.LoadTest --scale=10
+ * --clients=16}. Without {@code --url} the application is started in the same JVM, against a PostgreSQL container or
+ * the database configured as for the {@link BenchmarkApplication benchmarks}. The options are:
+ * <ul>
+ *     <li>{@code --url}: the URL of a running API including its context path, e.g. {@code http://localhost:6626/atlas}</li>
+ *     <li>{@code --scale}: the {@link KnowledgeGraphGenerator.Volumes#scaled(int) scale} of the generated graph, 1 by
+ *     default; 0 skips the import and uses the entities that already exist</li>
+ *     <li>{@code --seed}: the seed of the generated graph</li>
+ *     <li>{@code --clients}: the amount of concurrent clients, 8 by default</li>
+ *     <li>{@code --writes}: the share of write requests in percent, 10 by default</li>
+ *     <li>{@code --warmup} and {@code --duration}: the seconds of the unrecorded warmup and of the measurement</li>
+ *     <li>{@code --report}: the file the results are written to as JSON, {@value #DEFAULT_REPORT} by default</li>
+ * </ul>
+ */
+@Slf4j
+public final class LoadTest {
+
+    static final String DEFAULT_REPORT = "load-test-result.json";
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "scale", "1",
+            "seed", "42",
+            "clients", "8",
+            "writes", "10",
+            "warmup", "10",
+            "duration", "60",
+            "report", DEFAULT_REPORT);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = parseOptions(args);
+        final ConfigurableApplicationContext context = options.containsKey("url") ? null : BenchmarkApplication.runServer();
+        try {
+            final String baseUrl = context == null ? options.get("url") : BenchmarkApplication.getBaseUrl(context);
+            final int scale = Integer.parseInt(options.get("scale"));
+            if (scale > 0) {
+                importKnowledgeGraph(baseUrl, KnowledgeGraphGenerator.Volumes.scaled(scale), Long.parseLong(options.get("seed")));
+            }
+
+            final Workload workload = new Workload(baseUrl, Integer.parseInt(options.get("writes")) / 100.0);
+            final int clients = Integer.parseInt(options.get("clients"));
+            final Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+            final Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+            if (clients < 1 || duration.isZero() || duration.isNegative() || warmup.isNegative()) {
+                throw new IllegalArgumentException("The clients and the duration must be positive");
+            }
+            if (!warmup.isZero()) {
+                log.info("Warming up for {} seconds", warmup.toSeconds());
+                workload.run(clients, warmup, new SimpleMeterRegistry());
+            }
+            log.info("Running the workload with {} clients for {} seconds", clients, duration.toSeconds());
+            final MeterRegistry registry = new SimpleMeterRegistry();
+            workload.run(clients, duration, registry);
+
+            final List<String> operations = new ArrayList<>(workload.getOperations());
+            operations.add(Workload.ALL_OPERATIONS);
+            final Map<String, Object> report = new LinkedHashMap<>();
+            report.put("baseUrl", baseUrl);
+            report.put("scale", scale);
+            report.put("clients", clients);
+            report.put("writesPercent", Integer.parseInt(options.get("writes")));
+            report.put("durationSeconds", duration.toSeconds());
+            report.put("operations", summarize(operations, registry, duration));
+            print(report);
+            OBJECT_MAPPER.writeValue(new File(options.get("report")), report);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        final Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            final String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (name == null || !(DEFAULTS.containsKey(name) || name.equals("url"))) {
+                throw new IllegalArgumentException("Unknown option \"" + arg + "\", expected --url, --scale, --seed, "
+                        + "--clients, --writes, --warmup, --duration or --report followed by =value");
+            }
+            options.put(name, arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static void importKnowledgeGraph(String baseUrl, KnowledgeGraphGenerator.Volumes volumes, long seed)
+            throws IOException, InterruptedException {
+        final Path records = Files.createTempFile("atlas-knowledge-graph", ".ndjson.gz");
+        try {
+            final long count;
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(records))) {
+                count = new KnowledgeGraphGenerator(volumes, seed).write(output);
+            }
+            log.info("Importing {} generated records", count);
+            final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/import"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .header("Content-Encoding", "gzip")
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofHours(1))
+                    .POST(HttpRequest.BodyPublishers.ofFile(records))
+                    .build();
+            final HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("The import failed with status " + response.statusCode());
+            }
+            final JsonNode result = OBJECT_MAPPER.readTree(response.body());
+            log.info("Imported {} records, {} failed, {} records per second", result.path("importedRecords").asLong(),
+                    result.path("failedRecords").asLong(), Math.round(result.path("recordsPerSecond").asDouble()));
+            if (result.path("failedRecords").asLong() > 0) {
+                log.warn("First import errors: {}", result.path("errors"));
+            }
+        } finally {
+            Files.deleteIfExists(records);
+        }
+    }
+
+    private static List<Map<String, Object>> summarize(List<String> operations, MeterRegistry registry, Duration duration) {
+        final List<Map<String, Object>> summaries = new ArrayList<>();
+        for (String operation : operations) {
+            final Timer timer = registry.get(Workload.REQUESTS_METRIC).tag("operation", operation).timer();
+            final Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("operation", operation);
+            summary.put("requests", timer.count());
+            summary.put("errors", (long) registry.get(Workload.ERRORS_METRIC).tag("operation", operation).counter().count());
+            summary.put("throughput", timer.count() / (double) duration.toSeconds());
+            summary.put("meanMillis", timer.mean(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                summary.put("p" + Math.round(percentile.percentile() * 100) + "Millis", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            summary.put("maxMillis", timer.max(TimeUnit.MILLISECONDS));
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        final StringBuilder table = new StringBuilder(String.format("%n%-28s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "mean ms", "p50 ms", "p95 ms", "p99 ms"));
+        for (Map<String, Object> summary : (List<Map<String, Object>>) report.get("operations")) {
+            table.append(String.format("%-28s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", summary.get("operation"),
+                    summary.get("requests"), summary.get("errors"), summary.get("throughput"), summary.get("meanMillis"),
+                    summary.get("p50Millis"), summary.get("p95Millis"), summary.get("p99Millis")));
+        }
+        log.info("Results of {} clients over {} seconds:{}", report.get("clients"), report.get("durationSeconds"), table);
+    }
+}
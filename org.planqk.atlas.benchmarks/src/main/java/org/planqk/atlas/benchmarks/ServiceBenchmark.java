@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.QuantumAlgorithm;
+import org.planqk.atlas.core.model.QuantumComputationModel;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.services.AlgorithmService;
+import org.planqk.atlas.core.services.ImplementationService;
+import org.planqk.atlas.core.services.LinkingService;
+import org.planqk.atlas.core.services.ProblemTypeService;
+import org.planqk.atlas.core.services.SearchIndexService;
+import org.planqk.atlas.core.services.SketchService;
+import org.planqk.atlas.core.services.SoftwarePlatformService;
+import org.planqk.atlas.web.dtos.AlgorithmDto;
+import org.planqk.atlas.web.dtos.ImplementationDto;
+import org.planqk.atlas.web.dtos.ProblemTypeDto;
+import org.planqk.atlas.web.utils.ModelMapperUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures the read paths of the API end to end from the services to the database, including the conversion of the
+ * loaded entities into DTOs, which runs in the same read-only transaction as in a request.
+ * <p>
+ * The benchmark creates algorithms with a sketch and an implementation each, the implementations linked to software
+ * platforms, and a chain of problem types, and deletes them again when it is done. See {@link BenchmarkApplication}
+ * for the database it runs against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = BenchmarkSettings.WARMUP_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkSettings.MEASUREMENT_ITERATIONS, time = BenchmarkSettings.ITERATION_SECONDS)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int SOFTWARE_PLATFORMS = 10;
+
+    private static final int PLATFORMS_PER_IMPLEMENTATION = 3;
+
+    private static final int PROBLEM_TYPE_DEPTH = 10;
+
+    private static final byte[] SKETCH_IMAGE = new byte[4096];
+
+    @Param({"100", "1000"})
+    private int algorithms;
+
+    private final Pageable firstPage = PageRequest.of(0, PAGE_SIZE);
+
+    private final List<UUID> algorithmIds = new ArrayList<>();
+
+    private final List<UUID> softwarePlatformIds = new ArrayList<>();
+
+    private final List<UUID> problemTypeIds = new ArrayList<>();
+
+    private ConfigurableApplicationContext context;
+
+    private AlgorithmService algorithmService;
+
+    private ImplementationService implementationService;
+
+    private ProblemTypeService problemTypeService;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.run();
+        algorithmService = context.getBean(AlgorithmService.class);
+        implementationService = context.getBean(ImplementationService.class);
+        problemTypeService = context.getBean(ProblemTypeService.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        createSoftwarePlatforms();
+        createAlgorithms();
+        createProblemTypes();
+        // the index is updated asynchronously, rebuilding it makes all algorithms searchable before measuring
+        context.getBeanProvider(SearchIndexService.class).ifAvailable(SearchIndexService::rebuildIndex);
+    }
+
+    @TearDown
+    public void tearDown() {
+        algorithmIds.forEach(algorithmService::delete);
+        final SoftwarePlatformService softwarePlatformService = context.getBean(SoftwarePlatformService.class);
+        softwarePlatformIds.forEach(softwarePlatformService::delete);
+        for (int i = problemTypeIds.size() - 1; i >= 0; i--) {
+            problemTypeService.delete(problemTypeIds.get(i));
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public Page<AlgorithmDto> algorithmPage() {
+        return readOnlyTransaction.execute(status ->
+                ModelMapperUtils.convertPage(algorithmService.findAll(firstPage, null), AlgorithmDto.class));
+    }
+
+    @Benchmark
+    public Page<AlgorithmDto> algorithmSearch() {
+        return readOnlyTransaction.execute(status ->
+                ModelMapperUtils.convertPage(algorithmService.findAll(firstPage, "Algorithm 1"), AlgorithmDto.class));
+    }
+
+    @Benchmark
+    public AlgorithmDto algorithmDetail() {
+        final UUID id = algorithmIds.get(next++ % algorithmIds.size());
+        return readOnlyTransaction.execute(status ->
+                ModelMapperUtils.convert(algorithmService.findDetailedById(id), AlgorithmDto.class));
+    }
+
+    @Benchmark
+    public Page<ImplementationDto> implementationPage() {
+        return readOnlyTransaction.execute(status ->
+                ModelMapperUtils.convertPage(implementationService.findAll(firstPage), ImplementationDto.class));
+    }
+
+    @Benchmark
+    public Collection<ProblemTypeDto> problemTypeParents() {
+        final UUID deepest = problemTypeIds.get(problemTypeIds.size() - 1);
+        return readOnlyTransaction.execute(status ->
+                ModelMapperUtils.convertCollection(problemTypeService.getParentList(deepest), ProblemTypeDto.class));
+    }
+
+    private void createSoftwarePlatforms() {
+        final SoftwarePlatformService softwarePlatformService = context.getBean(SoftwarePlatformService.class);
+        for (int i = 0; i < SOFTWARE_PLATFORMS; i++) {
+            final SoftwarePlatform softwarePlatform = new SoftwarePlatform();
+            softwarePlatform.setName("Benchmark platform " + i);
+            softwarePlatform.setVersion("1." + i);
+            softwarePlatformIds.add(softwarePlatformService.create(softwarePlatform).getId());
+        }
+    }
+
+    private void createAlgorithms() {
+        final SketchService sketchService = context.getBean(SketchService.class);
+        final LinkingService linkingService = context.getBean(LinkingService.class);
+        for (int i = 0; i < algorithms; i++) {
+            final UUID algorithmId = algorithmService.create(algorithm(i)).getId();
+            algorithmIds.add(algorithmId);
+            sketchService.addSketchToAlgorithm(algorithmId,
+                    new MockMultipartFile("file", "sketch.png", "image/png", SKETCH_IMAGE), "Sketch " + i, "");
+
+            final Implementation implementation = new Implementation();
+            implementation.setName("Benchmark implementation " + i);
+            implementation.setDescription("Implementation of algorithm " + i);
+            implementation.setVersion("1.0");
+            final UUID implementationId = implementationService.create(implementation, algorithmId).getId();
+            for (int j = 0; j < PLATFORMS_PER_IMPLEMENTATION; j++) {
+                linkingService.linkImplementationAndSoftwarePlatform(implementationId,
+                        softwarePlatformIds.get((i + j) % softwarePlatformIds.size()));
+            }
+        }
+    }
+
+    private void createProblemTypes() {
+        UUID parent = null;
+        for (int i = 0; i < PROBLEM_TYPE_DEPTH; i++) {
+            final ProblemType problemType = new ProblemType();
+            problemType.setName("Benchmark problem type " + i);
+            problemType.setParentProblemType(parent);
+            parent = problemTypeService.create(problemType).getId();
+            problemTypeIds.add(parent);
+        }
+    }
+
+    private static Algorithm algorithm(int index) {
+        final Algorithm algorithm;
+        if (index % 2 == 0) {
+            final QuantumAlgorithm quantumAlgorithm = new QuantumAlgorithm();
+            quantumAlgorithm.setComputationModel(ComputationModel.QUANTUM);
+            quantumAlgorithm.setQuantumComputationModel(QuantumComputationModel.GATE_BASED);
+            quantumAlgorithm.setSpeedUp("exponential");
+            algorithm = quantumAlgorithm;
+        } else {
+            algorithm = new ClassicAlgorithm();
+            algorithm.setComputationModel(ComputationModel.CLASSIC);
+        }
+        algorithm.setName("Algorithm " + index);
+        algorithm.setAcronym("A" + index);
+        algorithm.setIntent("Intent of algorithm " + index);
+        algorithm.setProblem("Problem of algorithm " + index);
+        algorithm.setSolution("Solution of algorithm " + index);
+        return algorithm;
+    }
+}
@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays a weighted mix of read and write requests against the REST API with a number of concurrent clients, each
+ * sending its next request as soon as the previous one is answered.
+ * <p>
+ * The reads are spread over the algorithms, implementations and problem types that exist when the workload is
+ * created. The writes create, update and delete algorithms; only algorithms created by the same client are updated
+ * and deleted, so the data the reads rely on is not changed.
+ * <p>
+ * The latency of each request is recorded by the timer {@value #REQUESTS_METRIC}, tagged with the operation and
+ * additionally with {@value #ALL_OPERATIONS} for all operations. Requests answered with an error status or failing
+ * are counted by {@value #ERRORS_METRIC}.
+ */
+@Slf4j
+class Workload {
+
+    static final String REQUESTS_METRIC = "atlas.load.requests";
+
+    static final String ERRORS_METRIC = "atlas.load.errors";
+
+    static final String ALL_OPERATIONS = "all";
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] SEARCHES = {"quantum", "fourier", "variational", "search", "annealing", "graph"};
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private final double writeRatio;
+
+    private final List<String> algorithmIds;
+
+    private final List<String> implementationIds;
+
+    private final List<String> problemTypeIds;
+
+    private final List<Operation> reads;
+
+    private final List<Operation> writes = List.of(
+            new Operation("create-algorithm", 40, Worker::createAlgorithm, Worker::created),
+            new Operation("update-algorithm", 40, Worker::updateAlgorithm, Worker::created),
+            new Operation("delete-algorithm", 20, Worker::deleteAlgorithm, null));
+
+    /**
+     * Create a workload for the given API, loading the IDs of the existing entities to read.
+     *
+     * @param baseUrl    The URL of the API, including the context path
+     * @param writeRatio The share of write requests, between 0 and 1
+     */
+    Workload(String baseUrl, double writeRatio) throws IOException, InterruptedException {
+        if (writeRatio < 0 || writeRatio > 1) {
+            throw new IllegalArgumentException("The share of writes must be between 0 and 1");
+        }
+        this.baseUrl = baseUrl;
+        this.writeRatio = writeRatio;
+        this.algorithmIds = loadIds("/algorithms");
+        this.implementationIds = loadIds("/implementations");
+        this.problemTypeIds = loadIds("/problem-types");
+        this.reads = readOperations();
+        if (algorithmIds.isEmpty() || implementationIds.isEmpty() || problemTypeIds.isEmpty()) {
+            throw new IllegalStateException("The workload requires algorithms, implementations and problem types");
+        }
+        log.info("Loaded {} algorithms, {} implementations and {} problem types", algorithmIds.size(),
+                implementationIds.size(), problemTypeIds.size());
+    }
+
+    List<String> getOperations() {
+        final List<String> names = new ArrayList<>();
+        reads.forEach(operation -> names.add(operation.name));
+        writes.forEach(operation -> names.add(operation.name));
+        return names;
+    }
+
+    /**
+     * Run the workload and wait until it is done.
+     *
+     * @param clients  The amount of concurrent clients
+     * @param duration The duration of the run
+     * @param registry The registry to record the requests in
+     */
+    void run(int clients, Duration duration, MeterRegistry registry) throws InterruptedException {
+        final Map<String, Timer> timers = new LinkedHashMap<>();
+        final Map<String, Counter> errors = new LinkedHashMap<>();
+        for (String operation : getOperations()) {
+            timers.put(operation, timer(operation, duration, registry));
+            errors.put(operation, registry.counter(ERRORS_METRIC, "operation", operation));
+        }
+        final Timer allTimer = timer(ALL_OPERATIONS, duration, registry);
+        final Counter allErrors = registry.counter(ERRORS_METRIC, "operation", ALL_OPERATIONS);
+
+        final long end = System.nanoTime() + duration.toNanos();
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            final Worker worker = new Worker(new Random());
+            executor.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    final Operation operation = worker.choose();
+                    final boolean failed = !worker.send(operation, timers.get(operation.name), allTimer);
+                    if (failed) {
+                        errors.get(operation.name).increment();
+                        allErrors.increment();
+                    }
+                }
+                worker.cleanUp();
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+            throw new IllegalStateException("The clients did not finish in time");
+        }
+    }
+
+    private List<Operation> readOperations() {
+        return List.of(
+                new Operation("list-algorithms", 20,
+                        worker -> worker.get("/algorithms?page=" + worker.page(algorithmIds) + "&size=" + PAGE_SIZE), null),
+                new Operation("search-algorithms", 10,
+                        worker -> worker.get("/algorithms?size=" + PAGE_SIZE + "&search=" + worker.search()), null),
+                new Operation("get-algorithm", 25,
+                        worker -> worker.get("/algorithms/" + worker.any(algorithmIds)), null),
+                new Operation("get-algorithm-publications", 5,
+                        worker -> worker.get("/algorithms/" + worker.any(algorithmIds) + "/publications"), null),
+                new Operation("list-implementations", 10,
+                        worker -> worker.get("/implementations?page=" + worker.page(implementationIds) + "&size=" + PAGE_SIZE), null),
+                new Operation("get-implementation", 20,
+                        worker -> worker.get("/implementations/" + worker.any(implementationIds)), null),
+                new Operation("get-problem-type-parents", 10,
+                        worker -> worker.get("/problem-types/" + worker.any(problemTypeIds) + "/problem-type-parents"), null));
+    }
+
+    private static Timer timer(String operation, Duration duration, MeterRegistry registry) {
+        // a single histogram expiring after the run, so the percentiles cover all requests of the run
+        return Timer.builder(REQUESTS_METRIC)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticBufferLength(1)
+                .distributionStatisticExpiry(duration.multipliedBy(2))
+                .register(registry);
+    }
+
+    private List<String> loadIds(String path) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path + "?page=-1&size=-1"))
+                .header("Accept", "application/json").build();
+        final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing " + path + " failed with status " + response.statusCode());
+        }
+        final List<String> ids = new ArrayList<>();
+        objectMapper.readTree(response.body()).path("content").forEach(entity -> ids.add(entity.path("id").asText()));
+        return ids;
+    }
+
+    @AllArgsConstructor
+    private static class Operation {
+
+        private final String name;
+
+        private final int weight;
+
+        private final Function<Worker, HttpRequest> request;
+
+        /**
+         * Handles the body of a successful response, may be null.
+         */
+        private final BiConsumer<Worker, byte[]> response;
+    }
+
+    /**
+     * A client of the workload, used by a single thread.
+     */
+    private class Worker {
+
+        private final Random random;
+
+        private final Deque<String> createdAlgorithmIds = new ArrayDeque<>();
+
+        Worker(Random random) {
+            this.random = random;
+        }
+
+        Operation choose() {
+            final List<Operation> operations = random.nextDouble() < writeRatio ? writes : reads;
+            int remaining = random.nextInt(operations.stream().mapToInt(operation -> operation.weight).sum());
+            for (Operation operation : operations) {
+                remaining -= operation.weight;
+                if (remaining < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException("No operation chosen");
+        }
+
+        /**
+         * Send the request of an operation and record its latency.
+         *
+         * @return Whether the request succeeded
+         */
+        boolean send(Operation operation, Timer timer, Timer allTimer) {
+            final HttpRequest request = operation.request.apply(this);
+            final long start = System.nanoTime();
+            try {
+                final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                record(start, timer, allTimer);
+                if (response.statusCode() >= 400) {
+                    log.debug("{} {} failed with status {}", request.method(), request.uri(), response.statusCode());
+                    return false;
+                }
+                if (operation.response != null) {
+                    operation.response.accept(this, response.body());
+                }
+                return true;
+            } catch (IOException e) {
+                record(start, timer, allTimer);
+                log.debug("{} {} failed", request.method(), request.uri(), e);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Delete the algorithms created by this client, so repeated runs do not grow the database.
+         */
+        void cleanUp() {
+            while (!createdAlgorithmIds.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                try {
+                    client.send(delete(createdAlgorithmIds.pop()), HttpResponse.BodyHandlers.discarding());
+                } catch (IOException e) {
+                    log.debug("Deleting a created algorithm failed", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        HttpRequest createAlgorithm() {
+            return request("/algorithms").POST(HttpRequest.BodyPublishers.ofString(algorithm())).build();
+        }
+
+        HttpRequest updateAlgorithm() {
+            if (createdAlgorithmIds.isEmpty()) {
+                return createAlgorithm();
+            }
+            return request("/algorithms/" + createdAlgorithmIds.pop())
+                    .PUT(HttpRequest.BodyPublishers.ofString(algorithm())).build();
+        }
+
+        HttpRequest deleteAlgorithm() {
+            if (createdAlgorithmIds.isEmpty()) {
+                return createAlgorithm();
+            }
+            return delete(createdAlgorithmIds.pop());
+        }
+
+        void created(byte[] body) {
+            try {
+                final JsonNode algorithm = objectMapper.readTree(body);
+                createdAlgorithmIds.push(algorithm.path("id").asText());
+            } catch (IOException e) {
+                log.debug("Reading a created algorithm failed", e);
+            }
+        }
+
+        String any(List<String> ids) {
+            return ids.get(random.nextInt(ids.size()));
+        }
+
+        String search() {
+            return URLEncoder.encode(SEARCHES[random.nextInt(SEARCHES.length)], StandardCharsets.UTF_8);
+        }
+
+        int page(List<String> ids) {
+            return random.nextInt((ids.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        }
+
+        private HttpRequest delete(String algorithmId) {
+            return request("/algorithms/" + algorithmId).DELETE().build();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json");
+        }
+
+        private String algorithm() {
+            return objectMapper.createObjectNode()
+                    .put("name", "Load test algorithm " + random.nextInt(1_000_000))
+                    .put("computationModel", "CLASSIC")
+                    .put("problem", "Generated by the load test")
+                    .toString();
+        }
+
+        private void record(long start, Timer timer, Timer allTimer) {
+            final long nanos = System.nanoTime() - start;
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            allTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
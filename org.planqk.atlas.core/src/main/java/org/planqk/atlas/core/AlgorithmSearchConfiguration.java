@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * This configuration creates the database objects used by the algorithm search, see
+ * AlgorithmRepository#findAll(String, Pageable).
+ *
+ * The schema is maintained by Hibernate, which does not know about functional indexes, so the search function and the
+ * indexes are created on every startup after the schema update. All statements are idempotent. The search vector is
+ * defined once by the function algorithm_search_vector, which is used by the index and all search queries, so
+ * PostgreSQL can match the queries against the index.
+ *
+ * Includes the JPQL functions used by the keyset paginated search, which render the @@ and ILIKE operators, as PostgreSQL
+ * only uses an index for these operators and not for the functions implementing them.
+ */
+@Slf4j
+@Configuration
+// the tables have to be created or updated by Hibernate first
+@DependsOn("entityManagerFactory")
+public class AlgorithmSearchConfiguration {
+
+    static final String CREATE_TRIGRAM_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    static final String CREATE_SEARCH_VECTOR_FUNCTION =
+            "CREATE OR REPLACE FUNCTION algorithm_search_vector(name text, acronym text, intent text, problem text, " +
+                    "solution text, assumptions text) RETURNS tsvector LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$ " +
+                    "SELECT setweight(to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(acronym, '')), 'A') || " +
+                    "setweight(to_tsvector('simple', coalesce(intent, '') || ' ' || coalesce(problem, '')), 'B') || " +
+                    "setweight(to_tsvector('simple', coalesce(solution, '') || ' ' || coalesce(assumptions, '')), 'C') $$";
+
+    static final String CREATE_SEARCH_INDEX = "CREATE INDEX IF NOT EXISTS algorithm_search_idx ON algorithm USING GIN " +
+            "(algorithm_search_vector(name, acronym, intent, problem, solution, assumptions))";
+
+    static final String CREATE_NAME_TRIGRAM_INDEX =
+            "CREATE INDEX IF NOT EXISTS algorithm_name_trgm_idx ON algorithm USING GIN (name gin_trgm_ops)";
+
+    static final String CREATE_ACRONYM_TRIGRAM_INDEX =
+            "CREATE INDEX IF NOT EXISTS algorithm_acronym_trgm_idx ON algorithm USING GIN (acronym gin_trgm_ops)";
+
+    static final String CREATE_PROBLEM_TRIGRAM_INDEX =
+            "CREATE INDEX IF NOT EXISTS algorithm_problem_trgm_idx ON algorithm USING GIN (problem gin_trgm_ops)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    // static, as the entity manager factory this configuration depends on is created with the customizer
+    @Bean
+    public static HibernatePropertiesCustomizer algorithmSearchFunctions() {
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.METADATA_BUILDER_CONTRIBUTOR, new SearchFunctionContributor());
+    }
+
+    @PostConstruct
+    protected void initialize() {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_SEARCH_VECTOR_FUNCTION);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        try {
+            jdbcTemplate.execute(CREATE_TRIGRAM_EXTENSION);
+            jdbcTemplate.execute(CREATE_NAME_TRIGRAM_INDEX);
+            jdbcTemplate.execute(CREATE_ACRONYM_TRIGRAM_INDEX);
+            jdbcTemplate.execute(CREATE_PROBLEM_TRIGRAM_INDEX);
+        } catch (DataAccessException e) {
+            // the extension requires privileges the database user might not have, the search still works without it
+            log.warn("Could not create the trigram indexes, substring searches of algorithms will not be indexed", e);
+        }
+    }
+
+    public static class SearchFunctionContributor implements MetadataBuilderContributor {
+
+        @Override
+        public void contribute(MetadataBuilder metadataBuilder) {
+            // algorithm_search_matches(name, acronym, intent, problem, solution, assumptions, query)
+            metadataBuilder.applySqlFunction("algorithm_search_matches", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                    "(algorithm_search_vector(?1, ?2, ?3, ?4, ?5, ?6) @@ to_tsquery('simple', ?7))"));
+            metadataBuilder.applySqlFunction("ilike", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?1 ILIKE ?2)"));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+ * This configuration allows files to share their stored content.
+ *
+ * Files are stored content-addressed by the SHA-256 hash of their content, so all files with the same content have the
+ * same file URL and are told apart by their id. Existing databases carry a unique constraint on the column
+ * file.file_url, which is dropped on startup. The statement is idempotent.
+ */
+@Configuration
+// the table has to be created by Hibernate first
+@DependsOn("entityManagerFactory")
+public class FileStorageConfiguration {
+
+    static final String DROP_FILE_URL_UNIQUE_CONSTRAINTS = "DO $$ DECLARE uk_name text; BEGIN " +
+            "FOR uk_name IN SELECT con.conname FROM pg_constraint con " +
+            "JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey) " +
+            "WHERE con.conrelid = 'file'::regclass AND con.contype = 'u' AND att.attname = 'file_url' LOOP " +
+            "EXECUTE format('ALTER TABLE file DROP CONSTRAINT %I', uk_name); " +
+            "END LOOP; END $$";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    protected void initialize() {
+        new JdbcTemplate(dataSource).execute(DROP_FILE_URL_UNIQUE_CONSTRAINTS);
+    }
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.persistence.SharedCacheMode;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.AlgorithmRelationType;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.ComputeResourcePropertyType;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.LearningMethod;
+import org.planqk.atlas.core.model.PatternRelationType;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Tag;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/*
+ * This configuration contains the Hibernate second-level cache used for the rarely changing taxonomy entities.
+ *
+ * Every cache region is backed by a bounded Caffeine cache. The maximum size and time to live can be configured per
+ * group of regions (atlas.cache.entities.* and atlas.cache.collections.*) or per region
+ * (atlas.cache.regions.<region name without package>.*). Hit and miss counts of every region are published by the
+ * Hibernate statistics, which are only collected if atlas.cache.statistics-enabled is set, as collecting them slows
+ * down every session.
+ */
+@Configuration
+public class HibernateCacheConfiguration {
+
+    static final List<Class<?>> CACHED_ENTITIES = List.of(ProblemType.class, ApplicationArea.class, LearningMethod.class,
+            AlgorithmRelationType.class, PatternRelationType.class, ComputeResourcePropertyType.class, Tag.class);
+
+    static final Map<Class<?>, List<String>> CACHED_COLLECTIONS = Map.of(
+            Algorithm.class, List.of("problemTypes", "applicationAreas", "learningMethods", "tags"),
+            Implementation.class, List.of("tags"));
+
+    private static final String PROPERTY_PREFIX = "atlas.cache.";
+
+    private static final long DEFAULT_ENTITY_MAXIMUM_SIZE = 10_000;
+
+    private static final String DEFAULT_ENTITY_TIME_TO_LIVE = "1h";
+
+    private static final long DEFAULT_COLLECTION_MAXIMUM_SIZE = 50_000;
+
+    private static final String DEFAULT_COLLECTION_TIME_TO_LIVE = "10m";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        final CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        CACHED_ENTITIES.forEach(entity -> cacheManager.createCache(entity.getName(),
+                createRegionConfiguration(environment, entity.getSimpleName(), "entities",
+                        DEFAULT_ENTITY_MAXIMUM_SIZE, DEFAULT_ENTITY_TIME_TO_LIVE)));
+        CACHED_COLLECTIONS.forEach((owner, collections) -> collections.forEach(collection ->
+                cacheManager.createCache(owner.getName() + "." + collection,
+                        createRegionConfiguration(environment, owner.getSimpleName() + "." + collection, "collections",
+                                DEFAULT_COLLECTION_MAXIMUM_SIZE, DEFAULT_COLLECTION_TIME_TO_LIVE))));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager, Environment environment) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // every cached entity or collection should have an explicitly configured and therefore bounded region
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            properties.put(AvailableSettings.GENERATE_STATISTICS,
+                    environment.getProperty(PROPERTY_PREFIX + "statistics-enabled", Boolean.class, false));
+        };
+    }
+
+    /*
+     * Region names are the default names used by Hibernate, i.e. the entity name for entities and the collection role
+     * for collections. The region specific properties use these names without the package.
+     */
+    private static CaffeineConfiguration<Object, Object> createRegionConfiguration(Environment environment, String region, String group,
+                                                                                   long defaultMaximumSize, String defaultTimeToLive) {
+        final String regionPrefix = PROPERTY_PREFIX + "regions." + region + ".";
+        final String groupPrefix = PROPERTY_PREFIX + group + ".";
+        final long maximumSize = environment.getProperty(regionPrefix + "maximum-size", Long.class,
+                environment.getProperty(groupPrefix + "maximum-size", Long.class, defaultMaximumSize));
+        final Duration timeToLive = DurationStyle.detectAndParse(environment.getProperty(regionPrefix + "time-to-live",
+                environment.getProperty(groupPrefix + "time-to-live", defaultTimeToLive)));
+
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        return configuration;
+    }
+}
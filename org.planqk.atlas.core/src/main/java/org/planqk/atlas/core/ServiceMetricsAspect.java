@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.NonNull;
+
+/**
+ * Measures the calls of the public methods of the beans in the services package.
+ * <p>
+ * The duration of the calls is published as the timer {@value #CALLS_METRIC} with a percentile histogram, the calls
+ * that threw an exception additionally as the counter {@value #EXCEPTIONS_METRIC}. Both are tagged with the service,
+ * i.e. the service interface of the bean or its class if it does not implement one, the method and the simple name of
+ * the thrown exception. The calls in progress are published as the long task timer {@value #ACTIVE_METRIC}.
+ * <p>
+ * The aspect has the highest precedence, so the measured duration includes the transaction of the method and the
+ * exceptions thrown by its commit are counted. The calls in progress are tracked per thread, as service methods are
+ * executed on the calling thread. Calls of a service to its own methods are not measured, as they do not
+ * pass the proxy of the service.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    static final String METRIC_PREFIX = "atlas.service";
+
+    static final String CALLS_METRIC = METRIC_PREFIX + ".calls";
+
+    static final String EXCEPTIONS_METRIC = METRIC_PREFIX + ".exceptions";
+
+    static final String ACTIVE_METRIC = METRIC_PREFIX + ".active";
+
+    static final String NO_EXCEPTION = "none";
+
+    static final String SERVICE_METHODS = "within(org.planqk.atlas.core.services..*) && execution(public * *(..))";
+
+    private final Map<List<Object>, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    // the calls in progress on the current thread, calls of other services made by a call on top of it
+    private final ThreadLocal<Deque<MethodCall>> activeCalls = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private MeterRegistry meterRegistry;
+
+    // the registry is resolved on the first call, as aspects are created before the other beans
+    public ServiceMetricsAspect(@NonNull ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Before(SERVICE_METHODS)
+    public void startCall(JoinPoint joinPoint) {
+        final Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        final MethodMeters meters = methodMeters.computeIfAbsent(List.of(targetClass, method),
+                key -> new MethodMeters(getServiceName(targetClass), method.getName()));
+        activeCalls.get().push(new MethodCall(meters));
+    }
+
+    @AfterReturning(SERVICE_METHODS)
+    public void stopCall() {
+        stopCall(NO_EXCEPTION);
+    }
+
+    @AfterThrowing(pointcut = SERVICE_METHODS, throwing = "e")
+    public void stopCall(Throwable e) {
+        final String exception = e.getClass().getSimpleName().isEmpty() ? e.getClass().getName() : e.getClass().getSimpleName();
+        stopCall(exception).meters.getExceptions(exception).increment();
+    }
+
+    private MethodCall stopCall(String exception) {
+        final Deque<MethodCall> calls = activeCalls.get();
+        final MethodCall call = calls.pop();
+        if (calls.isEmpty()) {
+            activeCalls.remove();
+        }
+        call.activeCall.stop();
+        call.meters.getCalls(exception).record(System.nanoTime() - call.start, TimeUnit.NANOSECONDS);
+        return call;
+    }
+
+    private synchronized MeterRegistry getMeterRegistry() {
+        if (meterRegistry == null) {
+            meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        }
+        return meterRegistry;
+    }
+
+    private static String getServiceName(Class<?> serviceClass) {
+        return Arrays.stream(serviceClass.getInterfaces())
+                .filter(serviceInterface -> serviceInterface.getPackageName().equals(serviceClass.getPackageName()))
+                .findFirst().orElse(serviceClass).getSimpleName();
+    }
+
+    /**
+     * A call of a service method in progress.
+     */
+    private static class MethodCall {
+
+        private final MethodMeters meters;
+
+        private final LongTaskTimer.Sample activeCall;
+
+        private final long start = System.nanoTime();
+
+        MethodCall(MethodMeters meters) {
+            this.meters = meters;
+            this.activeCall = meters.active.start();
+        }
+    }
+
+    /**
+     * The meters of a service method, the meters of the exceptions are registered when they are thrown first.
+     */
+    private class MethodMeters {
+
+        private final String service;
+
+        private final String method;
+
+        private final LongTaskTimer active;
+
+        private final Map<String, Timer> calls = new ConcurrentHashMap<>();
+
+        private final Map<String, Counter> exceptions = new ConcurrentHashMap<>();
+
+        MethodMeters(String service, String method) {
+            this.service = service;
+            this.method = method;
+            this.active = LongTaskTimer.builder(ACTIVE_METRIC)
+                    .description("Service method calls in progress")
+                    .tags("service", service, "method", method)
+                    .register(getMeterRegistry());
+        }
+
+        Timer getCalls(String exception) {
+            return calls.computeIfAbsent(exception, key -> Timer.builder(CALLS_METRIC)
+                    .description("Duration of service method calls")
+                    .tags("service", service, "method", method, "exception", exception)
+                    .publishPercentileHistogram()
+                    .register(getMeterRegistry()));
+        }
+
+        Counter getExceptions(String exception) {
+            return exceptions.computeIfAbsent(exception, key -> Counter.builder(EXCEPTIONS_METRIC)
+                    .description("Service method calls that threw an exception")
+                    .tags("service", service, "method", method, "exception", exception)
+                    .register(getMeterRegistry()));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * This configuration measures the calls of all service methods, see ServiceMetricsAspect.
+ *
+ * The services are proxied by class, as some of them are injected by their class instead of an interface.
+ *
+ */
+@Configuration
+@EnableAspectJAutoProxy(proxyTargetClass = true)
+public class ServiceMetricsConfiguration {
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ServiceMetricsAspect(meterRegistry);
+    }
+}
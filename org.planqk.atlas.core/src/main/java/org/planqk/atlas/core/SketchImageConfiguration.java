@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+ * This configuration moves the association between sketches and images to the sketch table.
+ *
+ * Images used to reference their sketch by the column image.sketch_id. Now the sketch references its image by the
+ * column sketch.image_id, which Hibernate adds to existing databases, so the image can be loaded lazily. On startup the
+ * references of existing images are copied to the new column. All statements are idempotent and skipped on databases
+ * without the old column.
+ *
+ * The old column is kept, so the previous release still runs on the migrated database. New images leave it empty, so
+ * its NOT NULL constraint is dropped, and its foreign key sets it to NULL when the sketch is deleted, as sketches are
+ * deleted before their image now. The column is dropped by a later migration once the previous release is retired.
+ */
+@Configuration
+// the new column has to be added by Hibernate first
+@DependsOn("entityManagerFactory")
+public class SketchImageConfiguration {
+
+    static final String MIGRATE_IMAGE_REFERENCES = "DO $$ DECLARE fk_name text; BEGIN " +
+            "IF EXISTS (SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() " +
+            "AND table_name = 'image' AND column_name = 'sketch_id') THEN " +
+            "ALTER TABLE image ALTER COLUMN sketch_id DROP NOT NULL; " +
+            "FOR fk_name IN SELECT con.conname FROM pg_constraint con " +
+            "JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey) " +
+            "WHERE con.conrelid = 'image'::regclass AND con.contype = 'f' AND att.attname = 'sketch_id' " +
+            "AND con.confdeltype <> 'n' LOOP " +
+            "EXECUTE format('ALTER TABLE image DROP CONSTRAINT %I', fk_name); " +
+            "EXECUTE format('ALTER TABLE image ADD CONSTRAINT %I FOREIGN KEY (sketch_id) REFERENCES sketch (id) " +
+            "ON DELETE SET NULL', fk_name); " +
+            "END LOOP; " +
+            "UPDATE sketch SET image_id = image.id FROM image WHERE image.sketch_id = sketch.id AND sketch.image_id IS NULL; " +
+            "END IF; END $$";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    protected void initialize() {
+        new JdbcTemplate(dataSource).execute(MIGRATE_IMAGE_REFERENCES);
+    }
+}
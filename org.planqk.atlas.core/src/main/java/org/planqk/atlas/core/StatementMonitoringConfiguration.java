@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import javax.sql.DataSource;
+
+import org.planqk.atlas.core.util.StatementMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * This configuration records the JDBC statements executed through the data source of the application.
+ *
+ * The data source is wrapped by the statement monitor, which collects the statistics of the statements executed
+ * while a scope is open and logs statements slower than atlas.jdbc.slow-statement-threshold (in milliseconds).
+ *
+ */
+@Configuration
+public class StatementMonitoringConfiguration {
+
+    @Bean
+    public StatementMonitor statementMonitor(@Value("${atlas.jdbc.slow-statement-threshold:500}") long slowStatementThreshold,
+                                             @Value("${atlas.jdbc.slowest-statements:5}") int slowestStatements) {
+        return new StatementMonitor(slowStatementThreshold, slowestStatements);
+    }
+
+    // static, as post-processors are created before the other beans of the configuration
+    @Bean
+    public static BeanPostProcessor statementMonitoringDataSourcePostProcessor(ObjectProvider<StatementMonitor> statementMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource ? statementMonitor.getObject().wrap((DataSource) bean) : bean;
+            }
+        };
+    }
+}
@@ -30,11 +30,17 @@ import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.AuditTable;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.NotAudited;
+import org.planqk.atlas.core.util.Constants;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -44,6 +50,9 @@ import lombok.ToString;
 
 /**
  * Entity representing a quantum algorithm, e.g., Shors factorization algorithm.
+ * <p>
+ * The {@link #DETAIL_GRAPH} fetches the associations shown in the detail view of an algorithm with the algorithm
+ * itself. In lists, the sketches of the algorithms and algorithms referenced by other entities are loaded in batches.
  */
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -51,8 +60,12 @@ import lombok.ToString;
 @Entity
 @AuditTable("algorithm_revisions")
 @Audited
+@BatchSize(size = Constants.BATCH_FETCH_SIZE)
+@NamedEntityGraph(name = Algorithm.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("sketches"))
 public class Algorithm extends KnowledgeArtifact {
 
+    public static final String DETAIL_GRAPH = "Algorithm.detail";
+
     private String name;
 
     private String acronym;
@@ -106,6 +119,7 @@ public class Algorithm extends KnowledgeArtifact {
     private String algoParameter;
 
     @OneToMany(mappedBy = "algorithm", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = Constants.BATCH_FETCH_SIZE)
     @NotAudited
     private List<Sketch> sketches = new ArrayList<>();
 
@@ -130,6 +144,7 @@ public class Algorithm extends KnowledgeArtifact {
                inverseJoinColumns = @JoinColumn(name = "problem_type_id"))
     @EqualsAndHashCode.Exclude
     @NotAudited
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<ProblemType> problemTypes = new HashSet<>();
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
@@ -138,6 +153,7 @@ public class Algorithm extends KnowledgeArtifact {
                inverseJoinColumns = @JoinColumn(name = "application_area_id"))
     @EqualsAndHashCode.Exclude
     @NotAudited
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<ApplicationArea> applicationAreas = new HashSet<>();
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
@@ -147,6 +163,7 @@ public class Algorithm extends KnowledgeArtifact {
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     @NotAudited
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Tag> tags = new HashSet<>();
 
     @OneToMany(mappedBy = "implementedAlgorithm",
@@ -164,6 +181,7 @@ public class Algorithm extends KnowledgeArtifact {
                inverseJoinColumns = @JoinColumn(name = "learning_method_id"))
     @EqualsAndHashCode.Exclude
     @NotAudited
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<LearningMethod> learningMethods = new HashSet<>();
 
     public void addTag(@NonNull Tag tag) {
@@ -19,8 +19,9 @@
 
 package org.planqk.atlas.core.model;
 
-import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,6 +29,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "file_content_hash_idx", columnList = "contentHash"))
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -38,6 +40,14 @@ public class File extends KnowledgeArtifact {
 
     private String mimeType;
 
-    @Column(unique = true)
+    /**
+     * Location of the stored content. Files with the same content share their stored content, so they have the same
+     * location.
+     */
     private String fileURL;
+
+    /**
+     * Hex encoded SHA-256 hash of the content, or null for files stored before contents were deduplicated.
+     */
+    private String contentHash;
 }
@@ -20,7 +20,6 @@
 package org.planqk.atlas.core.model;
 
 import javax.persistence.Entity;
-import javax.persistence.JoinColumn;
 import javax.persistence.Lob;
 import javax.persistence.OneToOne;
 
@@ -38,13 +37,23 @@ import lombok.NoArgsConstructor;
 @Data
 public class Image extends KnowledgeArtifact {
 
+    /**
+     * The binary content of the image. Images stored before the content hash was introduced contain the Base64
+     * encoded content instead, until they are migrated.
+     */
     @Lob
     @Type(type = "org.hibernate.type.ImageType")
     private byte[] image;
 
     private String mimeType;
 
-    @OneToOne(optional = false)
-    @JoinColumn(name = "sketch_id")
+    /**
+     * Hex encoded SHA-256 hash of the binary content, used as entity tag of the image.
+     */
+    private String contentHash;
+
+    private Long contentLength;
+
+    @OneToOne(mappedBy = "image")
     private Sketch sketch;
 }
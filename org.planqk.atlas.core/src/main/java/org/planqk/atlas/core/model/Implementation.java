@@ -28,11 +28,18 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.OneToMany;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.AuditTable;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.NotAudited;
+import org.planqk.atlas.core.util.Constants;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -42,6 +49,9 @@ import lombok.ToString;
 
 /**
  * Entity representing an implementation of a certain quantum {@link Algorithm}.
+ * <p>
+ * The {@link #LIST_GRAPH} joins the implemented algorithm into list queries, the {@link #DETAIL_GRAPH} additionally
+ * fetches the software platforms. Lists load the software platforms of their implementations in batches instead.
  */
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -49,8 +59,17 @@ import lombok.ToString;
 @Data
 @AuditTable("implementation_revisions")
 @Audited
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Implementation.LIST_GRAPH, attributeNodes = @NamedAttributeNode("implementedAlgorithm")),
+        @NamedEntityGraph(name = Implementation.DETAIL_GRAPH, attributeNodes = {
+                @NamedAttributeNode("implementedAlgorithm"), @NamedAttributeNode("softwarePlatforms")})
+})
 public class Implementation extends KnowledgeArtifact {
 
+    public static final String LIST_GRAPH = "Implementation.list";
+
+    public static final String DETAIL_GRAPH = "Implementation.detail";
+
     private String name;
 
     @Column(columnDefinition = "text")
@@ -101,6 +120,7 @@ public class Implementation extends KnowledgeArtifact {
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     @NotAudited
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Tag> tags = new HashSet<>();
 
     @EqualsAndHashCode.Exclude
@@ -119,6 +139,7 @@ public class Implementation extends KnowledgeArtifact {
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     @NotAudited
+    @BatchSize(size = Constants.BATCH_FETCH_SIZE)
     private Set<SoftwarePlatform> softwarePlatforms = new HashSet<>();
 
     @OneToMany(mappedBy = "implementation",
@@ -27,6 +27,8 @@ import javax.persistence.Entity;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 
 import org.hibernate.envers.AuditTable;
 import org.hibernate.envers.Audited;
@@ -47,6 +49,10 @@ import lombok.NoArgsConstructor;
  *     See ADR 0009-joined-table-for-knowledge-artifact.md for background
  *     information.
  * </p>
+ * <p>
+ *     The modification date is updated whenever the artifact is persisted or
+ *     updated, so the artifacts changed since a given date can be found.
+ * </p>
  */
 @EqualsAndHashCode(callSuper = true)
 @Entity
@@ -67,4 +73,13 @@ public class KnowledgeArtifact extends HasId {
                orphanRemoval = true)
     @EqualsAndHashCode.Exclude
     private Set<DiscussionTopic> discussionTopics = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    protected void updateModificationDate() {
+        lastModifiedAt = new Date();
+        if (creationDate == null) {
+            creationDate = lastModifiedAt;
+        }
+    }
 }
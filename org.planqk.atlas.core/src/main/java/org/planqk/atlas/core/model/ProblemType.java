@@ -22,8 +22,14 @@ package org.planqk.atlas.core.model;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -35,6 +41,9 @@ import lombok.NonNull;
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Entity
+@Cacheable
+@Table(indexes = @Index(name = "problem_type_parent_problem_type_idx", columnList = "parentProblemType"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProblemType extends HasId {
 
     private String name;
@@ -23,6 +23,7 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
 
@@ -52,7 +53,10 @@ public class Sketch extends KnowledgeArtifact {
     @EqualsAndHashCode.Exclude
     private Algorithm algorithm;
 
-    @OneToOne(mappedBy = "sketch", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // owned by the sketch, as only the owning side of a one-to-one association can be loaded lazily, so the content of
+    // the image is not loaded together with the sketches
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "image_id")
     @EqualsAndHashCode.Exclude
     private Image image;
 }
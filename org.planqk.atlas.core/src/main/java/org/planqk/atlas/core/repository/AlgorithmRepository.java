@@ -19,13 +19,17 @@
 
 package org.planqk.atlas.core.repository;
 
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.util.FullTextSearchUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.history.RevisionRepository;
 import org.springframework.data.repository.query.Param;
@@ -39,52 +43,98 @@ import org.springframework.stereotype.Repository;
 @RepositoryRestResource(exported = false)
 public interface AlgorithmRepository extends RevisionRepository<Algorithm, UUID, Integer>, JpaRepository<Algorithm, UUID> {
 
+    /*
+     * Weighted text search vector of an algorithm. The function and the GIN index on it are created on startup by the
+     * AlgorithmSearchConfiguration, the queries have to call it with the same columns for PostgreSQL to use the index.
+     */
+    String SEARCH_VECTOR = "algorithm_search_vector(algo.name, algo.acronym, algo.intent, algo.problem, algo.solution, algo.assumptions)";
+
+    String SEARCH_FROM = "FROM algorithm algo " +
+            "JOIN knowledge_artifact ka ON ka.id = algo.id " +
+            "WHERE " + SEARCH_VECTOR + " @@ to_tsquery('simple', :query) " +
+            "OR algo.name ILIKE :pattern OR algo.acronym ILIKE :pattern OR algo.problem ILIKE :pattern";
+
+    /*
+     * JPQL counterpart of the search condition for keyset pagination. The functions are registered by the
+     * AlgorithmSearchConfiguration and render the same indexed expressions as the native search.
+     */
+    String KEYSET_SEARCH_FILTER = "function('algorithm_search_matches', e.name, e.acronym, e.intent, e.problem, e.solution, " +
+            "e.assumptions, :query) = true OR function('ilike', e.name, :pattern) = true OR function('ilike', e.acronym, :pattern) = true " +
+            "OR function('ilike', e.problem, :pattern) = true";
+
+    /**
+     * Search all algorithms whose name, acronym, intent, problem, solution or assumptions match the given search.
+     * <p>
+     * Every term of the search is matched as a prefix of the words of these properties using PostgreSQL's full text
+     * search. Additionally, the name, acronym and problem are matched by substring. If the {@link Pageable} is not sorted the
+     * results are ordered by relevance, matches in the name and acronym ranking highest.
+     *
+     * @param search   The search string entered by the user
+     * @param pageable The page information of the page we want to retrieve
+     * @return The page of matching {@link Algorithm}s
+     */
     default Page<Algorithm> findAll(String search, Pageable pageable) {
-        return findByNameContainingIgnoreCaseOrAcronymContainingIgnoreCaseOrProblemContainingIgnoreCase(search, search, search, pageable);
+        final String query = FullTextSearchUtils.toPrefixQuery(search);
+        final String pattern = FullTextSearchUtils.toLikePattern(search);
+        final Page<String> ids = pageable.getSort().isSorted()
+                ? findIdsBySearch(query, pattern,
+                FullTextSearchUtils.toNativePageable(pageable, Map.of("creationDate", "ka", "lastModifiedAt", "ka")))
+                : findIdsBySearchOrderByRank(query, pattern, pageable);
+        return FullTextSearchUtils.resolvePage(ids, this::findAllById, Algorithm::getId);
     }
 
-    Page<Algorithm> findByNameContainingIgnoreCaseOrAcronymContainingIgnoreCaseOrProblemContainingIgnoreCase(String name, String acronym,
-                                                                                                             String problem, Pageable pageable);
+    /**
+     * Search all algorithms like {@link #findAll(String, Pageable)}, but without counting the matching algorithms.
+     *
+     * @param search   The search string entered by the user
+     * @param pageable The page information of the slice we want to retrieve
+     * @return The slice of matching {@link Algorithm}s
+     */
+    default Slice<Algorithm> findSlice(String search, Pageable pageable) {
+        final String query = FullTextSearchUtils.toPrefixQuery(search);
+        final String pattern = FullTextSearchUtils.toLikePattern(search);
+        final Slice<String> ids = pageable.getSort().isSorted()
+                ? findIdSliceBySearch(query, pattern,
+                FullTextSearchUtils.toNativePageable(pageable, Map.of("creationDate", "ka", "lastModifiedAt", "ka")))
+                : findIdSliceBySearchOrderByRank(query, pattern, pageable);
+        return FullTextSearchUtils.resolveSlice(ids, this::findAllById, Algorithm::getId);
+    }
+
+    Slice<Algorithm> findSliceBy(Pageable pageable);
+
+    /**
+     * Find an algorithm together with the associations shown in its detail view, see {@link Algorithm#DETAIL_GRAPH}.
+     *
+     * @param id The ID of the algorithm
+     * @return The algorithm, if it exists
+     */
+    @EntityGraph(Algorithm.DETAIL_GRAPH)
+    Optional<Algorithm> findDetailedById(UUID id);
+
+    @Query(value = "SELECT CAST(algo.id AS varchar) " + SEARCH_FROM,
+           countQuery = "SELECT count(*) " + SEARCH_FROM,
+           nativeQuery = true)
+    Page<String> findIdsBySearch(@Param("query") String query, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT CAST(algo.id AS varchar) " + SEARCH_FROM + " " +
+            "ORDER BY ts_rank(" + SEARCH_VECTOR + ", to_tsquery('simple', :query)) " +
+            "+ CASE WHEN algo.name ILIKE :pattern OR algo.acronym ILIKE :pattern THEN 1 ELSE 0 END DESC, algo.name",
+           countQuery = "SELECT count(*) " + SEARCH_FROM,
+           nativeQuery = true)
+    Page<String> findIdsBySearchOrderByRank(@Param("query") String query, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT CAST(algo.id AS varchar) " + SEARCH_FROM, nativeQuery = true)
+    Slice<String> findIdSliceBySearch(@Param("query") String query, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT CAST(algo.id AS varchar) " + SEARCH_FROM + " " +
+            "ORDER BY ts_rank(" + SEARCH_VECTOR + ", to_tsquery('simple', :query)) " +
+            "+ CASE WHEN algo.name ILIKE :pattern OR algo.acronym ILIKE :pattern THEN 1 ELSE 0 END DESC, algo.name",
+           nativeQuery = true)
+    Slice<String> findIdSliceBySearchOrderByRank(@Param("query") String query, @Param("pattern") String pattern, Pageable pageable);
 
     @Query("SELECT algo " +
                    "FROM Algorithm algo " +
                    "JOIN algo.publications pub " +
                    "WHERE  pub.id = :pubId")
     Page<Algorithm> findAlgorithmsByPublicationId(@Param("pubId") UUID publicationId, Pageable pageable);
-
-    @Modifying()
-    @Query(value = "DELETE FROM algorithm_revisions WHERE rev = :revId AND id = :algoId", nativeQuery = true)
-    void deleteAlgorithmRevision(@Param("revId") Integer revisionId, @Param("algoId") UUID algorithmId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM algorithm_revisions WHERE id = :algoId", nativeQuery = true)
-    void deleteAllAlgorithmRevisions(@Param("algoId") UUID algorithmId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM classic_algorithm_revisions WHERE rev = :revId AND id = :algoId", nativeQuery = true)
-    void deleteClassicAlgorithmRevision(@Param("revId") Integer revisionId, @Param("algoId") UUID algorithmId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM classic_algorithm_revisions WHERE id = :algoId", nativeQuery = true)
-    void deleteAllClassicAlgorithmRevisions(@Param("algoId") UUID algorithmId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM quantum_algorithm_revisions WHERE rev = :revId AND id = :algoId", nativeQuery = true)
-    void deleteQuantumAlgorithmRevision(@Param("revId") Integer revisionId, @Param("algoId") UUID algorithmId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM quantum_algorithm_revisions WHERE id = :algoId", nativeQuery = true)
-    void deleteAllQuantumAlgorithmRevisions(@Param("algoId") UUID algorithmId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM knowledge_artifact_revisions WHERE rev = :revId AND id = :id", nativeQuery = true)
-    void deleteKnowledgeArtifactRevision(@Param("revId") Integer revisionId, @Param("id") UUID id);
-
-    @Modifying()
-    @Query(value = "DELETE FROM knowledge_artifact_revisions WHERE id = :id", nativeQuery = true)
-    void deleteAllKnowledgeArtifactRevisions(@Param("id") UUID id);
-
-    @Modifying()
-    @Query(value = "DELETE FROM revinfo WHERE rev = :id", nativeQuery = true)
-    void deleteRevisionInfo(@Param("id") Integer id);
 }
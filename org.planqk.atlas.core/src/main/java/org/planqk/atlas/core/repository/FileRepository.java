@@ -29,7 +29,24 @@ import org.springframework.data.repository.query.Param;
 
 public interface FileRepository extends JpaRepository<File, UUID> {
 
-    Optional<File> findByFileURL(String fileURL);
+    /**
+     * Count the files referencing the stored content with the given hash. The stored content can be deleted as soon as
+     * no file references it anymore.
+     *
+     * @param contentHash The hash of the stored content
+     * @return The number of files with the given content
+     */
+    long countByContentHash(String contentHash);
+
+    /**
+     * Lock the stored content with the given hash until the end of the current transaction, so it is not deleted while
+     * a file referencing it is created and vice versa.
+     *
+     * @param contentHash The hash of the stored content
+     * @return Always 1, as the lock function itself has no result
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:contentHash))) AS content_lock", nativeQuery = true)
+    int lockContentHash(@Param("contentHash") String contentHash);
 
     @Query(value = "SELECT * " +
             "FROM file " +
@@ -19,10 +19,16 @@
 
 package org.planqk.atlas.core.repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.ImageMetadata;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 /**
@@ -31,5 +37,26 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 @RepositoryRestResource(exported = false)
 public interface ImageRepository extends JpaRepository<Image, UUID> {
 
-    Image findImageBySketchId(UUID sketchId);
+    @Query("SELECT i FROM Sketch s JOIN s.image i WHERE s.id = :sketchId")
+    Image findImageBySketchId(@Param("sketchId") UUID sketchId);
+
+    /**
+     * Find the properties of the {@link Image} of a {@link org.planqk.atlas.core.model.Sketch} without loading the
+     * content of the image.
+     *
+     * @param sketchId The ID of the sketch
+     * @return The properties of the image of the sketch, if the sketch has an image
+     */
+    @Query("SELECT i.id AS id, i.mimeType AS mimeType, i.contentHash AS contentHash, i.contentLength AS contentLength " +
+            "FROM Sketch s JOIN s.image i WHERE s.id = :sketchId")
+    Optional<ImageMetadata> findMetadataBySketchId(@Param("sketchId") UUID sketchId);
+
+    /**
+     * Find the IDs of images that are stored Base64 encoded and have not been migrated to binary content yet.
+     *
+     * @param pageable The maximum amount of IDs to return
+     * @return The IDs of the images to migrate
+     */
+    @Query("SELECT i.id FROM Image i WHERE i.contentHash IS NULL ORDER BY i.id")
+    List<UUID> findIdsWithoutContentHash(Pageable pageable);
 }
@@ -19,13 +19,15 @@
 
 package org.planqk.atlas.core.repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.Implementation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.history.RevisionRepository;
 import org.springframework.data.repository.query.Param;
@@ -34,46 +36,65 @@ import org.springframework.stereotype.Repository;
 
 /**
  * Repository to access {@link Implementation}s available in the data base with different queries.
+ * <p>
+ * The list queries join the implemented algorithms of the implementations, see {@link Implementation#LIST_GRAPH}.
  */
 @Repository
 @RepositoryRestResource(exported = false)
 public interface ImplementationRepository extends RevisionRepository<Implementation, UUID, Integer>, JpaRepository<Implementation, UUID> {
 
+    /*
+     * JPQL counterpart of the derived search query for keyset pagination, the pattern has to be lower case.
+     */
+    String KEYSET_SEARCH_FILTER = "lower(e.name) LIKE :pattern ESCAPE '\\' OR lower(e.description) LIKE :pattern ESCAPE '\\'";
+
+    @Override
+    @EntityGraph(Implementation.LIST_GRAPH)
+    Page<Implementation> findAll(Pageable pageable);
+
+    default Page<Implementation> findAll(String search, Pageable pageable) {
+        return findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(search, search, pageable);
+    }
+
+    @EntityGraph(Implementation.LIST_GRAPH)
     Page<Implementation> findByImplementedAlgorithmId(UUID implementedAlgorithmId, Pageable pageable);
 
+    @EntityGraph(Implementation.LIST_GRAPH)
+    Page<Implementation> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description,
+                                                                                           Pageable pageable);
+
+    default Slice<Implementation> findSlice(String search, Pageable pageable) {
+        return findSliceByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(search, search, pageable);
+    }
+
+    @EntityGraph(Implementation.LIST_GRAPH)
+    Slice<Implementation> findSliceByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description,
+                                                                                                Pageable pageable);
+
+    @EntityGraph(Implementation.LIST_GRAPH)
+    Slice<Implementation> findSliceBy(Pageable pageable);
+
+    /**
+     * Find an implementation together with the associations shown in its detail view, see {@link
+     * Implementation#DETAIL_GRAPH}.
+     *
+     * @param id The ID of the implementation
+     * @return The implementation, if it exists
+     */
+    @EntityGraph(Implementation.DETAIL_GRAPH)
+    Optional<Implementation> findDetailedById(UUID id);
+
+    @EntityGraph(Implementation.LIST_GRAPH)
     @Query("SELECT impl " +
                    "FROM Implementation impl " +
                    "JOIN impl.publications pub " +
                    "WHERE  pub.id = :pubId")
     Page<Implementation> findImplementationsByPublicationId(@Param("pubId") UUID publicationId, Pageable pageable);
 
+    @EntityGraph(Implementation.LIST_GRAPH)
     @Query("SELECT i " +
                    "FROM Implementation i " +
                    "JOIN i.softwarePlatforms sp " +
                    "WHERE sp.id = :spId")
     Page<Implementation> findImplementationsBySoftwarePlatformId(@Param("spId") UUID softwarePlatformId, Pageable pageable);
-
-    @Modifying()
-    @Query(value = "DELETE FROM implementation_revisions WHERE id = :implId", nativeQuery = true)
-    void deleteAllImplementationRevisions(@Param("implId") UUID implementationId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM implementation_revisions WHERE rev = :revId AND id = :implId", nativeQuery = true)
-    void deleteImplementationRevision(@Param("revId") Integer revisionId, @Param("implId") UUID implementationId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM classic_implementation_revisions WHERE rev = :revId AND id = :implId", nativeQuery = true)
-    void deleteClassicImplementationRevision(@Param("revId") Integer revisionId, @Param("implId") UUID implementationId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM classic_implementation_revisions WHERE id = :implId", nativeQuery = true)
-    void deleteAllClassicImplementationRevisions(@Param("implId") UUID implementationId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM quantum_implementation_revisions WHERE rev = :revId AND id = :implId", nativeQuery = true)
-    void deleteQuantumImplementationRevision(@Param("revId") Integer revisionId, @Param("implId") UUID implementationId);
-
-    @Modifying()
-    @Query(value = "DELETE FROM quantum_implementation_revisions WHERE id = :implId", nativeQuery = true)
-    void deleteAllQuantumImplementationRevisions(@Param("implId") UUID implementationId);
 }
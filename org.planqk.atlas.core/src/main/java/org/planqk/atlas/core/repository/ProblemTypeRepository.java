@@ -26,6 +26,7 @@ import org.planqk.atlas.core.model.ProblemType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
@@ -51,4 +52,76 @@ public interface ProblemTypeRepository extends JpaRepository<ProblemType, UUID>
     Page<ProblemType> findProblemTypesByAlgorithmId(@Param("algoid") UUID algorithmId, Pageable pageable);
 
     List<ProblemType> findProblemTypesByParentProblemType(@Param("parentProblemTypeId") UUID parentProblemType);
+
+    /**
+     * Find the given {@link ProblemType} and all of its ancestors with a single recursive query.
+     * <p>
+     * The result starts with the given {@link ProblemType}, followed by its parent, the parent of its parent and so on
+     * up to the root. Parent IDs that do not reference an existing {@link ProblemType} end the chain.
+     *
+     * @param problemTypeId The ID of the {@link ProblemType} whose ancestors should be found
+     * @return The {@link ProblemType} and its ancestors ordered from the {@link ProblemType} to the root
+     */
+    @Query(value = "WITH RECURSIVE ancestors(id, parent_problem_type, depth, path) AS (" +
+            "    SELECT pt.id, pt.parent_problem_type, 0, ARRAY[pt.id] FROM problem_type pt WHERE pt.id = :problemTypeId " +
+            "    UNION ALL " +
+            "    SELECT parent.id, parent.parent_problem_type, a.depth + 1, a.path || parent.id " +
+            "    FROM problem_type parent JOIN ancestors a ON parent.id = a.parent_problem_type " +
+            "    WHERE NOT parent.id = ANY(a.path)" +
+            ") " +
+            "SELECT pt.* FROM problem_type pt JOIN ancestors a ON pt.id = a.id ORDER BY a.depth",
+           nativeQuery = true)
+    List<ProblemType> findAncestors(@Param("problemTypeId") UUID problemTypeId);
+
+    /**
+     * Find all descendants of the given {@link ProblemType} up to the given depth with a single recursive query.
+     * <p>
+     * The children of the {@link ProblemType} have depth 1, their children depth 2 and so on. The result is ordered by
+     * depth and name and does not contain the given {@link ProblemType} itself.
+     *
+     * @param problemTypeId The ID of the {@link ProblemType} whose descendants should be found
+     * @param maxDepth      The maximal depth of the returned descendants
+     * @return The descendants of the {@link ProblemType} ordered by depth and name
+     */
+    @Query(value = "WITH RECURSIVE descendants(id, depth, path) AS (" +
+            "    SELECT pt.id, 0, ARRAY[pt.id] FROM problem_type pt WHERE pt.id = :problemTypeId " +
+            "    UNION ALL " +
+            "    SELECT child.id, d.depth + 1, d.path || child.id " +
+            "    FROM problem_type child JOIN descendants d ON child.parent_problem_type = d.id " +
+            "    WHERE d.depth < :maxDepth AND NOT child.id = ANY(d.path)" +
+            ") " +
+            "SELECT pt.* FROM problem_type pt JOIN descendants d ON pt.id = d.id WHERE d.depth > 0 ORDER BY d.depth, pt.name",
+           nativeQuery = true)
+    List<ProblemType> findDescendants(@Param("problemTypeId") UUID problemTypeId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Check whether a {@link ProblemType} is part of the subtree of another {@link ProblemType}, i.e. if it is the
+     * {@link ProblemType} itself or one of its descendants.
+     *
+     * @param problemTypeId The ID of the root of the subtree
+     * @param descendantId  The ID of the {@link ProblemType} to look for in the subtree
+     * @return true if the {@link ProblemType} is part of the subtree, false otherwise
+     */
+    @Query(value = "WITH RECURSIVE descendants(id, path) AS (" +
+            "    SELECT pt.id, ARRAY[pt.id] FROM problem_type pt WHERE pt.id = :problemTypeId " +
+            "    UNION ALL " +
+            "    SELECT child.id, d.path || child.id " +
+            "    FROM problem_type child JOIN descendants d ON child.parent_problem_type = d.id " +
+            "    WHERE NOT child.id = ANY(d.path)" +
+            ") " +
+            "SELECT EXISTS(SELECT 1 FROM descendants WHERE id = :descendantId)",
+           nativeQuery = true)
+    boolean isInSubtree(@Param("problemTypeId") UUID problemTypeId, @Param("descendantId") UUID descendantId);
+
+    /**
+     * Move all children of a {@link ProblemType} to a new parent with a single update statement. The subtrees of the
+     * children are moved with them, as they still reference the children as their parents.
+     *
+     * @param parentProblemTypeId    The ID of the current parent of the children
+     * @param newParentProblemTypeId The ID of the new parent of the children or null to make them root problem types
+     * @return The amount of moved children
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProblemType pt SET pt.parentProblemType = :newParentId WHERE pt.parentProblemType = :parentId")
+    int updateParentProblemType(@Param("parentId") UUID parentProblemTypeId, @Param("newParentId") UUID newParentProblemTypeId);
 }
@@ -25,6 +25,7 @@ import java.util.UUID;
 import org.planqk.atlas.core.model.Publication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -38,6 +39,12 @@ import org.springframework.stereotype.Repository;
 @RepositoryRestResource(exported = false)
 public interface PublicationRepository extends JpaRepository<Publication, UUID> {
 
+    /*
+     * JPQL counterpart of the derived search query for keyset pagination, the pattern has to be lower case.
+     */
+    String KEYSET_SEARCH_FILTER = "lower(e.title) LIKE :pattern ESCAPE '\\' OR lower(e.doi) LIKE :pattern ESCAPE '\\' " +
+            "OR lower(e.url) LIKE :pattern ESCAPE '\\' OR :search MEMBER OF e.authors";
+
     default Page<Publication> findAll(String search, Pageable pageable) {
         return findByTitleContainingIgnoreCaseOrDoiContainingIgnoreCaseOrUrlContainingIgnoreCaseOrAuthorsContainingIgnoreCase(search, search, search,
                 search, pageable);
@@ -50,6 +57,20 @@ public interface PublicationRepository extends JpaRepository<Publication, UUID>
             String author,
             Pageable pageable);
 
+    default Slice<Publication> findSlice(String search, Pageable pageable) {
+        return findSliceByTitleContainingIgnoreCaseOrDoiContainingIgnoreCaseOrUrlContainingIgnoreCaseOrAuthorsContainingIgnoreCase(search, search,
+                search, search, pageable);
+    }
+
+    Slice<Publication> findSliceByTitleContainingIgnoreCaseOrDoiContainingIgnoreCaseOrUrlContainingIgnoreCaseOrAuthorsContainingIgnoreCase(
+            String title,
+            String doi,
+            String url,
+            String author,
+            Pageable pageable);
+
+    Slice<Publication> findSliceBy(Pageable pageable);
+
     boolean existsById(UUID id);
 
     void deleteByIdIn(Set<UUID> ids);
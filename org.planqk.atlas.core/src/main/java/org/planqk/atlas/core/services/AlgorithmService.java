@@ -20,6 +20,7 @@
 package org.planqk.atlas.core.services;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.AlgorithmRelation;
@@ -28,8 +29,13 @@ import org.planqk.atlas.core.model.LearningMethod;
 import org.planqk.atlas.core.model.PatternRelation;
 import org.planqk.atlas.core.model.ProblemType;
 import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.history.Revision;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -58,7 +64,9 @@ public interface AlgorithmService {
      * The amount of entries is based on the given {@link Pageable} parameter. If the {@link Pageable} is unpaged a
      * {@link Page} with all entries is queried.
      * <p>
-     * If no search should be executed the search parameter can be left null or empty.
+     * If no search should be executed the search parameter can be left null or empty. Otherwise a full text search
+     * over the name, acronym, intent, problem, solution and assumptions of the {@link Algorithm}s is executed. If the
+     * {@link Pageable} is not sorted the results are ordered by their relevance for the search.
      *
      * @param pageable The page information, namely page size and page number, of the page we want to retrieve
      * @param search   The string based on which a search will be executed
@@ -66,6 +74,54 @@ public interface AlgorithmService {
      */
     Page<Algorithm> findAll(Pageable pageable, String search);
 
+    /**
+     * Retrieve multiple {@link Algorithm} entries from the database like {@link #findAll(Pageable, String)}, determining
+     * the total amount of entries as defined by the {@link CountMode}.
+     * <p>
+     * With {@link CountMode#NONE} no count query is executed and a {@link Slice} is returned. With {@link
+     * CountMode#ESTIMATED} the total of an unfiltered list is estimated from the table statistics of the database.
+     * Otherwise a {@link Page} with the exact total is returned.
+     *
+     * @param pageable  The page information, namely page size and page number, of the page we want to retrieve
+     * @param search    The string based on which a search will be executed
+     * @param countMode Defines how the total amount of entries is determined
+     * @return The page or slice of queried {@link Algorithm} entries
+     */
+    Slice<Algorithm> findAll(Pageable pageable, String search, CountMode countMode);
+
+    /**
+     * Retrieve a slice of {@link Algorithm} entries from the database using keyset (cursor) pagination.
+     * <p>
+     * The slice starts after the last entry of the slice the cursor of the request was returned with, or at the first
+     * entry if the request has no cursor. No count query is executed. The entries are ordered by the sort of the
+     * request followed by their ID, the sort has to be the same for all slices of a list.
+     * <p>
+     * If no search should be executed the search parameter can be left null or empty. The search matches the same
+     * {@link Algorithm}s as the search of {@link #findAll(Pageable, String)}, but they are not ordered by relevance.
+     * It is executed by the database even if the search index is enabled, see {@link SearchIndexService#supports}.
+     *
+     * @param request The size and sort of the slice and the cursor of the previous slice
+     * @param search  The string based on which a search will be executed
+     * @return The slice of queried {@link Algorithm} entries with the cursor of the next slice
+     */
+    CursorSlice<Algorithm> findSlice(CursorPageRequest request, String search);
+
+    /**
+     * Pass all {@link Algorithm} entries matching the search to the given action, without loading all of them at once.
+     * <p>
+     * The entries are read from a database cursor and detached after the action processed them, so the memory needed
+     * does not depend on the amount of entries. They are ordered by the given sort followed by their ID.
+     * <p>
+     * If no search should be executed the search parameter can be left null or empty. The search matches the same
+     * {@link Algorithm}s as the search of {@link #findAll(Pageable, String)}, but they are not ordered by relevance.
+     *
+     * @param sort   The sort of the entries
+     * @param search The string based on which a search will be executed
+     * @param action The action processing each entry
+     * @return The amount of processed {@link Algorithm} entries
+     */
+    long streamAll(Sort sort, String search, Consumer<? super Algorithm> action);
+
     /**
      * Find a database entry of a {@link Algorithm} that is already saved in the database. This search is based on the
      * ID the database has given the {@link Algorithm} object when it was created and first saved to the database.
@@ -77,6 +133,17 @@ public interface AlgorithmService {
      */
     Algorithm findById(UUID algorithmId);
 
+    /**
+     * Find an {@link Algorithm} like {@link #findById(UUID)}, but together with the associations shown in its detail
+     * view, so they are loaded by the same query instead of one query each.
+     * <p>
+     * If there is no entry found in the database this method will throw a {@link java.util.NoSuchElementException}.
+     *
+     * @param algorithmId The ID of the {@link Algorithm} we want to find
+     * @return The {@link Algorithm} with the given ID
+     */
+    Algorithm findDetailedById(UUID algorithmId);
+
     /**
      * Update an existing {@link Algorithm} database entry by saving the updated {@link Algorithm} object to the the
      * database.
@@ -107,6 +174,9 @@ public interface AlgorithmService {
      * {@link Algorithm} will be removed from these objects. These include {@link Publication}s, {@link ProblemType}s,
      * {@link ApplicationArea}s and {@link org.planqk.atlas.core.model.Tag}s.
      * <p>
+     * The referenced objects, links and revisions are deleted with one statement per table instead of one by one, see
+     * {@link CascadeDeleter}.
+     * <p>
      * If no entry with the given ID is found this method will throw a {@link java.util.NoSuchElementException}.
      *
      * @param algorithmId The ID of the {@link Algorithm} we want to delete
@@ -19,15 +19,17 @@
 
 package org.planqk.atlas.core.services;
 
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.AlgorithmRelation;
 import org.planqk.atlas.core.model.ApplicationArea;
 import org.planqk.atlas.core.model.LearningMethod;
-import org.planqk.atlas.core.model.ClassicAlgorithm;
 import org.planqk.atlas.core.model.PatternRelation;
 import org.planqk.atlas.core.model.ProblemType;
 import org.planqk.atlas.core.model.Publication;
@@ -35,18 +37,20 @@ import org.planqk.atlas.core.model.QuantumAlgorithm;
 import org.planqk.atlas.core.repository.AlgorithmRelationRepository;
 import org.planqk.atlas.core.repository.AlgorithmRepository;
 import org.planqk.atlas.core.repository.ApplicationAreaRepository;
-import org.planqk.atlas.core.repository.ComputeResourcePropertyRepository;
 import org.planqk.atlas.core.repository.LearningMethodRepository;
 import org.planqk.atlas.core.repository.PatternRelationRepository;
 import org.planqk.atlas.core.repository.ProblemTypeRepository;
 import org.planqk.atlas.core.repository.PublicationRepository;
-import org.planqk.atlas.core.util.CollectionUtils;
-import org.planqk.atlas.core.util.Constants;
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
+import org.planqk.atlas.core.util.FullTextSearchUtils;
 import org.planqk.atlas.core.util.ServiceUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.history.Revision;
-import org.springframework.data.history.Revisions;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -63,8 +67,6 @@ public class AlgorithmServiceImpl implements AlgorithmService {
 
     private final AlgorithmRelationRepository algorithmRelationRepository;
 
-    private final ImplementationService implementationService;
-
     private final PublicationRepository publicationRepository;
 
     private final ProblemTypeRepository problemTypeRepository;
@@ -73,11 +75,17 @@ public class AlgorithmServiceImpl implements AlgorithmService {
 
     private final LearningMethodRepository learningMethodRepository;
 
-    private final ComputeResourcePropertyRepository computeResourcePropertyRepository;
+    private final PatternRelationRepository patternRelationRepository;
+
+    private final SearchIndexService searchIndexService;
 
-    private final PatternRelationService patternRelationService;
+    private final KeysetPaginationService keysetPaginationService;
 
-    private final PatternRelationRepository patternRelationRepository;
+    private final CountEstimationService countEstimationService;
+
+    private final RevisionRetentionService revisionRetentionService;
+
+    private final CascadeDeleter cascadeDeleter;
 
     @Override
     @Transactional
@@ -88,16 +96,65 @@ public class AlgorithmServiceImpl implements AlgorithmService {
     @Override
     public Page<Algorithm> findAll(@NonNull Pageable pageable, String search) {
         if (!Objects.isNull(search) && !search.isEmpty()) {
+            if (searchIndexService.supports(pageable)) {
+                return searchIndexService.search(Algorithm.class, search, pageable);
+            }
             return algorithmRepository.findAll(search, pageable);
         }
         return algorithmRepository.findAll(pageable);
     }
 
+    @Override
+    public Slice<Algorithm> findAll(@NonNull Pageable pageable, String search, @NonNull CountMode countMode) {
+        if (search != null && !search.isEmpty()) {
+            if (countMode != CountMode.NONE || searchIndexService.supports(pageable)) {
+                return findAll(pageable, search);
+            }
+            return algorithmRepository.findSlice(search, pageable);
+        }
+        if (countMode == CountMode.EXACT) {
+            return algorithmRepository.findAll(pageable);
+        }
+        final Slice<Algorithm> slice = algorithmRepository.findSliceBy(pageable);
+        return countMode == CountMode.NONE
+                ? slice
+                : countEstimationService.toEstimatedPage(slice, Algorithm.class, algorithmRepository::count);
+    }
+
+    @Override
+    public CursorSlice<Algorithm> findSlice(@NonNull CursorPageRequest request, String search) {
+        if (!Objects.isNull(search) && !search.isEmpty()) {
+            return keysetPaginationService.findAll(Algorithm.class, AlgorithmRepository.KEYSET_SEARCH_FILTER,
+                    getKeysetSearchParameters(search), request);
+        }
+        return keysetPaginationService.findAll(Algorithm.class, null, Map.of(), request);
+    }
+
+    @Override
+    public long streamAll(@NonNull Sort sort, String search, @NonNull Consumer<? super Algorithm> action) {
+        if (!Objects.isNull(search) && !search.isEmpty()) {
+            return keysetPaginationService.forEach(Algorithm.class, AlgorithmRepository.KEYSET_SEARCH_FILTER,
+                    getKeysetSearchParameters(search), sort, action);
+        }
+        return keysetPaginationService.forEach(Algorithm.class, null, Map.of(), sort, action);
+    }
+
+    private Map<String, String> getKeysetSearchParameters(String search) {
+        return Map.of("query", FullTextSearchUtils.toPrefixQuery(search),
+                "pattern", FullTextSearchUtils.toLikePattern(search));
+    }
+
     @Override
     public Algorithm findById(@NonNull UUID algorithmId) {
         return ServiceUtils.findById(algorithmId, Algorithm.class, algorithmRepository);
     }
 
+    @Override
+    public Algorithm findDetailedById(@NonNull UUID algorithmId) {
+        return algorithmRepository.findDetailedById(algorithmId).orElseThrow(() ->
+                new NoSuchElementException("Algorithm with ID \"" + algorithmId + "\" does not exist"));
+    }
+
     @Override
     @Transactional
     public Algorithm update(@NonNull Algorithm algorithm) {
@@ -114,7 +171,7 @@ public class AlgorithmServiceImpl implements AlgorithmService {
         persistedAlgorithm.setAssumptions(algorithm.getAssumptions());
         persistedAlgorithm.setComputationModel(algorithm.getComputationModel());
 
-        updateRevisions(persistedAlgorithm);
+        revisionRetentionService.applyRetention(persistedAlgorithm);
 
         if (algorithm instanceof QuantumAlgorithm) {
             final QuantumAlgorithm quantumAlgorithm = (QuantumAlgorithm) algorithm;
@@ -133,85 +190,9 @@ public class AlgorithmServiceImpl implements AlgorithmService {
     @Override
     @Transactional
     public void delete(@NonNull UUID algorithmId) {
-        final Algorithm algorithm = findById(algorithmId);
-
-        removeReferences(algorithm);
-
-        algorithmRepository.deleteById(algorithmId);
-
-        removeRevisions(algorithm);
-    }
-
-    /*
-     * drop older revisions if the amount of saved revisions is reached
-     */
-    private void updateRevisions(@NonNull Algorithm algorithm) {
-        final Revisions<Integer, Algorithm> revisions = algorithmRepository.findRevisions(algorithm.getId());
-        if (revisions.getContent().size() == Constants.REVISIONS_COUNT) {
-
-            // get oldest revision (first table entry)
-            final Revision<Integer, Algorithm> oldestRevision = revisions.getContent().get(0);
-            final int revisionId = oldestRevision.getRevisionNumber().orElseThrow();
-            final UUID algorithmId = oldestRevision.getEntity().getId();
-
-            // delete oldest revision related to the algorithm
-            if (algorithm instanceof ClassicAlgorithm) {
-                algorithmRepository.deleteClassicAlgorithmRevision(revisionId, algorithmId);
-            }
-            if (algorithm instanceof QuantumAlgorithm) {
-                algorithmRepository.deleteQuantumAlgorithmRevision(revisionId, algorithmId);
-            }
-            algorithmRepository.deleteAlgorithmRevision(revisionId, algorithmId);
-            algorithmRepository.deleteKnowledgeArtifactRevision(revisionId, algorithmId);
-            algorithmRepository.deleteRevisionInfo(revisionId);
-        }
-    }
-
-    private void removeRevisions(@NonNull Algorithm algorithm) {
-
-            final Revisions<Integer, Algorithm> revisions = algorithmRepository.findRevisions(algorithm.getId());
-
-            // delete all related revisions
-            if (algorithm instanceof ClassicAlgorithm) {
-                algorithmRepository.deleteAllClassicAlgorithmRevisions(algorithm.getId());
-            }
-            if (algorithm instanceof QuantumAlgorithm) {
-                algorithmRepository.deleteAllQuantumAlgorithmRevisions(algorithm.getId());
-            }
-            algorithmRepository.deleteAllAlgorithmRevisions(algorithm.getId());
-            algorithmRepository.deleteAllKnowledgeArtifactRevisions(algorithm.getId());
-            revisions.forEach(revision -> algorithmRepository.deleteRevisionInfo(revision.getRevisionNumber().orElseThrow()));
-    }
-
-    private void removeReferences(@NonNull Algorithm algorithm) {
-        // delete related implementations
-        algorithm.getImplementations().forEach(
-                implementation -> implementationService.delete(implementation.getId()));
-
-        // delete compute resource property
-        algorithm.getRequiredComputeResourceProperties().forEach(computeResourcePropertyRepository::delete);
-
-        // delete algorithm relations
-        algorithm.getAlgorithmRelations().forEach(algorithmRelationRepository::delete);
-
-        // delete related pattern relations
-        algorithm.getRelatedPatterns().forEach(
-                patternRelation -> patternRelationService.delete(patternRelation.getId()));
-
-        // remove links to publications
-        CollectionUtils.forEachOnCopy(algorithm.getPublications(),
-                publication -> publication.removeAlgorithm(algorithm));
-
-        // remove links to application areas
-        CollectionUtils.forEachOnCopy(algorithm.getApplicationAreas(),
-                applicationArea -> applicationArea.removeAlgorithm(algorithm));
-
-        // remove links to problem types
-        CollectionUtils.forEachOnCopy(algorithm.getProblemTypes(),
-                problemType -> problemType.removeAlgorithm(algorithm));
+        ServiceUtils.throwIfNotExists(algorithmId, Algorithm.class, algorithmRepository);
 
-        // remove link to tag
-        CollectionUtils.forEachOnCopy(algorithm.getTags(), tag -> tag.removeAlgorithm(algorithm));
+        cascadeDeleter.deleteAlgorithms(List.of(algorithmId));
     }
 
     @Override
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.DiscussionTopic;
+import org.planqk.atlas.core.model.File;
+import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.ImplementationPackage;
+import org.planqk.atlas.core.model.Sketch;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes {@link Algorithm}s together with all entities depending on them using set-based statements.
+ * <p>
+ * Deleting an algorithm through the entity manager loads and deletes each implementation, sketch, relation and
+ * discussion one by one, so the amount of statements grows with the size of the algorithm. Instead, the IDs of the
+ * dependent entities are selected once and each dependent table is cleared with a single statement for all of them,
+ * including the join tables of the links and the revisions of the deleted algorithms and implementations.
+ * <p>
+ * The tables and columns of the entities and join tables are taken from the Hibernate metamodel. The native
+ * statements declare the modified tables as query spaces, so only the affected second-level cache regions are
+ * invalidated. As the statements bypass the Hibernate listeners, the deleted entities are removed from the search index
+ * explicitly after the transaction has been committed.
+ */
+@Slf4j
+@Component
+public class CascadeDeleter {
+
+    private final RevisionRetentionService revisionRetentionService;
+
+    private final SearchIndexService searchIndexService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CascadeDeleter(RevisionRetentionService revisionRetentionService, SearchIndexService searchIndexService) {
+        this.revisionRetentionService = revisionRetentionService;
+        this.searchIndexService = searchIndexService;
+    }
+
+    /**
+     * Delete algorithms together with their implementations, implementation packages, files, sketches, images,
+     * discussions, compute resource properties, algorithm and pattern relations, links and revisions.
+     * <p>
+     * This has to be called within a transaction. Pending changes are flushed before and the persistence context is
+     * cleared after the deletion, so entities loaded before are detached afterwards.
+     *
+     * @param algorithmIds The IDs of the algorithms to delete
+     * @return The amount of deleted algorithms
+     */
+    public int deleteAlgorithms(@NonNull Collection<UUID> algorithmIds) {
+        if (algorithmIds.isEmpty()) {
+            return 0;
+        }
+        // the statements below do not see pending changes, which could also re-insert deleted rows afterwards
+        entityManager.flush();
+
+        final List<UUID> implementationIds = findIds(
+                "SELECT i.id FROM Implementation i WHERE i.implementedAlgorithm.id IN (:ids)", algorithmIds);
+        final List<UUID> sketchIds = findIds("SELECT s.id FROM Sketch s WHERE s.algorithm.id IN (:ids)", algorithmIds);
+        final List<UUID> imageIds = findIds("SELECT i.id FROM Sketch s JOIN s.image i WHERE s.id IN (:ids)", sketchIds);
+        final List<UUID> packageIds = findIds(
+                "SELECT p.id FROM ImplementationPackage p WHERE p.implementation.id IN (:ids)", implementationIds);
+        final List<UUID> fileIds = findIds(
+                "SELECT f.id FROM ImplementationPackage p JOIN p.file f WHERE p.id IN (:ids)", packageIds);
+
+        final List<UUID> artifactIds = new ArrayList<>(algorithmIds);
+        artifactIds.addAll(implementationIds);
+        artifactIds.addAll(sketchIds);
+        artifactIds.addAll(imageIds);
+        artifactIds.addAll(fileIds);
+        final List<UUID> topicIds = findIds(
+                "SELECT t.id FROM DiscussionTopic t WHERE t.knowledgeArtifact.id IN (:ids)", artifactIds);
+        executeUpdate("DELETE FROM DiscussionComment c WHERE c.discussionTopic.id IN (:ids)", topicIds);
+        deleteRows(DiscussionTopic.class, topicIds);
+
+        executeUpdate("DELETE FROM ComputeResourceProperty p WHERE p.algorithm.id IN (:ids)", algorithmIds);
+        executeUpdate("DELETE FROM ComputeResourceProperty p WHERE p.implementation.id IN (:ids)", implementationIds);
+        executeUpdate("DELETE FROM AlgorithmRelation r WHERE r.sourceAlgorithm.id IN (:ids) " +
+                "OR r.targetAlgorithm.id IN (:ids)", algorithmIds);
+        executeUpdate("DELETE FROM PatternRelation r WHERE r.algorithm.id IN (:ids)", algorithmIds);
+
+        // the join table of the file is a secondary table of the implementation package, so it is deleted first
+        deleteRows(ImplementationPackage.class, packageIds);
+        deleteRows(File.class, fileIds);
+        // the sketches reference their images
+        deleteRows(Sketch.class, sketchIds);
+        deleteRows(Image.class, imageIds);
+        deleteLinks(Implementation.class, implementationIds);
+        deleteRows(Implementation.class, implementationIds);
+        deleteLinks(Algorithm.class, algorithmIds);
+        final int deleted = deleteRows(Algorithm.class, algorithmIds);
+
+        revisionRetentionService.pruneRevisions(Implementation.class, implementationIds, 0);
+        revisionRetentionService.pruneRevisions(Algorithm.class, algorithmIds, 0);
+        removeFromSearchIndexAfterCommit(Implementation.class, implementationIds);
+        removeFromSearchIndexAfterCommit(Algorithm.class, algorithmIds);
+
+        // loaded entities may still reference the deleted entities in their collections
+        entityManager.clear();
+        log.debug("Deleted {} algorithms with {} implementations", deleted, implementationIds.size());
+        return deleted;
+    }
+
+    private List<UUID> findIds(String query, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(query, UUID.class).setParameter("ids", ids).getResultList();
+    }
+
+    private void executeUpdate(String query, Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            entityManager.createQuery(query).setParameter("ids", ids).executeUpdate();
+        }
+    }
+
+    /**
+     * Delete the rows of entities from all tables of their type, the tables of subtypes and supertypes included, in
+     * the order of the foreign key constraints between them.
+     */
+    private int deleteRows(Class<?> type, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        final var persister = (AbstractEntityPersister) getMetamodel().entityPersister(type);
+        final String[] tables = persister.getConstraintOrderedTableNameClosure();
+        final String[][] keyColumns = persister.getContraintOrderedTableKeyColumnClosure();
+        int deleted = 0;
+        for (int i = 0; i < tables.length; i++) {
+            final int rows = delete(tables[i], keyColumns[i][0], ids);
+            if (tables[i].equals(persister.getTableName())) {
+                deleted = rows;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete the join table rows of the many-to-many links and element collections of entities, on both the owning and
+     * the linked side.
+     */
+    private void deleteLinks(Class<?> type, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (final CollectionPersister persister : getMetamodel().collectionPersisters().values()) {
+            final var collection = (AbstractCollectionPersister) persister;
+            // inverse collections share the join table of their owning side
+            if (collection.isOneToMany() || collection.isInverse()) {
+                continue;
+            }
+            if (isRelated(type, collection.getOwnerEntityPersister().getMappedClass())) {
+                delete(collection.getTableName(), collection.getKeyColumnNames()[0], ids);
+            }
+            if (collection.getElementPersister() != null
+                    && isRelated(type, collection.getElementPersister().getMappedClass())) {
+                delete(collection.getTableName(), collection.getElementColumnNames()[0], ids);
+            }
+        }
+    }
+
+    private int delete(String table, String column, Collection<UUID> ids) {
+        return entityManager.createNativeQuery("DELETE FROM " + table + " WHERE " + column + " IN (:ids)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(table)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+
+    private void removeFromSearchIndexAfterCommit(Class<?> type, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchIndexService.scheduleDelete(type, ids);
+            }
+        });
+    }
+
+    private static boolean isRelated(Class<?> type, Class<?> otherType) {
+        return type.isAssignableFrom(otherType) || otherType.isAssignableFrom(type);
+    }
+
+    private MetamodelImplementor getMetamodel() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getMetamodel();
+    }
+}
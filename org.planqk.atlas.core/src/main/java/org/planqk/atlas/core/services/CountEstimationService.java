@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.function.LongSupplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Service class estimating the amount of rows of entity tables from the statistics PostgreSQL keeps for the query
+ * planner (pg_class.reltuples).
+ * <p>
+ * The statistics are updated by (auto) vacuum and analyze, so the estimate may differ from the exact amount, but reading
+ * them does not scan the table like a count query.
+ */
+public interface CountEstimationService {
+
+    /**
+     * Estimate the amount of entities of the given type, i.e. the amount of rows of the table of the entity.
+     *
+     * @param entityType The class of the entity
+     * @return The estimated amount of entities, or -1 if no estimate is available, e.g. as the table was not analyzed
+     * yet or the database is not PostgreSQL
+     */
+    long estimateCount(Class<?> entityType);
+
+    /**
+     * Create a page of an unfiltered entity list from a slice of it, using the estimated amount of entities as total.
+     * <p>
+     * The estimate is corrected if it contradicts the slice, e.g. the total of the last slice is always exact. If no
+     * estimate is available the given count query is executed.
+     *
+     * @param slice      The slice of the unfiltered list
+     * @param entityType The class of the entities of the list
+     * @param count      Function counting the entities exactly, used if no estimate is available
+     * @param <T>        The type of the entities
+     * @return The page with the content of the slice
+     */
+    <T> Page<T> toEstimatedPage(Slice<T> slice, Class<?> entityType, LongSupplier count);
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import lombok.NonNull;
+
+@Service
+public class CountEstimationServiceImpl implements CountEstimationService {
+
+    private static final String ESTIMATE_QUERY = "SELECT reltuples FROM pg_class WHERE oid = to_regclass(:table)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long estimateCount(@NonNull Class<?> entityType) {
+        final SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect)) {
+            return -1;
+        }
+        final String table = ((AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(entityType)).getTableName();
+        final List<?> result = entityManager.createNativeQuery(ESTIMATE_QUERY).setParameter("table", table).getResultList();
+        if (result.isEmpty() || result.get(0) == null) {
+            return -1;
+        }
+        // tables that were never analyzed report -1 (or 0 before PostgreSQL 14)
+        final long estimate = Math.round(((Number) result.get(0)).doubleValue());
+        return estimate > 0 ? estimate : -1;
+    }
+
+    @Override
+    public <T> Page<T> toEstimatedPage(@NonNull Slice<T> slice, @NonNull Class<?> entityType, @NonNull LongSupplier count) {
+        if (slice.getPageable().isUnpaged()) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), slice.getNumberOfElements());
+        }
+        final long elementsUpToSlice = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), elementsUpToSlice);
+        }
+        long total = estimateCount(entityType);
+        if (total < 0) {
+            total = count.getAsLong();
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), Math.max(total, elementsUpToSlice + 1));
+    }
+}
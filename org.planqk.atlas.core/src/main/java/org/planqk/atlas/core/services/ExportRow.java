@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A row of a database table passed on by the {@link ExportService}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ExportRow {
+
+    /**
+     * The name of the table the row belongs to.
+     */
+    private final String table;
+
+    /**
+     * The values of the key columns of the row, which the rows of its table are ordered by. An export can be resumed
+     * after this row by passing these values.
+     */
+    private final List<Object> key;
+
+    /**
+     * The values of the row by column name, in the order of the columns of the table.
+     */
+    private final Map<String, Object> columns;
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Service class for the bulk export of the whole knowledge graph.
+ * <p>
+ * The export contains the rows of the tables of all entities, including the {@link
+ * org.planqk.atlas.core.model.KnowledgeArtifact}s and the relations between them, and of all link tables of their
+ * many-to-many associations. The revision tables are not exported.
+ */
+public interface ExportService {
+
+    /**
+     * Get the names of the exported tables in the order they are exported in.
+     *
+     * @return The names of the exported tables
+     */
+    List<String> getTables();
+
+    /**
+     * Pass the rows of all exported tables to the given action, table by table in the order of {@link #getTables()} and
+     * the rows of each table ordered by their primary key.
+     * <p>
+     * The rows are read from database cursors instead of loading whole tables at once, and all tables are read from the
+     * same snapshot of the database. If a modification date is given, only the rows of the {@link
+     * org.planqk.atlas.core.model.KnowledgeArtifact}s modified after it and the rows of link tables referencing such an
+     * artifact are exported. All other tables do not track modifications and are always exported completely. As deleted
+ * artifacts leave no rows behind, an incremental export ends with the table "knowledge_artifact_ids" containing the
+ * IDs of all existing artifacts, the receiver has to delete all artifacts missing in it. This table is not part of
+ * complete exports.
+     * <p>
+     * An interrupted export can be resumed by passing the table and the {@link ExportRow#getKey() key} of the last row
+     * that was processed, together with the modification date of the interrupted export. The tables before the given one
+     * and the rows of the given table up to this key are skipped. Rows inserted or deleted in the meantime do not shift
+     * the position, as the export continues at the next key instead of counting rows.
+     *
+     * @param since      Optional modification date the exported artifacts have to be modified after
+     * @param fromTable  Optional name of the table to start the export at, the first table if null
+     * @param afterKey   Optional string representations of the {@link ExportRow#getKey() key} values of the last
+     *                   processed row of the start table. The start table is exported from its first row if null or
+     *                   empty.
+     * @param action     The action processing each row
+     * @return The amount of exported rows
+     * @throws IllegalArgumentException if the start table is not exported, or the key is given without the start table
+     *                                  or does not match the key columns of the start table
+     */
+    long export(@Nullable Date since, @Nullable String fromTable, @Nullable List<String> afterKey, Consumer<? super ExportRow> action);
+}
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.sql.Array;
+import java.sql.Clob;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.planqk.atlas.core.model.KnowledgeArtifact;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.NonNull;
+
+/**
+ * {@link ExportService} reading the tables with plain JDBC queries.
+ * <p>
+ * The exported tables are determined from the Hibernate metamodel: the tables of all entities and the link tables of
+ * all owning sides of many-to-many associations and element collections. The rows of each table are read through a
+ * database cursor in batches of the configured fetch size. The export runs in a single read-only transaction with
+ * repeatable read isolation, so all tables are read from the same snapshot.
+ * <p>
+ * An incremental export additionally contains the IDs of all existing artifacts as table {@value #ARTIFACT_IDS}, as
+ * deleted artifacts leave no modified row behind.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    static final String KNOWLEDGE_ARTIFACT = "knowledge_artifact";
+
+    static final String LAST_MODIFIED_AT = "last_modified_at";
+
+    static final String ARTIFACT_IDS = "knowledge_artifact_ids";
+
+    private static final String ALIAS = "exported";
+
+    /**
+     * Types of column values which are exported as they are.
+     */
+    private static final List<Class<?>> PLAIN_VALUE_TYPES =
+            List.of(String.class, Number.class, Boolean.class, UUID.class, Date.class, byte[].class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile List<ExportedTable> exportedTables;
+
+    public ExportServiceImpl(DataSource dataSource, @Value("${atlas.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public List<String> getTables() {
+        return getExportedTables().stream().map(table -> table.name).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long export(Date since, String fromTable, List<String> afterKey, @NonNull Consumer<? super ExportRow> action) {
+        final boolean resumed = afterKey != null && !afterKey.isEmpty();
+        if (resumed && fromTable == null) {
+            throw new IllegalArgumentException("The table of the key to resume after is missing");
+        }
+        final List<ExportedTable> tables = getExportedTables();
+        int first = 0;
+        if (fromTable != null) {
+            first = getTables().indexOf(fromTable);
+            if (first < 0) {
+                throw new IllegalArgumentException("The table " + fromTable + " is not exported");
+            }
+        }
+        if (resumed && afterKey.size() != tables.get(first).keyColumns.size()) {
+            throw new IllegalArgumentException("The key of table " + fromTable + " consists of the columns "
+                    + tables.get(first).keyColumns);
+        }
+
+        long count = 0;
+        for (int index = first; index < tables.size(); index++) {
+            count += exportTable(tables.get(index), since, index == first && resumed ? afterKey : null, action);
+        }
+        return count;
+    }
+
+    private long exportTable(ExportedTable table, Date since, List<String> afterKey, Consumer<? super ExportRow> action) {
+        if (table.incrementalOnly && since == null) {
+            return 0;
+        }
+        final boolean incremental = since != null && table.artifact;
+        final List<Object> parameters = new ArrayList<>();
+        if (incremental) {
+            parameters.add(new Timestamp(since.getTime()));
+        }
+        if (afterKey != null) {
+            // untyped, so PostgreSQL converts the values to the types of the key columns they are compared with
+            afterKey.forEach(value -> parameters.add(new SqlParameterValue(Types.OTHER, value)));
+        }
+
+        final long[] count = {0};
+        final RowCallbackHandler handler = resultSet -> {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            final Map<String, Object> columns = new LinkedHashMap<>();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                columns.put(metaData.getColumnLabel(column), toExportValue(resultSet.getObject(column)));
+            }
+            final List<Object> key = table.keyColumns.stream().map(columns::get).collect(Collectors.toList());
+            action.accept(new ExportRow(table.name, key, columns));
+            count[0]++;
+        };
+        jdbcTemplate.query(table.getQuery(incremental, afterKey != null), handler, parameters.toArray());
+        return count[0];
+    }
+
+    private static Object toExportValue(Object value) throws SQLException {
+        if (value == null || isPlainValue(value)) {
+            return value;
+        }
+        if (value instanceof Array) {
+            final Object elements = ((Array) value).getArray();
+            return elements instanceof Object[] ? Arrays.asList((Object[]) elements) : elements;
+        }
+        if (value instanceof Clob) {
+            final Clob clob = (Clob) value;
+            return clob.getSubString(1, (int) clob.length());
+        }
+        // e.g. JSON columns, which the driver returns as generic objects
+        return value.toString();
+    }
+
+    private static boolean isPlainValue(Object value) {
+        return PLAIN_VALUE_TYPES.stream().anyMatch(type -> type.isInstance(value));
+    }
+
+    private List<ExportedTable> getExportedTables() {
+        if (exportedTables == null) {
+            exportedTables = createExportedTables();
+        }
+        return exportedTables;
+    }
+
+    private List<ExportedTable> createExportedTables() {
+        final MetamodelImplementor metamodel = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMetamodel();
+        final Map<String, ExportedTable> entityTables = new LinkedHashMap<>();
+        final Set<String> entityNames = new HashSet<>();
+        // the entities of the revision tables are no annotated classes
+        entityManager.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .filter(type -> type != null && type.isAnnotationPresent(Entity.class))
+                .forEach(type -> {
+                    final AbstractEntityPersister persister = (AbstractEntityPersister) metamodel.entityPersister(type);
+                    entityNames.add(persister.getEntityName());
+                    // the subtypes of a single table hierarchy share their table
+                    entityTables.putIfAbsent(persister.getTableName(), new ExportedTable(persister.getTableName(),
+                            persister.getTableName(), "*", List.of(persister.getIdentifierColumnNames()),
+                            KnowledgeArtifact.class.isAssignableFrom(type), false));
+                });
+
+        final Map<String, ExportedTable> linkTables = new LinkedHashMap<>();
+        metamodel.collectionPersisters().values().stream()
+                .map(AbstractCollectionPersister.class::cast)
+                .filter(persister -> !persister.isOneToMany() && !persister.isInverse()
+                        && entityNames.contains(persister.getOwnerEntityPersister().getEntityName()))
+                .forEach(persister -> {
+                    final List<String> keyColumns = Stream.of(persister.getKeyColumnNames(),
+                            persister.hasIndex() ? persister.getIndexColumnNames() : new String[0],
+                            persister.getElementColumnNames())
+                            .flatMap(Arrays::stream)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+                    linkTables.putIfAbsent(persister.getTableName(),
+                            new ExportedTable(persister.getTableName(), persister.getTableName(), "*", keyColumns, false, false));
+                });
+
+        // the IDs of the artifacts are read from the table of the base type, which contains all of them
+        final ExportedTable artifactIds = new ExportedTable(ARTIFACT_IDS, KNOWLEDGE_ARTIFACT, "id", List.of("id"), false, true);
+        return Stream.of(
+                entityTables.values().stream().sorted(Comparator.comparing(table -> table.name)),
+                linkTables.values().stream().sorted(Comparator.comparing(table -> table.name)),
+                Stream.of(artifactIds))
+                .flatMap(tables -> tables)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * An exported table together with the columns its rows are ordered by.
+     */
+    private static final class ExportedTable {
+
+        private final String name;
+
+        private final List<String> keyColumns;
+
+        private final boolean artifact;
+
+        private final boolean incrementalOnly;
+
+        private final String select;
+
+        private final String orderBy;
+
+        /**
+         * @param name            The name the rows are exported with
+         * @param source          The database table the rows are read from
+         * @param columns         The exported columns, "*" for all columns
+         * @param keyColumns      The primary key columns the rows are ordered by
+         * @param artifact        Whether the table contains artifacts, which are only exported if modified incrementally
+         * @param incrementalOnly Whether the table is only part of incremental exports
+         */
+        ExportedTable(String name, String source, String columns, List<String> keyColumns, boolean artifact, boolean incrementalOnly) {
+            this.name = name;
+            this.keyColumns = keyColumns;
+            this.artifact = artifact;
+            this.incrementalOnly = incrementalOnly;
+            this.select = "SELECT " + ALIAS + "." + columns + " FROM " + source + " " + ALIAS;
+            this.orderBy = keyColumns.stream().map(column -> ALIAS + "." + column).collect(Collectors.joining(", "));
+        }
+
+        /*
+         * The parameters are the modification date for incremental queries followed by the key values to resume after.
+         * The row comparison seeks to the rows following the key in the order of the ORDER BY clause.
+         */
+        String getQuery(boolean incremental, boolean resumed) {
+            final List<String> conditions = new ArrayList<>();
+            if (incremental) {
+                // the modification date of all artifacts is stored in the table of the base type
+                conditions.add("EXISTS (SELECT 1 FROM " + KNOWLEDGE_ARTIFACT + " artifact WHERE artifact.id = " + ALIAS + "."
+                        + keyColumns.get(0) + " AND artifact." + LAST_MODIFIED_AT + " > ?)");
+            }
+            if (resumed) {
+                conditions.add("(" + orderBy + ") > (" + keyColumns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")");
+            }
+            final String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+            return select + where + " ORDER BY " + orderBy;
+        }
+    }
+}
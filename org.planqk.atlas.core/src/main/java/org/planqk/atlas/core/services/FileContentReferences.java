@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.function.Consumer;
+
+import org.planqk.atlas.core.model.File;
+import org.planqk.atlas.core.repository.FileRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reference counting of the stored contents of {@link File}s, which are shared by all files with the same content hash.
+ * <p>
+ * Creating a file for a stored content and deleting the content with its last file are serialized by a transaction
+ * scoped lock on the content hash: {@link #lock(String)} is held by the creating transaction until the new file is
+ * committed, and the content is only deleted after the deleting transaction was committed, in a new transaction holding
+ * the same lock that checks again whether the content is still unreferenced. So a concurrent upload of the same
+ * content either sees the content deleted and stores it again, or keeps it from being deleted, and a rolled back delete
+ * never removes the content. Likewise, content stored by a creating transaction that is rolled back is deleted
+ * afterwards, unless a concurrent upload references it in the meantime.
+ */
+@Component
+class FileContentReferences {
+
+    private final FileRepository fileRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    FileContentReferences(FileRepository fileRepository, PlatformTransactionManager transactionManager) {
+        this.fileRepository = fileRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Lock the stored content with the given hash until the end of the current transaction. Has to be called before
+     * checking whether the content is already stored.
+     */
+    void lock(String contentHash) {
+        fileRepository.lockContentHash(contentHash);
+    }
+
+    /**
+     * Delete the stored content of a deleted file after the current transaction was committed, unless it is still
+     * referenced by another file.
+     *
+     * @param file          The deleted file
+     * @param deleteContent Deletes the content at the given location
+     */
+    void deleteUnreferencedAfterCommit(File file, Consumer<String> deleteContent) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteUnreferenced(file.getContentHash(), file.getFileURL(), deleteContent);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteUnreferenced(file.getContentHash(), file.getFileURL(), deleteContent);
+            }
+        });
+    }
+
+    /**
+     * Delete content stored by the current transaction if the transaction is rolled back, e.g. because the file
+     * referencing it could not be saved, unless it is referenced by another file in the meantime.
+     *
+     * @param contentHash   The hash of the stored content
+     * @param location      The location of the stored content
+     * @param deleteContent Deletes the content at the given location
+     */
+    void deleteUnreferencedAfterRollback(String contentHash, String location, Consumer<String> deleteContent) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteUnreferenced(contentHash, location, deleteContent);
+                }
+            }
+        });
+    }
+
+    private void deleteUnreferenced(String contentHash, String location, Consumer<String> deleteContent) {
+        // files stored before contents were deduplicated do not share their content
+        if (contentHash == null) {
+            deleteContent.accept(location);
+            return;
+        }
+        newTransaction.executeWithoutResult(status -> {
+            lock(contentHash);
+            if (fileRepository.countByContentHash(contentHash) == 0) {
+                deleteContent.accept(location);
+            }
+        });
+    }
+}
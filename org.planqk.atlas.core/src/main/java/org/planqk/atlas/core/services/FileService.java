@@ -22,6 +22,7 @@ package org.planqk.atlas.core.services;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.File;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileService {
@@ -33,4 +34,18 @@ public interface FileService {
     void delete(UUID id);
 
     byte[] getFileContent(UUID id);
+
+    /**
+     * Get the content of a {@link File} as {@link Resource} that streams the content from the storage.
+     * <p>
+     * In contrast to {@link #getFileContent(UUID)} the content is not loaded into memory, so the memory used for
+     * reading does not depend on the size of the file. Skipping bytes of the stream before reading starts the read at
+     * the resulting position, which allows to serve byte ranges of large files efficiently.
+     * <p>
+     * If the {@link File} or its content does not exist a {@link java.util.NoSuchElementException} will be thrown.
+     *
+     * @param id The ID of the {@link File}
+     * @return The resource streaming the content of the {@link File}
+     */
+    Resource getFileResource(UUID id);
 }
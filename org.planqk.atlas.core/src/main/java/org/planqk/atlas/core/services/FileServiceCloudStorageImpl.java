@@ -20,6 +20,8 @@
 package org.planqk.atlas.core.services;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.util.Date;
 import java.util.NoSuchElementException;
 import java.util.UUID;
@@ -27,12 +29,18 @@ import java.util.UUID;
 import org.planqk.atlas.core.exceptions.CloudStorageException;
 import org.planqk.atlas.core.model.File;
 import org.planqk.atlas.core.repository.FileRepository;
+import org.planqk.atlas.core.util.ChannelResource;
+import org.planqk.atlas.core.util.ContentHashUtils;
 import org.planqk.atlas.core.util.ServiceUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -40,12 +48,20 @@ import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageException;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @Profile("google-cloud")
 @RequiredArgsConstructor
 public class FileServiceCloudStorageImpl implements FileService {
 
+    // size of the chunks requested from the storage while streaming a file
+    private static final int READ_CHUNK_SIZE = 2 * 1024 * 1024;
+
+    // size of the chunks sent to the storage while uploading a file
+    private static final int WRITE_CHUNK_SIZE = 8 * 1024 * 1024;
+
     private final Storage storage;
 
     @Value("${cloud.storage.implementation-files-bucket-name}")
@@ -53,26 +69,38 @@ public class FileServiceCloudStorageImpl implements FileService {
 
     private final FileRepository fileRepository;
 
+    private final FileContentReferences fileContentReferences;
+
     @Override
+    @Transactional
     public File create(MultipartFile file) {
+        // upload to a temporary blob first, as the blob is named by the hash of its content, which is only known afterwards
+        final BlobId uploadBlobId = BlobId.of(implementationFilesBucketName, "upload-" + UUID.randomUUID());
         try {
-            final BlobId blobId = BlobId.of(implementationFilesBucketName, file.getOriginalFilename());
-            final BlobInfo blobInfo = BlobInfo.newBuilder(blobId).setContentType(file.getContentType()).build();
-            final Blob blob = storage.create(blobInfo, file.getBytes());
+            final String contentHash = upload(BlobInfo.newBuilder(uploadBlobId).setContentType(file.getContentType()).build(), file);
+            final BlobId blobId = BlobId.of(implementationFilesBucketName, contentHash);
+            fileContentReferences.lock(contentHash);
+            Blob blob = storage.get(blobId);
+            if (blob == null) {
+                blob = copy(uploadBlobId, BlobInfo.newBuilder(blobId).setContentType(file.getContentType()).build());
+                // the blob stored by this upload must not be left behind if the file cannot be saved
+                fileContentReferences.deleteUnreferencedAfterRollback(contentHash, blobId.getName(), this::deleteBlob);
+            }
             final File implementationFile = getFileFromBlob(blob);
+            implementationFile.setFileURL(blobId.getName());
 
-            // set the name to the original file, as the name from the blob includes the implementationId
+            // set the name and type of the uploaded file, as the blob may be shared with other files
             implementationFile.setName(file.getOriginalFilename());
-
-            // check if file already exists. If so set the Id to avoid duplicates in DB
-            fileRepository.findByFileURL(implementationFile.getFileURL())
-                    .ifPresent(persistedFile -> implementationFile.setId(persistedFile.getId()));
+            implementationFile.setMimeType(file.getContentType());
+            implementationFile.setContentHash(contentHash);
 
             return fileRepository.save(implementationFile);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot read contents of multipart file");
         } catch (StorageException e) {
             throw new CloudStorageException("Could not create file in storage");
+        } finally {
+            deleteBlob(uploadBlobId.getName());
         }
     }
 
@@ -97,14 +125,64 @@ public class FileServiceCloudStorageImpl implements FileService {
     }
 
     @Override
+    public Resource getFileResource(UUID id) {
+        final File file = ServiceUtils.findById(id, File.class, fileRepository);
+        try {
+            final Blob blob = this.storage.get(BlobId.of(implementationFilesBucketName, file.getFileURL()));
+            if (blob == null) {
+                throw new NoSuchElementException("File with URL \"" + file.getFileURL() + "\" does not exist");
+            }
+            // read the generation found above, so all ranges of a download belong to the same content
+            final BlobId blobId = blob.getBlobId();
+            return new ChannelResource(file.getName(), blob.getSize(), blob.getUpdateTime() == null ? 0 : blob.getUpdateTime(),
+                    position -> {
+                        final ReadChannel reader = storage.reader(blobId);
+                        reader.setChunkSize(READ_CHUNK_SIZE);
+                        reader.seek(position);
+                        return reader;
+                    });
+        } catch (StorageException e) {
+            throw new CloudStorageException("Could not get file from storage");
+        }
+    }
+
+    @Override
+    @Transactional
     public void delete(UUID id) {
         final File storedEntity = this.findById(id);
-        final BlobId blobId = BlobId.of(implementationFilesBucketName, storedEntity.getFileURL());
+        this.fileRepository.delete(storedEntity);
+        // the blob is shared by all files with the same hash and is only deleted with the last of them
+        fileContentReferences.deleteUnreferencedAfterCommit(storedEntity, this::deleteBlob);
+    }
+
+    private String upload(BlobInfo blobInfo, MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream();
+             WriteChannel writer = storage.writer(blobInfo, Storage.BlobWriteOption.doesNotExist())) {
+            writer.setChunkSize(WRITE_CHUNK_SIZE);
+            return ContentHashUtils.transfer(inputStream, writer);
+        }
+    }
+
+    private Blob copy(BlobId source, BlobInfo target) {
+        try {
+            return storage.copy(Storage.CopyRequest.newBuilder()
+                    .setSource(source)
+                    .setTarget(target, Storage.BlobTargetOption.doesNotExist())
+                    .build()).getResult();
+        } catch (StorageException e) {
+            // the same content was stored by a concurrent request in the meantime
+            if (e.getCode() != HttpURLConnection.HTTP_PRECON_FAILED) {
+                throw e;
+            }
+            return storage.get(target.getBlobId());
+        }
+    }
+
+    private void deleteBlob(String name) {
         try {
-            storage.delete(blobId);
-            this.fileRepository.delete(storedEntity);
+            storage.delete(BlobId.of(implementationFilesBucketName, name));
         } catch (StorageException e) {
-            throw new CloudStorageException("Could not delete file from storage");
+            log.warn("Could not delete blob \"{}\" from storage", name, e);
         }
     }
 
@@ -112,7 +190,6 @@ public class FileServiceCloudStorageImpl implements FileService {
         final File file = new File();
         file.setName(blob.getName());
         file.setMimeType(blob.getContentType());
-        file.setFileURL(blob.getName());
         file.setCreationDate(new Date(blob.getCreateTime()));
         file.setLastModifiedAt(new Date(blob.getUpdateTime()));
         return file;
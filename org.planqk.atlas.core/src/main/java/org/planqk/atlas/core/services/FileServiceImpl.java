@@ -19,19 +19,25 @@
 
 package org.planqk.atlas.core.services;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.File;
 import org.planqk.atlas.core.repository.FileRepository;
+import org.planqk.atlas.core.util.ChannelResource;
+import org.planqk.atlas.core.util.ContentHashUtils;
 import org.planqk.atlas.core.util.ServiceUtils;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -47,48 +53,47 @@ public class FileServiceImpl implements FileService {
 
     private final FileRepository fileRepository;
 
+    private final FileContentReferences fileContentReferences;
+
     private final String path = System.getProperty("java.io.tmpdir");
 
     private final String storageFolder = path + java.io.File.separator + "qc-atlas";
 
     @Override
+    @Transactional
     public File create(MultipartFile file) {
-        final InputStream inputStream;
-        final OutputStream outputStream;
-
-        final java.io.File dir = new java.io.File(storageFolder);
-        if (!dir.exists())
-            dir.mkdirs();
-        final java.io.File newFile = new java.io.File(dir.getAbsolutePath() + java.io.File.separator + file.getOriginalFilename());
-
+        final Path storageDirectory = Paths.get(storageFolder);
+        Path uploadFile = null;
         try {
-            inputStream = file.getInputStream();
-
-            if (!newFile.exists()) {
-                newFile.createNewFile();
+            Files.createDirectories(storageDirectory);
+            // write the upload to a temporary file first, as its final name is only known after hashing the content
+            uploadFile = Files.createTempFile(storageDirectory, "upload-", ".tmp");
+            final String contentHash;
+            try (InputStream inputStream = file.getInputStream();
+                 FileChannel channel = FileChannel.open(uploadFile, StandardOpenOption.WRITE)) {
+                contentHash = ContentHashUtils.transfer(inputStream, channel);
             }
-            outputStream = new FileOutputStream(newFile);
-            int read = 0;
-            final int maxSize = 1024;
-            final byte[] bytes = new byte[maxSize];
 
-            while ((read = inputStream.read(bytes)) != -1) {
-                outputStream.write(bytes, 0, read);
+            final Path storedFile = storageDirectory.resolve(contentHash);
+            fileContentReferences.lock(contentHash);
+            final String fileURL = storedFile.toAbsolutePath().toString();
+            if (Files.exists(storedFile)) {
+                Files.delete(uploadFile);
+            } else if (moveUploadFile(uploadFile, storedFile)) {
+                // the content stored by this upload must not be left behind if the file cannot be saved
+                fileContentReferences.deleteUnreferencedAfterRollback(contentHash, fileURL, this::deleteStoredFile);
             }
-            outputStream.close();
 
             final File createdFile = new File();
             createdFile.setName(file.getOriginalFilename());
             createdFile.setMimeType(file.getContentType());
-            createdFile.setFileURL(newFile.getAbsolutePath());
-
-            final File savedFile = fileRepository.save(createdFile);
-            return savedFile;
+            createdFile.setFileURL(fileURL);
+            createdFile.setContentHash(contentHash);
+            return fileRepository.save(createdFile);
         } catch (IOException e) {
-            e.printStackTrace();
+            deleteUploadFile(uploadFile);
+            throw new IllegalArgumentException("Cannot store contents of multipart file", e);
         }
-
-        return null;
     }
 
     @Override
@@ -99,22 +104,61 @@ public class FileServiceImpl implements FileService {
     @Override
     @Transactional
     public void delete(UUID id) {
-        final String url = findById(id).getFileURL();
+        final File file = findById(id);
+        fileRepository.delete(file);
+        // the stored content is shared by all files with the same hash and is only deleted with the last of them
+        fileContentReferences.deleteUnreferencedAfterCommit(file, this::deleteStoredFile);
+    }
+
+    @Override
+    public byte[] getFileContent(UUID id) {
+        final File file = findById(id);
         try {
-            Files.deleteIfExists(Paths.get(url));
-            fileRepository.deleteById(id);
+            return Files.readAllBytes(Paths.get(file.getFileURL()));
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new NoSuchElementException("File with URL \"" + file.getFileURL() + "\" does not exist");
         }
     }
 
     @Override
-    public byte[] getFileContent(UUID id) {
+    public Resource getFileResource(UUID id) {
         final File file = findById(id);
+        final Path filePath = Paths.get(file.getFileURL());
         try {
-            return Files.readAllBytes(Paths.get(file.getFileURL()));
+            return new ChannelResource(file.getName(), Files.size(filePath), Files.getLastModifiedTime(filePath).toMillis(),
+                    position -> FileChannel.open(filePath, StandardOpenOption.READ).position(position));
         } catch (IOException e) {
             throw new NoSuchElementException("File with URL \"" + file.getFileURL() + "\" does not exist");
         }
     }
+
+    private boolean moveUploadFile(Path uploadFile, Path storedFile) throws IOException {
+        try {
+            Files.move(uploadFile, storedFile, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // the same content was stored by a concurrent upload in the meantime
+            Files.delete(uploadFile);
+            return false;
+        }
+    }
+
+    private void deleteStoredFile(String location) {
+        try {
+            Files.deleteIfExists(Paths.get(location));
+        } catch (IOException e) {
+            log.warn("Could not delete stored file \"{}\"", location, e);
+        }
+    }
+
+    private void deleteUploadFile(Path uploadFile) {
+        if (uploadFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(uploadFile);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload file \"{}\"", uploadFile, e);
+        }
+    }
 }
@@ -20,13 +20,19 @@
 package org.planqk.atlas.core.services;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.Implementation;
 import org.planqk.atlas.core.model.Publication;
 import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.history.Revision;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -66,6 +72,67 @@ public interface ImplementationService {
      */
     Page<Implementation> findAll(Pageable pageable);
 
+    /**
+     * Retrieve multiple {@link Implementation} entries from the database.
+     * <p>
+     * The amount of entries is based on the given {@link Pageable} parameter. If the {@link Pageable} is unpaged a
+     * {@link Page} with all entries is queried.
+     * <p>
+     * If no search should be executed the search parameter can be left null or empty.
+     *
+     * @param pageable The page information, namely page size and page number, of the page we want to retrieve
+     * @param search   The string based on which a search will be executed
+     * @return The page of queried {@link Implementation} entries
+     */
+    Page<Implementation> findAll(Pageable pageable, String search);
+
+    /**
+     * Retrieve multiple {@link Implementation} entries from the database like {@link #findAll(Pageable, String)}, determining
+     * the total amount of entries as defined by the {@link CountMode}.
+     * <p>
+     * With {@link CountMode#NONE} no count query is executed and a {@link Slice} is returned. With {@link
+     * CountMode#ESTIMATED} the total of an unfiltered list is estimated from the table statistics of the database.
+     * Otherwise a {@link Page} with the exact total is returned.
+     *
+     * @param pageable  The page information, namely page size and page number, of the page we want to retrieve
+     * @param search    The string based on which a search will be executed
+     * @param countMode Defines how the total amount of entries is determined
+     * @return The page or slice of queried {@link Implementation} entries
+     */
+    Slice<Implementation> findAll(Pageable pageable, String search, CountMode countMode);
+
+    /**
+     * Retrieve a slice of {@link Implementation} entries from the database using keyset (cursor) pagination.
+     * <p>
+     * The slice starts after the last entry of the slice the cursor of the request was returned with, or at the first
+     * entry if the request has no cursor. No count query is executed. The entries are ordered by the sort of the
+     * request followed by their ID, the sort has to be the same for all slices of a list.
+     * <p>
+     * If no search should be executed the search parameter can be left null or empty. The search is executed by the
+     * database even if the search index is enabled, so the entries are not ordered by relevance, see {@link
+     * SearchIndexService#supports}.
+     *
+     * @param request The size and sort of the slice and the cursor of the previous slice
+     * @param search  The string based on which a search will be executed
+     * @return The slice of queried {@link Implementation} entries with the cursor of the next slice
+     */
+    CursorSlice<Implementation> findSlice(CursorPageRequest request, String search);
+
+    /**
+     * Pass all {@link Implementation} entries matching the search to the given action, without loading all of them at once.
+     * <p>
+     * The entries are read from a database cursor and detached after the action processed them, so the memory needed
+     * does not depend on the amount of entries. They are ordered by the given sort followed by their ID.
+     * <p>
+     * If no search should be executed the search parameter can be left null or empty.
+     *
+     * @param sort   The sort of the entries
+     * @param search The string based on which a search will be executed
+     * @param action The action processing each entry
+     * @return The amount of processed {@link Implementation} entries
+     */
+    long streamAll(Sort sort, String search, Consumer<? super Implementation> action);
+
     /**
      * Find a database entry of a {@link Implementation} that is already saved in the database. This search is based on
      * the ID the database has given the {@link Implementation} object when it was created and first saved to the
@@ -78,6 +145,17 @@ public interface ImplementationService {
      */
     Implementation findById(UUID implementationId);
 
+    /**
+     * Find an {@link Implementation} like {@link #findById(UUID)}, but together with the associations shown in its
+     * detail view, so they are loaded by the same query instead of one query each.
+     * <p>
+     * If there is no entry found in the database this method will throw a {@link java.util.NoSuchElementException}.
+     *
+     * @param implementationId The ID of the {@link Implementation} we want to find
+     * @return The {@link Implementation} with the given ID
+     */
+    Implementation findDetailedById(UUID implementationId);
+
     /**
      * Update an existing {@link Implementation} database entry by saving the updated {@link Implementation} object to
      * the the database.
@@ -19,14 +19,15 @@
 
 package org.planqk.atlas.core.services;
 
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.planqk.atlas.core.model.Algorithm;
-import org.planqk.atlas.core.model.ClassicImplementation;
 import org.planqk.atlas.core.model.Implementation;
 import org.planqk.atlas.core.model.Publication;
-import org.planqk.atlas.core.model.QuantumImplementation;
 import org.planqk.atlas.core.model.SoftwarePlatform;
 import org.planqk.atlas.core.repository.AlgorithmRepository;
 import org.planqk.atlas.core.repository.ComputeResourcePropertyRepository;
@@ -35,12 +36,16 @@ import org.planqk.atlas.core.repository.ImplementationRepository;
 import org.planqk.atlas.core.repository.PublicationRepository;
 import org.planqk.atlas.core.repository.SoftwarePlatformRepository;
 import org.planqk.atlas.core.util.CollectionUtils;
-import org.planqk.atlas.core.util.Constants;
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
+import org.planqk.atlas.core.util.FullTextSearchUtils;
 import org.planqk.atlas.core.util.ServiceUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.history.Revision;
-import org.springframework.data.history.Revisions;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -67,6 +72,14 @@ public class ImplementationServiceImpl implements ImplementationService {
 
     private final FileService fileService;
 
+    private final SearchIndexService searchIndexService;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final CountEstimationService countEstimationService;
+
+    private final RevisionRetentionService revisionRetentionService;
+
     @Override
     @Transactional
     public Implementation create(@NonNull Implementation implementation, @NonNull UUID implementedAlgorithmId) {
@@ -82,11 +95,67 @@ public class ImplementationServiceImpl implements ImplementationService {
         return this.implementationRepository.findAll(pageable);
     }
 
+    @Override
+    public Page<Implementation> findAll(@NonNull Pageable pageable, String search) {
+        if (search != null && !search.isEmpty()) {
+            if (searchIndexService.supports(pageable)) {
+                return searchIndexService.search(Implementation.class, search, pageable);
+            }
+            return implementationRepository.findAll(search, pageable);
+        }
+        return implementationRepository.findAll(pageable);
+    }
+
+    @Override
+    public Slice<Implementation> findAll(@NonNull Pageable pageable, String search, @NonNull CountMode countMode) {
+        if (search != null && !search.isEmpty()) {
+            if (countMode != CountMode.NONE || searchIndexService.supports(pageable)) {
+                return findAll(pageable, search);
+            }
+            return implementationRepository.findSlice(search, pageable);
+        }
+        if (countMode == CountMode.EXACT) {
+            return implementationRepository.findAll(pageable);
+        }
+        final Slice<Implementation> slice = implementationRepository.findSliceBy(pageable);
+        return countMode == CountMode.NONE
+                ? slice
+                : countEstimationService.toEstimatedPage(slice, Implementation.class, implementationRepository::count);
+    }
+
+    @Override
+    public CursorSlice<Implementation> findSlice(@NonNull CursorPageRequest request, String search) {
+        if (search != null && !search.isEmpty()) {
+            return keysetPaginationService.findAll(Implementation.class, ImplementationRepository.KEYSET_SEARCH_FILTER,
+                    getKeysetSearchParameters(search), request);
+        }
+        return keysetPaginationService.findAll(Implementation.class, null, Map.of(), request);
+    }
+
+    @Override
+    public long streamAll(@NonNull Sort sort, String search, @NonNull Consumer<? super Implementation> action) {
+        if (search != null && !search.isEmpty()) {
+            return keysetPaginationService.forEach(Implementation.class, ImplementationRepository.KEYSET_SEARCH_FILTER,
+                    getKeysetSearchParameters(search), sort, action);
+        }
+        return keysetPaginationService.forEach(Implementation.class, null, Map.of(), sort, action);
+    }
+
+    private Map<String, String> getKeysetSearchParameters(String search) {
+        return Map.of("pattern", FullTextSearchUtils.toLikePattern(search.toLowerCase(Locale.ROOT)));
+    }
+
     @Override
     public Implementation findById(@NonNull UUID implementationId) {
         return ServiceUtils.findById(implementationId, Implementation.class, implementationRepository);
     }
 
+    @Override
+    public Implementation findDetailedById(@NonNull UUID implementationId) {
+        return implementationRepository.findDetailedById(implementationId).orElseThrow(() ->
+                new NoSuchElementException("Implementation with ID \"" + implementationId + "\" does not exist"));
+    }
+
     @Override
     @Transactional
     public Implementation update(@NonNull Implementation implementation) {
@@ -105,7 +174,7 @@ public class ImplementationServiceImpl implements ImplementationService {
         persistedImplementation.setProblemStatement(implementation.getProblemStatement());
         persistedImplementation.setTechnology(implementation.getTechnology());
 
-        updateRevisions(persistedImplementation);
+        revisionRetentionService.applyRetention(persistedImplementation);
 
         return implementationRepository.save(persistedImplementation);
     }
@@ -119,51 +188,9 @@ public class ImplementationServiceImpl implements ImplementationService {
 
         implementationRepository.deleteById(implementationId);
 
-        removeRevisions(implementation);
-    }
-
-    /*
-     * drop older revisions if the amount of saved revisions is reached
-     */
-    private void updateRevisions(@NonNull Implementation implementation) {
-        final Revisions<Integer, Implementation> revisions = implementationRepository.findRevisions(implementation.getId());
-        if (revisions.getContent().size() == Constants.REVISIONS_COUNT) {
-
-            // get oldest revision (first table entry)
-            final Revision<Integer, Implementation> oldestRevision = revisions.getContent().get(0);
-            final int revisionId = oldestRevision.getRevisionNumber().orElseThrow();
-            final UUID implementationId = oldestRevision.getEntity().getId();
-
-            // delete oldest revision related to the implementation
-            if (implementation instanceof ClassicImplementation) {
-                implementationRepository.deleteClassicImplementationRevision(revisionId, implementationId);
-            }
-            if (implementation instanceof QuantumImplementation) {
-                implementationRepository.deleteQuantumImplementationRevision(revisionId, implementationId);
-            }
-            implementationRepository.deleteImplementationRevision(revisionId, implementationId);
-            algorithmRepository.deleteKnowledgeArtifactRevision(revisionId, implementationId);
-            algorithmRepository.deleteRevisionInfo(revisionId);
-        }
+        revisionRetentionService.deleteAllRevisions(implementation);
     }
 
-    private void removeRevisions(@NonNull Implementation implementation) {
-
-        final Revisions<Integer, Implementation> revisions = implementationRepository.findRevisions(implementation.getId());
-
-        // delete all related revisions
-        if (implementation instanceof ClassicImplementation) {
-            implementationRepository.deleteAllClassicImplementationRevisions(implementation.getId());
-        }
-        if (implementation instanceof QuantumImplementation) {
-            implementationRepository.deleteAllQuantumImplementationRevisions(implementation.getId());
-        }
-
-        // delete all related revisions
-        implementationRepository.deleteAllImplementationRevisions(implementation.getId());
-        algorithmRepository.deleteAllKnowledgeArtifactRevisions(implementation.getId());
-        revisions.forEach(revision -> algorithmRepository.deleteRevisionInfo(revision.getRevisionNumber().orElseThrow()));
-    }
 
     private void removeReferences(@NonNull Implementation implementation) {
         // Remove reference from algorithm
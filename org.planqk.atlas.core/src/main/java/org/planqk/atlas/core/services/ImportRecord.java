@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.function.Supplier;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * A record imported by the {@link ImportService}: a new entity, a link between two entities or an invalid record that
+ * could not be read.
+ * <p>
+ * Entities and links refer to other entities by references. A reference is either the reference of an entity imported
+ * by an earlier record of the same import or the ID of an existing entity.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImportRecord {
+
+    private final Kind kind;
+
+    /**
+     * The reference other records can use for the imported entity, may be null.
+     */
+    private final String reference;
+
+    /**
+     * Creates the new entity. The entity is created again if the record has to be retried.
+     */
+    @ToString.Exclude
+    private final Supplier<?> entity;
+
+    /**
+     * The reference of the parent of the new entity, i.e. the implemented algorithm of an implementation or the parent
+     * problem type of a problem type.
+     */
+    private final String parent;
+
+    private final Class<?> sourceType;
+
+    private final String source;
+
+    private final Class<?> targetType;
+
+    private final String target;
+
+    /**
+     * The reason an invalid record could not be read.
+     */
+    private final String message;
+
+    public static ImportRecord ofEntity(String reference, @NonNull Supplier<?> entity, String parent) {
+        return new ImportRecord(Kind.ENTITY, reference, entity, parent, null, null, null, null, null);
+    }
+
+    public static ImportRecord ofLink(@NonNull Class<?> sourceType, @NonNull String source,
+                                      @NonNull Class<?> targetType, @NonNull String target) {
+        return new ImportRecord(Kind.LINK, null, null, null, sourceType, source, targetType, target, null);
+    }
+
+    public static ImportRecord invalid(String reference, @NonNull String message) {
+        return new ImportRecord(Kind.INVALID, reference, null, null, null, null, null, null, message);
+    }
+
+    public enum Kind {
+        ENTITY,
+        LINK,
+        INVALID
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.time.Duration;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Result of an import of the {@link ImportService}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ImportResult {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The amount of records that were imported.
+     */
+    private final long importedRecords;
+
+    /**
+     * The amount of records that were not imported because of an error.
+     */
+    private final long failedRecords;
+
+    /**
+     * The errors of the failed records, limited to the first ones if many records failed.
+     */
+    private final List<RecordError> errors;
+
+    private final Duration duration;
+
+    /**
+     * Get the throughput of the import.
+     *
+     * @return The amount of processed records per second
+     */
+    public double getRecordsPerSecond() {
+        final long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : (importedRecords + failedRecords) * NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * The error of a record that was not imported.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class RecordError {
+
+        /**
+         * The position of the record among all records of the import, starting at 0.
+         */
+        private final long index;
+
+        /**
+         * The reference of the record, may be null.
+         */
+        private final String reference;
+
+        private final String message;
+    }
+}
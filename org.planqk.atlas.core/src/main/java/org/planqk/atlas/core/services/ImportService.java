@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Iterator;
+
+/**
+ * Service class for the bulk import of entities and of the links between them.
+ * <p>
+ * The supported links are those of {@link org.planqk.atlas.core.model.Algorithm}s to {@link
+ * org.planqk.atlas.core.model.Publication}s, {@link org.planqk.atlas.core.model.ProblemType}s, {@link
+ * org.planqk.atlas.core.model.ApplicationArea}s, {@link org.planqk.atlas.core.model.Tag}s and {@link
+ * org.planqk.atlas.core.model.LearningMethod}s, and of {@link org.planqk.atlas.core.model.Implementation}s to {@link
+ * org.planqk.atlas.core.model.Publication}s, {@link org.planqk.atlas.core.model.SoftwarePlatform}s and {@link
+ * org.planqk.atlas.core.model.Tag}s, and of {@link org.planqk.atlas.core.model.SoftwarePlatform}s to their supported
+ * {@link org.planqk.atlas.core.model.ComputeResource}s.
+ */
+public interface ImportService {
+
+    /**
+     * Import the given records in their order.
+     * <p>
+     * The records are imported in batches, each in its own transaction, so an import that fails midway keeps the
+     * batches imported before. A record that cannot be imported, e.g. because a reference cannot be resolved, is
+     * skipped and its error is reported in the result; the other records are imported nevertheless.
+     *
+     * @param records The records to import, which are read while importing
+     * @return The result of the import
+     */
+    ImportResult importAll(Iterator<ImportRecord> records);
+}
@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.ComputeResource;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.LearningMethod;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.model.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ImportService} persisting the records of a batch in one transaction.
+ * <p>
+ * The inserts of a transaction are sent to the database in JDBC batches, see the Hibernate properties
+ * "hibernate.jdbc.batch_size" and "hibernate.order_inserts". The references of the imported entities are kept in memory,
+ * so resolving a reference to an entity of an earlier batch only loads the entity by its ID. Links are only added to
+ * the owning side of an association, so the possibly large inverse collections are not loaded.
+ * <p>
+ * If the transaction of a batch fails, e.g. because of a constraint violation, the records of the batch are imported
+ * again one by one to find the failing records.
+ */
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final List<LinkType<?>> linkTypes = List.of(
+            new LinkType<>(Algorithm.class, Publication.class, Algorithm::getPublications),
+            new LinkType<>(Algorithm.class, ProblemType.class, Algorithm::getProblemTypes),
+            new LinkType<>(Algorithm.class, ApplicationArea.class, Algorithm::getApplicationAreas),
+            new LinkType<>(Algorithm.class, Tag.class, Algorithm::getTags),
+            new LinkType<>(Algorithm.class, LearningMethod.class, Algorithm::getLearningMethods),
+            new LinkType<>(Implementation.class, Publication.class, Implementation::getPublications),
+            new LinkType<>(Implementation.class, SoftwarePlatform.class, Implementation::getSoftwarePlatforms),
+            new LinkType<>(Implementation.class, Tag.class, Implementation::getTags),
+            new LinkType<>(SoftwarePlatform.class, ComputeResource.class, SoftwarePlatform::getSupportedComputeResources));
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${atlas.import.batch-size:1000}")
+    private int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ImportResult importAll(@NonNull Iterator<ImportRecord> records) {
+        final long start = System.nanoTime();
+        final Progress progress = new Progress();
+        final List<IndexedRecord> batch = new ArrayList<>(batchSize);
+        long index = 0;
+        while (records.hasNext()) {
+            batch.add(new IndexedRecord(index++, records.next()));
+            if (batch.size() >= batchSize) {
+                importBatch(batch, progress);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, progress);
+        }
+
+        final ImportResult result = new ImportResult(progress.imported, progress.failed, progress.errors,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Imported {} records, {} failed, {} records per second", result.getImportedRecords(),
+                result.getFailedRecords(), Math.round(result.getRecordsPerSecond()));
+        return result;
+    }
+
+    private void importBatch(List<IndexedRecord> batch, Progress progress) {
+        final Map<String, ImportedEntity> batchReferences = new HashMap<>();
+        final List<ImportResult.RecordError> batchErrors = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (IndexedRecord record : batch) {
+                    try {
+                        importRecord(record.record, progress.references, batchReferences);
+                    } catch (InvalidRecordException e) {
+                        batchErrors.add(new ImportResult.RecordError(record.index, record.record.getReference(),
+                                e.getMessage()));
+                    }
+                }
+            });
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            log.debug("Importing a batch of {} records failed, importing them one by one", batch.size(), e);
+            batch.forEach(record -> importSingle(record, progress));
+            return;
+        }
+        progress.references.putAll(batchReferences);
+        progress.imported += batch.size() - batchErrors.size();
+        batchErrors.forEach(progress::addError);
+    }
+
+    private void importSingle(IndexedRecord record, Progress progress) {
+        final Map<String, ImportedEntity> recordReferences = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    importRecord(record.record, progress.references, recordReferences));
+        } catch (InvalidRecordException | PersistenceException | DataAccessException | TransactionException e) {
+            progress.addError(new ImportResult.RecordError(record.index, record.record.getReference(),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            return;
+        }
+        progress.references.putAll(recordReferences);
+        progress.imported++;
+    }
+
+    private void importRecord(ImportRecord record, Map<String, ImportedEntity> references,
+                              Map<String, ImportedEntity> batchReferences) {
+        switch (record.getKind()) {
+            case ENTITY:
+                importEntity(record, references, batchReferences);
+                break;
+            case LINK:
+                importLink(record, references, batchReferences);
+                break;
+            default:
+                throw new InvalidRecordException(record.getMessage());
+        }
+    }
+
+    private void importEntity(ImportRecord record, Map<String, ImportedEntity> references,
+                              Map<String, ImportedEntity> batchReferences) {
+        final String reference = record.getReference();
+        if (reference != null && (references.containsKey(reference) || batchReferences.containsKey(reference))) {
+            throw new InvalidRecordException("The reference \"" + reference + "\" is already used");
+        }
+        final Object entity = record.getEntity().get();
+        if (entity instanceof Implementation) {
+            if (record.getParent() == null) {
+                throw new InvalidRecordException("The implemented algorithm of the implementation is missing");
+            }
+            ((Implementation) entity).setImplementedAlgorithm(
+                    find(Algorithm.class, record.getParent(), references, batchReferences));
+        } else if (entity instanceof ProblemType && record.getParent() != null) {
+            ((ProblemType) entity).setParentProblemType(
+                    find(ProblemType.class, record.getParent(), references, batchReferences).getId());
+        } else if (record.getParent() != null) {
+            throw new InvalidRecordException(entity.getClass().getSimpleName() + " entities do not have a parent");
+        }
+
+        entityManager.persist(entity);
+        if (reference != null) {
+            batchReferences.put(reference, new ImportedEntity(entity.getClass(),
+                    entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity)));
+        }
+    }
+
+    private void importLink(ImportRecord record, Map<String, ImportedEntity> references,
+                            Map<String, ImportedEntity> batchReferences) {
+        for (LinkType<?> linkType : linkTypes) {
+            if (linkType.matches(record.getSourceType(), record.getTargetType())) {
+                linkType.link(this, record.getSource(), record.getTarget(), references, batchReferences);
+                return;
+            }
+            if (linkType.matches(record.getTargetType(), record.getSourceType())) {
+                linkType.link(this, record.getTarget(), record.getSource(), references, batchReferences);
+                return;
+            }
+        }
+        throw new InvalidRecordException(record.getSourceType().getSimpleName() + " and " +
+                record.getTargetType().getSimpleName() + " entities cannot be linked");
+    }
+
+    private <T> T find(Class<T> type, String reference, Map<String, ImportedEntity> references,
+                       Map<String, ImportedEntity> batchReferences) {
+        ImportedEntity imported = batchReferences.get(reference);
+        if (imported == null) {
+            imported = references.get(reference);
+        }
+        final Object id;
+        if (imported != null) {
+            if (!type.isAssignableFrom(imported.type)) {
+                throw new InvalidRecordException("The reference \"" + reference + "\" does not refer to a " +
+                        type.getSimpleName());
+            }
+            id = imported.id;
+        } else {
+            id = parseId(type, reference);
+        }
+        final T entity = entityManager.find(type, id);
+        if (entity == null) {
+            throw new InvalidRecordException(type.getSimpleName() + " \"" + reference + "\" does not exist");
+        }
+        return entity;
+    }
+
+    private Object parseId(Class<?> type, String reference) {
+        if (!UUID.class.equals(entityManager.getMetamodel().entity(type).getIdType().getJavaType())) {
+            return reference;
+        }
+        try {
+            return UUID.fromString(reference);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("The reference \"" + reference + "\" is neither defined by an earlier " +
+                    "record nor the ID of a " + type.getSimpleName());
+        }
+    }
+
+    /**
+     * A record that cannot be imported, which does not affect the other records of its batch.
+     */
+    private static class InvalidRecordException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidRecordException(String message) {
+            super(message);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class IndexedRecord {
+
+        private final long index;
+
+        private final ImportRecord record;
+    }
+
+    @AllArgsConstructor
+    private static class ImportedEntity {
+
+        private final Class<?> type;
+
+        private final Object id;
+    }
+
+    private static class Progress {
+
+        private final Map<String, ImportedEntity> references = new HashMap<>();
+
+        private final List<ImportResult.RecordError> errors = new ArrayList<>();
+
+        private long imported;
+
+        private long failed;
+
+        void addError(ImportResult.RecordError error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    /**
+     * A supported link between entities, stored in a collection of the owning entity.
+     */
+    @AllArgsConstructor
+    private static class LinkType<O> {
+
+        private final Class<O> ownerType;
+
+        private final Class<?> targetType;
+
+        private final Function<O, Collection<?>> collection;
+
+        boolean matches(Class<?> owner, Class<?> target) {
+            return ownerType.isAssignableFrom(owner) && targetType.isAssignableFrom(target);
+        }
+
+        @SuppressWarnings("unchecked")
+        void link(ImportServiceImpl service, String owner, String target, Map<String, ImportedEntity> references,
+                  Map<String, ImportedEntity> batchReferences) {
+            final O ownerEntity = service.find(ownerType, owner, references, batchReferences);
+            final Object targetEntity = service.find(targetType, target, references, batchReferences);
+            ((Collection<Object>) collection.apply(ownerEntity)).add(targetEntity);
+        }
+    }
+}
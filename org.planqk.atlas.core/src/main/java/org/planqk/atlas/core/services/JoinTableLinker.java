@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.planqk.atlas.core.model.HasId;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Creates and removes the links of a {@link LinkType} directly on its join table.
+ * <p>
+ * Testing or changing a link through the collections of the linked entities loads the complete collections, and the
+ * bidirectional add and remove methods of the entities load the inverse collections as well. Instead, links are looked
+ * up with an existence query on the join table, and join rows are inserted and deleted by native statements. The
+ * collections of the entities in the persistence context are only updated if they are initialized already, so they
+ * stay consistent without being loaded.
+ * <p>
+ * The native statements declare the join table as query space, so Hibernate flushes pending changes of the join table
+ * before them and only invalidates the second-level cache regions of the collections stored in the join table.
+ */
+@Component
+public class JoinTableLinker {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Check whether two entities are linked.
+     *
+     * @param linkType The type of the link
+     * @param source   The entity owning the link
+     * @param target   The linked entity
+     * @return true if the entities are linked
+     */
+    public boolean isLinked(@NonNull LinkType linkType, @NonNull HasId source, @NonNull HasId target) {
+        final Collection<Object> sourceCollection = getCollection(source, linkType.getCollection());
+        if (Hibernate.isInitialized(sourceCollection)) {
+            return sourceCollection.contains(target);
+        }
+        final JoinTable joinTable = getJoinTable(linkType);
+        final String sql = "SELECT 1 FROM " + joinTable.table + " WHERE " + joinTable.sourceColumn +
+                " = :sourceId AND " + joinTable.targetColumn + " = :targetId";
+        return !createQuery(joinTable, sql)
+                .setParameter("sourceId", source.getId())
+                .setParameter("targetId", target.getId())
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Link two entities that are not linked yet.
+     *
+     * @param linkType The type of the link
+     * @param source   The entity owning the link
+     * @param target   The entity to link
+     */
+    public void link(@NonNull LinkType linkType, @NonNull HasId source, @NonNull HasId target) {
+        final Collection<Object> sourceCollection = getCollection(source, linkType.getCollection());
+        if (Hibernate.isInitialized(sourceCollection)) {
+            // the row is inserted by Hibernate when the collection is flushed
+            sourceCollection.add(target);
+        } else {
+            final JoinTable joinTable = getJoinTable(linkType);
+            final String sql = "INSERT INTO " + joinTable.table + " (" + joinTable.sourceColumn + ", " +
+                    joinTable.targetColumn + ") VALUES (:sourceId, :targetId)";
+            createQuery(joinTable, sql)
+                    .setParameter("sourceId", source.getId())
+                    .setParameter("targetId", target.getId())
+                    .executeUpdate();
+        }
+        final Collection<Object> targetCollection = getCollection(target, linkType.getInverseCollection());
+        if (Hibernate.isInitialized(targetCollection)) {
+            targetCollection.add(source);
+        }
+    }
+
+    /**
+     * Remove the link of two linked entities.
+     *
+     * @param linkType The type of the link
+     * @param source   The entity owning the link
+     * @param target   The linked entity
+     */
+    public void unlink(@NonNull LinkType linkType, @NonNull HasId source, @NonNull HasId target) {
+        final Collection<Object> sourceCollection = getCollection(source, linkType.getCollection());
+        if (Hibernate.isInitialized(sourceCollection)) {
+            sourceCollection.remove(target);
+        } else {
+            final JoinTable joinTable = getJoinTable(linkType);
+            final String sql = "DELETE FROM " + joinTable.table + " WHERE " + joinTable.sourceColumn +
+                    " = :sourceId AND " + joinTable.targetColumn + " = :targetId";
+            createQuery(joinTable, sql)
+                    .setParameter("sourceId", source.getId())
+                    .setParameter("targetId", target.getId())
+                    .executeUpdate();
+        }
+        final Collection<Object> targetCollection = getCollection(target, linkType.getInverseCollection());
+        if (Hibernate.isInitialized(targetCollection)) {
+            targetCollection.remove(source);
+        }
+    }
+
+    /**
+     * Link every source entity with every target entity, skipping the pairs that are linked already.
+     * <p>
+     * The collections of the entities in the persistence context are not updated.
+     *
+     * @param linkType  The type of the links
+     * @param sourceIds The IDs of the entities owning the links
+     * @param targetIds The IDs of the entities to link
+     * @return The amount of created links
+     * @throws NoSuchElementException if an entity with one of the given IDs does not exist
+     */
+    public int linkAll(@NonNull LinkType linkType, @NonNull Set<UUID> sourceIds, @NonNull Set<UUID> targetIds) {
+        if (sourceIds.isEmpty() || targetIds.isEmpty()) {
+            return 0;
+        }
+        requireExisting(linkType.getSourceType(), sourceIds);
+        requireExisting(linkType.getTargetType(), targetIds);
+
+        final JoinTable joinTable = getJoinTable(linkType);
+        // the existing links are skipped by the same statement, so each pair is checked with one join table lookup
+        final String sql = "INSERT INTO " + joinTable.table + " (" + joinTable.sourceColumn + ", " +
+                joinTable.targetColumn + ") SELECT s." + joinTable.sourceIdColumn + ", t." + joinTable.targetIdColumn +
+                " FROM " + joinTable.sourceTable + " s CROSS JOIN " + joinTable.targetTable + " t" +
+                " WHERE s." + joinTable.sourceIdColumn + " IN (:sourceIds) AND t." + joinTable.targetIdColumn +
+                " IN (:targetIds) AND NOT EXISTS (SELECT 1 FROM " + joinTable.table + " l WHERE l." +
+                joinTable.sourceColumn + " = s." + joinTable.sourceIdColumn + " AND l." + joinTable.targetColumn +
+                " = t." + joinTable.targetIdColumn + ")";
+        return createQuery(joinTable, sql)
+                .setParameterList("sourceIds", sourceIds)
+                .setParameterList("targetIds", targetIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Remove the links between every source entity and every target entity, skipping the pairs that are not linked.
+     * <p>
+     * The collections of the entities in the persistence context are not updated.
+     *
+     * @param linkType  The type of the links
+     * @param sourceIds The IDs of the entities owning the links
+     * @param targetIds The IDs of the linked entities
+     * @return The amount of removed links
+     */
+    public int unlinkAll(@NonNull LinkType linkType, @NonNull Set<UUID> sourceIds, @NonNull Set<UUID> targetIds) {
+        if (sourceIds.isEmpty() || targetIds.isEmpty()) {
+            return 0;
+        }
+        final JoinTable joinTable = getJoinTable(linkType);
+        final String sql = "DELETE FROM " + joinTable.table + " WHERE " + joinTable.sourceColumn +
+                " IN (:sourceIds) AND " + joinTable.targetColumn + " IN (:targetIds)";
+        return createQuery(joinTable, sql)
+                .setParameterList("sourceIds", sourceIds)
+                .setParameterList("targetIds", targetIds)
+                .executeUpdate();
+    }
+
+    private void requireExisting(Class<?> type, Set<UUID> ids) {
+        final List<UUID> existing = entityManager.createQuery(
+                "SELECT e.id FROM " + type.getName() + " e WHERE e.id IN (:ids)", UUID.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        if (existing.size() < ids.size()) {
+            final Set<UUID> missing = new HashSet<>(ids);
+            existing.forEach(missing::remove);
+            throw new NoSuchElementException(type.getSimpleName() + " with IDs " + missing.stream()
+                    .map(id -> "\"" + id + "\"").sorted().collect(Collectors.joining(", ")) + " could not be found");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Object> getCollection(HasId entity, String collection) {
+        final Object unproxied = Hibernate.unproxy(entity);
+        final var persister = (AbstractEntityPersister) getMetamodel().entityPersister(unproxied.getClass());
+        return (Collection<Object>) persister.getPropertyValue(unproxied, collection);
+    }
+
+    private NativeQuery<?> createQuery(JoinTable joinTable, String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(joinTable.table);
+    }
+
+    private JoinTable getJoinTable(LinkType linkType) {
+        final MetamodelImplementor metamodel = getMetamodel();
+        final var collection = (AbstractCollectionPersister) metamodel.collectionPersister(linkType.getCollectionRole());
+        final var source = (AbstractEntityPersister) metamodel.entityPersister(linkType.getSourceType());
+        final var target = (AbstractEntityPersister) metamodel.entityPersister(linkType.getTargetType());
+        return new JoinTable(collection.getTableName(), collection.getKeyColumnNames()[0],
+                collection.getElementColumnNames()[0], source.getTableName(), source.getIdentifierColumnNames()[0],
+                target.getTableName(), target.getIdentifierColumnNames()[0]);
+    }
+
+    private MetamodelImplementor getMetamodel() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getMetamodel();
+    }
+
+    @AllArgsConstructor
+    private static class JoinTable {
+
+        private final String table;
+
+        private final String sourceColumn;
+
+        private final String targetColumn;
+
+        private final String sourceTable;
+
+        private final String sourceIdColumn;
+
+        private final String targetTable;
+
+        private final String targetIdColumn;
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
+import org.planqk.atlas.core.util.Keyset;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+/**
+ * Service class for keyset (cursor) pagination of entity lists.
+ * <p>
+ * Instead of an offset, a slice is requested with the cursor returned by the previous slice. The query seeks directly
+ * to the rows following the last row of the previous slice on the sort properties and the ID, so its cost does not
+ * grow with the position of the slice in the list. No count query is executed, whether another slice exists is
+ * determined by fetching one additional row.
+ */
+public interface KeysetPaginationService {
+
+    /**
+     * Retrieve the slice of all entities of the given type matching an optional filter, starting after the cursor of
+     * the given request.
+     *
+     * @param entityType       The class of the entities
+     * @param filter           Optional JPQL condition on the entity, which is referenced by the alias {@link
+     *                         Keyset#ALIAS}
+     * @param filterParameters The values of the named parameters used by the filter
+     * @param request          The size and sort of the slice and the cursor of the previous slice
+     * @param <T>              The type of the entities
+     * @return The slice of entities with the cursor of the next slice
+     * @throws IllegalArgumentException if the cursor is invalid or the sort cannot be used for cursor pagination
+     */
+    <T> CursorSlice<T> findAll(Class<T> entityType, @Nullable String filter, Map<String, ?> filterParameters,
+                               CursorPageRequest request);
+
+    /**
+     * Pass all entities of the given type matching an optional filter to the given action, in the order of the given
+     * sort followed by their ID.
+     * <p>
+     * The entities are read from a database cursor in batches of the configured fetch size instead of loading all of
+     * them at once. Each entity is detached after the action processed it, and the persistence context is cleared after
+     * every batch, so the memory needed does not depend on the amount of entities. The action must therefore not keep
+     * references to the entities or rely on other entities of the persistence context staying managed.
+     *
+     * @param entityType       The class of the entities
+     * @param filter           Optional JPQL condition on the entity, which is referenced by the alias {@link
+     *                         Keyset#ALIAS}
+     * @param filterParameters The values of the named parameters used by the filter
+     * @param sort             The sort of the entities
+     * @param action           The action processing each entity
+     * @param <T>              The type of the entities
+     * @return The amount of processed entities
+     * @throws IllegalArgumentException if the sort cannot be used for keyset pagination
+     */
+    <T> long forEach(Class<T> entityType, @Nullable String filter, Map<String, ?> filterParameters, Sort sort,
+                     Consumer<? super T> action);
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
+import org.planqk.atlas.core.util.Keyset;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.NonNull;
+
+@Service
+public class KeysetPaginationServiceImpl implements KeysetPaginationService {
+
+    @Value("${atlas.list.stream.fetch-size:100}")
+    private int fetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> CursorSlice<T> findAll(@NonNull Class<T> entityType, String filter, @NonNull Map<String, ?> filterParameters,
+                                      @NonNull CursorPageRequest request) {
+        if (request.getSize() < 1) {
+            throw new IllegalArgumentException("The slice size must be at least one");
+        }
+        final EntityType<T> entity = entityManager.getMetamodel().entity(entityType);
+        final Keyset keyset = createKeyset(entity, request.getSort());
+        final Object[] cursorValues = request.isFirst() ? null : keyset.decodeCursor(request.getCursor());
+
+        final TypedQuery<Object[]> query = createQuery(entity, keyset, filter, filterParameters, cursorValues);
+        // one additional row tells whether a next slice exists
+        final List<Object[]> rows = query.setMaxResults(request.getSize() + 1).getResultList();
+
+        final List<Object[]> sliceRows = rows.subList(0, Math.min(rows.size(), request.getSize()));
+        final List<T> content = sliceRows.stream().map(row -> entityType.cast(row[0])).collect(Collectors.toList());
+        final String nextCursor = rows.size() > request.getSize()
+                ? keyset.encodeCursor(Arrays.copyOfRange(sliceRows.get(sliceRows.size() - 1), 1, rows.get(0).length))
+                : null;
+        return new CursorSlice<>(content, PageRequest.of(0, request.getSize(), request.getSort()), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> long forEach(@NonNull Class<T> entityType, String filter, @NonNull Map<String, ?> filterParameters,
+                            @NonNull Sort sort, @NonNull Consumer<? super T> action) {
+        final EntityType<T> entity = entityManager.getMetamodel().entity(entityType);
+        final Query<?> query = createQuery(entity, createKeyset(entity, sort), filter, filterParameters, null)
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true);
+
+        long count = 0;
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                final T element = entityType.cast(results.get(0));
+                action.accept(element);
+                entityManager.detach(element);
+                count++;
+                if (count % fetchSize == 0) {
+                    // also drop the associations loaded while processing the elements
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private Keyset createKeyset(EntityType<?> entity, Sort sort) {
+        final String idProperty = entity.getId(entity.getIdType().getJavaType()).getName();
+        return Keyset.of(sort, idProperty, property -> getSortableType(entity, property));
+    }
+
+    private TypedQuery<Object[]> createQuery(EntityType<?> entity, Keyset keyset, String filter, Map<String, ?> filterParameters,
+                                             Object[] cursorValues) {
+        final TypedQuery<Object[]> query = entityManager.createQuery(
+                keyset.toQuery(entity.getName(), filter, cursorValues), Object[].class);
+        filterParameters.forEach(query::setParameter);
+        if (cursorValues != null) {
+            keyset.bindCursor(cursorValues).forEach(query::setParameter);
+        }
+        return query;
+    }
+
+    private static Class<?> getSortableType(EntityType<?> entity, String property) {
+        final Attribute<?, ?> attribute;
+        try {
+            attribute = entity.getAttribute(property);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort property \"" + property + "\" of " + entity.getName(), e);
+        }
+        if (!(attribute instanceof SingularAttribute) || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new IllegalArgumentException("Sorting by \"" + property + "\" is not supported for cursor pagination");
+        }
+        return attribute.getJavaType();
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.CloudService;
+import org.planqk.atlas.core.model.ComputeResource;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.LearningMethod;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The many-to-many links the {@link LinkingService} creates and removes on their join tables.
+ * <p>
+ * Each link is stored in a join table that belongs to a collection of the source entity; the target entity maps the
+ * same links by an inverse collection.
+ */
+@Getter
+@AllArgsConstructor
+public enum LinkType {
+
+    ALGORITHM_PUBLICATION(Algorithm.class, "publications", Publication.class, "algorithms"),
+    ALGORITHM_PROBLEM_TYPE(Algorithm.class, "problemTypes", ProblemType.class, "algorithms"),
+    ALGORITHM_APPLICATION_AREA(Algorithm.class, "applicationAreas", ApplicationArea.class, "algorithms"),
+    ALGORITHM_LEARNING_METHOD(Algorithm.class, "learningMethods", LearningMethod.class, "algorithms"),
+    IMPLEMENTATION_PUBLICATION(Implementation.class, "publications", Publication.class, "implementations"),
+    IMPLEMENTATION_SOFTWARE_PLATFORM(Implementation.class, "softwarePlatforms", SoftwarePlatform.class,
+            "implementations"),
+    SOFTWARE_PLATFORM_CLOUD_SERVICE(SoftwarePlatform.class, "supportedCloudServices", CloudService.class,
+            "softwarePlatforms"),
+    SOFTWARE_PLATFORM_COMPUTE_RESOURCE(SoftwarePlatform.class, "supportedComputeResources", ComputeResource.class,
+            "softwarePlatforms"),
+    CLOUD_SERVICE_COMPUTE_RESOURCE(CloudService.class, "providedComputeResources", ComputeResource.class,
+            "cloudServices");
+
+    /**
+     * The entity declaring the collection of the link.
+     */
+    private final Class<?> sourceType;
+
+    private final String collection;
+
+    private final Class<?> targetType;
+
+    /**
+     * The collection of the target entity mapped by the collection of the source entity.
+     */
+    private final String inverseCollection;
+
+    /**
+     * Get the role of the collection storing the links, as used by Hibernate.
+     *
+     * @return The fully qualified name of the collection
+     */
+    public String getCollectionRole() {
+        return sourceType.getName() + "." + collection;
+    }
+}
@@ -19,6 +19,7 @@
 
 package org.planqk.atlas.core.services;
 
+import java.util.Set;
 import java.util.UUID;
 
 import org.planqk.atlas.core.exceptions.EntityReferenceConstraintViolationException;
@@ -31,6 +32,11 @@ import org.springframework.transaction.annotation.Transactional;
  */
 public interface LinkingService {
 
+    /**
+     * The maximum amount of source or target IDs of a batch of links.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
     /**
      * Links an existing {@link org.planqk.atlas.core.model.Algorithm} and an existing {@link
      * org.planqk.atlas.core.model.Publication}.
@@ -326,4 +332,38 @@ public interface LinkingService {
      */
     @Transactional
     void unlinkAlgorithmAndLearningMethod(UUID algorithmId, UUID learningMethodId);
+
+    /**
+     * Links every given source entity with every given target entity of the given {@link LinkType}.
+     * <p>
+     * Pairs that are already linked are skipped. The links are created with one statement on the join table, without
+     * loading the entities or their collections.
+     * <p>
+     * If any of the entities with the given IDs could not be found a {@link java.util.NoSuchElementException} is thrown
+     * and no link is created. If more than {@link #MAX_BATCH_SIZE} IDs are given on either side an {@link
+     * IllegalArgumentException} is thrown.
+     *
+     * @param linkType  The type of the links
+     * @param sourceIds The IDs of the entities owning the links, e.g. the algorithms of algorithm-publication links
+     * @param targetIds The IDs of the linked entities
+     * @return The amount of created links
+     */
+    @Transactional
+    int linkAll(LinkType linkType, Set<UUID> sourceIds, Set<UUID> targetIds);
+
+    /**
+     * Removes the links of the given {@link LinkType} between every given source entity and every given target entity.
+     * <p>
+     * Pairs that are not linked are skipped. The links are removed with one statement on the join table, without
+     * loading the entities or their collections.
+     * <p>
+     * If more than {@link #MAX_BATCH_SIZE} IDs are given on either side an {@link IllegalArgumentException} is thrown.
+     *
+     * @param linkType  The type of the links
+     * @param sourceIds The IDs of the entities owning the links
+     * @param targetIds The IDs of the linked entities
+     * @return The amount of removed links
+     */
+    @Transactional
+    int unlinkAll(LinkType linkType, Set<UUID> sourceIds, Set<UUID> targetIds);
 }
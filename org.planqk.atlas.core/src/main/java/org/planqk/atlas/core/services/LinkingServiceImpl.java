@@ -19,6 +19,7 @@
 
 package org.planqk.atlas.core.services;
 
+import java.util.Set;
 import java.util.UUID;
 
 import org.planqk.atlas.core.exceptions.EntityReferenceConstraintViolationException;
@@ -61,18 +62,20 @@ public class LinkingServiceImpl implements LinkingService {
 
     private final LearningMethodService learningMethodService;
 
+    private final JoinTableLinker joinTableLinker;
+
     @Override
     @Transactional
     public void linkAlgorithmAndPublication(@NonNull UUID algorithmId, @NonNull UUID publicationId) {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final Publication publication = publicationService.findById(publicationId);
 
-        if (algorithm.getPublications().contains(publication)) {
+        if (joinTableLinker.isLinked(LinkType.ALGORITHM_PUBLICATION, algorithm, publication)) {
             throw new EntityReferenceConstraintViolationException("Algorithm with ID \"" + algorithmId +
                     "\" and Publication with ID \"" + publicationId + "\" are already linked");
         }
 
-        algorithm.addPublication(publication);
+        joinTableLinker.link(LinkType.ALGORITHM_PUBLICATION, algorithm, publication);
     }
 
     @Override
@@ -81,12 +84,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final Publication publication = publicationService.findById(publicationId);
 
-        if (!algorithm.getPublications().contains(publication)) {
+        if (!joinTableLinker.isLinked(LinkType.ALGORITHM_PUBLICATION, algorithm, publication)) {
             throw new EntityReferenceConstraintViolationException("Algorithm with ID \"" + algorithmId +
                     "\" and Publication with ID \"" + publicationId + "\" are not linked");
         }
 
-        algorithm.removePublication(publication);
+        joinTableLinker.unlink(LinkType.ALGORITHM_PUBLICATION, algorithm, publication);
     }
 
     @Override
@@ -95,12 +98,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final ProblemType problemType = problemTypeService.findById(problemTypeId);
 
-        if (algorithm.getProblemTypes().contains(problemType)) {
+        if (joinTableLinker.isLinked(LinkType.ALGORITHM_PROBLEM_TYPE, algorithm, problemType)) {
             throw new EntityReferenceConstraintViolationException("Algorithm with ID \"" + algorithmId +
                     "\" and ProblemType with ID \"" + problemTypeId + "\" are already linked");
         }
 
-        algorithm.addProblemType(problemType);
+        joinTableLinker.link(LinkType.ALGORITHM_PROBLEM_TYPE, algorithm, problemType);
     }
 
     @Override
@@ -109,12 +112,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final ProblemType problemType = problemTypeService.findById(problemTypeId);
 
-        if (!algorithm.getProblemTypes().contains(problemType)) {
+        if (!joinTableLinker.isLinked(LinkType.ALGORITHM_PROBLEM_TYPE, algorithm, problemType)) {
             throw new EntityReferenceConstraintViolationException("Algorithm with ID \"" + algorithmId +
                     "\" and ProblemType with ID \"" + problemTypeId + "\" are not linked");
         }
 
-        algorithm.removeProblemType(problemType);
+        joinTableLinker.unlink(LinkType.ALGORITHM_PROBLEM_TYPE, algorithm, problemType);
     }
 
     @Override
@@ -123,12 +126,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final ApplicationArea applicationArea = applicationAreaService.findById(applicationAreaId);
 
-        if (algorithm.getApplicationAreas().contains(applicationArea)) {
+        if (joinTableLinker.isLinked(LinkType.ALGORITHM_APPLICATION_AREA, algorithm, applicationArea)) {
             throw new EntityReferenceConstraintViolationException("Algorithm with ID \"" + algorithmId +
                     "\" and ApplicationArea with ID \"" + applicationAreaId + "\" are already linked");
         }
 
-        algorithm.addApplicationArea(applicationArea);
+        joinTableLinker.link(LinkType.ALGORITHM_APPLICATION_AREA, algorithm, applicationArea);
     }
 
     @Override
@@ -137,12 +140,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final ApplicationArea applicationArea = applicationAreaService.findById(applicationAreaId);
 
-        if (!algorithm.getApplicationAreas().contains(applicationArea)) {
+        if (!joinTableLinker.isLinked(LinkType.ALGORITHM_APPLICATION_AREA, algorithm, applicationArea)) {
             throw new EntityReferenceConstraintViolationException("Algorithm with ID \"" + algorithmId +
                     "\" and ApplicationArea with ID \"" + applicationAreaId + "\" are not linked");
         }
 
-        algorithm.removeApplicationArea(applicationArea);
+        joinTableLinker.unlink(LinkType.ALGORITHM_APPLICATION_AREA, algorithm, applicationArea);
     }
 
     @Override
@@ -151,12 +154,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Implementation implementation = implementationService.findById(implementationId);
         final Publication publication = publicationService.findById(publicationId);
 
-        if (implementation.getPublications().contains(publication)) {
+        if (joinTableLinker.isLinked(LinkType.IMPLEMENTATION_PUBLICATION, implementation, publication)) {
             throw new EntityReferenceConstraintViolationException("Implementation with ID \"" + implementationId +
                     "\" and Publication with ID \"" + publicationId + "\" are already linked");
         }
 
-        implementation.addPublication(publication);
+        joinTableLinker.link(LinkType.IMPLEMENTATION_PUBLICATION, implementation, publication);
     }
 
     @Override
@@ -165,12 +168,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Implementation implementation = implementationService.findById(implementationId);
         final Publication publication = publicationService.findById(publicationId);
 
-        if (!implementation.getPublications().contains(publication)) {
+        if (!joinTableLinker.isLinked(LinkType.IMPLEMENTATION_PUBLICATION, implementation, publication)) {
             throw new EntityReferenceConstraintViolationException("Implementation with ID \"" + implementationId +
                     "\" and Publication with ID \"" + publicationId + "\" are not linked");
         }
 
-        implementation.removePublication(publication);
+        joinTableLinker.unlink(LinkType.IMPLEMENTATION_PUBLICATION, implementation, publication);
     }
 
     @Override
@@ -179,12 +182,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Implementation implementation = implementationService.findById(implementationId);
         final SoftwarePlatform softwarePlatform = softwarePlatformService.findById(softwarePlatformId);
 
-        if (implementation.getSoftwarePlatforms().contains(softwarePlatform)) {
+        if (joinTableLinker.isLinked(LinkType.IMPLEMENTATION_SOFTWARE_PLATFORM, implementation, softwarePlatform)) {
             throw new EntityReferenceConstraintViolationException("Implementation with ID \"" + implementationId +
                     "\" and SoftwarePlatform with ID \"" + softwarePlatformId + "\" are already linked");
         }
 
-        implementation.addSoftwarePlatform(softwarePlatform);
+        joinTableLinker.link(LinkType.IMPLEMENTATION_SOFTWARE_PLATFORM, implementation, softwarePlatform);
     }
 
     @Override
@@ -193,12 +196,12 @@ public class LinkingServiceImpl implements LinkingService {
         final Implementation implementation = implementationService.findById(implementationId);
         final SoftwarePlatform softwarePlatform = softwarePlatformService.findById(softwarePlatformId);
 
-        if (!implementation.getSoftwarePlatforms().contains(softwarePlatform)) {
+        if (!joinTableLinker.isLinked(LinkType.IMPLEMENTATION_SOFTWARE_PLATFORM, implementation, softwarePlatform)) {
             throw new EntityReferenceConstraintViolationException("Implementation with ID \"" + implementationId +
                     "\" and SoftwarePlatform with ID \"" + softwarePlatformId + "\" are not linked");
         }
 
-        implementation.removeSoftwarePlatform(softwarePlatform);
+        joinTableLinker.unlink(LinkType.IMPLEMENTATION_SOFTWARE_PLATFORM, implementation, softwarePlatform);
     }
 
     @Override
@@ -207,12 +210,12 @@ public class LinkingServiceImpl implements LinkingService {
         final SoftwarePlatform softwarePlatform = softwarePlatformService.findById(softwarePlatformId);
         final CloudService cloudService = cloudServiceService.findById(cloudServiceId);
 
-        if (softwarePlatform.getSupportedCloudServices().contains(cloudService)) {
+        if (joinTableLinker.isLinked(LinkType.SOFTWARE_PLATFORM_CLOUD_SERVICE, softwarePlatform, cloudService)) {
             throw new EntityReferenceConstraintViolationException("SoftwarePlatform with ID \"" + softwarePlatformId +
                     "\" and CloudService with ID \"" + cloudServiceId + "\" are already linked");
         }
 
-        softwarePlatform.addCloudService(cloudService);
+        joinTableLinker.link(LinkType.SOFTWARE_PLATFORM_CLOUD_SERVICE, softwarePlatform, cloudService);
     }
 
     @Override
@@ -221,12 +224,12 @@ public class LinkingServiceImpl implements LinkingService {
         final SoftwarePlatform softwarePlatform = softwarePlatformService.findById(softwarePlatformId);
         final CloudService cloudService = cloudServiceService.findById(cloudServiceId);
 
-        if (!softwarePlatform.getSupportedCloudServices().contains(cloudService)) {
+        if (!joinTableLinker.isLinked(LinkType.SOFTWARE_PLATFORM_CLOUD_SERVICE, softwarePlatform, cloudService)) {
             throw new EntityReferenceConstraintViolationException("SoftwarePlatform with ID \"" + softwarePlatformId +
                     "\" and CloudService with ID \"" + cloudServiceId + "\" are not linked");
         }
 
-        softwarePlatform.removeCloudService(cloudService);
+        joinTableLinker.unlink(LinkType.SOFTWARE_PLATFORM_CLOUD_SERVICE, softwarePlatform, cloudService);
     }
 
     @Override
@@ -235,12 +238,12 @@ public class LinkingServiceImpl implements LinkingService {
         final SoftwarePlatform softwarePlatform = softwarePlatformService.findById(softwarePlatformId);
         final ComputeResource computeResource = computeResourceService.findById(computeResourceId);
 
-        if (softwarePlatform.getSupportedComputeResources().contains(computeResource)) {
+        if (joinTableLinker.isLinked(LinkType.SOFTWARE_PLATFORM_COMPUTE_RESOURCE, softwarePlatform, computeResource)) {
             throw new EntityReferenceConstraintViolationException("SoftwarePlatform with ID \"" + softwarePlatformId +
                     "\" and ComputeResource with ID \"" + computeResourceId + "\" are already linked");
         }
 
-        softwarePlatform.addComputeResource(computeResource);
+        joinTableLinker.link(LinkType.SOFTWARE_PLATFORM_COMPUTE_RESOURCE, softwarePlatform, computeResource);
     }
 
     @Override
@@ -249,40 +252,40 @@ public class LinkingServiceImpl implements LinkingService {
         final SoftwarePlatform softwarePlatform = softwarePlatformService.findById(softwarePlatformId);
         final ComputeResource computeResource = computeResourceService.findById(computeResourceId);
 
-        if (!softwarePlatform.getSupportedComputeResources().contains(computeResource)) {
+        if (!joinTableLinker.isLinked(LinkType.SOFTWARE_PLATFORM_COMPUTE_RESOURCE, softwarePlatform, computeResource)) {
             throw new EntityReferenceConstraintViolationException("SoftwarePlatform with ID \"" + softwarePlatformId +
                     "\" and ComputeResource with ID \"" + computeResourceId + "\" are not linked");
         }
 
-        softwarePlatform.removeComputeResource(computeResource);
+        joinTableLinker.unlink(LinkType.SOFTWARE_PLATFORM_COMPUTE_RESOURCE, softwarePlatform, computeResource);
     }
 
     @Override
     @Transactional
     public void linkCloudServiceAndComputeResource(@NonNull UUID cloudServiceId, @NonNull UUID computeResourceId) {
-        final var cloudService = cloudServiceService.findById(cloudServiceId);
-        final var computeResource = computeResourceService.findById(computeResourceId);
+        final CloudService cloudService = cloudServiceService.findById(cloudServiceId);
+        final ComputeResource computeResource = computeResourceService.findById(computeResourceId);
 
-        if (cloudService.getProvidedComputeResources().contains(computeResource)) {
+        if (joinTableLinker.isLinked(LinkType.CLOUD_SERVICE_COMPUTE_RESOURCE, cloudService, computeResource)) {
             throw new EntityReferenceConstraintViolationException("CloudService with ID \"" + cloudServiceId +
                     "\" and ComputeResource with ID \"" + computeResourceId + "\" are already linked");
         }
 
-        cloudService.addComputeResource(computeResource);
+        joinTableLinker.link(LinkType.CLOUD_SERVICE_COMPUTE_RESOURCE, cloudService, computeResource);
     }
 
     @Override
     @Transactional
     public void unlinkCloudServiceAndComputeResource(@NonNull UUID cloudServiceId, @NonNull UUID computeResourceId) {
-        final var cloudService = cloudServiceService.findById(cloudServiceId);
-        final var computeResource = computeResourceService.findById(computeResourceId);
+        final CloudService cloudService = cloudServiceService.findById(cloudServiceId);
+        final ComputeResource computeResource = computeResourceService.findById(computeResourceId);
 
-        if (!cloudService.getProvidedComputeResources().contains(computeResource)) {
+        if (!joinTableLinker.isLinked(LinkType.CLOUD_SERVICE_COMPUTE_RESOURCE, cloudService, computeResource)) {
             throw new EntityReferenceConstraintViolationException("CloudService with ID \"" + cloudServiceId +
                     "\" and ComputeResource with ID \"" + computeResourceId + "\" are not linked");
         }
 
-        cloudService.removeComputeResource(computeResource);
+        joinTableLinker.unlink(LinkType.CLOUD_SERVICE_COMPUTE_RESOURCE, cloudService, computeResource);
     }
 
     @Override
@@ -292,7 +295,9 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final LearningMethod learningMethod = learningMethodService.findById(learningMethodId);
 
-        algorithm.addLearningMethod(learningMethod);
+        if (!joinTableLinker.isLinked(LinkType.ALGORITHM_LEARNING_METHOD, algorithm, learningMethod)) {
+            joinTableLinker.link(LinkType.ALGORITHM_LEARNING_METHOD, algorithm, learningMethod);
+        }
     }
 
     @Override
@@ -302,6 +307,32 @@ public class LinkingServiceImpl implements LinkingService {
         final Algorithm algorithm = algorithmService.findById(algorithmId);
         final LearningMethod learningMethod = learningMethodService.findById(learningMethodId);
 
-        algorithm.removeLearningMethod(learningMethod);
+        if (joinTableLinker.isLinked(LinkType.ALGORITHM_LEARNING_METHOD, algorithm, learningMethod)) {
+            joinTableLinker.unlink(LinkType.ALGORITHM_LEARNING_METHOD, algorithm, learningMethod);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int linkAll(@NonNull LinkType linkType, @NonNull Set<UUID> sourceIds, @NonNull Set<UUID> targetIds) {
+        validateBatchSize(sourceIds, targetIds);
+        final int linked = joinTableLinker.linkAll(linkType, sourceIds, targetIds);
+        log.debug("Created {} {} links", linked, linkType);
+        return linked;
+    }
+
+    @Override
+    @Transactional
+    public int unlinkAll(@NonNull LinkType linkType, @NonNull Set<UUID> sourceIds, @NonNull Set<UUID> targetIds) {
+        validateBatchSize(sourceIds, targetIds);
+        final int unlinked = joinTableLinker.unlinkAll(linkType, sourceIds, targetIds);
+        log.debug("Removed {} {} links", unlinked, linkType);
+        return unlinked;
+    }
+
+    private static void validateBatchSize(Set<UUID> sourceIds, Set<UUID> targetIds) {
+        if (sourceIds.size() > MAX_BATCH_SIZE || targetIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " entities can be linked at once");
+        }
     }
 }
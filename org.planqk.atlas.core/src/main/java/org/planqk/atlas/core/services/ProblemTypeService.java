@@ -80,6 +80,9 @@ public interface ProblemTypeService {
      * a given ID in its update path. This ID will be used to query the existing {@link ProblemType} entry we want to
      * update. If no {@link ProblemType} entry with the given ID is found this method will throw a {@link
      * java.util.NoSuchElementException}.
+     * <p>
+     * If the new parent problem type is the {@link ProblemType} itself or one of its descendants an {@link
+     * IllegalArgumentException} will be thrown, as this would create a cycle in the problem type hierarchy.
      *
      * @param problemType The {@link ProblemType} we want to update with its updated properties
      * @return the updated {@link ProblemType} object that represents the updated status of the database
@@ -106,9 +109,47 @@ public interface ProblemTypeService {
 
     /**
      * Get a list of all recursively findable parent problem types for a given {@link ProblemType}.
+     * <p>
+     * The parents are queried with a single recursive query. The list starts with the given {@link ProblemType},
+     * followed by its parent, the parent of its parent and so on up to the root.
+     * <p>
+     * If no {@link ProblemType} with the given ID exists a {@link java.util.NoSuchElementException} will be thrown.
      *
      * @param problemTypeId The ID of the {@link ProblemType} we want to create the parent list for
      * @return The list of all recursively findable parents for the given {@link ProblemType}
      */
     List<ProblemType> getParentList(UUID problemTypeId);
+
+    /**
+     * Get a list of the descendants of a given {@link ProblemType}, i.e. its children, their children and so on.
+     * <p>
+     * The descendants are queried with a single recursive query and are ordered by their depth below the given {@link
+     * ProblemType} and their name. The given {@link ProblemType} itself is not contained in the list.
+     * <p>
+     * If no {@link ProblemType} with the given ID exists a {@link java.util.NoSuchElementException} will be thrown. If
+     * the given max depth is not positive an {@link IllegalArgumentException} will be thrown.
+     *
+     * @param problemTypeId The ID of the {@link ProblemType} we want to find the descendants for
+     * @param maxDepth      The maximal depth of the returned descendants, e.g. 1 for the children only. If null the
+     *                      whole subtree is returned
+     * @return The list of the descendants of the given {@link ProblemType}
+     */
+    List<ProblemType> findDescendants(UUID problemTypeId, Integer maxDepth);
+
+    /**
+     * Move all children of a {@link ProblemType}, together with their subtrees, to a new parent problem type.
+     * <p>
+     * All children are re-parented with a single update statement. If the new parent problem type ID is null the
+     * children become root problem types.
+     * <p>
+     * If one of the {@link ProblemType}s does not exist a {@link java.util.NoSuchElementException} will be thrown. If
+     * the new parent is the {@link ProblemType} itself or one of its descendants an {@link IllegalArgumentException}
+     * will be thrown, as this would create a cycle in the problem type hierarchy.
+     *
+     * @param problemTypeId          The ID of the {@link ProblemType} whose children should be moved
+     * @param newParentProblemTypeId The ID of the new parent problem type of the children or null
+     * @return The amount of moved children
+     */
+    @Transactional
+    int moveChildren(UUID problemTypeId, UUID newParentProblemTypeId);
 }
@@ -19,7 +19,6 @@
 
 package org.planqk.atlas.core.services;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -69,6 +68,12 @@ public class ProblemTypeServiceImpl implements ProblemTypeService {
     public ProblemType update(@NonNull ProblemType problemType) {
         final ProblemType persistedProblemType = findById(problemType.getId());
 
+        if (problemType.getParentProblemType() != null
+                && problemTypeRepository.isInSubtree(persistedProblemType.getId(), problemType.getParentProblemType())) {
+            throw new IllegalArgumentException("ProblemType with ID \"" + problemType.getParentProblemType() +
+                    "\" cannot be the parent of its own ancestor with ID \"" + persistedProblemType.getId() + "\"");
+        }
+
         persistedProblemType.setName(problemType.getName());
         persistedProblemType.setParentProblemType(problemType.getParentProblemType());
 
@@ -96,35 +101,40 @@ public class ProblemTypeServiceImpl implements ProblemTypeService {
     }
 
     private void removeAsParentFromProblemTypes(@NonNull ProblemType problemType) {
-        final List<ProblemType> persistedProblemTypes = problemTypeRepository.findProblemTypesByParentProblemType(problemType.getId());
-        for (ProblemType persistedProblemType : persistedProblemTypes) {
-            persistedProblemType.setParentProblemType(null);
-            problemTypeRepository.save(persistedProblemType);
-        }
+        problemTypeRepository.updateParentProblemType(problemType.getId(), null);
     }
 
     @Override
     public List<ProblemType> getParentList(@NonNull UUID problemTypeId) {
-        final ProblemType requestedProblemType = findById(problemTypeId);
-
-        final List<ProblemType> parentTree = new ArrayList<>();
-        parentTree.add(requestedProblemType);
-
-        ProblemType parentProblemType = getParent(requestedProblemType);
-        while (parentProblemType != null) {
-            parentTree.add(parentProblemType);
-            parentProblemType = getParent(parentProblemType);
+        final List<ProblemType> parentTree = problemTypeRepository.findAncestors(problemTypeId);
+        if (parentTree.isEmpty()) {
+            throw new NoSuchElementException("ProblemType with ID \"" + problemTypeId + "\" does not exist");
         }
         return parentTree;
     }
 
-    private ProblemType getParent(@NonNull ProblemType child) {
-        try {
-            if (child.getParentProblemType() != null) {
-                return findById(child.getParentProblemType());
+    @Override
+    public List<ProblemType> findDescendants(@NonNull UUID problemTypeId, Integer maxDepth) {
+        if (maxDepth != null && maxDepth < 1) {
+            throw new IllegalArgumentException("The max depth of the descendants must be positive");
+        }
+        ServiceUtils.throwIfNotExists(problemTypeId, ProblemType.class, problemTypeRepository);
+
+        return problemTypeRepository.findDescendants(problemTypeId, maxDepth == null ? Integer.MAX_VALUE : maxDepth);
+    }
+
+    @Override
+    @Transactional
+    public int moveChildren(@NonNull UUID problemTypeId, UUID newParentProblemTypeId) {
+        ServiceUtils.throwIfNotExists(problemTypeId, ProblemType.class, problemTypeRepository);
+        if (newParentProblemTypeId != null) {
+            ServiceUtils.throwIfNotExists(newParentProblemTypeId, ProblemType.class, problemTypeRepository);
+            if (problemTypeRepository.isInSubtree(problemTypeId, newParentProblemTypeId)) {
+                throw new IllegalArgumentException("Children of ProblemType with ID \"" + problemTypeId +
+                        "\" cannot be moved into its own subtree");
             }
-        } catch (NoSuchElementException ignored) {
         }
-        return null;
+
+        return problemTypeRepository.updateParentProblemType(problemTypeId, newParentProblemTypeId);
     }
 }
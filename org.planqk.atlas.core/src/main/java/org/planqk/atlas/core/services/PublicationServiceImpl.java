@@ -19,9 +19,12 @@
 
 package org.planqk.atlas.core.services;
 
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.Implementation;
@@ -30,9 +33,15 @@ import org.planqk.atlas.core.repository.AlgorithmRepository;
 import org.planqk.atlas.core.repository.ImplementationRepository;
 import org.planqk.atlas.core.repository.PublicationRepository;
 import org.planqk.atlas.core.util.CollectionUtils;
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
+import org.planqk.atlas.core.util.FullTextSearchUtils;
 import org.planqk.atlas.core.util.ServiceUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -51,6 +60,12 @@ public class PublicationServiceImpl implements PublicationService {
 
     private final AlgorithmRepository algorithmRepository;
 
+    private final SearchIndexService searchIndexService;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final CountEstimationService countEstimationService;
+
     @Override
     @Transactional
     public Publication create(@NonNull Publication publication) {
@@ -60,11 +75,53 @@ public class PublicationServiceImpl implements PublicationService {
     @Override
     public Page<Publication> findAll(@NonNull Pageable pageable, String search) {
         if (search != null && !search.isEmpty()) {
+            if (searchIndexService.supports(pageable)) {
+                return searchIndexService.search(Publication.class, search, pageable);
+            }
             return publicationRepository.findAll(search, pageable);
         }
         return publicationRepository.findAll(pageable);
     }
 
+    @Override
+    public Slice<Publication> findAll(@NonNull Pageable pageable, String search, @NonNull CountMode countMode) {
+        if (search != null && !search.isEmpty()) {
+            if (countMode != CountMode.NONE || searchIndexService.supports(pageable)) {
+                return findAll(pageable, search);
+            }
+            return publicationRepository.findSlice(search, pageable);
+        }
+        if (countMode == CountMode.EXACT) {
+            return publicationRepository.findAll(pageable);
+        }
+        final Slice<Publication> slice = publicationRepository.findSliceBy(pageable);
+        return countMode == CountMode.NONE
+                ? slice
+                : countEstimationService.toEstimatedPage(slice, Publication.class, publicationRepository::count);
+    }
+
+    @Override
+    public CursorSlice<Publication> findSlice(@NonNull CursorPageRequest request, String search) {
+        if (search != null && !search.isEmpty()) {
+            return keysetPaginationService.findAll(Publication.class, PublicationRepository.KEYSET_SEARCH_FILTER,
+                    getKeysetSearchParameters(search), request);
+        }
+        return keysetPaginationService.findAll(Publication.class, null, Map.of(), request);
+    }
+
+    @Override
+    public long streamAll(@NonNull Sort sort, String search, @NonNull Consumer<? super Publication> action) {
+        if (search != null && !search.isEmpty()) {
+            return keysetPaginationService.forEach(Publication.class, PublicationRepository.KEYSET_SEARCH_FILTER,
+                    getKeysetSearchParameters(search), sort, action);
+        }
+        return keysetPaginationService.forEach(Publication.class, null, Map.of(), sort, action);
+    }
+
+    private Map<String, String> getKeysetSearchParameters(String search) {
+        return Map.of("search", search, "pattern", FullTextSearchUtils.toLikePattern(search.toLowerCase(Locale.ROOT)));
+    }
+
     @Override
     public Publication findById(@NonNull UUID publicationId) {
         return ServiceUtils.findById(publicationId, Publication.class, publicationRepository);
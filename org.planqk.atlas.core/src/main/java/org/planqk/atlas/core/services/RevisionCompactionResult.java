@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Result of a run of the {@link RevisionCompactionService}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RevisionCompactionResult {
+
+    /**
+     * The amount of artifacts that were trimmed to their retention limit.
+     */
+    private final long trimmedArtifacts;
+
+    /**
+     * The amount of deleted revisions of all artifacts.
+     */
+    private final long deletedRevisions;
+
+    /**
+     * The amount of deleted entries of the revision info table that were not referenced by any revision.
+     */
+    private final long deletedRevisionInfos;
+
+    private final Duration duration;
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Optional;
+
+/**
+ * Service class for the background compaction of the revisions stored for audited artifacts.
+ * <p>
+ * The compaction trims the revisions of all {@link org.planqk.atlas.core.model.Algorithm}s and {@link
+ * org.planqk.atlas.core.model.Implementation}s to the retention limits of the {@link RevisionRetentionService} and
+ * deletes entries of the revision info table that are no longer referenced by any revision.
+ */
+public interface RevisionCompactionService {
+
+    /**
+     * Run the compaction of all revisions.
+     * <p>
+     * The revisions are deleted in batches, each in its own transaction. If a compaction is already running no second
+     * compaction is started.
+     *
+     * @return The result of the compaction or an empty optional if a compaction is already running
+     */
+    Optional<RevisionCompactionResult> compact();
+
+    /**
+     * Check whether a compaction is currently running.
+     *
+     * @return true if a compaction is running, false otherwise
+     */
+    boolean isRunning();
+
+    /**
+     * Get the progress of the running compaction.
+     *
+     * @return The share of the artifacts exceeding their retention limit that were already trimmed by the running
+     * compaction, between 0 and 1, or 1 if no compaction is running
+     */
+    double getProgress();
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.planqk.atlas.core.model.KnowledgeArtifact;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link RevisionCompactionService} running periodically according to the configured cron expression.
+ * <p>
+ * The artifacts exceeding their retention limit are selected in batches ordered by their ID and each batch is trimmed
+ * with a single statement of the {@link RevisionRetentionService} in its own transaction, so the locks on the revision
+ * tables are only held for a short time. Afterwards the orphaned revision info entries are deleted in batches as well.
+ * <p>
+ * The progress, the duration and the amount of deleted rows are published as metrics with the prefix {@value
+ * #METRIC_PREFIX}.
+ */
+@Slf4j
+@Service
+public class RevisionCompactionServiceImpl implements RevisionCompactionService {
+
+    static final String METRIC_PREFIX = "atlas.revisions.compaction";
+
+    private final RevisionRetentionService revisionRetentionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong trimmedArtifacts = new AtomicLong();
+
+    private final AtomicLong exceedingArtifacts = new AtomicLong();
+
+    private final Timer duration;
+
+    private final Counter deletedRevisions;
+
+    private final Counter deletedRevisionInfos;
+
+    @Value("${atlas.revisions.compaction.batch-size:500}")
+    private int batchSize;
+
+    public RevisionCompactionServiceImpl(RevisionRetentionService revisionRetentionService,
+                                         PlatformTransactionManager transactionManager,
+                                         ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.revisionRetentionService = revisionRetentionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        final MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.duration = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Duration of the revision compaction runs")
+                .register(meterRegistry);
+        this.deletedRevisions = Counter.builder(METRIC_PREFIX + ".deleted")
+                .description("Rows deleted by the revision compaction")
+                .tag("table", "revisions")
+                .register(meterRegistry);
+        this.deletedRevisionInfos = Counter.builder(METRIC_PREFIX + ".deleted")
+                .description("Rows deleted by the revision compaction")
+                .tag("table", RevisionRetentionServiceImpl.REVISION_INFO)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".progress", this, RevisionCompactionService::getProgress)
+                .description("Share of the artifacts trimmed by the running revision compaction")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".running", running, value -> value.get() ? 1 : 0)
+                .description("Whether a revision compaction is running")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${atlas.revisions.compaction.cron:-}")
+    public void scheduledCompaction() {
+        compact().ifPresent(result -> log.info("Revision compaction finished: {}", result));
+    }
+
+    @Override
+    public Optional<RevisionCompactionResult> compact() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Skipping revision compaction, as it is already running");
+            return Optional.empty();
+        }
+        final long start = System.nanoTime();
+        try {
+            trimmedArtifacts.set(0);
+            exceedingArtifacts.set(revisionRetentionService.getRetainedTypes().stream()
+                    .filter(type -> revisionRetentionService.getMaxRevisions(type) > 0)
+                    .mapToLong(type -> revisionRetentionService.countArtifactsExceedingLimit(type,
+                            revisionRetentionService.getMaxRevisions(type)))
+                    .sum());
+
+            long revisions = 0;
+            for (Class<? extends KnowledgeArtifact> type : revisionRetentionService.getRetainedTypes()) {
+                revisions += trimRevisions(type);
+            }
+            final long revisionInfos = deleteOrphanedRevisionInfos();
+
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            duration.record(elapsed);
+            return Optional.of(new RevisionCompactionResult(trimmedArtifacts.get(), revisions, revisionInfos, elapsed));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public double getProgress() {
+        final long exceeding = exceedingArtifacts.get();
+        if (!running.get() || exceeding == 0) {
+            return 1;
+        }
+        return Math.min(1, (double) trimmedArtifacts.get() / exceeding);
+    }
+
+    private long trimRevisions(Class<? extends KnowledgeArtifact> type) {
+        final int maxRevisions = revisionRetentionService.getMaxRevisions(type);
+        if (maxRevisions < 1) {
+            return 0;
+        }
+        long deleted = 0;
+        List<UUID> artifactIds = revisionRetentionService.findArtifactsExceedingLimit(type, maxRevisions, null, batchSize);
+        while (!artifactIds.isEmpty()) {
+            final List<UUID> batch = artifactIds;
+            final Integer deletedInBatch = transactionTemplate.execute(status ->
+                    revisionRetentionService.pruneRevisions(type, batch, maxRevisions));
+            deletedRevisions.increment(deletedInBatch);
+            trimmedArtifacts.addAndGet(batch.size());
+            deleted += deletedInBatch;
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            artifactIds = revisionRetentionService.findArtifactsExceedingLimit(type, maxRevisions,
+                    batch.get(batch.size() - 1), batchSize);
+        }
+        return deleted;
+    }
+
+    private long deleteOrphanedRevisionInfos() {
+        long deleted = 0;
+        int deletedInBatch;
+        do {
+            deletedInBatch = transactionTemplate.execute(status ->
+                    revisionRetentionService.deleteOrphanedRevisionInfos(batchSize));
+            deletedRevisionInfos.increment(deletedInBatch);
+            deleted += deletedInBatch;
+        } while (deletedInBatch == batchSize);
+        return deleted;
+    }
+}
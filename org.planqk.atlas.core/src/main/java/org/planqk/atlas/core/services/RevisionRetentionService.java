@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.planqk.atlas.core.model.KnowledgeArtifact;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for the retention of the revisions that Hibernate Envers stores for audited {@link KnowledgeArtifact}s,
+ * i.e. {@link org.planqk.atlas.core.model.Algorithm}s and {@link org.planqk.atlas.core.model.Implementation}s.
+ * <p>
+ * The maximal amount of revisions kept for each artifact can be configured per type of artifact. Depending on the
+ * {@link RetentionMode} the limit is enforced when an artifact is updated or by the {@link RevisionCompactionService}.
+ */
+public interface RevisionRetentionService {
+
+    /**
+     * Defines when the revisions exceeding the retention limit of an artifact are deleted.
+     */
+    enum RetentionMode {
+        /**
+         * Delete the revisions in the transaction updating the artifact.
+         */
+        INLINE,
+        /**
+         * Delete the revisions in a background thread after the transaction updating the artifact has been committed.
+         */
+        AFTER_COMMIT,
+        /**
+         * Only delete the revisions during the scheduled compaction of the {@link RevisionCompactionService}.
+         */
+        SCHEDULED
+    }
+
+    /**
+     * Get the types of {@link KnowledgeArtifact}s whose revisions are retained by this service.
+     *
+     * @return The retained types, i.e. {@link org.planqk.atlas.core.model.Algorithm} and {@link
+     * org.planqk.atlas.core.model.Implementation}
+     */
+    List<Class<? extends KnowledgeArtifact>> getRetainedTypes();
+
+    /**
+     * Get the maximal amount of revisions kept for artifacts of the given type.
+     * <p>
+     * If the type is not audited an {@link IllegalArgumentException} will be thrown.
+     *
+     * @param type The type of the artifacts, e.g. {@link org.planqk.atlas.core.model.ClassicAlgorithm}
+     * @return The maximal amount of revisions or a value smaller than 1 if all revisions are kept
+     */
+    int getMaxRevisions(Class<? extends KnowledgeArtifact> type);
+
+    /**
+     * Count the revisions that are stored for a {@link KnowledgeArtifact} with a single aggregate query.
+     *
+     * @param artifactId The ID of the {@link KnowledgeArtifact}
+     * @return The amount of stored revisions
+     */
+    long countRevisions(UUID artifactId);
+
+    /**
+     * Apply the retention policy to a {@link KnowledgeArtifact} that is updated in the current transaction.
+     * <p>
+     * If the amount of stored revisions together with the revision created by the update exceeds the maximal amount
+     * of revisions the oldest revisions are deleted. Depending on the {@link RetentionMode} this is done directly in
+     * the current transaction, in a separate transaction after the current transaction has been committed or not at
+     * all.
+     *
+     * @param artifact The {@link KnowledgeArtifact} that is updated
+     */
+    @Transactional
+    void applyRetention(KnowledgeArtifact artifact);
+
+    /**
+     * Delete all revisions of a {@link KnowledgeArtifact} except for the given amount of most recent revisions.
+     * <p>
+     * The revisions are deleted with a single statement from all revision tables of the type of the artifact. Entries
+     * of the revision info table are only deleted if they are not referenced by revisions of other artifacts.
+     *
+     * @param type       The type of the {@link KnowledgeArtifact}
+     * @param artifactId The ID of the {@link KnowledgeArtifact}
+     * @param keep       The amount of most recent revisions to keep
+     * @return The amount of deleted revisions
+     */
+    @Transactional
+    int pruneRevisions(Class<? extends KnowledgeArtifact> type, UUID artifactId, int keep);
+
+    /**
+     * Delete all revisions of multiple {@link KnowledgeArtifact}s of the same type except for the given amount of most
+     * recent revisions of each artifact with a single statement.
+     *
+     * @param type        The type of the {@link KnowledgeArtifact}s
+     * @param artifactIds The IDs of the {@link KnowledgeArtifact}s
+     * @param keep        The amount of most recent revisions to keep for each artifact
+     * @return The amount of deleted revisions
+     */
+    @Transactional
+    int pruneRevisions(Class<? extends KnowledgeArtifact> type, Collection<UUID> artifactIds, int keep);
+
+    /**
+     * Count the {@link KnowledgeArtifact}s of a type that have more revisions than the given limit.
+     *
+     * @param type         The type of the {@link KnowledgeArtifact}s
+     * @param maxRevisions The maximal amount of revisions
+     * @return The amount of {@link KnowledgeArtifact}s exceeding the limit
+     */
+    long countArtifactsExceedingLimit(Class<? extends KnowledgeArtifact> type, int maxRevisions);
+
+    /**
+     * Find the {@link KnowledgeArtifact}s of a type that have more revisions than the given limit.
+     * <p>
+     * The artifacts are returned ordered by their ID. To iterate over all artifacts in batches the last ID of the
+     * previous batch can be passed to continue after it.
+     *
+     * @param type         The type of the {@link KnowledgeArtifact}s
+     * @param maxRevisions The maximal amount of revisions
+     * @param afterId      The ID after which the search continues or null to start with the first artifact
+     * @param limit        The maximal amount of returned IDs
+     * @return The IDs of the {@link KnowledgeArtifact}s exceeding the limit
+     */
+    List<UUID> findArtifactsExceedingLimit(Class<? extends KnowledgeArtifact> type, int maxRevisions, UUID afterId,
+                                           int limit);
+
+    /**
+     * Delete entries of the revision info table that are not referenced by any revision anymore.
+     *
+     * @param limit The maximal amount of entries to delete
+     * @return The amount of deleted entries
+     */
+    @Transactional
+    int deleteOrphanedRevisionInfos(int limit);
+
+    /**
+     * Delete all revisions of a {@link KnowledgeArtifact}, e.g. after the artifact itself was deleted.
+     *
+     * @param artifact The {@link KnowledgeArtifact} whose revisions should be deleted
+     * @return The amount of deleted revisions
+     */
+    @Transactional
+    int deleteAllRevisions(KnowledgeArtifact artifact);
+}
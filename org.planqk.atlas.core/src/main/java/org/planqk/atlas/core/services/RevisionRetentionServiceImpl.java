@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+import org.hibernate.query.NativeQuery;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.KnowledgeArtifact;
+import org.planqk.atlas.core.util.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link RevisionRetentionService} deleting the overflow revisions of artifacts with a single set-based statement.
+ * <p>
+ * The statement ranks the revisions of the artifacts in the revision table of {@link KnowledgeArtifact}, which
+ * contains one row for each revision of every audited artifact, and deletes the revisions exceeding the retention limit
+ * from all revision tables of the type and from the revision info table in data-modifying common table expressions.
+ * <p>
+ * By default the retention is applied in the updating transaction. In {@link RetentionMode#AFTER_COMMIT} mode the
+ * artifacts are pruned by a background thread after the updating transaction has been committed, in {@link
+ * RetentionMode#SCHEDULED} mode only by the {@link RevisionCompactionService}.
+ */
+@Slf4j
+@Service
+public class RevisionRetentionServiceImpl implements RevisionRetentionService {
+
+    static final String KNOWLEDGE_ARTIFACT_REVISIONS = "knowledge_artifact_revisions";
+
+    static final String REVISION_INFO = "revinfo";
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final List<RetainedType> retainedTypes = List.of(
+            new RetainedType(Algorithm.class, () -> this.algorithmMaxRevisions,
+                    "algorithm_revisions", "classic_algorithm_revisions", "quantum_algorithm_revisions"),
+            new RetainedType(Implementation.class, () -> this.implementationMaxRevisions,
+                    "implementation_revisions", "classic_implementation_revisions", "quantum_implementation_revisions"));
+
+    private final Set<UUID> pendingArtifacts = ConcurrentHashMap.newKeySet();
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${atlas.revisions.retention.algorithm.max-revisions:" + Constants.REVISIONS_COUNT + "}")
+    private int algorithmMaxRevisions;
+
+    @Value("${atlas.revisions.retention.implementation.max-revisions:" + Constants.REVISIONS_COUNT + "}")
+    private int implementationMaxRevisions;
+
+    @Value("${atlas.revisions.retention.mode:INLINE}")
+    private RetentionMode mode;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ExecutorService executor;
+
+    public RevisionRetentionServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    protected void initialize() {
+        if (mode == RetentionMode.AFTER_COMMIT) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "revision-retention");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public List<Class<? extends KnowledgeArtifact>> getRetainedTypes() {
+        return retainedTypes.stream().map(retainedType -> retainedType.type).collect(Collectors.toList());
+    }
+
+    @Override
+    public int getMaxRevisions(@NonNull Class<? extends KnowledgeArtifact> type) {
+        return getRetainedType(type).maxRevisions.getAsInt();
+    }
+
+    @Override
+    public long countRevisions(@NonNull UUID artifactId) {
+        final Object count = entityManager
+                .createNativeQuery("SELECT count(*) FROM " + KNOWLEDGE_ARTIFACT_REVISIONS + " WHERE id = :id")
+                .setParameter("id", artifactId)
+                .getSingleResult();
+        return ((Number) count).longValue();
+    }
+
+    @Override
+    public void applyRetention(@NonNull KnowledgeArtifact artifact) {
+        final Class<? extends KnowledgeArtifact> type = artifact.getClass();
+        final int maxRevisions = getMaxRevisions(type);
+        if (maxRevisions < 1 || mode == RetentionMode.SCHEDULED) {
+            return;
+        }
+        if (mode == RetentionMode.AFTER_COMMIT) {
+            pruneAfterCommit(type, artifact.getId(), maxRevisions);
+        } else {
+            // the revision of the running update is only written on commit and has to be kept as well
+            pruneIfExceeded(type, artifact.getId(), maxRevisions - 1);
+        }
+    }
+
+    @Override
+    public int pruneRevisions(@NonNull Class<? extends KnowledgeArtifact> type, @NonNull UUID artifactId, int keep) {
+        return pruneRevisions(type, List.of(artifactId), keep);
+    }
+
+    @Override
+    public int pruneRevisions(@NonNull Class<? extends KnowledgeArtifact> type, @NonNull Collection<UUID> artifactIds,
+                              int keep) {
+        if (artifactIds.isEmpty()) {
+            return 0;
+        }
+        final RetainedType retainedType = getRetainedType(type);
+        final NativeQuery<?> query = entityManager.createNativeQuery(retainedType.pruneQuery)
+                .setParameter("ids", artifactIds)
+                .setParameter("keep", Math.max(keep, 0))
+                .unwrap(NativeQuery.class);
+        // only the revision tables are modified, so neither entities have to be flushed nor caches invalidated
+        retainedType.tables.forEach(query::addSynchronizedQuerySpace);
+        query.addSynchronizedQuerySpace(KNOWLEDGE_ARTIFACT_REVISIONS);
+        query.addSynchronizedQuerySpace(REVISION_INFO);
+
+        final int deleted = ((Number) query.getSingleResult()).intValue();
+        if (deleted > 0) {
+            log.debug("Deleted {} revisions of {} {}", deleted, artifactIds.size(), type.getSimpleName());
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteAllRevisions(@NonNull KnowledgeArtifact artifact) {
+        return pruneRevisions(artifact.getClass(), artifact.getId(), 0);
+    }
+
+    @Override
+    public long countArtifactsExceedingLimit(@NonNull Class<? extends KnowledgeArtifact> type, int maxRevisions) {
+        final Object count = entityManager.createNativeQuery(getRetainedType(type).countExceedingLimitQuery)
+                .setParameter("maxRevisions", Math.max(maxRevisions, 0))
+                .getSingleResult();
+        return ((Number) count).longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> findArtifactsExceedingLimit(@NonNull Class<? extends KnowledgeArtifact> type, int maxRevisions,
+                                                  UUID afterId, int limit) {
+        final List<String> ids = entityManager.createNativeQuery(getRetainedType(type).exceedingLimitQuery)
+                .setParameter("afterId", (afterId == null ? FIRST_ID : afterId).toString())
+                .setParameter("maxRevisions", Math.max(maxRevisions, 0))
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(UUID::fromString).collect(Collectors.toList());
+    }
+
+    @Override
+    public int deleteOrphanedRevisionInfos(int limit) {
+        final NativeQuery<?> query = entityManager.createNativeQuery(
+                "WITH orphans AS (SELECT info.rev FROM " + REVISION_INFO + " info WHERE NOT EXISTS (SELECT 1 FROM " +
+                        KNOWLEDGE_ARTIFACT_REVISIONS + " revision WHERE revision.rev = info.rev) LIMIT :limit), " +
+                        "deleted AS (DELETE FROM " + REVISION_INFO + " info USING orphans " +
+                        "WHERE info.rev = orphans.rev RETURNING info.rev) " +
+                        "SELECT count(*) FROM deleted")
+                .setParameter("limit", limit)
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(REVISION_INFO);
+        return ((Number) query.getSingleResult()).intValue();
+    }
+
+    private void pruneIfExceeded(Class<? extends KnowledgeArtifact> type, UUID artifactId, int keep) {
+        if (countRevisions(artifactId) > keep) {
+            pruneRevisions(type, artifactId, keep);
+        }
+    }
+
+    private void pruneAfterCommit(Class<? extends KnowledgeArtifact> type, UUID artifactId, int keep) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedulePrune(type, artifactId, keep);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedulePrune(type, artifactId, keep);
+            }
+        });
+    }
+
+    private void schedulePrune(Class<? extends KnowledgeArtifact> type, UUID artifactId, int keep) {
+        // an artifact that is updated repeatedly only has to be pruned once
+        if (!pendingArtifacts.add(artifactId)) {
+            return;
+        }
+        executor.execute(() -> {
+            pendingArtifacts.remove(artifactId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> pruneIfExceeded(type, artifactId, keep));
+            } catch (PersistenceException | TransactionException e) {
+                log.warn("Pruning the revisions of {} with ID {} failed", type.getSimpleName(), artifactId, e);
+            }
+        });
+    }
+
+    private RetainedType getRetainedType(Class<?> type) {
+        return retainedTypes.stream()
+                .filter(retainedType -> retainedType.type.isAssignableFrom(type))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Revisions of " + type.getName() + " are not retained"));
+    }
+
+    /**
+     * An audited type of {@link KnowledgeArtifact} together with its revision tables and retention limit.
+     */
+    private static final class RetainedType {
+
+        private final Class<? extends KnowledgeArtifact> type;
+
+        private final IntSupplier maxRevisions;
+
+        private final List<String> tables;
+
+        private final String pruneQuery;
+
+        private final String exceedingLimitQuery;
+
+        private final String countExceedingLimitQuery;
+
+        RetainedType(Class<? extends KnowledgeArtifact> type, IntSupplier maxRevisions, String table,
+                     String... subtypeTables) {
+            this.type = type;
+            this.maxRevisions = maxRevisions;
+            this.tables = Stream.concat(Stream.of(subtypeTables), Stream.of(table)).collect(Collectors.toList());
+
+            final StringBuilder query = new StringBuilder("WITH overflow AS (SELECT id, rev FROM (")
+                    .append("SELECT id, rev, row_number() OVER (PARTITION BY id ORDER BY rev DESC) AS position FROM ")
+                    .append(KNOWLEDGE_ARTIFACT_REVISIONS).append(" WHERE id IN (:ids)) ranked WHERE position > :keep)");
+            for (String revisionTable : tables) {
+                query.append(", deleted_").append(revisionTable).append(" AS (DELETE FROM ").append(revisionTable)
+                        .append(" revision USING overflow WHERE revision.id = overflow.id AND revision.rev = overflow.rev)");
+            }
+            // the revision info is shared by all artifacts changed in the same transaction
+            this.pruneQuery = query.append(", deleted AS (DELETE FROM ").append(KNOWLEDGE_ARTIFACT_REVISIONS)
+                    .append(" revision USING overflow WHERE revision.id = overflow.id AND revision.rev = overflow.rev")
+                    .append(" RETURNING revision.rev)")
+                    .append(", deleted_revinfo AS (DELETE FROM ").append(REVISION_INFO)
+                    .append(" info WHERE info.rev IN (SELECT rev FROM deleted) AND NOT EXISTS (SELECT 1 FROM ")
+                    .append(KNOWLEDGE_ARTIFACT_REVISIONS).append(" other WHERE other.rev = info.rev AND NOT EXISTS (")
+                    .append("SELECT 1 FROM overflow WHERE overflow.id = other.id AND overflow.rev = other.rev)))")
+                    .append(" SELECT count(*) FROM deleted")
+                    .toString();
+            this.exceedingLimitQuery = "SELECT CAST(id AS varchar) FROM " + table +
+                    " WHERE id > CAST(:afterId AS uuid) GROUP BY id HAVING count(*) > :maxRevisions ORDER BY id LIMIT :limit";
+            this.countExceedingLimitQuery = "SELECT count(*) FROM (SELECT id FROM " + table +
+                    " GROUP BY id HAVING count(*) > :maxRevisions) exceeding";
+        }
+    }
+}
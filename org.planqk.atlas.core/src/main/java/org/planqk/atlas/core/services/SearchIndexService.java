@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.util.Collection;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Service class for the embedded full text search index of the searchable entities, namely {@link
+ * org.planqk.atlas.core.model.Algorithm}s, {@link org.planqk.atlas.core.model.Implementation}s, {@link
+ * org.planqk.atlas.core.model.Publication}s and {@link org.planqk.atlas.core.model.Tag}s.
+ * <p>
+ * The index is kept in sync with the database by Hibernate post-commit listeners, which schedule the changed entities
+ * for indexing. The changes are written to the index in batches by a background thread, so the index may lag slightly
+ * behind the database. Changes the listeners miss, e.g. made by other instances, are indexed by a periodic
+ * synchronization with the database.
+ */
+public interface SearchIndexService {
+
+    /**
+     * Check if the given entity type is contained in the search index, i.e. changes to entities of this type have to be
+     * passed to the index.
+     *
+     * @param entityType The class of the entity
+     * @return true if the index is enabled and contains entities of the given type, false otherwise
+     */
+    boolean isIndexed(Class<?> entityType);
+
+    /**
+     * Check if a search with the given {@link Pageable} can be answered by the search index.
+     * <p>
+     * This is not the case if the index is disabled, is currently (re)built or if the {@link Pageable} is sorted, as
+     * the index only orders its results by relevance. In this case the search has to be executed by the database.
+     * <p>
+     * Searches with keyset (cursor) pagination are always executed by the database, as the relevance is no stable
+     * cursor. Their results are ordered by the requested sort and ID instead of the relevance and may differ slightly
+     * from the results of the index, which matches the search terms as prefixes of words only.
+     *
+     * @param pageable The page information of the search
+     * @return true if the search can be answered by the index, false otherwise
+     */
+    boolean supports(Pageable pageable);
+
+    /**
+     * Search all entities of the given type which match the search string, ordered by their relevance for the search.
+     * <p>
+     * Every term of the search is matched as a prefix of the words of the indexed properties of the entities. The
+     * entities of the resulting page are loaded from the database.
+     *
+     * @param entityType The class of the entities that should be searched
+     * @param search     The search string entered by the user
+     * @param pageable   The page information, namely page size and page number, of the page we want to retrieve
+     * @param <T>        The type of the entities
+     * @return The page of matching entities
+     */
+    <T> Page<T> search(Class<T> entityType, String search, Pageable pageable);
+
+    /**
+     * Schedule the index update of an entity that was created or updated in the database.
+     * <p>
+     * Entities of types that are not indexed are ignored.
+     *
+     * @param entity The entity which was created or updated
+     */
+    void scheduleUpdate(Object entity);
+
+    /**
+     * Schedule the removal of an entity that was deleted from the database from the index.
+     * <p>
+     * Entities of types that are not indexed are ignored.
+     *
+     * @param entity The entity which was deleted
+     */
+    void scheduleDelete(Object entity);
+
+    /**
+     * Schedule the removal of entities that were deleted from the database by bulk statements, which bypass the
+     * Hibernate listeners.
+     * <p>
+     * Entities of types that are not indexed are ignored.
+     *
+     * @param entityType The class of the deleted entities
+     * @param ids        The IDs of the deleted entities
+     */
+    void scheduleDelete(Class<?> entityType, Collection<?> ids);
+
+    /**
+     * Rebuild the search index from scratch by streaming all indexed entities from the database into the index.
+     * <p>
+     * While the index is rebuilt, searches are answered by the database. This method blocks until the rebuild is
+     * finished.
+     */
+    void rebuildIndex();
+}
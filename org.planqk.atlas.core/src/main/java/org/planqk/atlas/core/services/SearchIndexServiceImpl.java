@@ -0,0 +1,678 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.jpa.QueryHints;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.KnowledgeArtifact;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.core.repository.AlgorithmRepository;
+import org.planqk.atlas.core.repository.ImplementationRepository;
+import org.planqk.atlas.core.repository.PublicationRepository;
+import org.planqk.atlas.core.repository.TagRepository;
+import org.planqk.atlas.core.util.FullTextSearchUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SearchIndexService} based on an embedded Lucene index stored in the local file system.
+ * <p>
+ * All writes to the index are executed by a single background thread: changes reported by the Hibernate listeners are
+ * collected for the configured flush delay and then loaded from the database and written to the index in one batch.
+ * <p>
+ * The index is synchronized with the database on startup and then periodically with the configured sync interval, to
+ * cover changes made while the application was down, by other instances sharing the database and changes whose flush
+ * failed. All knowledge artifacts modified after the watermark stored with the index, the latest modification date
+ * indexed by the last synchronization, are indexed again. The index is rebuilt from the database if it does not exist,
+ * was written by an older version of the document layout or afterwards does not contain the same amount of entities
+ * as the database, e.g. because of deletions. Changes bypassing the modification date, e.g. bulk SQL updates or
+ * changed tags, require a {@link #rebuildIndex() rebuild}. If writing to the index fails, searches are answered by the
+ * database until a following synchronization succeeds.
+ */
+@Slf4j
+@Service
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    /**
+     * Version of the document layout, has to be increased whenever the indexed fields change to trigger a rebuild.
+     */
+    static final String INDEX_VERSION = "1";
+
+    private static final String VERSION_KEY = "version";
+
+    private static final String WATERMARK_KEY = "watermark";
+
+    private static final String KEY_FIELD = "key";
+
+    private static final String TYPE_FIELD = "type";
+
+    private static final String ID_FIELD = "id";
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Minimum amount of milliseconds the watermark lags behind the current time, see {@link #getNextWatermark(Date)}.
+     */
+    private static final long WATERMARK_LAG_MILLIS = 60_000;
+
+    private static final float TITLE_BOOST = 4f;
+
+    private static final float SUMMARY_BOOST = 2f;
+
+    private static final float EXACT_MATCH_BOOST = 2f;
+
+    private final List<IndexedType<?, ?>> indexedTypes = new ArrayList<>();
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final Map<String, PendingChange> pendingChanges = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    @Value("${atlas.search.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${atlas.search.index.directory:${java.io.tmpdir}/atlas-search-index}")
+    private String indexDirectory;
+
+    @Value("${atlas.search.index.flush-delay:500}")
+    private long flushDelay;
+
+    @Value("${atlas.search.index.sync-interval:60000}")
+    private long syncInterval;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ScheduledExecutorService executor;
+
+    private Directory directory;
+
+    private volatile IndexWriter indexWriter;
+
+    private volatile SearcherManager searcherManager;
+
+    private volatile boolean available;
+
+    /**
+     * The latest modification date of the indexed knowledge artifacts, only accessed by the writing thread.
+     */
+    private Date watermark;
+
+    public SearchIndexServiceImpl(PlatformTransactionManager transactionManager,
+                                  AlgorithmRepository algorithmRepository,
+                                  ImplementationRepository implementationRepository,
+                                  PublicationRepository publicationRepository,
+                                  TagRepository tagRepository) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        indexedTypes.add(new IndexedType<>(Algorithm.class, algorithmRepository, Algorithm::getId, UUID::fromString)
+                .field("name", TITLE_BOOST, Algorithm::getName)
+                .field("acronym", TITLE_BOOST, Algorithm::getAcronym)
+                .field("intent", SUMMARY_BOOST, Algorithm::getIntent)
+                .field("problem", SUMMARY_BOOST, Algorithm::getProblem)
+                .field("solution", 1f, Algorithm::getSolution)
+                .field("assumptions", 1f, Algorithm::getAssumptions));
+        indexedTypes.add(new IndexedType<>(Implementation.class, implementationRepository, Implementation::getId, UUID::fromString)
+                .field("name", TITLE_BOOST, Implementation::getName)
+                .field("description", SUMMARY_BOOST, Implementation::getDescription)
+                .field("problemStatement", SUMMARY_BOOST, Implementation::getProblemStatement)
+                .field("contributors", 1f, Implementation::getContributors)
+                .field("technology", 1f, Implementation::getTechnology)
+                .field("assumptions", 1f, Implementation::getAssumptions));
+        indexedTypes.add(new IndexedType<>(Publication.class, publicationRepository, Publication::getId, UUID::fromString)
+                .field("title", TITLE_BOOST, Publication::getTitle)
+                .field("authors", SUMMARY_BOOST, Publication::getAuthors)
+                .field("doi", 1f, Publication::getDoi)
+                .field("url", 1f, Publication::getUrl));
+        indexedTypes.add(new IndexedType<>(Tag.class, tagRepository, Tag::getValue, Function.identity())
+                .field("value", TITLE_BOOST, Tag::getValue)
+                .field("category", 1f, Tag::getCategory));
+    }
+
+    @PostConstruct
+    protected void initialize() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        directory = FSDirectory.open(Paths.get(indexDirectory));
+        openIndexWriter();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "search-index-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::synchronize, 0, syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        available = false;
+        // pending flushes are still executed after the shutdown, but no further synchronizations
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Search index writer did not terminate, pending changes are discarded");
+        }
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    @Override
+    public boolean isIndexed(@NonNull Class<?> entityType) {
+        return enabled && indexedTypes.stream().anyMatch(indexedType -> indexedType.entityType.isAssignableFrom(entityType));
+    }
+
+    @Override
+    public boolean supports(@NonNull Pageable pageable) {
+        return available && pageable.getSort().isUnsorted();
+    }
+
+    @Override
+    public <T> Page<T> search(@NonNull Class<T> entityType, String search, @NonNull Pageable pageable) {
+        @SuppressWarnings("unchecked") final IndexedType<T, ?> indexedType = (IndexedType<T, ?>) indexedTypes.stream()
+                .filter(type -> type.entityType.equals(entityType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Entities of type " + entityType.getSimpleName() + " are not indexed"));
+
+        try {
+            final Query query = buildQuery(indexedType, search);
+            final IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final int totalHits = searcher.count(query);
+                final int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+                final int limit = pageable.isPaged() ? pageable.getPageSize() : totalHits;
+                final List<String> ids = new ArrayList<>();
+                if (offset < totalHits) {
+                    final TopDocs topDocs = searcher.search(query, offset + limit);
+                    for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                        final ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                        ids.add(searcher.doc(scoreDoc.doc).get(ID_FIELD));
+                    }
+                }
+                return indexedType.resolvePage(ids, pageable, totalHits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search index for " + entityType.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public void scheduleUpdate(@NonNull Object entity) {
+        scheduleChange(entity, false);
+    }
+
+    @Override
+    public void scheduleDelete(@NonNull Object entity) {
+        scheduleChange(entity, true);
+    }
+
+    @Override
+    public void scheduleDelete(@NonNull Class<?> entityType, @NonNull Collection<?> ids) {
+        if (!enabled) {
+            return;
+        }
+        indexedTypes.stream()
+                .filter(indexedType -> indexedType.entityType.isAssignableFrom(entityType))
+                .findFirst()
+                .ifPresent(indexedType -> ids.forEach(id -> schedule(indexedType, id.toString(), true)));
+    }
+
+    @Override
+    public void rebuildIndex() {
+        if (!enabled) {
+            log.warn("Search index is disabled, ignoring rebuild");
+            return;
+        }
+        try {
+            executor.submit(() -> {
+                rebuild();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not rebuild search index", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scheduleChange(Object entity, boolean deleted) {
+        if (!enabled) {
+            return;
+        }
+        indexedTypes.stream()
+                .filter(indexedType -> indexedType.entityType.isInstance(entity))
+                .findFirst()
+                .ifPresent(indexedType -> schedule(indexedType, indexedType.getId(entity), deleted));
+    }
+
+    private void schedule(IndexedType<?, ?> indexedType, String id, boolean deleted) {
+        pendingChanges.put(indexedType.getKey(id), new PendingChange(indexedType, id, deleted));
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, flushDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        final Map<IndexedType<?, ?>, List<String>> updatedIds = new LinkedHashMap<>();
+        try {
+            for (final String key : pendingChanges.keySet()) {
+                final PendingChange change = pendingChanges.remove(key);
+                if (change == null) {
+                    continue;
+                }
+                if (change.deleted) {
+                    indexWriter.deleteDocuments(new Term(KEY_FIELD, key));
+                } else {
+                    updatedIds.computeIfAbsent(change.indexedType, type -> new ArrayList<>()).add(change.id);
+                }
+            }
+            for (final Map.Entry<IndexedType<?, ?>, List<String>> entry : updatedIds.entrySet()) {
+                final List<String> ids = entry.getValue();
+                for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                    updateDocuments(entry.getKey(), ids.subList(start, Math.min(start + BATCH_SIZE, ids.size())));
+                }
+            }
+            commit();
+        } catch (IOException e) {
+            log.error("Could not update search index, searches are answered by the database until it is synchronized", e);
+            available = false;
+        }
+    }
+
+    private void updateDocuments(IndexedType<?, ?> indexedType, List<String> ids) throws IOException {
+        // documents have to be created within the transaction, as they may access lazy loaded collections
+        final Map<String, Document> documents = transactionTemplate.execute(status -> indexedType.loadDocuments(ids));
+        for (final String id : ids) {
+            final String key = indexedType.getKey(id);
+            final Document document = documents.get(key);
+            if (document == null) {
+                // entity was deleted in the meantime
+                indexWriter.deleteDocuments(new Term(KEY_FIELD, key));
+            } else {
+                indexWriter.updateDocument(new Term(KEY_FIELD, key), document);
+            }
+        }
+    }
+
+    private void synchronize() {
+        try {
+            if (!indexWriter.isOpen()) {
+                // closed by a failed write, which discarded all uncommitted changes
+                log.info("Reopening search index closed by {}", String.valueOf(indexWriter.getTragicException()));
+                searcherManager.close();
+                openIndexWriter();
+            }
+            if (!isCompatible()) {
+                rebuild();
+                return;
+            }
+            // indexes the artifacts created by other instances as well, so only deletions are left to compare
+            indexModifiedArtifacts();
+            if (hasSameEntityCounts()) {
+                available = true;
+            } else {
+                rebuild();
+            }
+        } catch (IOException | DataAccessException | TransactionException | PersistenceException e) {
+            // an exception would cancel the following synchronizations
+            log.error("Could not synchronize search index, searches are answered by the database", e);
+            available = false;
+        }
+    }
+
+    private void openIndexWriter() throws IOException {
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    private boolean isCompatible() {
+        final Map<String, String> commitData = new HashMap<>();
+        final Iterable<Map.Entry<String, String>> liveCommitData = indexWriter.getLiveCommitData();
+        if (liveCommitData != null) {
+            liveCommitData.forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        }
+        if (!INDEX_VERSION.equals(commitData.get(VERSION_KEY)) || !commitData.containsKey(WATERMARK_KEY)) {
+            log.info("Search index is missing or was created for another version");
+            return false;
+        }
+        watermark = new Date(Long.parseLong(commitData.get(WATERMARK_KEY)));
+        return true;
+    }
+
+    private boolean hasSameEntityCounts() throws IOException {
+        final IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (final IndexedType<?, ?> indexedType : indexedTypes) {
+                final long indexCount = searcher.count(new TermQuery(new Term(TYPE_FIELD, indexedType.getName())));
+                final long databaseCount = indexedType.repository.count();
+                if (indexCount != databaseCount) {
+                    log.info("Search index contains {} {} entities, but database contains {}",
+                            indexCount, indexedType.getName(), databaseCount);
+                    return false;
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return true;
+    }
+
+    private void rebuild() throws IOException {
+        available = false;
+        log.info("Rebuilding search index in {}", indexDirectory);
+        final long start = System.currentTimeMillis();
+
+        // entities modified while the index is rebuilt are indexed again by the next synchronization
+        watermark = getNextWatermark(findLatestModificationDate());
+        indexWriter.deleteAll();
+        for (final IndexedType<?, ?> indexedType : indexedTypes) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> indexedType.addAllDocuments(entityManager, indexWriter));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        commit();
+
+        log.info("Rebuilt search index with {} documents in {} ms", indexWriter.getDocStats().numDocs,
+                System.currentTimeMillis() - start);
+        available = true;
+    }
+
+    private void indexModifiedArtifacts() throws IOException {
+        final Date latestModificationDate = findLatestModificationDate();
+        if (!latestModificationDate.after(watermark)) {
+            return;
+        }
+        final Date nextWatermark = getNextWatermark(latestModificationDate);
+        int count = 0;
+        for (final IndexedType<?, ?> indexedType : indexedTypes) {
+            if (!KnowledgeArtifact.class.isAssignableFrom(indexedType.entityType)) {
+                continue;
+            }
+            final List<String> ids = transactionTemplate.execute(status -> indexedType.findModifiedIds(entityManager, watermark));
+            for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                updateDocuments(indexedType, ids.subList(start, Math.min(start + BATCH_SIZE, ids.size())));
+            }
+            count += ids.size();
+        }
+        if (nextWatermark.after(watermark)) {
+            watermark = nextWatermark;
+        }
+        commit();
+        log.debug("Indexed {} entities modified since the last synchronization", count);
+    }
+
+    private Date findLatestModificationDate() {
+        final Date latestModificationDate = transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT max(e.lastModifiedAt) FROM KnowledgeArtifact e", Date.class)
+                .getSingleResult());
+        return latestModificationDate == null ? new Date(0) : latestModificationDate;
+    }
+
+    /*
+     * The watermark lags behind the current time, as running transactions may still commit modifications dated before
+     * the latest modification, and the clocks of the instances sharing the database may differ slightly. Artifacts
+     * modified in the meantime are indexed again by the following synchronizations.
+     */
+    private static Date getNextWatermark(Date latestModificationDate) {
+        final long lagging = System.currentTimeMillis() - WATERMARK_LAG_MILLIS;
+        return latestModificationDate.getTime() < lagging ? latestModificationDate : new Date(lagging);
+    }
+
+    private void commit() throws IOException {
+        // flushes before the first synchronization keep the commit data of the opened index
+        if (watermark != null) {
+            indexWriter.setLiveCommitData(Map.of(VERSION_KEY, INDEX_VERSION,
+                    WATERMARK_KEY, String.valueOf(watermark.getTime())).entrySet());
+        }
+        indexWriter.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private Query buildQuery(IndexedType<?, ?> indexedType, String search) throws IOException {
+        final BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(TYPE_FIELD, indexedType.getName())), BooleanClause.Occur.FILTER);
+        boolean hasTerms = false;
+        try (TokenStream tokenStream = analyzer.tokenStream(ID_FIELD, search == null ? "" : search)) {
+            final CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                final String term = termAttribute.toString();
+                final BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+                indexedType.boosts.forEach((field, boost) -> {
+                    termQuery.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+                    termQuery.add(new BoostQuery(new TermQuery(new Term(field, term)), boost * EXACT_MATCH_BOOST),
+                            BooleanClause.Occur.SHOULD);
+                });
+                query.add(termQuery.build(), BooleanClause.Occur.MUST);
+                hasTerms = true;
+            }
+            tokenStream.end();
+        }
+        if (!hasTerms) {
+            // a search without any term matches nothing instead of everything
+            query.add(new TermQuery(new Term(KEY_FIELD, "")), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    /**
+     * Describes how the entities of a type are stored in the index.
+     */
+    private static final class IndexedType<T, I> {
+
+        private final Class<T> entityType;
+
+        private final JpaRepository<T, I> repository;
+
+        private final Function<T, I> idGetter;
+
+        private final Function<String, I> idParser;
+
+        private final Map<String, Float> boosts = new LinkedHashMap<>();
+
+        private final Map<String, Function<T, Object>> fields = new LinkedHashMap<>();
+
+        private IndexedType(Class<T> entityType, JpaRepository<T, I> repository, Function<T, I> idGetter,
+                            Function<String, I> idParser) {
+            this.entityType = entityType;
+            this.repository = repository;
+            this.idGetter = idGetter;
+            this.idParser = idParser;
+        }
+
+        private IndexedType<T, I> field(String name, float boost, Function<T, Object> getter) {
+            boosts.put(name, boost);
+            fields.put(name, getter);
+            return this;
+        }
+
+        private String getName() {
+            return entityType.getSimpleName();
+        }
+
+        private String getId(Object entity) {
+            return idGetter.apply(entityType.cast(entity)).toString();
+        }
+
+        private String getKey(String id) {
+            return getName() + ":" + id;
+        }
+
+        private Document toDocument(T entity) {
+            final String id = getId(entity);
+            final Document document = new Document();
+            document.add(new StringField(KEY_FIELD, getKey(id), Field.Store.NO));
+            document.add(new StringField(TYPE_FIELD, getName(), Field.Store.NO));
+            document.add(new StringField(ID_FIELD, id, Field.Store.YES));
+            fields.forEach((name, getter) -> {
+                final Object value = getter.apply(entity);
+                if (value instanceof Collection) {
+                    ((Collection<?>) value).forEach(element -> document.add(new TextField(name, String.valueOf(element), Field.Store.NO)));
+                } else if (value != null) {
+                    document.add(new TextField(name, value.toString(), Field.Store.NO));
+                }
+            });
+            return document;
+        }
+
+        private Map<String, Document> loadDocuments(List<String> ids) {
+            final Map<String, Document> documents = new HashMap<>();
+            for (final T entity : repository.findAllById(parseIds(ids))) {
+                documents.put(getKey(getId(entity)), toDocument(entity));
+            }
+            return documents;
+        }
+
+        private List<String> findModifiedIds(EntityManager entityManager, Date modifiedAfter) {
+            final List<String> ids = new ArrayList<>();
+            entityManager.createQuery("SELECT e.id FROM " + getName() + " e WHERE e.lastModifiedAt > :modifiedAfter", Object.class)
+                    .setParameter("modifiedAfter", modifiedAfter)
+                    .getResultList()
+                    .forEach(id -> ids.add(id.toString()));
+            return ids;
+        }
+
+        private void addAllDocuments(EntityManager entityManager, IndexWriter indexWriter) {
+            int count = 0;
+            try (Stream<T> entities = entityManager.createQuery("SELECT e FROM " + getName() + " e", entityType)
+                    .setHint(QueryHints.HINT_FETCH_SIZE, BATCH_SIZE)
+                    .setHint(QueryHints.HINT_READONLY, true)
+                    .getResultStream()) {
+                for (final T entity : (Iterable<T>) entities::iterator) {
+                    indexWriter.addDocument(toDocument(entity));
+                    if (++count % BATCH_SIZE == 0) {
+                        // keep the persistence context small while streaming the whole table
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Page<T> resolvePage(List<String> ids, Pageable pageable, long totalHits) {
+            return FullTextSearchUtils.resolvePage(parseIds(ids), pageable, totalHits, repository::findAllById, idGetter);
+        }
+
+        private List<I> parseIds(List<String> ids) {
+            final List<I> parsedIds = new ArrayList<>(ids.size());
+            ids.forEach(id -> parsedIds.add(idParser.apply(id)));
+            return parsedIds;
+        }
+    }
+
+    private static final class PendingChange {
+
+        private final IndexedType<?, ?> indexedType;
+
+        private final String id;
+
+        private final boolean deleted;
+
+        private PendingChange(IndexedType<?, ?> indexedType, String id, boolean deleted) {
+            this.indexedType = indexedType;
+            this.id = id;
+            this.deleted = deleted;
+        }
+    }
+}
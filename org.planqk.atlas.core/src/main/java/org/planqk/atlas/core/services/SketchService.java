@@ -23,7 +23,9 @@ import java.util.List;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.ImageMetadata;
 import org.planqk.atlas.core.model.Sketch;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -96,4 +98,35 @@ public interface SketchService {
      * @return @return The {@link Image} of the {@link Sketch} with the given ID
      */
     Image getImageBySketch(final UUID sketchId);
+
+    /**
+     * Retrieve the properties of the image of a {@link Sketch} without loading the content of the image. The content
+     * hash of the returned metadata can be used to answer conditional requests before the content is loaded.
+     * <p>
+     * The content hash and length of images that are still stored Base64 encoded are computed from their decoded
+     * content, without migrating them. If the {@link Sketch} has no image this method will throw a {@link
+     * java.util.NoSuchElementException}.
+     *
+     * @param sketchId The ID of the {@link Sketch} for which we want to find the image for
+     * @return The properties of the {@link Image} of the {@link Sketch}
+     */
+    ImageMetadata getImageMetadataBySketch(UUID sketchId);
+
+    /**
+     * Get the content of an image as {@link Resource}. The content is loaded from the database only when the resource
+     * is read.
+     *
+     * @param image The properties of the {@link Image}
+     * @return The resource providing the binary content of the {@link Image}
+     */
+    Resource getImageContent(ImageMetadata image);
+
+    /**
+     * Migrate all images that are still stored Base64 encoded to binary content and compute their content hashes. The
+     * images are migrated in batches, each in its own transaction. The migration runs in the background once the
+     * application is ready.
+     *
+     * @return The number of migrated images
+     */
+    int migrateLegacyImages();
 }
@@ -19,34 +19,54 @@
 
 package org.planqk.atlas.core.services;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.Base64;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.ImageMetadata;
 import org.planqk.atlas.core.model.Sketch;
 import org.planqk.atlas.core.repository.ImageRepository;
 import org.planqk.atlas.core.repository.SketchRepository;
+import org.planqk.atlas.core.util.ChannelResource;
+import org.planqk.atlas.core.util.ContentHashUtils;
 import org.planqk.atlas.core.util.ServiceUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class SketchServiceImpl implements SketchService {
 
+    private static final int MIGRATION_BATCH_SIZE = 100;
+
     private final SketchRepository sketchRepository;
 
     private final AlgorithmService algorithmService;
 
     private final ImageRepository imageRepository;
 
+    private final PlatformTransactionManager transactionManager;
+
     @Override
     @Transactional
     public Sketch update(@NonNull Sketch sketch) {
@@ -74,12 +94,15 @@ public class SketchServiceImpl implements SketchService {
             persistedSketch.setImageURL(imageUrl);
             final Sketch persistedSketch2 = sketchRepository.save(persistedSketch);
             // image
+            final byte[] content = file.getBytes();
             final Image image = new Image();
             image.setId(sketch.getId());
-            image.setImage(Base64.getEncoder().encode(file.getBytes()));
+            image.setImage(content);
+            image.setContentHash(ContentHashUtils.hash(content));
+            image.setContentLength((long) content.length);
             image.setMimeType(file.getContentType());
             image.setSketch(persistedSketch2);
-            this.imageRepository.save(image);
+            persistedSketch2.setImage(this.imageRepository.save(image));
 
             return persistedSketch2;
         } catch (IOException e) {
@@ -102,4 +125,89 @@ public class SketchServiceImpl implements SketchService {
     public Image getImageBySketch(@NonNull UUID sketchId) {
         return this.imageRepository.findImageBySketchId(sketchId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImageMetadata getImageMetadataBySketch(@NonNull UUID sketchId) {
+        final ImageMetadata metadata = imageRepository.findMetadataBySketchId(sketchId).orElseThrow(
+                () -> new NoSuchElementException("Image of Sketch with ID \"" + sketchId + "\" does not exist"));
+        if (metadata.getContentHash() != null) {
+            return metadata;
+        }
+        // images not migrated yet are decoded in memory, they are stored by the migration in the background
+        final Image image = ServiceUtils.findById(metadata.getId(), Image.class, imageRepository);
+        final byte[] content = getContent(image);
+        return new LegacyImageMetadata(image.getId(), image.getMimeType(), ContentHashUtils.hash(content), (long) content.length);
+    }
+
+    @Override
+    public Resource getImageContent(@NonNull ImageMetadata image) {
+        return new ChannelResource(image.getId().toString(), image.getContentLength(), 0, position -> {
+            final byte[] content = getContent(ServiceUtils.findById(image.getId(), Image.class, imageRepository));
+            final int offset = (int) Math.min(position, content.length);
+            return Channels.newChannel(new ByteArrayInputStream(content, offset, content.length - offset));
+        });
+    }
+
+    // in the background, as the migration of many images would delay the startup
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        migrateLegacyImages();
+    }
+
+    @Override
+    public int migrateLegacyImages() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+        List<UUID> imageIds;
+        do {
+            imageIds = transactionTemplate.execute(status -> {
+                final List<UUID> batch = imageRepository.findIdsWithoutContentHash(PageRequest.of(0, MIGRATION_BATCH_SIZE));
+                batch.forEach(this::migrateImage);
+                return batch;
+            });
+            migrated += imageIds.size();
+        } while (imageIds.size() == MIGRATION_BATCH_SIZE);
+        if (migrated > 0) {
+            log.info("Migrated {} Base64 encoded images to binary content", migrated);
+        }
+        return migrated;
+    }
+
+    private void migrateImage(UUID imageId) {
+        final Image image = ServiceUtils.findById(imageId, Image.class, imageRepository);
+        final byte[] content = getContent(image);
+        image.setImage(content);
+        image.setContentHash(ContentHashUtils.hash(content));
+        image.setContentLength((long) content.length);
+        imageRepository.save(image);
+    }
+
+    // images without content hash are stored Base64 encoded
+    private byte[] getContent(Image image) {
+        final byte[] content = image.getImage() == null ? new byte[0] : image.getImage();
+        if (image.getContentHash() != null) {
+            return content;
+        }
+        try {
+            return Base64.getDecoder().decode(content);
+        } catch (IllegalArgumentException e) {
+            log.warn("Image with ID \"{}\" is not Base64 encoded, its content is kept as it is", image.getId());
+            return content;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LegacyImageMetadata implements ImageMetadata {
+
+        private final UUID id;
+
+        private final String mimeType;
+
+        private final String contentHash;
+
+        private final Long contentLength;
+    }
 }
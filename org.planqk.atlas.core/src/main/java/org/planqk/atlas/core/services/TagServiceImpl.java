@@ -47,6 +47,8 @@ public class TagServiceImpl implements TagService {
 
     private final ImplementationService implementationService;
 
+    private final SearchIndexService searchIndexService;
+
     @Override
     @Transactional
     public Tag create(@NonNull Tag tag) {
@@ -60,6 +62,9 @@ public class TagServiceImpl implements TagService {
 
     @Override
     public Page<Tag> findAllByContent(String search, @NonNull Pageable pageable) {
+        if (search != null && !search.isEmpty() && searchIndexService.supports(pageable)) {
+            return searchIndexService.search(Tag.class, search, pageable);
+        }
         return tagRepository.findByValueContainingIgnoreCaseOrCategoryContainingIgnoreCase(search, search, pageable);
     }
 
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Downscaled and re-encoded version of a sketch image created by the {@link ThumbnailService}.
+ */
+@Getter
+@AllArgsConstructor
+public class Thumbnail {
+
+    private final byte[] content;
+
+    private final String mimeType;
+
+    /**
+     * Hex encoded SHA-256 hash of the thumbnail content, used as entity tag of the thumbnail.
+     */
+    private final String contentHash;
+}
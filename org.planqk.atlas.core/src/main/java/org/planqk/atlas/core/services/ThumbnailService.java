@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import org.planqk.atlas.core.model.ImageMetadata;
+
+/**
+ * Service creating thumbnails of sketch images. Created thumbnails are kept in a bounded cache, so each thumbnail is
+ * only computed once as long as it is requested regularly.
+ */
+public interface ThumbnailService {
+
+    /**
+     * Get a thumbnail of an image with the given width and format. The aspect ratio of the image is kept and images
+     * are never scaled up, so the thumbnail of an image narrower than the requested width has the original size.
+     * <p>
+     * If the width is out of the supported range, the format is not supported or the image cannot be decoded an
+     * {@link IllegalArgumentException} is thrown.
+     *
+     * @param image  The properties of the image to create the thumbnail for
+     * @param width  The maximum width of the thumbnail in pixels, or null to keep the width of the image up to the
+     *               maximum supported width
+     * @param format The format of the thumbnail, either png or jpeg, or null for png
+     * @return The thumbnail of the image
+     */
+    Thumbnail getThumbnail(ImageMetadata image, Integer width, String format);
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+import org.planqk.atlas.core.model.ImageMetadata;
+import org.planqk.atlas.core.util.ContentHashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final String DEFAULT_FORMAT = "png";
+
+    // supported formats and their mime types, jpg is accepted as alias of jpeg
+    private static final Map<String, String> MIME_TYPES = Map.of(
+            "png", "image/png",
+            "jpeg", "image/jpeg",
+            "jpg", "image/jpeg");
+
+    private final SketchService sketchService;
+
+    private final int maxWidth;
+
+    // thumbnails by content hash of the image, width and format, weighted by their size in bytes
+    private final Cache<String, Thumbnail> thumbnails;
+
+    public ThumbnailServiceImpl(SketchService sketchService,
+                                @Value("${atlas.sketches.thumbnails.max-width:1024}") int maxWidth,
+                                @Value("${atlas.sketches.thumbnails.cache-size:32MB}") DataSize cacheSize) {
+        this.sketchService = sketchService;
+        this.maxWidth = maxWidth;
+        this.thumbnails = Caffeine.newBuilder()
+                .maximumWeight(cacheSize.toBytes())
+                .<String, Thumbnail>weigher((key, thumbnail) -> thumbnail.getContent().length)
+                .build();
+    }
+
+    @Override
+    public Thumbnail getThumbnail(@NonNull ImageMetadata image, Integer width, String format) {
+        if (width != null && (width < 1 || width > maxWidth)) {
+            throw new IllegalArgumentException("Thumbnail width must be between 1 and " + maxWidth);
+        }
+        final String thumbnailFormat = format == null ? DEFAULT_FORMAT : format.toLowerCase(Locale.ROOT);
+        if (!MIME_TYPES.containsKey(thumbnailFormat)) {
+            throw new IllegalArgumentException("Thumbnail format \"" + format + "\" is not supported, use one of " + MIME_TYPES.keySet());
+        }
+        final int thumbnailWidth = width == null ? maxWidth : width;
+        final String key = image.getContentHash() + "/" + thumbnailWidth + "/" + MIME_TYPES.get(thumbnailFormat);
+        // concurrent requests for the same thumbnail wait for a single computation
+        return thumbnails.get(key, k -> createThumbnail(image, thumbnailWidth, thumbnailFormat));
+    }
+
+    private Thumbnail createThumbnail(ImageMetadata image, int width, String format) {
+        final BufferedImage source;
+        try (InputStream inputStream = sketchService.getImageContent(image).getInputStream()) {
+            source = ImageIO.read(inputStream);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Image with ID \"" + image.getId() + "\" cannot be read", e);
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Image with ID \"" + image.getId() + "\" has no supported image format");
+        }
+
+        final BufferedImage thumbnail = scale(source, width, !"png".equals(format));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            if (!ImageIO.write(thumbnail, format, outputStream)) {
+                throw new IllegalStateException("No image writer available for format \"" + format + "\"");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Thumbnail of image with ID \"" + image.getId() + "\" cannot be encoded", e);
+        }
+        final byte[] content = outputStream.toByteArray();
+        log.debug("Created {} thumbnail of image {} with {}x{} pixels and {} bytes", format, image.getId(),
+                thumbnail.getWidth(), thumbnail.getHeight(), content.length);
+        return new Thumbnail(content, MIME_TYPES.get(format), ContentHashUtils.hash(content));
+    }
+
+    /**
+     * Scale the image down to the given width, keeping its aspect ratio. Large reductions are done in several steps
+     * halving the size each time, as a single bilinear step skips most source pixels and produces aliasing.
+     */
+    private static BufferedImage scale(BufferedImage source, int width, boolean opaque) {
+        final int targetWidth = Math.min(width, source.getWidth());
+        final int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight, opaque);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean opaque) {
+        final BufferedImage target = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // formats without alpha channel get a white background instead of black for transparent pixels
+            graphics.drawImage(source, 0, 0, width, height, opaque ? Color.WHITE : null, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
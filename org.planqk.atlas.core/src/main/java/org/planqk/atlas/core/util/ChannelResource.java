@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * {@link org.springframework.core.io.Resource} streaming its content from a {@link ReadableByteChannel}, e.g. a file
+ * channel or the read channel of a cloud storage blob.
+ * <p>
+ * A new channel is opened for every stream. Bytes skipped before the first read are not read from the channel but
+ * passed as start position when opening it, so byte ranges of large contents can be served without reading all
+ * preceding bytes. Only the buffers of the reader are held in memory, independent of the size of the content.
+ */
+public class ChannelResource extends AbstractResource {
+
+    private final String filename;
+
+    private final long contentLength;
+
+    private final long lastModified;
+
+    private final ChannelOpener opener;
+
+    /**
+     * @param filename      The name of the file the content belongs to
+     * @param contentLength The length of the content in bytes
+     * @param lastModified  The time the content was last modified in milliseconds since the epoch, or 0 if unknown
+     * @param opener        Function opening a channel positioned at a given offset of the content
+     */
+    public ChannelResource(String filename, long contentLength, long lastModified, ChannelOpener opener) {
+        this.filename = filename;
+        this.contentLength = contentLength;
+        this.lastModified = lastModified;
+        this.opener = opener;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ChannelInputStream(opener);
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        return opener.open(0);
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Channel resource [" + filename + "]";
+    }
+
+    /**
+     * Opens a channel to read the content of a {@link ChannelResource}.
+     */
+    @FunctionalInterface
+    public interface ChannelOpener {
+
+        /**
+         * Open a new channel that starts reading at the given position of the content.
+         *
+         * @param position The offset of the first byte read from the channel
+         * @return The opened channel
+         * @throws IOException If the channel cannot be opened
+         */
+        ReadableByteChannel open(long position) throws IOException;
+    }
+
+    /**
+     * Input stream opening its channel lazily on the first read, at the position reached by the preceding skips.
+     */
+    private static final class ChannelInputStream extends InputStream {
+
+        private static final int BYTE_MASK = 0xFF;
+
+        private final ChannelOpener opener;
+
+        private long position;
+
+        private ReadableByteChannel channel;
+
+        private ChannelInputStream(ChannelOpener opener) {
+            this.opener = opener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] singleByte = new byte[1];
+            final int read = read(singleByte, 0, 1);
+            return read == -1 ? -1 : singleByte[0] & BYTE_MASK;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (channel == null) {
+                channel = opener.open(position);
+            }
+            int read;
+            do {
+                read = channel.read(ByteBuffer.wrap(bytes, offset, length));
+            } while (read == 0);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (channel != null) {
+                return super.skip(n);
+            }
+            if (n <= 0) {
+                return 0;
+            }
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -24,9 +24,13 @@ package org.planqk.atlas.core.util;
  */
 public final class Constants {
 
-    // amount of revisions to be saved for each artifact
+    // default amount of revisions to be saved for each artifact, see atlas.revisions.retention.*.max-revisions
     public static final int REVISIONS_COUNT = 20;
 
+    // amount of lazy collections or entities initialized together when the first of them is accessed, chosen to cover
+    // the default page size of the list endpoints with a single query
+    public static final int BATCH_FETCH_SIZE = 50;
+
     private Constants() {
     }
 }
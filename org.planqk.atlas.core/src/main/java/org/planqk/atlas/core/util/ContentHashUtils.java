@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility class computing the SHA-256 hashes used to store file contents content-addressed.
+ */
+public final class ContentHashUtils {
+
+    /**
+     * Size of the buffers used to stream file contents.
+     */
+    public static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int NIBBLE_BITS = 4;
+
+    private static final int NIBBLE_MASK = 0x0F;
+
+    private ContentHashUtils() {
+    }
+
+    /**
+     * Streams the given input into the given channel and computes the hash of the transferred content on the way, so
+     * the content is read only once and never held in memory completely.
+     *
+     * @param inputStream The stream to read the content from, which is not closed by this method
+     * @param target      The channel to write the content to, which is not closed by this method
+     * @return The hex encoded SHA-256 hash of the content
+     * @throws IOException If reading or writing the content fails
+     */
+    public static String transfer(InputStream inputStream, WritableByteChannel target) throws IOException {
+        final MessageDigest digest = newDigest();
+        final ReadableByteChannel source = Channels.newChannel(inputStream);
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            digest.update(buffer.array(), 0, buffer.limit());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the hash of the content of the given stream.
+     *
+     * @param inputStream The stream to read the content from, which is not closed by this method
+     * @return The hex encoded SHA-256 hash of the content
+     * @throws IOException If reading the content fails
+     */
+    public static String hash(InputStream inputStream) throws IOException {
+        final MessageDigest digest = newDigest();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the hash of the given content.
+     *
+     * @param content The content to hash
+     * @return The hex encoded SHA-256 hash of the content
+     */
+    public static String hash(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> NIBBLE_BITS) & NIBBLE_MASK];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & NIBBLE_MASK];
+        }
+        return new String(hex);
+    }
+}
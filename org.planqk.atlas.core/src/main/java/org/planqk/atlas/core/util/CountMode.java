@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+/**
+ * Defines how the total amount of elements of a paged list is determined.
+ */
+public enum CountMode {
+    /**
+     * Count the elements with an additional count query, the result is a {@link org.springframework.data.domain.Page}.
+     */
+    EXACT,
+    /**
+     * Estimate the amount of elements of unfiltered lists from the table statistics of the database, the result is a
+     * {@link org.springframework.data.domain.Page}. Filtered lists are counted exactly.
+     */
+    ESTIMATED,
+    /**
+     * Do not count the elements, the result is a {@link org.springframework.data.domain.Slice} which only knows
+     * whether further elements exist.
+     */
+    NONE
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Request for a slice of a keyset (cursor) paginated list.
+ * <p>
+ * Instead of skipping a number of rows like a {@link Pageable}, the slice starts directly after the row identified by
+ * the cursor returned with the previous slice. The cursor is opaque for clients and only valid for the sort it was
+ * created with.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageRequest {
+
+    private final int size;
+
+    @NonNull
+    private final Sort sort;
+
+    /**
+     * The cursor of the previous slice, or null (or empty) to request the first slice.
+     */
+    @Nullable
+    private final String cursor;
+
+    /**
+     * Creates a cursor request with the size and sort of the given pageable. The page number is ignored.
+     *
+     * @param pageable The pageable requested by the client
+     * @param cursor   The cursor of the previous slice or null for the first slice
+     * @return The request for the slice after the given cursor
+     */
+    public static CursorPageRequest of(@NonNull Pageable pageable, @Nullable String cursor) {
+        return new CursorPageRequest(pageable.getPageSize(), pageable.getSort(), cursor);
+    }
+
+    public boolean isFirst() {
+        return cursor == null || cursor.isEmpty();
+    }
+}
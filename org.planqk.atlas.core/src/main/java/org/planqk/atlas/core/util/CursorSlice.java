@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.lang.Nullable;
+
+/**
+ * Slice of a keyset (cursor) paginated list. Unlike a {@link org.springframework.data.domain.Page} it does not know
+ * the total amount of elements, so no count query is needed to create it.
+ *
+ * @param <T> The type of the elements of the slice
+ */
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nextCursor;
+
+    /**
+     * @param content    The elements of the slice
+     * @param pageable   The size and sort of the slice
+     * @param nextCursor The cursor of the next slice, or null if this is the last slice
+     */
+    public CursorSlice(List<T> content, Pageable pageable, @Nullable String nextCursor) {
+        super(content, pageable, nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return The cursor to request the next slice with, or null if there are no further elements
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public <U> CursorSlice<U> map(Function<? super T, ? extends U> converter) {
+        final List<U> content = getContent().stream().map(converter).collect(Collectors.toList());
+        return new CursorSlice<>(content, getPageable(), nextCursor);
+    }
+}
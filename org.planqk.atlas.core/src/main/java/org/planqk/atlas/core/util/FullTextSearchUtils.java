@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Utility class providing helpers for the PostgreSQL full text searches used by the repositories.
+ */
+public final class FullTextSearchUtils {
+
+    private static final Pattern TERM_PATTERN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private static final Pattern CAMEL_CASE_PATTERN = Pattern.compile("([a-z0-9])([A-Z])");
+
+    private FullTextSearchUtils() {
+    }
+
+    /**
+     * Converts a free text search string into a PostgreSQL tsquery expression matching all terms of the search as
+     * prefixes, e.g. "shor fact" becomes "shor:* &amp; fact:*".
+     * <p>
+     * Only letters and digits are kept, so the result can safely be passed to to_tsquery. If the search does not
+     * contain any term an empty string is returned, which to_tsquery treats as a query matching nothing.
+     *
+     * @param search The search string entered by the user
+     * @return The tsquery expression for the given search
+     */
+    public static String toPrefixQuery(String search) {
+        final Matcher matcher = TERM_PATTERN.matcher(search == null ? "" : search.toLowerCase(Locale.ROOT));
+        final StringBuilder query = new StringBuilder();
+        while (matcher.find()) {
+            if (query.length() > 0) {
+                query.append(" & ");
+            }
+            query.append(matcher.group()).append(":*");
+        }
+        return query.toString();
+    }
+
+    /**
+     * Converts a search string into a LIKE pattern matching the search as a substring. The LIKE wildcards contained
+     * in the search are escaped.
+     *
+     * @param search The search string entered by the user
+     * @return The LIKE pattern for the given search
+     */
+    public static String toLikePattern(String search) {
+        final String escaped = (search == null ? "" : search)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Translates the sort of a {@link Pageable} from entity property names into the column names used by a native
+     * query. Properties are converted to snake case. Properties that are stored in a joined table are prefixed with the
+     * alias of this table, all other properties are qualified with the alias of the main table by Spring Data.
+     *
+     * @param pageable    The pageable requested by the client
+     * @param joinAliases The join alias for each property that is not stored in the main table of the query
+     * @return A pageable with the same page information sorted by the corresponding columns
+     */
+    public static Pageable toNativePageable(Pageable pageable, Map<String, String> joinAliases) {
+        if (pageable.isUnpaged() || pageable.getSort().isUnsorted()) {
+            return pageable;
+        }
+        final List<Sort.Order> orders = pageable.getSort().stream()
+                .map(order -> {
+                    final String column = CAMEL_CASE_PATTERN.matcher(order.getProperty()).replaceAll("$1_$2").toLowerCase(Locale.ROOT);
+                    return joinAliases.containsKey(order.getProperty())
+                            ? order.withProperty(joinAliases.get(order.getProperty()) + "." + column)
+                            : order.withProperty(column);
+                })
+                .collect(Collectors.toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+
+    /**
+     * Resolves a page of IDs returned by a search query into a page of entities, keeping the order of the IDs.
+     *
+     * @param ids      The page of IDs in the order determined by the search
+     * @param loader   Function loading all entities for the given IDs, e.g. {@code repository::findAllById}
+     * @param idGetter Function returning the ID of an entity
+     * @return The page of entities in the order of the given IDs
+     */
+    public static <T> Page<T> resolvePage(Page<String> ids, Function<Collection<UUID>, List<T>> loader,
+                                          Function<T, UUID> idGetter) {
+        final List<UUID> orderedIds = ids.getContent().stream().map(UUID::fromString).collect(Collectors.toList());
+        return resolvePage(orderedIds, ids.getPageable(), ids.getTotalElements(), loader, idGetter);
+    }
+
+    /**
+     * Resolves the IDs of a page returned by a search into a page of entities, keeping the order of the IDs. IDs of
+     * entities that no longer exist are skipped.
+     *
+     * @param orderedIds    The IDs of the page in the order determined by the search
+     * @param pageable      The page information of the search
+     * @param totalElements The total amount of search results
+     * @param loader        Function loading all entities for the given IDs, e.g. {@code repository::findAllById}
+     * @param idGetter      Function returning the ID of an entity
+     * @return The page of entities in the order of the given IDs
+     */
+    public static <T, I> Page<T> resolvePage(List<I> orderedIds, Pageable pageable, long totalElements,
+                                             Function<Collection<I>, List<T>> loader, Function<T, I> idGetter) {
+        if (orderedIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, totalElements);
+        }
+        return new PageImpl<>(resolveContent(orderedIds, loader, idGetter), pageable, totalElements);
+    }
+
+    /**
+     * Resolves a slice of IDs returned by a search query into a slice of entities, keeping the order of the IDs.
+     *
+     * @param ids      The slice of IDs in the order determined by the search
+     * @param loader   Function loading all entities for the given IDs, e.g. {@code repository::findAllById}
+     * @param idGetter Function returning the ID of an entity
+     * @return The slice of entities in the order of the given IDs
+     */
+    public static <T> Slice<T> resolveSlice(Slice<String> ids, Function<Collection<UUID>, List<T>> loader,
+                                            Function<T, UUID> idGetter) {
+        final List<UUID> orderedIds = ids.getContent().stream().map(UUID::fromString).collect(Collectors.toList());
+        final List<T> content = orderedIds.isEmpty() ? List.of() : resolveContent(orderedIds, loader, idGetter);
+        return new SliceImpl<>(content, ids.getPageable(), ids.hasNext());
+    }
+
+    private static <T, I> List<T> resolveContent(List<I> orderedIds, Function<Collection<I>, List<T>> loader,
+                                                 Function<T, I> idGetter) {
+        final Map<I, T> entities = loader.apply(orderedIds).stream()
+                .collect(Collectors.toMap(idGetter, Function.identity()));
+        return orderedIds.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
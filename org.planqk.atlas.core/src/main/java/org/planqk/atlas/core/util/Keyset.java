@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+
+/**
+ * Ordering keys of a keyset (cursor) paginated query, i.e. the sort properties followed by the ID as tie breaker.
+ * <p>
+ * A keyset builds the JPQL query seeking directly to the rows after a cursor instead of skipping all rows of the
+ * previous pages, and encodes and decodes these cursors. Ascending keys sort null values last and descending keys sort
+ * them first, which is PostgreSQL's default for both directions, so a sort returns the same order in both paging
+ * modes. A cursor contains the sort it was created for and the key values of the last row of its slice.
+ */
+public final class Keyset {
+
+    /**
+     * Alias of the queried entity, to be used by the filters passed to {@link #toQuery(String, String, Object[])}.
+     */
+    public static final String ALIAS = "e";
+
+    private static final String SEPARATOR = ".";
+
+    private static final String NULL_VALUE = "~";
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(String.class, UUID.class, Boolean.class,
+            Instant.class, OffsetDateTime.class, LocalDate.class, LocalDateTime.class);
+
+    private static final Pattern CURSOR_PATTERN = Pattern.compile("[A-Za-z0-9_~.-]*");
+
+    private final List<Key> keys;
+
+    private final String signature;
+
+    private Keyset(List<Key> keys) {
+        this.keys = keys;
+        this.signature = keys.stream().map(Key::toString).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Creates the keyset for the given sort.
+     *
+     * @param sort          The sort requested by the client
+     * @param idProperty    The name of the ID property used as last key
+     * @param propertyTypes Function returning the type of a sortable property of the entity. It has to throw an
+     *                      {@link IllegalArgumentException} for properties that do not exist or cannot be sorted by.
+     * @return The keyset for the given sort
+     * @throws IllegalArgumentException if the sort contains properties that cannot be used for cursor pagination
+     */
+    public static Keyset of(Sort sort, String idProperty, Function<String, Class<?>> propertyTypes) {
+        final Map<String, Key> keys = new LinkedHashMap<>();
+        for (final Sort.Order order : sort) {
+            final Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(propertyTypes.apply(order.getProperty()));
+            if (!isSupportedType(type)) {
+                throw new IllegalArgumentException("Sorting by \"" + order.getProperty()
+                        + "\" is not supported for cursor pagination");
+            }
+            keys.putIfAbsent(order.getProperty(), new Key(order.getProperty(), type, order.isAscending(),
+                    order.isIgnoreCase() && type == String.class, !order.getProperty().equals(idProperty)));
+        }
+        if (!keys.containsKey(idProperty)) {
+            keys.put(idProperty, new Key(idProperty, propertyTypes.apply(idProperty), true, false, false));
+        }
+        return new Keyset(new ArrayList<>(keys.values()));
+    }
+
+    /**
+     * @return The names of the key properties in the order they are sorted by
+     */
+    public List<String> getProperties() {
+        return keys.stream().map(key -> key.property).collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the JPQL query for a slice. The query selects the entity followed by the values of all keys, so the
+     * cursor of the next slice can be created from the last row. The non-null values of the cursor are bound to the
+     * parameters "k0", "k1", ... by {@link #bindCursor(Object[])}.
+     *
+     * @param entityName   The JPQL name of the queried entity
+     * @param filter       Optional JPQL condition on the entity using the alias {@link #ALIAS}
+     * @param cursorValues The values decoded from the cursor, or null for the first slice
+     * @return The JPQL query
+     */
+    public String toQuery(String entityName, @Nullable String filter, @Nullable Object[] cursorValues) {
+        final StringBuilder query = new StringBuilder("SELECT ").append(ALIAS);
+        keys.forEach(key -> query.append(", ").append(key.path()));
+        query.append(" FROM ").append(entityName).append(' ').append(ALIAS);
+
+        final List<String> conditions = new ArrayList<>();
+        if (filter != null && !filter.isEmpty()) {
+            conditions.add("(" + filter + ")");
+        }
+        if (cursorValues != null) {
+            conditions.add("(" + seekCondition(cursorValues) + ")");
+        }
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        query.append(" ORDER BY ").append(keys.stream().map(Key::orderBy).collect(Collectors.joining(", ")));
+        return query.toString();
+    }
+
+    /**
+     * Decodes a cursor into the values of its keys.
+     *
+     * @param cursor The cursor returned with the previous slice
+     * @return The key values of the last row of the previous slice
+     * @throws IllegalArgumentException if the cursor is invalid or was created for a different sort
+     */
+    public Object[] decodeCursor(String cursor) {
+        final String[] parts = CURSOR_PATTERN.matcher(cursor).matches() ? cursor.split("\\.", -1) : new String[0];
+        if (parts.length != keys.size() + 1) {
+            throw new IllegalArgumentException("Invalid cursor \"" + cursor + "\"");
+        }
+        if (!signature.equals(decodePart(parts[0], cursor))) {
+            throw new IllegalArgumentException("The cursor \"" + cursor + "\" was created for a different sort");
+        }
+        final Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = keys.get(i).parse(decodePart(parts[i + 1], cursor), cursor);
+        }
+        return values;
+    }
+
+    /**
+     * Encodes the key values of a row into the cursor of the slice following this row.
+     *
+     * @param values The key values of the row, in the order of the keys
+     * @return The cursor of the slice after the row
+     */
+    public String encodeCursor(Object[] values) {
+        final StringBuilder cursor = new StringBuilder(encodePart(signature));
+        for (int i = 0; i < keys.size(); i++) {
+            cursor.append(SEPARATOR).append(encodePart(format(values[i])));
+        }
+        return cursor.toString();
+    }
+
+    /**
+     * Returns the parameters of the seek condition for the given cursor values. Null values are not bound, as they
+     * are compared with IS NULL.
+     *
+     * @param values The key values decoded from a cursor
+     * @return The parameter values by parameter name
+     */
+    public Map<String, Object> bindCursor(Object[] values) {
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (values[i] != null) {
+                parameters.put(parameterName(i), values[i]);
+            }
+        }
+        return parameters;
+    }
+
+    /*
+     * Lexicographic comparison of the keys: a row follows the cursor if it equals the cursor in the first keys and
+     * follows it in the next one. Null values are compared with IS NULL, as they do not take part in comparisons.
+     */
+    private String seekCondition(Object[] values) {
+        final List<String> alternatives = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            final String after = keys.get(i).after(i, values[i]);
+            if (after != null) {
+                final List<String> conjunction = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    conjunction.add(keys.get(j).equalTo(j, values[j]));
+                }
+                conjunction.add(after);
+                alternatives.add("(" + String.join(" AND ", conjunction) + ")");
+            }
+        }
+        // only reached for a cursor of a row with null in all keys, which cannot happen as the ID is never null
+        return alternatives.isEmpty() ? "1 = 0" : String.join(" OR ", alternatives);
+    }
+
+    private static String parameterName(int index) {
+        return "k" + index;
+    }
+
+    private static boolean isSupportedType(Class<?> type) {
+        return SUPPORTED_TYPES.contains(type) || type.isEnum()
+                || Number.class.isAssignableFrom(type) || Date.class.isAssignableFrom(type);
+    }
+
+    @Nullable
+    private static String format(@Nullable Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toInstant().toString();
+        }
+        if (value instanceof Date) {
+            return Instant.ofEpochMilli(((Date) value).getTime()).toString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private static String encodePart(@Nullable String value) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    private static String decodePart(String part, String cursor) {
+        if (NULL_VALUE.equals(part)) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor \"" + cursor + "\"", e);
+        }
+    }
+
+    /**
+     * A single ordering key.
+     */
+    private static final class Key {
+
+        private final String property;
+
+        private final Class<?> type;
+
+        private final boolean ascending;
+
+        private final boolean ignoreCase;
+
+        private final boolean nullable;
+
+        private Key(String property, Class<?> type, boolean ascending, boolean ignoreCase, boolean nullable) {
+            this.property = property;
+            this.type = type;
+            this.ascending = ascending;
+            this.ignoreCase = ignoreCase;
+            this.nullable = nullable;
+        }
+
+        private String path() {
+            return ALIAS + "." + property;
+        }
+
+        private String expression() {
+            return ignoreCase ? "lower(" + path() + ")" : path();
+        }
+
+        private String parameter(int index) {
+            return ignoreCase ? "lower(:" + parameterName(index) + ")" : ":" + parameterName(index);
+        }
+
+        private String orderBy() {
+            final String direction = ascending ? " ASC" : " DESC";
+            if (!nullable) {
+                return expression() + direction;
+            }
+            return expression() + direction + (ascending ? " NULLS LAST" : " NULLS FIRST");
+        }
+
+        private String equalTo(int index, @Nullable Object value) {
+            return value == null ? path() + " IS NULL" : expression() + " = " + parameter(index);
+        }
+
+        /*
+         * Condition for rows following the given value in this key, or null if no row can follow it. Nulls follow all
+         * values in ascending order and precede them in descending order.
+         */
+        @Nullable
+        private String after(int index, @Nullable Object value) {
+            if (value == null) {
+                return ascending ? null : path() + " IS NOT NULL";
+            }
+            final String comparison = expression() + (ascending ? " > " : " < ") + parameter(index);
+            return nullable && ascending ? "(" + comparison + " OR " + path() + " IS NULL)" : comparison;
+        }
+
+        private Object parse(@Nullable String value, String cursor) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                if (type == String.class) {
+                    return value;
+                } else if (type == UUID.class) {
+                    return UUID.fromString(value);
+                } else if (type == Boolean.class) {
+                    return Boolean.valueOf(value);
+                } else if (type.isEnum()) {
+                    return parseEnum(value);
+                } else if (Number.class.isAssignableFrom(type)) {
+                    return NumberUtils.parseNumber(value, type.asSubclass(Number.class));
+                } else if (Date.class.isAssignableFrom(type)) {
+                    return Timestamp.from(Instant.parse(value));
+                } else if (type == OffsetDateTime.class) {
+                    return OffsetDateTime.parse(value);
+                } else if (type == LocalDate.class) {
+                    return LocalDate.parse(value);
+                } else if (type == LocalDateTime.class) {
+                    return LocalDateTime.parse(value);
+                }
+                return Instant.parse(value);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor \"" + cursor + "\"", e);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object parseEnum(String value) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+
+        @Override
+        public String toString() {
+            return property + ":" + (ascending ? "asc" : "desc") + (ignoreCase ? ":ignorecase" : "");
+        }
+    }
+}
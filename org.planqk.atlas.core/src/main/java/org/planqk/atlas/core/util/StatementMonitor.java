@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the JDBC statements executed through the {@link DataSource}s wrapped by this monitor.
+ * <p>
+ * Statements are recorded in the statistics of the {@link Scope}s opened on the executing thread, e.g. one scope for
+ * each HTTP request. Scopes can be nested, a statement is recorded in all open scopes of its thread. This allows tests
+ * to assert how many statements an operation executes:
+ * <pre>
+ * try (StatementMonitor.Scope scope = statementMonitor.open()) {
+ *     algorithmService.findAll(pageable, null);
+ *     assertThat(scope.getStatistics().getStatementCount()).isLessThanOrEqualTo(3);
+ * }</pre>
+ * Statements taking longer than the slow statement threshold are logged, regardless of an open scope.
+ */
+@Slf4j
+public class StatementMonitor {
+
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    private final long slowStatementThresholdNanos;
+
+    private final int slowestStatementsLimit;
+
+    /**
+     * @param slowStatementThresholdMillis Statements taking at least this amount of milliseconds are logged, a
+     *                                     negative value disables the logging
+     * @param slowestStatementsLimit       The amount of slowest statements kept by the statistics of a scope
+     */
+    public StatementMonitor(long slowStatementThresholdMillis, int slowestStatementsLimit) {
+        this.slowStatementThresholdNanos = slowStatementThresholdMillis < 0 ? Long.MAX_VALUE
+                : TimeUnit.MILLISECONDS.toNanos(slowStatementThresholdMillis);
+        this.slowestStatementsLimit = slowestStatementsLimit;
+    }
+
+    /**
+     * Open a scope on the current thread, which has to be closed on the same thread.
+     *
+     * @return The opened scope
+     */
+    public Scope open() {
+        return open(sql -> false);
+    }
+
+    /**
+     * Open a scope on the current thread, which has to be closed on the same thread.
+     * <p>
+     * Its statistics additionally count all executed statements whose SQL matches the given predicate.
+     *
+     * @param matcher The predicate the SQL of the counted statements matches
+     * @return The opened scope
+     */
+    public Scope open(@NonNull Predicate<String> matcher) {
+        final Scope scope = new Scope(currentScope.get(), new StatementStatistics(slowestStatementsLimit, matcher));
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Wrap the given {@link DataSource}, so the statements executed on its connections are recorded.
+     *
+     * @param dataSource The data source to wrap
+     * @return The wrapping data source
+     */
+    public DataSource wrap(@NonNull DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args) -> {
+            final Object result = invoke(dataSource, method, args);
+            return method.getName().equals("getConnection") ? wrap((Connection) result) : result;
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            final Object result = invoke(connection, method, args);
+            if (result instanceof Statement && (method.getName().startsWith("prepare")
+                    || method.getName().equals("createStatement"))) {
+                return wrap(method.getReturnType(), (Statement) result, getSql(args, null));
+            }
+            return result;
+        });
+    }
+
+    private Object wrap(Class<?> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, (method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            final String sql = getSql(args, preparedSql);
+            final long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                record(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private void record(String sql, long nanos) {
+        if (nanos >= slowStatementThresholdNanos) {
+            log.warn("Slow statement took {} ms: {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+        }
+        for (Scope scope = currentScope.get(); scope != null; scope = scope.parent) {
+            scope.statistics.record(sql, nanos);
+        }
+    }
+
+    private static String getSql(Object[] args, String defaultSql) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : defaultSql;
+    }
+
+    // the wrapped JDBC interfaces only declare SQLException, so other checked exceptions cannot be thrown by the target
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot invoke " + method, e);
+        } catch (InvocationTargetException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new UndeclaredThrowableException(cause);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            // identity of the proxy instead of the target, as the target does not know the proxy
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return handler.invoke(method, args);
+        }));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object invoke(Method method, Object[] args) throws SQLException;
+    }
+
+    /**
+     * The statistics of the statements executed on a thread while the scope is open.
+     */
+    public final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private final StatementStatistics statistics;
+
+        private boolean closed;
+
+        private Scope(Scope parent, StatementStatistics statistics) {
+            this.parent = parent;
+            this.statistics = statistics;
+        }
+
+        public StatementStatistics getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * Close the scope, nested scopes have to be closed before.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            if (currentScope.get() != this) {
+                throw new IllegalStateException("The scope is not the innermost open scope of the current thread");
+            }
+            closed = true;
+            if (parent == null) {
+                currentScope.remove();
+            } else {
+                currentScope.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Statistics of the JDBC statements executed within a {@link StatementMonitor.Scope}.
+ * <p>
+ * The statistics are recorded by the thread the scope was opened on and are not thread-safe.
+ */
+@ToString
+public class StatementStatistics {
+
+    private final int slowestStatementsLimit;
+
+    @ToString.Exclude
+    private final Predicate<String> matcher;
+
+    private final List<TimedStatement> slowestStatements = new ArrayList<>();
+
+    private long statementCount;
+
+    private long matchingStatementCount;
+
+    private long totalNanos;
+
+    StatementStatistics(int slowestStatementsLimit, Predicate<String> matcher) {
+        this.slowestStatementsLimit = slowestStatementsLimit;
+        this.matcher = matcher;
+    }
+
+    void record(String sql, long nanos) {
+        statementCount++;
+        totalNanos += nanos;
+        if (sql != null && matcher.test(sql)) {
+            matchingStatementCount++;
+        }
+        if (slowestStatementsLimit <= 0) {
+            return;
+        }
+        if (slowestStatements.size() == slowestStatementsLimit) {
+            if (slowestStatements.get(slowestStatementsLimit - 1).duration.toNanos() >= nanos) {
+                return;
+            }
+            slowestStatements.remove(slowestStatementsLimit - 1);
+        }
+        int index = slowestStatements.size();
+        while (index > 0 && slowestStatements.get(index - 1).duration.toNanos() < nanos) {
+            index--;
+        }
+        slowestStatements.add(index, new TimedStatement(sql, Duration.ofNanos(nanos)));
+    }
+
+    /**
+     * The amount of executed statements. A JDBC batch counts as one statement.
+     */
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * The amount of executed statements whose SQL matches the predicate the scope was opened with.
+     */
+    public long getMatchingStatementCount() {
+        return matchingStatementCount;
+    }
+
+    /**
+     * The time spent executing the statements.
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * The slowest executed statements, the slowest one first.
+     */
+    public List<TimedStatement> getSlowestStatements() {
+        return Collections.unmodifiableList(slowestStatements);
+    }
+
+    /**
+     * An executed statement and the time its execution took.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class TimedStatement {
+
+        /**
+         * The SQL of the statement, may be null for a batch of unprepared statements.
+         */
+        private final String sql;
+
+        private final Duration duration;
+    }
+}
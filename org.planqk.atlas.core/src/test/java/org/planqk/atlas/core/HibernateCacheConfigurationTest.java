@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+
+import org.hibernate.annotations.Cache;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Tag;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+public class HibernateCacheConfigurationTest {
+
+    private final HibernateCacheConfiguration configuration = new HibernateCacheConfiguration();
+
+    @Test
+    void hibernateCacheManager_RegionsOfCachedEntitiesAndCollections() throws NoSuchFieldException {
+        try (CacheManager cacheManager = configuration.hibernateCacheManager(new MockEnvironment())) {
+            for (final Class<?> entity : HibernateCacheConfiguration.CACHED_ENTITIES) {
+                assertThat(entity.isAnnotationPresent(Cache.class)).isTrue();
+                assertThat(cacheManager.getCache(entity.getName())).isNotNull();
+            }
+            assertThat(Algorithm.class.getDeclaredField("problemTypes").isAnnotationPresent(Cache.class)).isTrue();
+            assertThat(cacheManager.getCache(Algorithm.class.getName() + ".problemTypes")).isNotNull();
+        }
+    }
+
+    @Test
+    void hibernateCacheManager_RegionConfiguration() {
+        final MockEnvironment environment = new MockEnvironment()
+                .withProperty("atlas.cache.entities.maximum-size", "100")
+                .withProperty("atlas.cache.entities.time-to-live", "5m")
+                .withProperty("atlas.cache.regions.Tag.time-to-live", "30s");
+
+        try (CacheManager cacheManager = configuration.hibernateCacheManager(environment)) {
+            final CaffeineConfiguration<?, ?> problemTypeRegion = getConfiguration(cacheManager, ProblemType.class.getName());
+            assertThat(problemTypeRegion.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+            assertThat(problemTypeRegion.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofMinutes(5).toNanos()));
+
+            final CaffeineConfiguration<?, ?> tagRegion = getConfiguration(cacheManager, Tag.class.getName());
+            assertThat(tagRegion.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+            assertThat(tagRegion.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofSeconds(30).toNanos()));
+
+            final CaffeineConfiguration<?, ?> collectionRegion = getConfiguration(cacheManager, Algorithm.class.getName() + ".tags");
+            assertThat(collectionRegion.getMaximumSize()).isEqualTo(OptionalLong.of(50_000));
+            assertThat(collectionRegion.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofMinutes(10).toNanos()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CaffeineConfiguration<?, ?> getConfiguration(CacheManager cacheManager, String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+}
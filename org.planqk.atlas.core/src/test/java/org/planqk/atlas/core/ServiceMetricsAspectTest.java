@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.exceptions.EntityReferenceConstraintViolationException;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.services.AlgorithmService;
+import org.planqk.atlas.core.services.ApplicationAreaService;
+import org.planqk.atlas.core.services.LinkingService;
+import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Import(SimpleMeterRegistry.class)
+public class ServiceMetricsAspectTest extends AtlasDatabaseTestBase {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private ApplicationAreaService applicationAreaService;
+
+    @Autowired
+    private LinkingService linkingService;
+
+    @Test
+    void measure_Calls() {
+        Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName("algorithmName");
+        algorithm.setComputationModel(ComputationModel.CLASSIC);
+        algorithm = algorithmService.create(algorithm);
+        algorithmService.findById(algorithm.getId());
+        algorithmService.findById(algorithm.getId());
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tags("service", "AlgorithmService", "method", "findById", "exception", ServiceMetricsAspect.NO_EXCEPTION)
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tags("service", "AlgorithmService", "method", "create").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.ACTIVE_METRIC)
+                .tags("service", "AlgorithmService", "method", "findById").longTaskTimer().activeTasks()).isEqualTo(0);
+    }
+
+    @Test
+    void measure_CountsExceptionsByType() {
+        assertThrows(NoSuchElementException.class, () -> algorithmService.findById(UUID.randomUUID()));
+
+        ApplicationArea area = new ApplicationArea();
+        area.setName("applicationAreaName");
+        final ApplicationArea storedArea = applicationAreaService.create(area);
+        Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName("algorithmName");
+        algorithm.setComputationModel(ComputationModel.CLASSIC);
+        algorithm = algorithmService.create(algorithm);
+        linkingService.linkAlgorithmAndApplicationArea(algorithm.getId(), storedArea.getId());
+        assertThrows(EntityReferenceConstraintViolationException.class, () ->
+                applicationAreaService.delete(storedArea.getId()));
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.EXCEPTIONS_METRIC)
+                .tags("service", "AlgorithmService", "method", "findById", "exception", "NoSuchElementException")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tags("service", "AlgorithmService", "method", "findById", "exception", "NoSuchElementException")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.EXCEPTIONS_METRIC)
+                .tags("service", "ApplicationAreaService", "method", "delete",
+                        "exception", "EntityReferenceConstraintViolationException")
+                .counter().count()).isEqualTo(1);
+    }
+}
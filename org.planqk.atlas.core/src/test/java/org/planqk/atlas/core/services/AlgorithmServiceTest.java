@@ -37,6 +37,7 @@ import org.planqk.atlas.core.model.AlgorithmRelationType;
 import org.planqk.atlas.core.model.ApplicationArea;
 import org.planqk.atlas.core.model.ClassicAlgorithm;
 import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.model.Image;
 import org.planqk.atlas.core.model.Implementation;
 import org.planqk.atlas.core.model.PatternRelation;
 import org.planqk.atlas.core.model.PatternRelationType;
@@ -44,13 +45,19 @@ import org.planqk.atlas.core.model.ProblemType;
 import org.planqk.atlas.core.model.Publication;
 import org.planqk.atlas.core.model.QuantumAlgorithm;
 import org.planqk.atlas.core.model.QuantumComputationModel;
+import org.planqk.atlas.core.model.Sketch;
 import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.core.repository.SketchRepository;
 import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
 import org.planqk.atlas.core.util.Constants;
 import org.planqk.atlas.core.util.ServiceTestUtils;
+import org.planqk.atlas.core.util.StatementMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -90,6 +97,18 @@ public class AlgorithmServiceTest extends AtlasDatabaseTestBase {
     @Autowired
     private PatternRelationTypeService patternRelationTypeService;
 
+    @Autowired
+    private RevisionRetentionService revisionRetentionService;
+
+    @Autowired
+    private SketchRepository sketchRepository;
+
+    @Autowired
+    private StatementMonitor statementMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void createAlgorithm_Classic() {
         ClassicAlgorithm algorithm = (ClassicAlgorithm) getFullAlgorithm("classicAlgorithmName");
@@ -180,6 +199,33 @@ public class AlgorithmServiceTest extends AtlasDatabaseTestBase {
         assertThat(algorithms.size()).isEqualTo(2);
     }
 
+    @Test
+    void findAllAlgorithms_Search() {
+        Algorithm algorithm1 = getFullAlgorithm("Shor");
+        algorithm1.setAcronym("SFA");
+        algorithm1.setSolution("Quantum period finding");
+        algorithmService.create(algorithm1);
+        Algorithm algorithm2 = getFullAlgorithm("Grover");
+        algorithm2.setAcronym("GSA");
+        algorithm2.setIntent("Unstructured search, can be used for period finding");
+        algorithmService.create(algorithm2);
+        Algorithm algorithm3 = getFullAlgorithm("Deutsch-Jozsa");
+        algorithm3.setProblem("Decide whether a function is constant or balanced");
+        algorithmService.create(algorithm3);
+
+        List<Algorithm> algorithms = algorithmService.findAll(Pageable.unpaged(), "period").getContent();
+        assertThat(algorithms).extracting(Algorithm::getName).containsExactly("Grover", "Shor");
+
+        algorithms = algorithmService.findAll(Pageable.unpaged(), "hor").getContent();
+        assertThat(algorithms).extracting(Algorithm::getName).containsExactly("Shor");
+
+        algorithms = algorithmService.findAll(Pageable.unpaged(), "alanc").getContent();
+        assertThat(algorithms).extracting(Algorithm::getName).containsExactly("Deutsch-Jozsa");
+
+        algorithms = algorithmService.findAll(PageRequest.of(0, 1, Sort.by("name").descending()), "find").getContent();
+        assertThat(algorithms).extracting(Algorithm::getName).containsExactly("Shor");
+    }
+
     @Test
     void findAlgorithmById_ElementNotFound() {
         assertThrows(NoSuchElementException.class, () ->
@@ -199,6 +245,48 @@ public class AlgorithmServiceTest extends AtlasDatabaseTestBase {
         assertThat(storedAlgorithm).isInstanceOf(ClassicAlgorithm.class);
     }
 
+    @Test
+    void findDetailedAlgorithmById_ElementNotFound() {
+        assertThrows(NoSuchElementException.class, () ->
+                algorithmService.findDetailedById(UUID.randomUUID()));
+    }
+
+    @Test
+    void findDetailedAlgorithmById_LoadsSketchesWithOneStatement() {
+        final Algorithm algorithm = algorithmService.create(getFullAlgorithm("algorithmName"));
+        for (int i = 0; i < 3; i++) {
+            createSketch(algorithm, "sketch" + i);
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (StatementMonitor.Scope scope = openImageStatementScope()) {
+                final Algorithm storedAlgorithm = algorithmService.findDetailedById(algorithm.getId());
+                assertThat(storedAlgorithm.getSketches()).hasSize(3);
+                assertThat(scope.getStatistics().getStatementCount()).isEqualTo(1);
+                assertImagesNotSelected(scope);
+            }
+        });
+    }
+
+    @Test
+    void findAllAlgorithms_LoadsSketchesInBatches() {
+        for (int i = 0; i < 5; i++) {
+            final Algorithm algorithm = algorithmService.create(getFullAlgorithm("algorithmName" + i));
+            createSketch(algorithm, "sketch" + i);
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (StatementMonitor.Scope scope = openImageStatementScope()) {
+                final List<Algorithm> algorithms = algorithmService.findAll(PageRequest.of(0, 10), null).getContent();
+                assertThat(algorithms).hasSize(5);
+                algorithms.forEach(algorithm -> assertThat(algorithm.getSketches()).hasSize(1));
+                // page, count and one batch of sketches
+                assertThat(scope.getStatistics().getStatementCount()).isLessThanOrEqualTo(3);
+                assertImagesNotSelected(scope);
+            }
+        });
+    }
+
     @Test
     void updateAlgorithm_ElementFound() {
         Algorithm algorithm = getFullAlgorithm("algorithmName");
@@ -383,6 +471,52 @@ public class AlgorithmServiceTest extends AtlasDatabaseTestBase {
         assertThrows(NoSuchElementException.class, () -> algorithmService.findAlgorithmRevisions(storedAlgorithm.getId(), Pageable.unpaged()));
     }
 
+    @Test
+    void deleteAlgorithm_WithImplementationsAndRelations() {
+        Algorithm algorithm = algorithmService.create(getFullAlgorithm("algorithmName"));
+        algorithm.setName("editedAlgorithmName");
+        algorithmService.update(algorithm);
+        Algorithm otherAlgorithm = algorithmService.create(getFullAlgorithm("otherAlgorithmName"));
+
+        Publication publication = new Publication();
+        publication.setTitle("publicationTitle");
+        publication.setAuthors(List.of("publicationAuthor"));
+        publication = publicationService.create(publication);
+
+        List<UUID> implementationIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Implementation implementation = new Implementation();
+            implementation.setName("implementationName" + i);
+            implementation = implementationService.create(implementation, algorithm.getId());
+            linkingService.linkImplementationAndPublication(implementation.getId(), publication.getId());
+            implementationIds.add(implementation.getId());
+        }
+        linkingService.linkAlgorithmAndPublication(algorithm.getId(), publication.getId());
+
+        AlgorithmRelationType algorithmRelationType = new AlgorithmRelationType();
+        algorithmRelationType.setName("relationName");
+        algorithmRelationType = algorithmRelationTypeService.create(algorithmRelationType);
+        AlgorithmRelation algorithmRelation = new AlgorithmRelation();
+        algorithmRelation.setSourceAlgorithm(otherAlgorithm);
+        algorithmRelation.setTargetAlgorithm(algorithm);
+        algorithmRelation.setAlgorithmRelationType(algorithmRelationType);
+        algorithmRelationService.create(algorithmRelation);
+
+        algorithmService.delete(algorithm.getId());
+
+        assertThrows(NoSuchElementException.class, () -> algorithmService.findById(algorithm.getId()));
+        implementationIds.forEach(id ->
+                assertThrows(NoSuchElementException.class, () -> implementationService.findById(id)));
+        assertThat(publicationService.findLinkedAlgorithms(publication.getId(), Pageable.unpaged())
+                .getTotalElements()).isEqualTo(0);
+        assertThat(publicationService.findLinkedImplementations(publication.getId(), Pageable.unpaged())
+                .getTotalElements()).isEqualTo(0);
+        assertThat(algorithmService.findLinkedAlgorithmRelations(otherAlgorithm.getId(), Pageable.unpaged())
+                .getTotalElements()).isEqualTo(0);
+        assertThat(revisionRetentionService.countRevisions(algorithm.getId())).isEqualTo(0);
+        implementationIds.forEach(id -> assertThat(revisionRetentionService.countRevisions(id)).isEqualTo(0));
+    }
+
     @Test
     void findAlgorithmRevision_ElementFound() {
         Algorithm algorithm = getFullAlgorithm("Shor");
@@ -643,6 +777,26 @@ public class AlgorithmServiceTest extends AtlasDatabaseTestBase {
                 .checkIfApplicationAreaIsLinkedToAlgorithm(persistedAlgorithm.getId(), persistedApplicationArea.getId()));
     }
 
+    private void createSketch(Algorithm algorithm, String description) {
+        final Image image = new Image();
+        image.setImage(new byte[1024]);
+        final Sketch sketch = new Sketch();
+        sketch.setImageURL("http://image/url");
+        sketch.setDescription(description);
+        sketch.setAlgorithm(algorithm);
+        sketch.setImage(image);
+        sketchRepository.save(sketch);
+    }
+
+    // the sketches only reference their images, whose content must not be loaded with them
+    private StatementMonitor.Scope openImageStatementScope() {
+        return statementMonitor.open(sql -> sql.contains("from image ") || sql.contains("join image "));
+    }
+
+    private static void assertImagesNotSelected(StatementMonitor.Scope scope) {
+        assertThat(scope.getStatistics().getMatchingStatementCount()).isZero();
+    }
+
     private Algorithm getFullAlgorithm(String name) {
         Algorithm algorithm = new ClassicAlgorithm();
         algorithm.setName(name);
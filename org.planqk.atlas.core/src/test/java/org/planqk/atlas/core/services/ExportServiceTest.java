@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class ExportServiceTest extends AtlasDatabaseTestBase {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private LinkingService linkingService;
+
+    @Test
+    void getTables() {
+        final List<String> tables = exportService.getTables();
+
+        assertThat(tables).contains("knowledge_artifact", "algorithm", "classic_algorithm", "publication",
+                "compute_resource", "tag", "algorithm_publication", "publication_authors");
+        assertThat(tables).doesNotHaveDuplicates();
+        assertThat(tables).noneMatch(table -> table.endsWith("_revisions") || table.equals("revinfo"));
+        // the entity tables are exported before the link tables
+        assertThat(tables.indexOf("publication")).isLessThan(tables.indexOf("algorithm_publication"));
+    }
+
+    @Test
+    void export_AllRows() {
+        final Algorithm algorithm = createAlgorithm("algorithm");
+        final Publication publication = createPublication();
+        linkingService.linkAlgorithmAndPublication(algorithm.getId(), publication.getId());
+
+        final List<ExportRow> rows = new ArrayList<>();
+        final long count = exportService.export(null, null, null, rows::add);
+
+        assertThat(count).isEqualTo(rows.size());
+        assertThat(getRows(rows, "knowledge_artifact")).hasSize(2);
+        assertThat(getRows(rows, "algorithm")).hasSize(1);
+        assertThat(getRows(rows, "algorithm").get(0).getColumns()).containsEntry("name", "algorithm")
+                .containsEntry("id", algorithm.getId());
+        assertThat(getRows(rows, "classic_algorithm")).hasSize(1);
+        assertThat(getRows(rows, "publication_authors")).hasSize(2);
+        assertThat(getRows(rows, "algorithm_publication")).hasSize(1);
+        assertThat(getRows(rows, "algorithm_publication").get(0).getColumns())
+                .containsEntry("algorithm_id", algorithm.getId())
+                .containsEntry("publication_id", publication.getId());
+        assertThat(getRows(rows, "knowledge_artifact_ids")).isEmpty();
+    }
+
+    @Test
+    void export_Since_OnlyModifiedArtifacts() throws InterruptedException {
+        createAlgorithm("old");
+        final Date since = new Date();
+        Thread.sleep(10);
+        final Algorithm modified = createAlgorithm("modified");
+
+        final List<ExportRow> rows = new ArrayList<>();
+        exportService.export(since, null, null, rows::add);
+
+        assertThat(getRows(rows, "knowledge_artifact")).hasSize(1);
+        assertThat(getRows(rows, "knowledge_artifact").get(0).getColumns()).containsEntry("id", modified.getId());
+        assertThat(getRows(rows, "algorithm")).hasSize(1);
+        assertThat(getRows(rows, "algorithm").get(0).getColumns()).containsEntry("name", "modified");
+    }
+
+    @Test
+    void export_Since_ContainsIdsOfExistingArtifacts() throws InterruptedException {
+        final Algorithm kept = createAlgorithm("kept");
+        final Algorithm deleted = createAlgorithm("deleted");
+        final Date since = new Date();
+        Thread.sleep(10);
+        algorithmService.delete(deleted.getId());
+
+        final List<ExportRow> rows = new ArrayList<>();
+        exportService.export(since, null, null, rows::add);
+
+        assertThat(getRows(rows, "knowledge_artifact")).isEmpty();
+        assertThat(getRows(rows, "knowledge_artifact_ids").stream().map(row -> row.getColumns().get("id")))
+                .containsExactly(kept.getId());
+        assertThat(rows.get(rows.size() - 1).getTable()).isEqualTo("knowledge_artifact_ids");
+    }
+
+    @Test
+    void export_Resume() {
+        for (int i = 0; i < 5; i++) {
+            createAlgorithm("algorithm" + i);
+        }
+        final List<ExportRow> allRows = new ArrayList<>();
+        exportService.export(null, null, null, allRows::add);
+        final List<ExportRow> algorithmRows = getRows(allRows, "algorithm");
+        // deleting a processed row must not shift the position of the resumed export
+        algorithmService.delete((UUID) algorithmRows.get(0).getKey().get(0));
+
+        final List<ExportRow> rows = new ArrayList<>();
+        exportService.export(null, "algorithm", toStrings(algorithmRows.get(1).getKey()), rows::add);
+
+        assertThat(rows.get(0).getTable()).isEqualTo("algorithm");
+        assertThat(getRows(rows, "algorithm").stream().map(ExportRow::getColumns).collect(Collectors.toList()))
+                .isEqualTo(algorithmRows.subList(2, 5).stream().map(ExportRow::getColumns).collect(Collectors.toList()));
+        final List<String> tables = exportService.getTables();
+        assertThat(rows).allMatch(row -> tables.indexOf(row.getTable()) >= tables.indexOf("algorithm"));
+    }
+
+    @Test
+    void export_Resume_CompositeKey() {
+        final Publication publication = createPublication();
+        final List<ExportRow> allRows = new ArrayList<>();
+        exportService.export(null, null, null, allRows::add);
+        final List<ExportRow> authorRows = getRows(allRows, "publication_authors");
+        assertThat(authorRows).hasSize(2);
+        assertThat(authorRows.get(0).getKey()).hasSizeGreaterThan(1).startsWith(publication.getId());
+
+        final List<ExportRow> rows = new ArrayList<>();
+        exportService.export(null, "publication_authors", toStrings(authorRows.get(0).getKey()), rows::add);
+
+        assertThat(getRows(rows, "publication_authors").stream().map(ExportRow::getColumns).collect(Collectors.toList()))
+                .containsExactly(authorRows.get(1).getColumns());
+    }
+
+    @Test
+    void export_InvalidPosition() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.export(null, "unknown", null, row -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> exportService.export(null, null, List.of(UUID.randomUUID().toString()), row -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> exportService.export(null, "algorithm", List.of("a", "b"), row -> {
+        }));
+    }
+
+    private static List<String> toStrings(List<Object> key) {
+        return key.stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    private static List<ExportRow> getRows(List<ExportRow> rows, String table) {
+        return rows.stream().filter(row -> row.getTable().equals(table)).collect(Collectors.toList());
+    }
+
+    private Algorithm createAlgorithm(String name) {
+        final Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName(name);
+        return algorithmService.create(algorithm);
+    }
+
+    private Publication createPublication() {
+        final Publication publication = new Publication();
+        publication.setTitle("publication");
+        publication.setAuthors(new ArrayList<>(List.of("first author", "second author")));
+        return publicationService.create(publication);
+    }
+}
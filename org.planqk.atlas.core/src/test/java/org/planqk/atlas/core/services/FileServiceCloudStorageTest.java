@@ -22,6 +22,8 @@ package org.planqk.atlas.core.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.UUID;
@@ -39,16 +41,22 @@ import org.planqk.atlas.core.repository.FileRepository;
 import org.planqk.atlas.core.repository.ImplementationPackageRepository;
 import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.CopyWriter;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageException;
 
+import lombok.SneakyThrows;
+
 @ActiveProfiles({"test", "google-cloud"})
 public class FileServiceCloudStorageTest extends AtlasDatabaseTestBase {
 
@@ -68,9 +76,14 @@ public class FileServiceCloudStorageTest extends AtlasDatabaseTestBase {
     private ImplementationPackageRepository implementationPackageRepository;
 
     @Test
+    @SneakyThrows
     public void givenFileNotExists_WhenCreate_ThenShouldBeCreated() {
         // Given
-        when(storage.create(Mockito.any(BlobInfo.class), Mockito.any(byte[].class))).thenReturn(mockBlob);
+        WriteChannel writeChannel = mockWriteChannel();
+        CopyWriter copyWriter = Mockito.mock(CopyWriter.class);
+        when(copyWriter.getResult()).thenReturn(mockBlob);
+        when(storage.get(Mockito.any(BlobId.class))).thenReturn(null);
+        when(storage.copy(Mockito.any(Storage.CopyRequest.class))).thenReturn(copyWriter);
         ImplementationPackage persistedImplementationPackage = implementationPackageRepository.save(getDummyImplementationPackage());
         assertThat(fileRepository.findAll().size()).isEqualTo(0);
 
@@ -81,13 +94,46 @@ public class FileServiceCloudStorageTest extends AtlasDatabaseTestBase {
         //Then
         assertThat(fileRepository.findAll().size()).isEqualTo(1);
         assertThat(fileRepository.findById(createdFile.getId())).isPresent();
+        assertThat(createdFile.getContentHash()).hasSize(64);
+        assertThat(createdFile.getFileURL()).isEqualTo(createdFile.getContentHash());
+        Mockito.verify(writeChannel).close();
+        // the temporary upload blob is deleted after it was copied to the blob named by the content hash
+        Mockito.verify(storage).copy(Mockito.any(Storage.CopyRequest.class));
+        Mockito.verify(storage).delete(Mockito.argThat((BlobId blobId) -> blobId.getName().startsWith("upload-")));
+    }
+
+    @Test
+    public void givenSameContentExists_WhenCreate_ThenBlobIsShared() {
+        // Given
+        Mockito.clearInvocations(storage);
+        WriteChannel writeChannel = mockWriteChannel();
+        when(storage.get(Mockito.any(BlobId.class))).thenReturn(mockBlob);
+        when(storage.delete(Mockito.any(BlobId.class))).thenReturn(true);
+        MultipartFile multipartFile = getMultipartFile();
+
+        // When
+        File first = fileServiceCloudStorage.create(multipartFile);
+        File second = fileServiceCloudStorage.create(multipartFile);
+
+        // Then
+        Mockito.verify(storage, Mockito.never()).copy(Mockito.any(Storage.CopyRequest.class));
+        assertThat(first.getId()).isNotEqualTo(second.getId());
+        assertThat(second.getFileURL()).isEqualTo(first.getFileURL());
+        assertThat(fileRepository.countByContentHash(first.getContentHash())).isEqualTo(2);
+
+        Mockito.clearInvocations(storage);
+        fileServiceCloudStorage.delete(first.getId());
+        Mockito.verify(storage, Mockito.never()).delete(Mockito.any(BlobId.class));
+        fileServiceCloudStorage.delete(second.getId());
+        Mockito.verify(storage).delete(Mockito.any(BlobId.class));
     }
 
     @Test
     public void givenNone_WhenCreateAndStorageExceptionIsThrown_ThenCatchAndThrowCloudStorageException() {
         // Given
         ImplementationPackage persistedImplementationPackage = implementationPackageRepository.save(getDummyImplementationPackage());
-        when(storage.create(Mockito.any(BlobInfo.class), Mockito.any(byte[].class))).thenThrow(StorageException.class);
+        mockWriteChannel();
+        when(storage.get(Mockito.any(BlobId.class))).thenThrow(StorageException.class);
 
         // When
         Assertions.assertThrows(CloudStorageException.class,
@@ -117,16 +163,16 @@ public class FileServiceCloudStorageTest extends AtlasDatabaseTestBase {
     }
 
     @Test
-    public void delete_cloudStorageExceptionWasThrown() {
+    public void delete_storageExceptionIsLogged() {
         // Given
         File persistedFile = fileRepository.save(getDummyFile());
 
         // When
         when(storage.delete(Mockito.any(BlobId.class))).thenThrow(StorageException.class);
+        fileServiceCloudStorage.delete(persistedFile.getId());
 
-        // Call + Then
-        Assertions.assertThrows(CloudStorageException.class,
-                () -> fileServiceCloudStorage.delete(persistedFile.getId()));
+        // Then
+        assertThat(fileRepository.findById(persistedFile.getId())).isNotPresent();
     }
 
     @Test
@@ -165,6 +211,55 @@ public class FileServiceCloudStorageTest extends AtlasDatabaseTestBase {
                 () -> fileServiceCloudStorage.getFileContent(persistedFile.getId()));
     }
 
+    @Test
+    @SneakyThrows
+    public void getFileResource_success() {
+        // Given
+        File persistedFile = fileRepository.save(getDummyFile());
+        BlobId blobId = BlobId.of("bucket", persistedFile.getFileURL(), 1L);
+        ReadChannel readChannel = Mockito.mock(ReadChannel.class);
+        when(storage.get(Mockito.any(BlobId.class))).thenReturn(this.mockBlob);
+        when(this.mockBlob.getBlobId()).thenReturn(blobId);
+        when(this.mockBlob.getSize()).thenReturn(10L);
+        when(storage.reader(blobId)).thenReturn(readChannel);
+        when(readChannel.read(Mockito.any(ByteBuffer.class))).thenReturn(-1);
+
+        // When
+        Resource resource = fileServiceCloudStorage.getFileResource(persistedFile.getId());
+        try (InputStream inputStream = resource.getInputStream()) {
+            inputStream.skip(4);
+            inputStream.read();
+        }
+
+        // Then
+        assertThat(resource.contentLength()).isEqualTo(10L);
+        Mockito.verify(readChannel).seek(4);
+        Mockito.verify(readChannel).close();
+    }
+
+    @Test
+    public void getFileResource_noSuchElementExceptionWasThrown() {
+        // Given
+        File persistedFile = fileRepository.save(getDummyFile());
+
+        // Call + Then
+        Assertions.assertThrows(NoSuchElementException.class,
+                () -> fileServiceCloudStorage.getFileResource(persistedFile.getId()));
+    }
+
+    @SneakyThrows
+    private WriteChannel mockWriteChannel() {
+        WriteChannel writeChannel = Mockito.mock(WriteChannel.class);
+        when(writeChannel.write(Mockito.any(ByteBuffer.class))).then(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            int remaining = buffer.remaining();
+            buffer.position(buffer.limit());
+            return remaining;
+        });
+        when(storage.writer(Mockito.any(BlobInfo.class), Mockito.any(Storage.BlobWriteOption.class))).thenReturn(writeChannel);
+        return writeChannel;
+    }
+
     private File getDummyFile() {
         File file = new File();
         file.setName("Test");
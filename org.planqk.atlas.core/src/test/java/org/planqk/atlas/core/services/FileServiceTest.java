@@ -22,6 +22,8 @@ package org.planqk.atlas.core.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.UUID;
@@ -32,9 +34,14 @@ import org.planqk.atlas.core.model.File;
 import org.planqk.atlas.core.repository.FileRepository;
 import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import lombok.SneakyThrows;
+
 public class FileServiceTest extends AtlasDatabaseTestBase {
 
     private final int page = 0;
@@ -47,6 +54,9 @@ public class FileServiceTest extends AtlasDatabaseTestBase {
     @Autowired
     private FileRepository fileRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private MultipartFile multipartFile;
 
     @BeforeEach
@@ -101,6 +111,80 @@ public class FileServiceTest extends AtlasDatabaseTestBase {
         assertThat(result).isEqualTo(content);
     }
 
+    @Test
+    public void createFile_SameContent_StoredOnce() {
+        byte[] content = generateRandomByteArray();
+
+        File first = fileService.create(new MockMultipartFile("first.txt", "first.txt", "text/plain", content));
+        File second = fileService.create(new MockMultipartFile("second.txt", "second.txt", "text/plain", content));
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getName()).isEqualTo("second.txt");
+        assertThat(second.getFileURL()).isEqualTo(first.getFileURL());
+        assertThat(fileRepository.countByContentHash(first.getContentHash())).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteFile_SharedContent_DeletedWithLastFile() {
+        byte[] content = generateRandomByteArray();
+        File first = fileService.create(new MockMultipartFile("first.txt", "first.txt", "text/plain", content));
+        File second = fileService.create(new MockMultipartFile("second.txt", "second.txt", "text/plain", content));
+
+        fileService.delete(first.getId());
+        assertThat(new java.io.File(second.getFileURL()).exists()).isTrue();
+        assertThat(fileService.getFileContent(second.getId())).isEqualTo(content);
+
+        fileService.delete(second.getId());
+        assertThat(new java.io.File(second.getFileURL()).exists()).isFalse();
+    }
+
+    @Test
+    public void createFile_RolledBack_ContentDeleted() {
+        byte[] content = generateRandomByteArray();
+
+        File file = new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            return fileService.create(new MockMultipartFile("file.txt", "file.txt", "text/plain", content));
+        });
+
+        assertThat(new java.io.File(file.getFileURL()).exists()).isFalse();
+        assertThat(fileRepository.countByContentHash(file.getContentHash())).isEqualTo(0);
+    }
+
+    @Test
+    public void deleteFile_RolledBack_ContentKept() {
+        byte[] content = generateRandomByteArray();
+        File file = fileService.create(new MockMultipartFile("file.txt", "file.txt", "text/plain", content));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            fileService.delete(file.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(fileRepository.findById(file.getId())).isPresent();
+        assertThat(fileService.getFileContent(file.getId())).isEqualTo(content);
+    }
+
+    @Test
+    @SneakyThrows
+    public void getFileResource() {
+        byte[] content = generateRandomByteArray();
+        File persistedFile = fileService.create(new MockMultipartFile("file.txt", "file.txt", "text/plain", content));
+
+        Resource resource = fileService.getFileResource(persistedFile.getId());
+
+        assertThat(resource.contentLength()).isEqualTo(content.length);
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertThat(inputStream.skip(2)).isEqualTo(2);
+            assertThat(inputStream.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 2, content.length));
+        }
+    }
+
+    @Test
+    void getFileResource_ElementNotFound() {
+        assertThrows(NoSuchElementException.class, () -> fileService.getFileResource(UUID.randomUUID()));
+    }
+
     private byte[] generateRandomByteArray() {
         Random rd = new Random();
         byte[] arr = new byte[7];
@@ -42,9 +42,12 @@ import org.planqk.atlas.core.model.SoftwarePlatform;
 import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
 import org.planqk.atlas.core.util.Constants;
 import org.planqk.atlas.core.util.ServiceTestUtils;
+import org.planqk.atlas.core.util.StatementMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -66,6 +69,12 @@ public class ImplementationServiceTest extends AtlasDatabaseTestBase {
     @Autowired
     private LinkingService linkingService;
 
+    @Autowired
+    private StatementMonitor statementMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void createImplementation_Classic() {
         Algorithm algorithm = new ClassicAlgorithm();
@@ -178,6 +187,38 @@ public class ImplementationServiceTest extends AtlasDatabaseTestBase {
         assertThat(implementations.size()).isEqualTo(2);
     }
 
+    @Test
+    void findAllImplementations_LoadsAssociationsInBatches() {
+        for (int i = 0; i < 2; i++) {
+            Algorithm algorithm = new ClassicAlgorithm();
+            algorithm.setName("algorithmName" + i);
+            algorithm = algorithmService.create(algorithm);
+            for (int j = 0; j < 2; j++) {
+                Implementation implementation = new ClassicImplementation();
+                implementation.setName("implementationName" + i + j);
+                implementation = implementationService.create(implementation, algorithm.getId());
+                SoftwarePlatform softwarePlatform = new SoftwarePlatform();
+                softwarePlatform.setName("softwarePlatformName" + i + j);
+                softwarePlatform = softwarePlatformService.create(softwarePlatform);
+                linkingService.linkImplementationAndSoftwarePlatform(implementation.getId(), softwarePlatform.getId());
+            }
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (StatementMonitor.Scope scope = statementMonitor.open()) {
+                final List<Implementation> implementations =
+                        implementationService.findAll(PageRequest.of(0, 10)).getContent();
+                assertThat(implementations).hasSize(4);
+                implementations.forEach(implementation -> {
+                    assertThat(implementation.getImplementedAlgorithm().getName()).startsWith("algorithmName");
+                    assertThat(implementation.getSoftwarePlatforms()).hasSize(1);
+                });
+                // page, count and one batch of software platforms
+                assertThat(scope.getStatistics().getStatementCount()).isLessThanOrEqualTo(3);
+            }
+        });
+    }
+
     @Test
     void findImplementationById_ElementFound() {
         Algorithm algorithm = new ClassicAlgorithm();
@@ -201,6 +242,36 @@ public class ImplementationServiceTest extends AtlasDatabaseTestBase {
         assertThrows(NoSuchElementException.class, () -> implementationService.findById(UUID.randomUUID()));
     }
 
+    @Test
+    void findDetailedImplementationById_ElementFound() {
+        Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName("algorithmName");
+        algorithm = algorithmService.create(algorithm);
+        var implementation = new ClassicImplementation();
+        implementation.setName("implementationName");
+        final var storedImplementation = implementationService.create(implementation, algorithm.getId());
+        SoftwarePlatform softwarePlatform = new SoftwarePlatform();
+        softwarePlatform.setName("softwarePlatformName");
+        softwarePlatform = softwarePlatformService.create(softwarePlatform);
+        linkingService.linkImplementationAndSoftwarePlatform(storedImplementation.getId(), softwarePlatform.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (StatementMonitor.Scope scope = statementMonitor.open()) {
+                final var foundImplementation = implementationService.findDetailedById(storedImplementation.getId());
+                assertThat(foundImplementation.getImplementedAlgorithm().getName()).isEqualTo("algorithmName");
+                assertThat(foundImplementation.getSoftwarePlatforms()).extracting(SoftwarePlatform::getName)
+                        .containsExactly("softwarePlatformName");
+                assertThat(scope.getStatistics().getStatementCount()).isEqualTo(1);
+            }
+        });
+    }
+
+    @Test
+    void findDetailedImplementationById_ElementNotFound() {
+        assertThrows(NoSuchElementException.class, () ->
+                implementationService.findDetailedById(UUID.randomUUID()));
+    }
+
     @Test
     void updateImplementation() {
         Algorithm algorithm = new ClassicAlgorithm();
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ComputeResource;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ImportServiceTest extends AtlasDatabaseTestBase {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private ImplementationService implementationService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private ProblemTypeService problemTypeService;
+
+    @Autowired
+    private SoftwarePlatformService softwarePlatformService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void importAll_EntitiesAndLinks() {
+        final ImportResult result = importService.importAll(List.of(
+                ImportRecord.ofEntity("a1", () -> algorithm("algorithm"), null),
+                ImportRecord.ofEntity("i1", () -> implementation("implementation"), "a1"),
+                ImportRecord.ofEntity("p1", this::publication, null),
+                ImportRecord.ofEntity("pt1", () -> problemType("parent"), null),
+                ImportRecord.ofEntity("pt2", () -> problemType("child"), "pt1"),
+                ImportRecord.ofLink(Algorithm.class, "a1", Publication.class, "p1"),
+                ImportRecord.ofLink(Publication.class, "p1", Implementation.class, "i1"),
+                ImportRecord.ofLink(Algorithm.class, "a1", ProblemType.class, "pt2")
+        ).iterator());
+
+        assertThat(result.getImportedRecords()).isEqualTo(8);
+        assertThat(result.getFailedRecords()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getRecordsPerSecond()).isPositive();
+
+        final Algorithm algorithm = algorithmService.findAll(Pageable.unpaged(), null).getContent().get(0);
+        assertThat(algorithm.getName()).isEqualTo("algorithm");
+        assertThat(implementationService.findByImplementedAlgorithm(algorithm.getId(), Pageable.unpaged()).getContent())
+                .extracting(Implementation::getName).containsExactly("implementation");
+        final Publication publication = algorithmService.findLinkedPublications(algorithm.getId(), Pageable.unpaged())
+                .getContent().get(0);
+        assertThat(publicationService.findLinkedImplementations(publication.getId(), Pageable.unpaged()).getContent())
+                .hasSize(1);
+        final ProblemType child = algorithmService.findLinkedProblemTypes(algorithm.getId(), Pageable.unpaged())
+                .getContent().get(0);
+        assertThat(child.getName()).isEqualTo("child");
+        assertThat(problemTypeService.findById(child.getParentProblemType()).getName()).isEqualTo("parent");
+    }
+
+    @Test
+    void importAll_ComputeResourcesOfSoftwarePlatform() {
+        final ImportResult result = importService.importAll(List.of(
+                ImportRecord.ofEntity("sp1", () -> softwarePlatform("platform"), null),
+                ImportRecord.ofEntity("cr1", () -> computeResource("resource"), null),
+                ImportRecord.ofLink(ComputeResource.class, "cr1", SoftwarePlatform.class, "sp1")
+        ).iterator());
+
+        assertThat(result.getImportedRecords()).isEqualTo(3);
+        final SoftwarePlatform softwarePlatform = softwarePlatformService.findAll(Pageable.unpaged()).getContent().get(0);
+        assertThat(softwarePlatformService.findLinkedComputeResources(softwarePlatform.getId(), Pageable.unpaged()).getContent())
+                .extracting(ComputeResource::getName).containsExactly("resource");
+    }
+
+    @Test
+    void importAll_ReferToExistingEntityById() {
+        final Algorithm algorithm = algorithmService.create(algorithm("existing"));
+
+        final ImportResult result = importService.importAll(List.of(
+                ImportRecord.ofEntity(null, () -> implementation("implementation"), algorithm.getId().toString())
+        ).iterator());
+
+        assertThat(result.getImportedRecords()).isEqualTo(1);
+        assertThat(implementationService.findByImplementedAlgorithm(algorithm.getId(), Pageable.unpaged())
+                .getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void importAll_InvalidRecords_ImportOthers() {
+        final ImportResult result = importService.importAll(List.of(
+                ImportRecord.ofEntity("a1", () -> algorithm("algorithm"), null),
+                ImportRecord.ofEntity("a1", () -> algorithm("duplicate reference"), null),
+                ImportRecord.ofEntity("i1", () -> implementation("implementation"), null),
+                ImportRecord.ofEntity("i2", () -> implementation("implementation"), UUID.randomUUID().toString()),
+                ImportRecord.invalid("x", "unreadable"),
+                ImportRecord.ofLink(Algorithm.class, "a1", Publication.class, "unknown"),
+                ImportRecord.ofLink(Algorithm.class, "a1", Algorithm.class, "a1")
+        ).iterator());
+
+        assertThat(result.getImportedRecords()).isEqualTo(1);
+        assertThat(result.getFailedRecords()).isEqualTo(6);
+        assertThat(result.getErrors()).extracting(ImportResult.RecordError::getIndex).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(result.getErrors().get(3).getMessage()).isEqualTo("unreadable");
+        assertThat(algorithmService.findAll(Pageable.unpaged(), null).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void importAll_FailingBatch_ImportRecordsOneByOne() {
+        // the second tag with the same value fails the transaction of the batch
+        final ImportResult result = importService.importAll(List.of(
+                ImportRecord.ofEntity("a1", () -> algorithm("algorithm"), null),
+                ImportRecord.ofEntity(null, () -> tag("quantum"), null),
+                ImportRecord.ofEntity(null, () -> tag("quantum"), null),
+                ImportRecord.ofLink(Algorithm.class, "a1", Tag.class, "quantum")
+        ).iterator());
+
+        assertThat(result.getImportedRecords()).isEqualTo(3);
+        assertThat(result.getFailedRecords()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ImportResult.RecordError::getIndex).containsExactly(2L);
+        final Algorithm algorithm = algorithmService.findAll(Pageable.unpaged(), null).getContent().get(0);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertThat(algorithmService.findById(algorithm.getId()).getTags()).extracting(Tag::getValue)
+                        .containsExactly("quantum"));
+    }
+
+    private static Algorithm algorithm(String name) {
+        final Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName(name);
+        return algorithm;
+    }
+
+    private static Implementation implementation(String name) {
+        final Implementation implementation = new Implementation();
+        implementation.setName(name);
+        return implementation;
+    }
+
+    private Publication publication() {
+        final Publication publication = new Publication();
+        publication.setTitle("publication");
+        publication.setAuthors(new ArrayList<>(List.of("author")));
+        return publication;
+    }
+
+    private static ProblemType problemType(String name) {
+        final ProblemType problemType = new ProblemType();
+        problemType.setName(name);
+        return problemType;
+    }
+
+    private static SoftwarePlatform softwarePlatform(String name) {
+        final SoftwarePlatform softwarePlatform = new SoftwarePlatform();
+        softwarePlatform.setName(name);
+        return softwarePlatform;
+    }
+
+    private static ComputeResource computeResource(String name) {
+        final ComputeResource computeResource = new ComputeResource();
+        computeResource.setName(name);
+        return computeResource;
+    }
+
+    private static Tag tag(String value) {
+        final Tag tag = new Tag();
+        tag.setValue(value);
+        return tag;
+    }
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class JoinTableLinkerTest extends AtlasDatabaseTestBase {
+
+    @Autowired
+    private JoinTableLinker joinTableLinker;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Algorithm algorithm;
+
+    private Publication publication;
+
+    @BeforeEach
+    void createEntities() {
+        final Algorithm newAlgorithm = new ClassicAlgorithm();
+        newAlgorithm.setName("algorithm");
+        algorithm = algorithmService.create(newAlgorithm);
+        final Publication newPublication = new Publication();
+        newPublication.setTitle("publication");
+        publication = publicationService.create(newPublication);
+    }
+
+    @Test
+    void link_CollectionsNotInitialized() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            final Algorithm source = entityManager.find(Algorithm.class, algorithm.getId());
+            final Publication target = entityManager.find(Publication.class, publication.getId());
+
+            assertThat(joinTableLinker.isLinked(LinkType.ALGORITHM_PUBLICATION, source, target)).isFalse();
+            joinTableLinker.link(LinkType.ALGORITHM_PUBLICATION, source, target);
+            assertThat(joinTableLinker.isLinked(LinkType.ALGORITHM_PUBLICATION, source, target)).isTrue();
+
+            // neither side was loaded to link the entities
+            assertThat(Hibernate.isInitialized(source.getPublications())).isFalse();
+            assertThat(Hibernate.isInitialized(target.getAlgorithms())).isFalse();
+        });
+
+        assertThat(algorithmService.findLinkedPublications(algorithm.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void linkAndUnlink_CollectionsInitialized() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            final Algorithm source = entityManager.find(Algorithm.class, algorithm.getId());
+            final Publication target = entityManager.find(Publication.class, publication.getId());
+            Hibernate.initialize(source.getPublications());
+            Hibernate.initialize(target.getAlgorithms());
+
+            joinTableLinker.link(LinkType.ALGORITHM_PUBLICATION, source, target);
+
+            assertThat(source.getPublications()).containsExactly(target);
+            assertThat(target.getAlgorithms()).containsExactly(source);
+            assertThat(joinTableLinker.isLinked(LinkType.ALGORITHM_PUBLICATION, source, target)).isTrue();
+        });
+        assertThat(algorithmService.findLinkedPublications(algorithm.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            final Algorithm source = entityManager.find(Algorithm.class, algorithm.getId());
+            final Publication target = entityManager.find(Publication.class, publication.getId());
+            Hibernate.initialize(target.getAlgorithms());
+
+            joinTableLinker.unlink(LinkType.ALGORITHM_PUBLICATION, source, target);
+
+            assertThat(target.getAlgorithms()).isEmpty();
+            assertThat(joinTableLinker.isLinked(LinkType.ALGORITHM_PUBLICATION, source, target)).isFalse();
+        });
+        assertThat(algorithmService.findLinkedPublications(algorithm.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(0);
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
+import org.planqk.atlas.core.util.CursorPageRequest;
+import org.planqk.atlas.core.util.CursorSlice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class KeysetPaginationServiceTest extends AtlasDatabaseTestBase {
+
+    private static final int SLICE_SIZE = 2;
+
+    private static final String SEARCH = "grover";
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    private Set<UUID> allIds;
+
+    private Set<UUID> matchingIds;
+
+    private Algorithm acronymMatch;
+
+    @BeforeEach
+    void createAlgorithms() {
+        // duplicate names differing in case, missing names and acronyms, and search matches in different properties
+        acronymMatch = createAlgorithm(null, "QGRQ", null);
+        final List<Algorithm> algorithms = List.of(
+                acronymMatch,
+                createAlgorithm("Grover", "GA", null),
+                createAlgorithm("Grover", null, null),
+                createAlgorithm("grover", "ga", null),
+                createAlgorithm("Shor", "SA", "faster than grover search"),
+                createAlgorithm("Shor", "SA", null),
+                createAlgorithm(null, null, "uses grover iterations"),
+                createAlgorithm(null, null, null),
+                createAlgorithm("Deutsch", null, null));
+        allIds = algorithms.stream().map(Algorithm::getId).collect(Collectors.toSet());
+        matchingIds = algorithms.stream()
+                .filter(algorithm -> containsSearch(algorithm.getName()) || containsSearch(algorithm.getIntent()))
+                .map(Algorithm::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void findSlice_AscendingWithDuplicatesAndNulls() {
+        assertSlicesCoverAll(Sort.by(Sort.Order.asc("name")), null, allIds);
+    }
+
+    @Test
+    void findSlice_DescendingWithDuplicatesAndNulls() {
+        assertSlicesCoverAll(Sort.by(Sort.Order.desc("name"), Sort.Order.asc("acronym")), null, allIds);
+    }
+
+    @Test
+    void findSlice_IgnoreCase() {
+        assertSlicesCoverAll(Sort.by(Sort.Order.asc("name").ignoreCase()), null, allIds);
+        assertSlicesCoverAll(Sort.by(Sort.Order.desc("acronym").ignoreCase(), Sort.Order.desc("name")), null, allIds);
+    }
+
+    @Test
+    void findSlice_Search() {
+        assertThat(matchingIds).hasSize(5);
+        assertSlicesCoverAll(Sort.by(Sort.Order.asc("name")), SEARCH, matchingIds);
+        assertSlicesCoverAll(Sort.by(Sort.Order.desc("name").ignoreCase()), SEARCH, matchingIds);
+        // substring of the acronym, which is not matched by the full text search
+        assertSlicesCoverAll(Sort.by(Sort.Order.asc("acronym")), "grq", Set.of(acronymMatch.getId()));
+    }
+
+    /*
+     * Pages through all slices and compares them with the order of a single query over all algorithms, so any gap or
+     * duplicate between two slices fails the test.
+     */
+    private void assertSlicesCoverAll(Sort sort, String search, Set<UUID> expectedIds) {
+        final List<UUID> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            final CursorSlice<Algorithm> slice = algorithmService.findSlice(
+                    CursorPageRequest.of(PageRequest.of(0, SLICE_SIZE, sort), cursor), search);
+            assertThat(slice.getContent().size()).isLessThanOrEqualTo(SLICE_SIZE);
+            slice.getContent().forEach(algorithm -> pagedIds.add(algorithm.getId()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        final List<UUID> streamedIds = new ArrayList<>();
+        algorithmService.streamAll(sort, search, algorithm -> streamedIds.add(algorithm.getId()));
+
+        assertThat(pagedIds).doesNotHaveDuplicates();
+        assertThat(pagedIds).containsExactlyInAnyOrderElementsOf(expectedIds);
+        assertThat(pagedIds).containsExactlyElementsOf(streamedIds);
+    }
+
+    private Algorithm createAlgorithm(String name, String acronym, String intent) {
+        final ClassicAlgorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName(name);
+        algorithm.setAcronym(acronym);
+        algorithm.setIntent(intent);
+        algorithm.setComputationModel(ComputationModel.CLASSIC);
+        return algorithmService.create(algorithm);
+    }
+
+    private static boolean containsSearch(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(SEARCH);
+    }
+}
@@ -23,7 +23,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.HashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.planqk.atlas.core.exceptions.EntityReferenceConstraintViolationException;
@@ -503,6 +506,65 @@ public class LinkingServiceTest extends AtlasDatabaseTestBase {
                         cloudService.getId(), computeResource.getId()));
     }
 
+    @Test
+    void linkAll_AlgorithmsAndProblemType() {
+        Algorithm first = getCreatedAlgorithm();
+        Algorithm second = getCreatedAlgorithm();
+        ProblemType problemType = getCreatedProblemType();
+        linkingService.linkAlgorithmAndProblemType(first.getId(), problemType.getId());
+
+        int linked = linkingService.linkAll(LinkType.ALGORITHM_PROBLEM_TYPE, Set.of(first.getId(), second.getId()),
+                Set.of(problemType.getId()));
+
+        // the existing link is skipped
+        assertThat(linked).isEqualTo(1);
+        assertThat(algorithmService.findLinkedProblemTypes(first.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(1);
+        assertThat(algorithmService.findLinkedProblemTypes(second.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void linkAll_ElementNotFound() {
+        Algorithm algorithm = getCreatedAlgorithm();
+        Publication publication = getCreatedPublication();
+
+        assertThrows(NoSuchElementException.class, () -> linkingService.linkAll(LinkType.ALGORITHM_PUBLICATION,
+                Set.of(algorithm.getId()), Set.of(publication.getId(), UUID.randomUUID())));
+
+        assertThat(algorithmService.findLinkedPublications(algorithm.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(0);
+    }
+
+    @Test
+    void linkAll_TooManyIds() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i <= LinkingService.MAX_BATCH_SIZE; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        assertThrows(IllegalArgumentException.class, () ->
+                linkingService.linkAll(LinkType.ALGORITHM_PUBLICATION, ids, Set.of(UUID.randomUUID())));
+    }
+
+    @Test
+    void unlinkAll_SoftwarePlatformAndComputeResources() {
+        SoftwarePlatform softwarePlatform = getCreatedSoftwarePlatform();
+        ComputeResource first = getCreatedComputeResource();
+        ComputeResource second = getCreatedComputeResource();
+        linkingService.linkAll(LinkType.SOFTWARE_PLATFORM_COMPUTE_RESOURCE, Set.of(softwarePlatform.getId()),
+                Set.of(first.getId(), second.getId()));
+        assertThat(softwarePlatformService.findLinkedComputeResources(softwarePlatform.getId(), Pageable.unpaged())
+                .getTotalElements()).isEqualTo(2);
+
+        int unlinked = linkingService.unlinkAll(LinkType.SOFTWARE_PLATFORM_COMPUTE_RESOURCE,
+                Set.of(softwarePlatform.getId()), Set.of(first.getId(), second.getId(), UUID.randomUUID()));
+
+        assertThat(unlinked).isEqualTo(2);
+        assertThat(softwarePlatformService.findLinkedComputeResources(softwarePlatform.getId(), Pageable.unpaged())
+                .getTotalElements()).isEqualTo(0);
+    }
+
     private Algorithm getCreatedAlgorithm() {
         Algorithm algorithm = new ClassicAlgorithm();
         algorithm.setName("algorithmName");
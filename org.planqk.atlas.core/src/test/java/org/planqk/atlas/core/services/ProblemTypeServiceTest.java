@@ -28,7 +28,10 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import javax.persistence.EntityManagerFactory;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.planqk.atlas.core.exceptions.EntityReferenceConstraintViolationException;
 import org.planqk.atlas.core.model.Algorithm;
@@ -50,6 +53,9 @@ public class ProblemTypeServiceTest extends AtlasDatabaseTestBase {
     @Autowired
     private AlgorithmService algorithmService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void createProblemType() {
         ProblemType problemType = getFullProblemType("problemTypeName");
@@ -73,6 +79,24 @@ public class ProblemTypeServiceTest extends AtlasDatabaseTestBase {
         assertThat(problemTypes.size()).isEqualTo(2);
     }
 
+    @Test
+    void findProblemTypeById_SecondLevelCache() {
+        ProblemType storedProblemType = problemTypeService.create(getFullProblemType("problemTypeName"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        problemTypeService.findById(storedProblemType.getId());
+        problemTypeService.findById(storedProblemType.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(ProblemType.class, storedProblemType.getId())).isTrue();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        problemTypeService.delete(storedProblemType.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(ProblemType.class, storedProblemType.getId())).isFalse();
+    }
+
     @Test
     void findProblemTypeById_ElementNotFound() {
         assertThrows(NoSuchElementException.class, () -> problemTypeService.findById(UUID.randomUUID()));
@@ -191,6 +215,87 @@ public class ProblemTypeServiceTest extends AtlasDatabaseTestBase {
         assertThat(problemTypeList.size()).isEqualTo(3);
     }
 
+    @Test
+    void getParentTreeList_ElementNotFound() {
+        assertThrows(NoSuchElementException.class, () -> problemTypeService.getParentList(UUID.randomUUID()));
+    }
+
+    @Test
+    void findDescendants() {
+        ProblemType root = problemTypeService.create(getFullProblemType("root"));
+        ProblemType child = createChild("child", root);
+        ProblemType otherChild = createChild("otherChild", root);
+        ProblemType grandChild = createChild("grandChild", child);
+
+        List<ProblemType> descendants = problemTypeService.findDescendants(root.getId(), null);
+
+        assertThat(descendants).extracting(ProblemType::getId)
+                .containsExactly(child.getId(), otherChild.getId(), grandChild.getId());
+        assertThat(problemTypeService.findDescendants(grandChild.getId(), null)).isEmpty();
+    }
+
+    @Test
+    void findDescendants_MaxDepth() {
+        ProblemType root = problemTypeService.create(getFullProblemType("root"));
+        ProblemType child = createChild("child", root);
+        createChild("grandChild", child);
+
+        List<ProblemType> descendants = problemTypeService.findDescendants(root.getId(), 1);
+
+        assertThat(descendants).extracting(ProblemType::getId).containsExactly(child.getId());
+        assertThrows(IllegalArgumentException.class, () -> problemTypeService.findDescendants(root.getId(), 0));
+    }
+
+    @Test
+    void findDescendants_ElementNotFound() {
+        assertThrows(NoSuchElementException.class, () -> problemTypeService.findDescendants(UUID.randomUUID(), null));
+    }
+
+    @Test
+    void moveChildren() {
+        ProblemType root = problemTypeService.create(getFullProblemType("root"));
+        ProblemType newRoot = problemTypeService.create(getFullProblemType("newRoot"));
+        ProblemType child = createChild("child", root);
+        ProblemType otherChild = createChild("otherChild", root);
+        ProblemType grandChild = createChild("grandChild", child);
+
+        assertThat(problemTypeService.moveChildren(root.getId(), newRoot.getId())).isEqualTo(2);
+
+        assertThat(problemTypeService.findDescendants(root.getId(), null)).isEmpty();
+        assertThat(problemTypeService.findDescendants(newRoot.getId(), null)).extracting(ProblemType::getId)
+                .containsExactly(child.getId(), otherChild.getId(), grandChild.getId());
+        assertThat(problemTypeService.findById(child.getId()).getParentProblemType()).isEqualTo(newRoot.getId());
+    }
+
+    @Test
+    void moveChildren_IntoOwnSubtree() {
+        ProblemType root = problemTypeService.create(getFullProblemType("root"));
+        ProblemType child = createChild("child", root);
+
+        assertThrows(IllegalArgumentException.class, () -> problemTypeService.moveChildren(root.getId(), root.getId()));
+        assertThrows(IllegalArgumentException.class, () -> problemTypeService.moveChildren(root.getId(), child.getId()));
+        assertThat(problemTypeService.findById(child.getId()).getParentProblemType()).isEqualTo(root.getId());
+    }
+
+    @Test
+    void updateProblemType_ParentCycle() {
+        ProblemType root = problemTypeService.create(getFullProblemType("root"));
+        ProblemType child = createChild("child", root);
+        ProblemType grandChild = createChild("grandChild", child);
+
+        root.setParentProblemType(grandChild.getId());
+        assertThrows(IllegalArgumentException.class, () -> problemTypeService.update(root));
+
+        root.setParentProblemType(root.getId());
+        assertThrows(IllegalArgumentException.class, () -> problemTypeService.update(root));
+    }
+
+    private ProblemType createChild(String name, ProblemType parent) {
+        ProblemType problemType = getFullProblemType(name);
+        problemType.setParentProblemType(parent.getId());
+        return problemTypeService.create(problemType);
+    }
+
     private ProblemType getFullProblemType(String name) {
         ProblemType problemType = new ProblemType();
 
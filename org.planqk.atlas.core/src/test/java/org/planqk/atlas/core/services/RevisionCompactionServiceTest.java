@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.Implementation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RevisionCompactionServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private final RevisionRetentionService revisionRetentionService = mock(RevisionRetentionService.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RevisionCompactionServiceImpl revisionCompactionService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        final ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        when(revisionRetentionService.getRetainedTypes()).thenReturn(List.of(Algorithm.class, Implementation.class));
+        when(revisionRetentionService.getMaxRevisions(Algorithm.class)).thenReturn(20);
+        when(revisionRetentionService.getMaxRevisions(Implementation.class)).thenReturn(0);
+
+        revisionCompactionService = new RevisionCompactionServiceImpl(revisionRetentionService,
+                mock(PlatformTransactionManager.class), meterRegistryProvider);
+        ReflectionTestUtils.setField(revisionCompactionService, "batchSize", BATCH_SIZE);
+    }
+
+    @Test
+    void compact_TrimsArtifactsInBatches() {
+        final List<UUID> firstBatch = List.of(UUID.randomUUID(), UUID.randomUUID());
+        final List<UUID> secondBatch = List.of(UUID.randomUUID());
+        when(revisionRetentionService.countArtifactsExceedingLimit(Algorithm.class, 20)).thenReturn(3L);
+        when(revisionRetentionService.findArtifactsExceedingLimit(Algorithm.class, 20, null, BATCH_SIZE)).thenReturn(firstBatch);
+        when(revisionRetentionService.findArtifactsExceedingLimit(Algorithm.class, 20, firstBatch.get(1), BATCH_SIZE))
+                .thenReturn(secondBatch);
+        when(revisionRetentionService.pruneRevisions(Algorithm.class, firstBatch, 20)).thenReturn(10);
+        when(revisionRetentionService.pruneRevisions(Algorithm.class, secondBatch, 20)).thenReturn(5);
+
+        final RevisionCompactionResult result = revisionCompactionService.compact().orElseThrow();
+
+        assertThat(result.getTrimmedArtifacts()).isEqualTo(3);
+        assertThat(result.getDeletedRevisions()).isEqualTo(15);
+        assertThat(revisionCompactionService.isRunning()).isFalse();
+        assertThat(revisionCompactionService.getProgress()).isEqualTo(1);
+        // implementations keep all revisions
+        verify(revisionRetentionService, never()).findArtifactsExceedingLimit(eq(Implementation.class), anyInt(), any(), anyInt());
+        assertThat(meterRegistry.get(RevisionCompactionServiceImpl.METRIC_PREFIX + ".deleted")
+                .tag("table", "revisions").counter().count()).isEqualTo(15);
+        assertThat(meterRegistry.get(RevisionCompactionServiceImpl.METRIC_PREFIX + ".duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void compact_DeletesOrphanedRevisionInfosInBatches() {
+        when(revisionRetentionService.findArtifactsExceedingLimit(Algorithm.class, 20, null, BATCH_SIZE)).thenReturn(List.of());
+        when(revisionRetentionService.deleteOrphanedRevisionInfos(BATCH_SIZE)).thenReturn(BATCH_SIZE, 1);
+
+        final RevisionCompactionResult result = revisionCompactionService.compact().orElseThrow();
+
+        assertThat(result.getTrimmedArtifacts()).isZero();
+        assertThat(result.getDeletedRevisionInfos()).isEqualTo(3);
+        assertThat(meterRegistry.get(RevisionCompactionServiceImpl.METRIC_PREFIX + ".deleted")
+                .tag("table", "revinfo").counter().count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.KnowledgeArtifact;
+import org.planqk.atlas.core.model.QuantumImplementation;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class RevisionRetentionServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final AtomicLong revisionCount = new AtomicLong();
+
+    private final AtomicReference<String> pruneSql = new AtomicReference<>();
+
+    private final Query countQuery = mock(Query.class, RETURNS_SELF);
+
+    private final Query pruneQuery = mock(Query.class, RETURNS_SELF);
+
+    @SuppressWarnings("unchecked")
+    private final NativeQuery<Object> nativePruneQuery = mock(NativeQuery.class, RETURNS_SELF);
+
+    private RevisionRetentionServiceImpl revisionRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        final EntityManager entityManager = mock(EntityManager.class);
+        doAnswer(invocation -> {
+            final String sql = invocation.getArgument(0);
+            if (sql.startsWith("SELECT count(*)")) {
+                return countQuery;
+            }
+            pruneSql.set(sql);
+            return pruneQuery;
+        }).when(entityManager).createNativeQuery(anyString());
+        doAnswer(invocation -> BigInteger.valueOf(revisionCount.get())).when(countQuery).getSingleResult();
+        doReturn(nativePruneQuery).when(pruneQuery).unwrap(NativeQuery.class);
+        when(nativePruneQuery.getSingleResult()).thenReturn(BigInteger.ONE);
+
+        revisionRetentionService = new RevisionRetentionServiceImpl(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(revisionRetentionService, "algorithmMaxRevisions", 20);
+        ReflectionTestUtils.setField(revisionRetentionService, "implementationMaxRevisions", 5);
+        ReflectionTestUtils.setField(revisionRetentionService, "mode", RevisionRetentionService.RetentionMode.INLINE);
+        ReflectionTestUtils.setField(revisionRetentionService, "entityManager", entityManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        revisionRetentionService.shutdown();
+    }
+
+    @Test
+    void getMaxRevisions() {
+        assertThat(revisionRetentionService.getMaxRevisions(ClassicAlgorithm.class)).isEqualTo(20);
+        assertThat(revisionRetentionService.getMaxRevisions(QuantumImplementation.class)).isEqualTo(5);
+        assertThrows(IllegalArgumentException.class, () -> revisionRetentionService.getMaxRevisions(KnowledgeArtifact.class));
+    }
+
+    @Test
+    void applyRetention_BelowLimit() {
+        revisionCount.set(19);
+
+        revisionRetentionService.applyRetention(getAlgorithm());
+
+        verify(nativePruneQuery, never()).getSingleResult();
+    }
+
+    @Test
+    void applyRetention_LimitReached() {
+        revisionCount.set(20);
+
+        revisionRetentionService.applyRetention(getAlgorithm());
+
+        // one revision less than the limit is kept, as the update creates a new revision on commit
+        verify(pruneQuery).setParameter("keep", 19);
+        verify(nativePruneQuery).getSingleResult();
+    }
+
+    @Test
+    void applyRetention_Disabled() {
+        ReflectionTestUtils.setField(revisionRetentionService, "algorithmMaxRevisions", 0);
+        revisionCount.set(100);
+
+        revisionRetentionService.applyRetention(getAlgorithm());
+
+        verify(countQuery, never()).getSingleResult();
+        verify(nativePruneQuery, never()).getSingleResult();
+    }
+
+    @Test
+    void applyRetention_Deferred() {
+        ReflectionTestUtils.setField(revisionRetentionService, "mode", RevisionRetentionService.RetentionMode.AFTER_COMMIT);
+        revisionRetentionService.initialize();
+        revisionCount.set(21);
+
+        revisionRetentionService.applyRetention(getAlgorithm());
+
+        verify(nativePruneQuery, timeout(TIMEOUT_MILLIS)).getSingleResult();
+        verify(pruneQuery).setParameter("keep", 20);
+    }
+
+    @Test
+    void applyRetention_Scheduled() {
+        ReflectionTestUtils.setField(revisionRetentionService, "mode", RevisionRetentionService.RetentionMode.SCHEDULED);
+        revisionCount.set(100);
+
+        revisionRetentionService.applyRetention(getAlgorithm());
+
+        verify(countQuery, never()).getSingleResult();
+        verify(nativePruneQuery, never()).getSingleResult();
+    }
+
+    @Test
+    void pruneRevisions_AllRevisionTables() {
+        final UUID implementationId = UUID.randomUUID();
+
+        assertThat(revisionRetentionService.pruneRevisions(QuantumImplementation.class, implementationId, 0)).isEqualTo(1);
+
+        assertThat(pruneSql.get())
+                .contains("DELETE FROM classic_implementation_revisions")
+                .contains("DELETE FROM quantum_implementation_revisions")
+                .contains("DELETE FROM implementation_revisions")
+                .contains("DELETE FROM knowledge_artifact_revisions")
+                .contains("DELETE FROM revinfo")
+                .doesNotContain("algorithm_revisions");
+        verify(pruneQuery).setParameter("ids", List.of(implementationId));
+        verify(nativePruneQuery).addSynchronizedQuerySpace("revinfo");
+    }
+
+    private ClassicAlgorithm getAlgorithm() {
+        final ClassicAlgorithm algorithm = new ClassicAlgorithm();
+        algorithm.setId(UUID.randomUUID());
+        return algorithm;
+    }
+}
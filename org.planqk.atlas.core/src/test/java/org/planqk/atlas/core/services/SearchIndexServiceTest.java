@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.core.repository.AlgorithmRepository;
+import org.planqk.atlas.core.repository.ImplementationRepository;
+import org.planqk.atlas.core.repository.PublicationRepository;
+import org.planqk.atlas.core.repository.TagRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class SearchIndexServiceTest {
+
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+
+    private final Map<UUID, Algorithm> algorithms = new ConcurrentHashMap<>();
+
+    private final AlgorithmRepository algorithmRepository = mock(AlgorithmRepository.class);
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+
+    private SearchIndexServiceImpl searchIndexService;
+
+    @TempDir
+    Path indexDirectory;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        doAnswer(invocation -> ((Collection<UUID>) invocation.getArgument(0)).stream()
+                .filter(algorithms::containsKey)
+                .map(algorithms::get)
+                .collect(Collectors.toList()))
+                .when(algorithmRepository).findAllById(any());
+
+        final EntityManager entityManager = mock(EntityManager.class);
+        doAnswer(invocation -> {
+            final String jpql = invocation.getArgument(0);
+            final TypedQuery<Object> query = mock(TypedQuery.class, RETURNS_SELF);
+            final boolean algorithmQuery = jpql.contains("FROM Algorithm ");
+            final Date[] modifiedAfter = {new Date(0)};
+            doAnswer(parameterInvocation -> {
+                modifiedAfter[0] = parameterInvocation.getArgument(1);
+                return query;
+            }).when(query).setParameter(anyString(), any());
+            doAnswer(streamInvocation -> algorithmQuery ? algorithms.values().stream() : Stream.empty())
+                    .when(query).getResultStream();
+            doAnswer(listInvocation -> algorithms.values().stream()
+                    .filter(algorithm -> algorithmQuery && algorithm.getLastModifiedAt().after(modifiedAfter[0]))
+                    .map(Algorithm::getId)
+                    .collect(Collectors.toList()))
+                    .when(query).getResultList();
+            doAnswer(resultInvocation -> algorithms.values().stream()
+                    .map(Algorithm::getLastModifiedAt)
+                    .max(Date::compareTo)
+                    .orElse(null))
+                    .when(query).getSingleResult();
+            return query;
+        }).when(entityManager).createQuery(anyString(), any(Class.class));
+
+        searchIndexService = new SearchIndexServiceImpl(mock(PlatformTransactionManager.class), algorithmRepository,
+                mock(ImplementationRepository.class), mock(PublicationRepository.class), tagRepository);
+        ReflectionTestUtils.setField(searchIndexService, "enabled", true);
+        ReflectionTestUtils.setField(searchIndexService, "indexDirectory", indexDirectory.toString());
+        ReflectionTestUtils.setField(searchIndexService, "flushDelay", 0L);
+        ReflectionTestUtils.setField(searchIndexService, "syncInterval", 60000L);
+        ReflectionTestUtils.setField(searchIndexService, "entityManager", entityManager);
+        searchIndexService.initialize();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        searchIndexService.shutdown();
+    }
+
+    @Test
+    void supports_BeforeRebuild() {
+        assertThat(searchIndexService.supports(Pageable.unpaged())).isFalse();
+    }
+
+    @Test
+    void supports_SortedPageable() {
+        searchIndexService.rebuildIndex();
+
+        assertThat(searchIndexService.supports(Pageable.unpaged())).isTrue();
+        assertThat(searchIndexService.supports(PageRequest.of(0, 10, Sort.by("name")))).isFalse();
+    }
+
+    @Test
+    void isIndexed() {
+        assertThat(searchIndexService.isIndexed(ClassicAlgorithm.class)).isTrue();
+        assertThat(searchIndexService.isIndexed(Tag.class)).isTrue();
+        assertThat(searchIndexService.isIndexed(String.class)).isFalse();
+    }
+
+    @Test
+    void search_RankedByRelevance() {
+        addAlgorithm("Shor", "Factorization", "Uses quantum period finding");
+        addAlgorithm("Period Finding", "Find the period of a function", "");
+        addAlgorithm("Grover", "Unstructured search", "");
+        searchIndexService.rebuildIndex();
+
+        final List<Algorithm> result = searchIndexService.search(Algorithm.class, "period find", Pageable.unpaged()).getContent();
+
+        assertThat(result).extracting(Algorithm::getName).containsExactly("Period Finding", "Shor");
+    }
+
+    @Test
+    void search_Paged() {
+        addAlgorithm("Algorithm 1", "quantum", "");
+        addAlgorithm("Algorithm 2", "quantum", "");
+        addAlgorithm("Algorithm 3", "quantum", "");
+        searchIndexService.rebuildIndex();
+
+        final var page = searchIndexService.search(Algorithm.class, "quant", PageRequest.of(1, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(1);
+    }
+
+    @Test
+    void search_NoTerms() {
+        addAlgorithm("Shor", "Factorization", "");
+        searchIndexService.rebuildIndex();
+
+        assertThat(searchIndexService.search(Algorithm.class, "&%!", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void search_OnlyEntitiesOfType() {
+        addAlgorithm("quantum", "", "");
+        searchIndexService.rebuildIndex();
+
+        assertThat(searchIndexService.search(Tag.class, "quantum", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void scheduleUpdate_and_scheduleDelete() throws InterruptedException {
+        searchIndexService.rebuildIndex();
+
+        final Algorithm algorithm = addAlgorithm("Shor", "Factorization", "");
+        searchIndexService.scheduleUpdate(algorithm);
+        awaitSearchResults("factor", 1);
+
+        algorithm.setIntent("Integer decomposition");
+        searchIndexService.scheduleUpdate(algorithm);
+        awaitSearchResults("decomposition", 1);
+        assertThat(searchIndexService.search(Algorithm.class, "factor", Pageable.unpaged())).isEmpty();
+
+        algorithms.remove(algorithm.getId());
+        searchIndexService.scheduleDelete(algorithm);
+        awaitSearchResults("decomposition", 0);
+    }
+
+    @Test
+    void synchronize_UpToDateIndexIsReused() throws Exception {
+        addAlgorithm("Shor", "Factorization", "");
+        searchIndexService.rebuildIndex();
+        searchIndexService.shutdown();
+
+        when(algorithmRepository.count()).thenReturn(1L);
+        algorithms.clear();
+        searchIndexService.initialize();
+        searchIndexService.onApplicationReady();
+        awaitAvailable();
+
+        // the index was not rebuilt, otherwise the algorithm would have been removed from it
+        assertThat(searchIndexService.search(Algorithm.class, "shor", Pageable.unpaged()).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void synchronize_StaleIndexIsRebuilt() throws Exception {
+        addAlgorithm("Shor", "Factorization", "");
+        searchIndexService.rebuildIndex();
+        searchIndexService.shutdown();
+
+        when(algorithmRepository.count()).thenReturn(2L);
+        addAlgorithm("Grover", "Unstructured search", "");
+        searchIndexService.initialize();
+        searchIndexService.onApplicationReady();
+        awaitAvailable();
+
+        assertThat(searchIndexService.search(Algorithm.class, "grover", Pageable.unpaged()).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void synchronize_ArtifactsModifiedWhileDownAreIndexed() throws Exception {
+        final Algorithm algorithm = addAlgorithm("Shor", "Factorization", "");
+        algorithm.setLastModifiedAt(new Date(System.currentTimeMillis() - 3600_000));
+        searchIndexService.rebuildIndex();
+        searchIndexService.shutdown();
+
+        when(algorithmRepository.count()).thenReturn(1L);
+        algorithm.setIntent("Integer decomposition");
+        algorithm.setLastModifiedAt(new Date());
+        searchIndexService.initialize();
+        searchIndexService.onApplicationReady();
+        awaitAvailable();
+
+        assertThat(searchIndexService.search(Algorithm.class, "decomposition", Pageable.unpaged()).getTotalElements()).isEqualTo(1);
+        assertThat(searchIndexService.search(Algorithm.class, "factor", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void synchronize_PeriodicallyIndexesUnreportedChanges() throws Exception {
+        ReflectionTestUtils.setField(searchIndexService, "syncInterval", 10L);
+        when(algorithmRepository.count()).thenAnswer(invocation -> (long) algorithms.size());
+        searchIndexService.onApplicationReady();
+        awaitAvailable();
+
+        // e.g. modified by another instance sharing the database
+        final Algorithm algorithm = addAlgorithm("Shor", "Factorization", "");
+        awaitSearchResults("factor", 1);
+
+        algorithm.setIntent("Integer decomposition");
+        algorithm.setLastModifiedAt(new Date());
+        awaitSearchResults("decomposition", 1);
+    }
+
+    private Algorithm addAlgorithm(String name, String intent, String solution) {
+        final Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setId(UUID.randomUUID());
+        algorithm.setName(name);
+        algorithm.setIntent(intent);
+        algorithm.setSolution(solution);
+        algorithm.setLastModifiedAt(new Date());
+        algorithms.put(algorithm.getId(), algorithm);
+        return algorithm;
+    }
+
+    private void awaitSearchResults(String search, long expectedResults) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        while (searchIndexService.search(Algorithm.class, search, Pageable.unpaged()).getTotalElements() != expectedResults
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(searchIndexService.search(Algorithm.class, search, Pageable.unpaged()).getTotalElements())
+                .isEqualTo(expectedResults);
+    }
+
+    private void awaitAvailable() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        while (!searchIndexService.supports(Pageable.unpaged()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(searchIndexService.supports(Pageable.unpaged())).isTrue();
+    }
+}
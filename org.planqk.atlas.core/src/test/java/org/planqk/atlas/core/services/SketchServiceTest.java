@@ -25,12 +25,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.planqk.atlas.core.model.Algorithm;
@@ -38,13 +41,17 @@ import org.planqk.atlas.core.model.ApplicationArea;
 import org.planqk.atlas.core.model.ClassicAlgorithm;
 import org.planqk.atlas.core.model.ComputationModel;
 import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.ImageMetadata;
 import org.planqk.atlas.core.model.Sketch;
 import org.planqk.atlas.core.repository.ImageRepository;
 import org.planqk.atlas.core.repository.SketchRepository;
 import org.planqk.atlas.core.util.AtlasDatabaseTestBase;
+import org.planqk.atlas.core.util.ContentHashUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mock.web.MockMultipartFile;
 
+import lombok.SneakyThrows;
+
 public class SketchServiceTest extends AtlasDatabaseTestBase {
 
     @Autowired
@@ -170,15 +177,12 @@ public class SketchServiceTest extends AtlasDatabaseTestBase {
         // mock
         final Algorithm algorithm = this.algorithmService.create(this.getAlgorithm("algo"));
 
-        final Sketch sketch = this.getSketch(null, "http://image/url", "description");
-        sketch.setAlgorithm(algorithm);
-        final Sketch persistedSketch = this.sketchRepository.save(sketch);
-
         byte[] testFile = hexStringToByteArray("e04fd020ea3a6910a2d808002b30309d");
         final Image image = new Image();
         image.setImage(testFile);
-        image.setSketch(persistedSketch);
-        this.imageRepository.save(image);
+        final Sketch sketch = this.getSketch(image, "http://image/url", "description");
+        sketch.setAlgorithm(algorithm);
+        final Sketch persistedSketch = this.sketchRepository.save(sketch);
 
         // call
         final byte[] response = this.sketchService.getImageBySketch(persistedSketch.getId()).getImage();
@@ -187,6 +191,69 @@ public class SketchServiceTest extends AtlasDatabaseTestBase {
         assertTrue(Arrays.equals(response, testFile));
     }
 
+    @Test
+    @SneakyThrows
+    void getImageMetadataBySketch_binaryContent() {
+        final Algorithm algorithm = this.algorithmService.create(this.getAlgorithm("algo"));
+        byte[] testFile = hexStringToByteArray("e04fd020ea3a6910a2d808002b30309d");
+        final MockMultipartFile file = new MockMultipartFile("image", "image.png", "image/png", testFile);
+        final Sketch persistedSketch = sketchService.addSketchToAlgorithm(algorithm.getId(), file, "description", "http://localhost");
+
+        final ImageMetadata metadata = sketchService.getImageMetadataBySketch(persistedSketch.getId());
+
+        assertThat(metadata.getMimeType()).isEqualTo("image/png");
+        assertThat(metadata.getContentLength()).isEqualTo(testFile.length);
+        assertThat(metadata.getContentHash()).isEqualTo(ContentHashUtils.hash(testFile));
+        try (InputStream inputStream = sketchService.getImageContent(metadata).getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(testFile);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getImageMetadataBySketch_legacyContent() {
+        final Algorithm algorithm = this.algorithmService.create(this.getAlgorithm("algo"));
+        byte[] testFile = hexStringToByteArray("e04fd020ea3a6910a2d808002b30309d");
+        final Image image = new Image();
+        image.setImage(Base64.getEncoder().encode(testFile));
+        final Sketch sketch = this.getSketch(image, "http://image/url", "description");
+        sketch.setAlgorithm(algorithm);
+        final Sketch persistedSketch = this.sketchRepository.save(sketch);
+
+        final ImageMetadata metadata = sketchService.getImageMetadataBySketch(persistedSketch.getId());
+
+        assertThat(metadata.getContentLength()).isEqualTo(testFile.length);
+        assertThat(metadata.getContentHash()).isEqualTo(ContentHashUtils.hash(testFile));
+        try (InputStream inputStream = sketchService.getImageContent(metadata).getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(testFile);
+        }
+        // reading the image does not migrate it
+        assertThat(this.sketchService.getImageBySketch(persistedSketch.getId()).getContentHash()).isNull();
+    }
+
+    @Test
+    void migrateLegacyImages() {
+        final Algorithm algorithm = this.algorithmService.create(this.getAlgorithm("algo"));
+        byte[] testFile = hexStringToByteArray("e04fd020ea3a6910a2d808002b30309d");
+        final Image image = new Image();
+        image.setImage(Base64.getEncoder().encode(testFile));
+        final Sketch sketch = this.getSketch(image, "http://image/url", "description");
+        sketch.setAlgorithm(algorithm);
+        final Sketch persistedSketch = this.sketchRepository.save(sketch);
+
+        assertThat(sketchService.migrateLegacyImages()).isEqualTo(1);
+        assertThat(sketchService.migrateLegacyImages()).isEqualTo(0);
+
+        final Image migratedImage = this.sketchService.getImageBySketch(persistedSketch.getId());
+        assertThat(migratedImage.getImage()).isEqualTo(testFile);
+        assertThat(migratedImage.getContentHash()).isEqualTo(ContentHashUtils.hash(testFile));
+    }
+
+    @Test
+    void getImageMetadataBySketch_ElementNotFound() {
+        assertThrows(NoSuchElementException.class, () -> sketchService.getImageMetadataBySketch(UUID.randomUUID()));
+    }
+
     private Sketch getSketch(final Image image, final String imageURLAsString, final String description) {
         final Sketch sketch = new Sketch();
         sketch.setImage(image);
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.ImageMetadata;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+import lombok.SneakyThrows;
+
+public class ThumbnailServiceTest {
+
+    private static final int MAX_WIDTH = 512;
+
+    private final SketchService sketchService = mock(SketchService.class);
+
+    private final ImageMetadata image = mock(ImageMetadata.class);
+
+    private ThumbnailServiceImpl thumbnailService;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB), "png", content);
+        when(image.getId()).thenReturn(UUID.randomUUID());
+        when(image.getContentHash()).thenReturn("abc123");
+        when(sketchService.getImageContent(image)).thenReturn(new ByteArrayResource(content.toByteArray()));
+
+        thumbnailService = new ThumbnailServiceImpl(sketchService, MAX_WIDTH, DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    @SneakyThrows
+    void getThumbnail_ScaledDownKeepingAspectRatio() {
+        final Thumbnail thumbnail = thumbnailService.getThumbnail(image, 100, "jpeg");
+
+        final BufferedImage result = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+        assertThat(result.getWidth()).isEqualTo(100);
+        assertThat(result.getHeight()).isEqualTo(75);
+        assertThat(thumbnail.getMimeType()).isEqualTo("image/jpeg");
+        assertThat(thumbnail.getContentHash()).hasSize(64);
+    }
+
+    @Test
+    @SneakyThrows
+    void getThumbnail_NotScaledUp() {
+        final Thumbnail thumbnail = thumbnailService.getThumbnail(image, null, null);
+
+        final BufferedImage result = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+        assertThat(result.getWidth()).isEqualTo(400);
+        assertThat(thumbnail.getMimeType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void getThumbnail_Cached() {
+        final Thumbnail first = thumbnailService.getThumbnail(image, 100, "png");
+        final Thumbnail second = thumbnailService.getThumbnail(image, 100, "png");
+
+        assertThat(second).isSameAs(first);
+        verify(sketchService, times(1)).getImageContent(image);
+    }
+
+    @Test
+    void getThumbnail_InvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> thumbnailService.getThumbnail(image, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> thumbnailService.getThumbnail(image, MAX_WIDTH + 1, null));
+        assertThrows(IllegalArgumentException.class, () -> thumbnailService.getThumbnail(image, 100, "gif"));
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.SneakyThrows;
+
+public class ChannelResourceTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Long> openedPositions = new ArrayList<>();
+
+    private final ChannelResource resource = new ChannelResource("file.txt", CONTENT.length, 0, position -> {
+        openedPositions.add(position);
+        return Channels.newChannel(new ByteArrayInputStream(CONTENT, (int) position, CONTENT.length - (int) position));
+    });
+
+    @Test
+    @SneakyThrows
+    void getInputStream_ReadAll() {
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(CONTENT);
+        }
+        assertThat(openedPositions).containsExactly(0L);
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        assertThat(resource.getFilename()).isEqualTo("file.txt");
+    }
+
+    @Test
+    @SneakyThrows
+    void getInputStream_SkipBeforeRead_OpensAtPosition() {
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertThat(inputStream.skip(3)).isEqualTo(3);
+            assertThat(inputStream.skip(2)).isEqualTo(2);
+            assertThat(inputStream.read()).isEqualTo('5');
+            assertThat(inputStream.skip(2)).isEqualTo(2);
+            assertThat(inputStream.readAllBytes()).isEqualTo("89".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(openedPositions).containsExactly(5L);
+    }
+
+    @Test
+    @SneakyThrows
+    void getInputStream_NotRead_ChannelNotOpened() {
+        resource.getInputStream().close();
+
+        assertThat(openedPositions).isEmpty();
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.SneakyThrows;
+
+public class ContentHashUtilsTest {
+
+    private static final byte[] CONTENT = "abc".getBytes(StandardCharsets.UTF_8);
+
+    private static final String CONTENT_HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    @SneakyThrows
+    void hash() {
+        assertThat(ContentHashUtils.hash(new ByteArrayInputStream(CONTENT))).isEqualTo(CONTENT_HASH);
+    }
+
+    @Test
+    @SneakyThrows
+    void transfer_WritesContentAndReturnsHash() {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        final String hash = ContentHashUtils.transfer(new ByteArrayInputStream(CONTENT), Channels.newChannel(target));
+
+        assertThat(hash).isEqualTo(CONTENT_HASH);
+        assertThat(target.toByteArray()).isEqualTo(CONTENT);
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+public class FullTextSearchUtilsTest {
+
+    @Test
+    void toPrefixQuery_MultipleTerms() {
+        assertThat(FullTextSearchUtils.toPrefixQuery("Shor's  Factoring")).isEqualTo("shor:* & s:* & factoring:*");
+    }
+
+    @Test
+    void toPrefixQuery_NoTerms() {
+        assertThat(FullTextSearchUtils.toPrefixQuery("&|!():*")).isEmpty();
+        assertThat(FullTextSearchUtils.toPrefixQuery(null)).isEmpty();
+    }
+
+    @Test
+    void toLikePattern_EscapeWildcards() {
+        assertThat(FullTextSearchUtils.toLikePattern("100%_a\\b")).isEqualTo("%100\\%\\_a\\\\b%");
+    }
+
+    @Test
+    void toNativePageable_MapSortProperties() {
+        final Pageable pageable = PageRequest.of(2, 10, Sort.by("name").and(Sort.by("creationDate").descending()));
+
+        final Pageable nativePageable = FullTextSearchUtils.toNativePageable(pageable, Map.of("creationDate", "ka"));
+
+        assertThat(nativePageable.getPageNumber()).isEqualTo(2);
+        assertThat(nativePageable.getPageSize()).isEqualTo(10);
+        assertThat(nativePageable.getSort()).containsExactly(Sort.Order.asc("name"), Sort.Order.desc("ka.creation_date"));
+    }
+
+    @Test
+    void resolvePage_KeepOrder() {
+        final List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        final Page<String> idPage = new PageImpl<>(
+                ids.stream().map(UUID::toString).collect(Collectors.toList()), PageRequest.of(0, 3), 7);
+
+        final Page<UUID> page = FullTextSearchUtils.resolvePage(idPage,
+                loadIds -> List.of(ids.get(2), ids.get(0), ids.get(1)), id -> id);
+
+        assertThat(page.getContent()).containsExactlyElementsOf(ids);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void resolveSlice_KeepOrder() {
+        final List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        final Slice<String> idSlice = new SliceImpl<>(
+                ids.stream().map(UUID::toString).collect(Collectors.toList()), PageRequest.of(1, 2), true);
+
+        final Slice<UUID> slice = FullTextSearchUtils.resolveSlice(idSlice, loadIds -> List.of(ids.get(1), ids.get(0)), id -> id);
+
+        assertThat(slice.getContent()).containsExactlyElementsOf(ids);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getNumber()).isEqualTo(1);
+    }
+}
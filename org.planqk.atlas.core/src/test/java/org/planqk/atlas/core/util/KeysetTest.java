@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.springframework.data.domain.Sort;
+
+public class KeysetTest {
+
+    private static final Function<String, Class<?>> TYPES = property -> {
+        switch (property) {
+            case "id":
+                return UUID.class;
+            case "name":
+                return String.class;
+            case "creationDate":
+                return Date.class;
+            case "computationModel":
+                return ComputationModel.class;
+            case "nisqReady":
+                return boolean.class;
+            case "tags":
+                return List.class;
+            default:
+                throw new IllegalArgumentException("Unknown property " + property);
+        }
+    };
+
+    @Test
+    void toQuery_FirstSlice() {
+        final Keyset keyset = Keyset.of(Sort.by("name"), "id", TYPES);
+
+        assertThat(keyset.getProperties()).containsExactly("name", "id");
+        assertThat(keyset.toQuery("Algorithm", "e.name LIKE :pattern", null)).isEqualTo(
+                "SELECT e, e.name, e.id FROM Algorithm e WHERE (e.name LIKE :pattern) ORDER BY e.name ASC NULLS LAST, e.id ASC");
+    }
+
+    @Test
+    void toQuery_SeekAfterValues() {
+        final Keyset keyset = Keyset.of(Sort.by(Sort.Order.asc("name").ignoreCase(), Sort.Order.desc("creationDate")), "id", TYPES);
+        final Object[] values = {"Shor", new Date(), UUID.randomUUID()};
+
+        assertThat(keyset.toQuery("Algorithm", null, values)).isEqualTo("SELECT e, e.name, e.creationDate, e.id FROM Algorithm e "
+                + "WHERE (((lower(e.name) > lower(:k0) OR e.name IS NULL)) "
+                + "OR (lower(e.name) = lower(:k0) AND e.creationDate < :k1) "
+                + "OR (lower(e.name) = lower(:k0) AND e.creationDate = :k1 AND e.id > :k2)) "
+                + "ORDER BY lower(e.name) ASC NULLS LAST, e.creationDate DESC NULLS FIRST, e.id ASC");
+        assertThat(keyset.bindCursor(values)).containsOnlyKeys("k0", "k1", "k2");
+    }
+
+    @Test
+    void toQuery_SeekAfterNullValues() {
+        final Keyset keyset = Keyset.of(Sort.by(Sort.Order.asc("name"), Sort.Order.desc("creationDate")), "id", TYPES);
+        final Object[] values = {null, null, UUID.randomUUID()};
+
+        assertThat(keyset.toQuery("Algorithm", null, values)).isEqualTo("SELECT e, e.name, e.creationDate, e.id FROM Algorithm e "
+                + "WHERE ((e.name IS NULL AND e.creationDate IS NOT NULL) "
+                + "OR (e.name IS NULL AND e.creationDate IS NULL AND e.id > :k2)) "
+                + "ORDER BY e.name ASC NULLS LAST, e.creationDate DESC NULLS FIRST, e.id ASC");
+        assertThat(keyset.bindCursor(values)).containsOnlyKeys("k2");
+    }
+
+    @Test
+    void toQuery_SortById() {
+        final Keyset keyset = Keyset.of(Sort.by("id").descending(), "id", TYPES);
+
+        assertThat(keyset.toQuery("Algorithm", null, new Object[] {UUID.randomUUID()}))
+                .isEqualTo("SELECT e, e.id FROM Algorithm e WHERE ((e.id < :k0)) ORDER BY e.id DESC");
+    }
+
+    @Test
+    void cursor_RoundTrip() {
+        final Keyset keyset = Keyset.of(Sort.by("name", "creationDate", "computationModel", "nisqReady"), "id", TYPES);
+        final Timestamp creationDate = Timestamp.from(Instant.parse("2021-03-04T05:06:07.123456Z"));
+        final Object[] values = {"Shor's.algorithm ~ ünïcode", creationDate, ComputationModel.QUANTUM, true, UUID.randomUUID()};
+
+        final String cursor = keyset.encodeCursor(values);
+
+        assertThat(cursor).matches("[A-Za-z0-9_.~-]+");
+        assertThat(keyset.decodeCursor(cursor)).containsExactly(values);
+        assertThat(keyset.decodeCursor(keyset.encodeCursor(new Object[] {null, null, null, null, values[4]})))
+                .containsExactly(null, null, null, null, values[4]);
+    }
+
+    @Test
+    void decodeCursor_DifferentSort_throwIllegalArgumentException() {
+        final String cursor = Keyset.of(Sort.by("name"), "id", TYPES).encodeCursor(new Object[] {"Shor", UUID.randomUUID()});
+
+        assertThatThrownBy(() -> Keyset.of(Sort.by("name").descending(), "id", TYPES).decodeCursor(cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodeCursor_InvalidCursor_throwIllegalArgumentException() {
+        final Keyset keyset = Keyset.of(Sort.by("creationDate"), "id", TYPES);
+        final String invalidDate = keyset.encodeCursor(new Object[] {"yesterday", UUID.randomUUID()});
+
+        assertThatThrownBy(() -> keyset.decodeCursor("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> keyset.decodeCursor("abc")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> keyset.decodeCursor(invalidDate)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void of_UnsupportedProperty_throwIllegalArgumentException() {
+        assertThatThrownBy(() -> Keyset.of(Sort.by("tags"), "id", TYPES)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Keyset.of(Sort.by("unknown"), "id", TYPES)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bindCursor_SkipNullValues() {
+        final Keyset keyset = Keyset.of(Sort.by("name"), "id", TYPES);
+        final UUID id = UUID.randomUUID();
+
+        assertThat(keyset.bindCursor(new Object[] {null, id})).isEqualTo(Map.of("k1", id));
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StatementMonitorTest {
+
+    private final StatementMonitor statementMonitor = new StatementMonitor(-1, 2);
+
+    private Connection targetConnection;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void initialize() throws SQLException {
+        targetConnection = mock(Connection.class);
+        when(targetConnection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final PreparedStatement statement = mock(PreparedStatement.class);
+            if (invocation.getArgument(0).equals("slow")) {
+                doAnswer(executeInvocation -> {
+                    Thread.sleep(20);
+                    return true;
+                }).when(statement).execute();
+            }
+            return statement;
+        });
+        when(targetConnection.createStatement()).thenAnswer(invocation -> mock(Statement.class));
+        final DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(targetConnection);
+        dataSource = statementMonitor.wrap(target);
+    }
+
+    @Test
+    void open_RecordsExecutedStatements() throws SQLException {
+        try (StatementMonitor.Scope scope = statementMonitor.open();
+             Connection connection = dataSource.getConnection()) {
+            final PreparedStatement statement = connection.prepareStatement("fast");
+            statement.execute();
+            statement.executeQuery();
+            connection.createStatement().executeUpdate("update");
+            connection.prepareStatement("slow").execute();
+            // not executed
+            connection.prepareStatement("unused");
+
+            assertThat(scope.getStatistics().getStatementCount()).isEqualTo(4);
+            assertThat(scope.getStatistics().getTotalTime().toMillis()).isGreaterThanOrEqualTo(20);
+            assertThat(scope.getStatistics().getSlowestStatements()).hasSize(2)
+                    .first().extracting(StatementStatistics.TimedStatement::getSql).isEqualTo("slow");
+        }
+    }
+
+    @Test
+    void open_CountsMatchingStatements() throws SQLException {
+        try (StatementMonitor.Scope scope = statementMonitor.open(sql -> sql.startsWith("select"));
+             Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select first").execute();
+            connection.prepareStatement("update").execute();
+            connection.createStatement().executeQuery("select second");
+
+            assertThat(scope.getStatistics().getStatementCount()).isEqualTo(3);
+            assertThat(scope.getStatistics().getMatchingStatementCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void open_Nested() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        try (StatementMonitor.Scope outer = statementMonitor.open()) {
+            connection.prepareStatement("first").execute();
+            try (StatementMonitor.Scope inner = statementMonitor.open()) {
+                connection.prepareStatement("second").execute();
+                assertThat(inner.getStatistics().getStatementCount()).isEqualTo(1);
+                assertThatThrownBy(outer::close).isInstanceOf(IllegalStateException.class);
+            }
+            connection.prepareStatement("third").execute();
+            assertThat(outer.getStatistics().getStatementCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void close_StopsRecording() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        final StatementMonitor.Scope scope = statementMonitor.open();
+        scope.close();
+        connection.prepareStatement("select").execute();
+
+        assertThat(scope.getStatistics().getStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    void wrap_DelegatesOtherMethods() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(targetConnection).setAutoCommit(false);
+        verify(targetConnection).close();
+        assertThat(connection).isNotSameAs(targetConnection).isNotEqualTo(dataSource.getConnection());
+    }
+}
@@ -61,6 +61,10 @@ public final class Constants {
 
     public static final String PROBLEM_TYPE_PARENTS = "problem-type-parents";
 
+    public static final String PROBLEM_TYPE_DESCENDANTS = "problem-type-descendants";
+
+    public static final String PROBLEM_TYPE_CHILDREN = "problem-type-children";
+
     public static final String PUBLICATIONS = "publications";
 
     public static final String SKETCHES = "sketches";
@@ -71,6 +75,14 @@ public final class Constants {
 
     public static final String REVISIONS = "revisions";
 
+    public static final String EXPORT = "export";
+
+    public static final String TABLES = "tables";
+
+    public static final String IMPORT = "import";
+
+    public static final String LINKS = "links";
+
     // default Pagination params that are exposed in HATEOAS links
     public static final Integer DEFAULT_PAGE_NUMBER = 0;
 
@@ -83,6 +95,10 @@ public final class Constants {
 
     public static final String SEARCH = "search";
 
+    public static final String AFTER = "after";
+
+    public static final String COUNT = "count";
+
     // Swagger tag names
     public static final String TAG_ALGORITHM = "algorithm";
 
@@ -98,10 +114,16 @@ public final class Constants {
 
     public static final String TAG_DISCUSSION_TOPIC = "discussion-topic";
 
+    public static final String TAG_EXPORT = "export";
+
     public static final String TAG_EXECUTION_ENVIRONMENTS = "execution-environments";
 
     public static final String TAG_IMPLEMENTATIONS = "implementations";
 
+    public static final String TAG_IMPORT = "import";
+
+    public static final String TAG_LINKS = "links";
+
     public static final String TAG_PATTERN_RELATION = "pattern-relation";
 
     public static final String TAG_PATTERN_RELATION_TYPE = "pattern-relation-type";
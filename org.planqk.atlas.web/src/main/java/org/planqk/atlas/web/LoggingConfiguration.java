@@ -19,10 +19,14 @@
 
 package org.planqk.atlas.web;
 
+import org.planqk.atlas.core.util.StatementMonitor;
+import org.planqk.atlas.web.utils.StatementMetricsFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Configuration
@@ -35,4 +39,10 @@ public class LoggingConfiguration {
         filter.setIncludeQueryString(true);
         return filter;
     }
+
+    @Bean
+    public StatementMetricsFilter statementMetricsFilter(StatementMonitor statementMonitor, MeterRegistry meterRegistry,
+                                                         @Value("${atlas.jdbc.server-timing.enabled:false}") boolean serverTiming) {
+        return new StatementMetricsFilter(statementMonitor, meterRegistry, serverTiming);
+    }
 }
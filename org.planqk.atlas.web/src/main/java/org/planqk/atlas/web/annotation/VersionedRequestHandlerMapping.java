@@ -19,12 +19,30 @@
 
 package org.planqk.atlas.web.annotation;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 /**
  * Special implementation of RequestMappingHandlerMapping that optionally adds version suffixes to controller URLs.
+ * <p>
+ * Each registration or removal of a handler method increments the mapping version, which allows consumers to cache
+ * information derived from the handler methods.
  */
 public class VersionedRequestHandlerMapping extends RequestMappingHandlerMapping {
+
+    private final AtomicLong mappingVersion = new AtomicLong();
+
+    /**
+     * Returns the version of the registered handler methods, which changes whenever a handler method is registered or
+     * unregistered.
+     */
+    public long getMappingVersion() {
+        return mappingVersion.get();
+    }
+
     /**
      * Utility function to manually add routes from a given handler instance.
      * <p>
@@ -33,4 +51,22 @@ public class VersionedRequestHandlerMapping extends RequestMappingHandlerMapping
     public void populateFromHandler(Object handler) {
         detectHandlerMethods(handler);
     }
+
+    @Override
+    public void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        mappingVersion.incrementAndGet();
+    }
+
+    @Override
+    public void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        mappingVersion.incrementAndGet();
+    }
+
+    @Override
+    protected void registerHandlerMethod(Object handler, Method method, RequestMappingInfo mapping) {
+        super.registerHandlerMethod(handler, method, mapping);
+        mappingVersion.incrementAndGet();
+    }
 }
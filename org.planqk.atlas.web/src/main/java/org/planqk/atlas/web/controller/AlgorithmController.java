@@ -19,6 +19,7 @@
 
 package org.planqk.atlas.web.controller;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -26,7 +27,7 @@ import java.util.UUID;
 import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.ApplicationArea;
 import org.planqk.atlas.core.model.ComputeResourceProperty;
-import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.ImageMetadata;
 import org.planqk.atlas.core.model.LearningMethod;
 import org.planqk.atlas.core.model.PatternRelation;
 import org.planqk.atlas.core.model.ProblemType;
@@ -43,6 +44,8 @@ import org.planqk.atlas.core.services.ProblemTypeService;
 import org.planqk.atlas.core.services.PublicationService;
 import org.planqk.atlas.core.services.SketchService;
 import org.planqk.atlas.core.services.TagService;
+import org.planqk.atlas.core.services.Thumbnail;
+import org.planqk.atlas.core.services.ThumbnailService;
 import org.planqk.atlas.web.Constants;
 import org.planqk.atlas.web.dtos.AlgorithmDto;
 import org.planqk.atlas.web.dtos.ApplicationAreaDto;
@@ -61,8 +64,13 @@ import org.planqk.atlas.web.utils.ControllerValidationUtils;
 import org.planqk.atlas.web.utils.ListParameters;
 import org.planqk.atlas.web.utils.ListParametersDoc;
 import org.planqk.atlas.web.utils.ModelMapperUtils;
+import org.planqk.atlas.web.utils.StreamedSlice;
 import org.planqk.atlas.web.utils.ValidationGroups;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -98,10 +106,15 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AlgorithmController {
 
+    // the image of a sketch cannot be changed after it was uploaded
+    private static final Duration SKETCH_IMAGE_MAX_AGE = Duration.ofDays(30);
+
     private final AlgorithmService algorithmService;
 
     private final SketchService sketchService;
 
+    private final ThumbnailService thumbnailService;
+
     private final PatternRelationService patternRelationService;
 
     private final ImplementationService implementationService;
@@ -122,13 +135,24 @@ public class AlgorithmController {
 
     @Operation(responses = {
             @ApiResponse(responseCode = "200")
-    }, description = "Retrieve all algorithms (quantum, hybrid and classic).")
+    }, description = "Retrieve all algorithms (quantum, hybrid and classic). If a cursor is given, a slice of the " +
+            "algorithms is retrieved using keyset pagination instead of a page.")
     @ListParametersDoc
     @GetMapping
-    public ResponseEntity<Page<AlgorithmDto>> getAlgorithms(
+    public ResponseEntity<Slice<AlgorithmDto>> getAlgorithms(
             @Parameter(hidden = true) ListParameters listParameters) {
-        return ResponseEntity.ok(ModelMapperUtils.convertPage(algorithmService.findAll(listParameters.getPageable(),
-                listParameters.getSearch()), AlgorithmDto.class));
+        if (listParameters.isCursorPaged()) {
+            return ResponseEntity.ok(ModelMapperUtils.convertSlice(algorithmService.findSlice(listParameters.getCursorPageRequest(),
+                    listParameters.getSearch()), AlgorithmDto.class));
+        }
+        if (listParameters.isUnpaged()) {
+            final var algorithms = new StreamedSlice<Algorithm>(
+                    action -> algorithmService.streamAll(listParameters.getSort(), listParameters.getSearch(), action),
+                    listParameters.getSort());
+            return ResponseEntity.ok(ModelMapperUtils.convertSlice(algorithms, AlgorithmDto.class));
+        }
+        return ResponseEntity.ok(ModelMapperUtils.convertSlice(algorithmService.findAll(listParameters.getPageable(),
+                listParameters.getSearch(), listParameters.getCountMode()), AlgorithmDto.class));
     }
 
     @Operation(responses = {
@@ -184,7 +208,7 @@ public class AlgorithmController {
     @GetMapping("/{algorithmId}")
     public ResponseEntity<AlgorithmDto> getAlgorithm(
             @PathVariable UUID algorithmId) {
-        final var algorithm = algorithmService.findById(algorithmId);
+        final var algorithm = algorithmService.findDetailedById(algorithmId);
         return ResponseEntity.ok(ModelMapperUtils.convert(algorithm, AlgorithmDto.class));
     }
 
@@ -843,17 +867,39 @@ public class AlgorithmController {
 
     @Operation(responses = {
             @ApiResponse(responseCode = "200"),
+            @ApiResponse(responseCode = "304", description = "Not Modified. The image matches the given entity tag"),
             @ApiResponse(responseCode = "400"),
             @ApiResponse(responseCode = "404", description = "Not Found. Sketch with given ID doesn't exist")
-    }, description = "Retrieve the image of specific Sketch.")
+    }, description = "Retrieve the image of specific Sketch. The response carries an entity tag derived from the " +
+            "image content, so clients can revalidate cached images using the If-None-Match header. If a width or " +
+            "format is given, a thumbnail of the image scaled down to the width and encoded in the format is returned.")
     @GetMapping(value = "/{algorithmId}/" + Constants.SKETCHES + "/{sketchId}" + "/image")
-    public ResponseEntity<byte[]> getSketchImage(@PathVariable UUID algorithmId, @PathVariable UUID sketchId) {
-        final Image image = this.sketchService.getImageBySketch(sketchId);
+    public ResponseEntity<Resource> getSketchImage(
+            @PathVariable UUID algorithmId,
+            @PathVariable UUID sketchId,
+            @Parameter(description = "Maximum width of the thumbnail in pixels")
+            @RequestParam(required = false) Integer width,
+            @Parameter(description = "Format of the thumbnail, png (default) or jpeg")
+            @RequestParam(required = false) String format) {
+        final ImageMetadata image = this.sketchService.getImageMetadataBySketch(sketchId);
+        if (width != null || format != null) {
+            final Thumbnail thumbnail = thumbnailService.getThumbnail(image, width, format);
+            return ResponseEntity
+                    .ok()
+                    .contentType(MediaType.parseMediaType(thumbnail.getMimeType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+                    .eTag(thumbnail.getContentHash())
+                    .cacheControl(CacheControl.maxAge(SKETCH_IMAGE_MAX_AGE))
+                    .body(new ByteArrayResource(thumbnail.getContent()));
+        }
+        // the content is only loaded if it is written, i.e. not for requests answered with 304 Not Modified
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.parseMediaType(image.getMimeType()))
                 .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
-                .body(image.getImage());
+                .eTag(image.getContentHash())
+                .cacheControl(CacheControl.maxAge(SKETCH_IMAGE_MAX_AGE))
+                .body(sketchService.getImageContent(image));
     }
 
     @Operation(responses = {
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.controller;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import javax.servlet.http.HttpServletResponse;
+
+import org.planqk.atlas.core.services.ExportService;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.utils.NdjsonExportWriter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Tag(name = Constants.TAG_EXPORT)
+@RestController
+@CrossOrigin(allowedHeaders = "*", origins = "*")
+@RequestMapping("/" + Constants.EXPORT)
+@AllArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    private final ObjectMapper objectMapper;
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "200"),
+            @ApiResponse(responseCode = "400", description = "Bad Request. Unknown table or key without table.")
+    }, description = "Export the rows of all tables of the knowledge graph as newline-delimited JSON, table by table. " +
+            "Each line contains the table, the primary key and the columns of a row. If a modification " +
+            "date is given, only the knowledge artifacts modified after it are exported, all other tables completely, " +
+            "followed by the IDs of all existing knowledge artifacts to detect deleted ones. " +
+            "An interrupted export can be resumed after the table and key of the last received row.")
+    @GetMapping
+    public void exportAll(
+            @Parameter(description = "Only export knowledge artifacts modified after this date (ISO-8601 instant)")
+            @RequestParam(required = false) Instant since,
+            @Parameter(description = "The table to resume the export at")
+            @RequestParam(required = false) String table,
+            @Parameter(description = "The key values of the row of the table to resume the export after")
+            @RequestParam(required = false) List<String> after,
+            @Parameter(description = "Whether the export is gzip-compressed")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        // validated before the response is started, as errors cannot be reported afterwards
+        if (table != null && !exportService.getTables().contains(table)) {
+            throw new IllegalArgumentException("The table " + table + " is not exported");
+        }
+        if (after != null && !after.isEmpty() && table == null) {
+            throw new IllegalArgumentException("The table of the key to resume after is missing");
+        }
+
+        if (gzip) {
+            response.setContentType(NdjsonExportWriter.GZIP_MEDIA_TYPE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.builder("attachment").filename("atlas-export.ndjson.gz").build().toString());
+        } else {
+            response.setContentType(NdjsonExportWriter.MEDIA_TYPE);
+            response.setCharacterEncoding("UTF-8");
+        }
+        final Date sinceDate = since == null ? null : Date.from(since);
+        final long count = NdjsonExportWriter.write(objectMapper, response.getOutputStream(), gzip,
+                action -> exportService.export(sinceDate, table, after, action));
+        log.debug("Exported {} rows", count);
+    }
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "200")
+    }, description = "Retrieve the names of the exported tables in the order they are exported in.")
+    @GetMapping("/" + Constants.TABLES)
+    public ResponseEntity<List<String>> getExportedTables() {
+        return ResponseEntity.ok(exportService.getTables());
+    }
+}
@@ -50,6 +50,7 @@ import org.planqk.atlas.web.utils.ListParameters;
 import org.planqk.atlas.web.utils.ListParametersDoc;
 import org.planqk.atlas.web.utils.ModelMapperUtils;
 import org.planqk.atlas.web.utils.ValidationGroups;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -175,7 +176,7 @@ public class ImplementationController {
             @PathVariable UUID implementationId) {
         implementationService.checkIfImplementationIsOfAlgorithm(implementationId, algorithmId);
 
-        final var implementation = implementationService.findById(implementationId);
+        final var implementation = implementationService.findDetailedById(implementationId);
         return ResponseEntity.ok(ModelMapperUtils.convert(implementation, ImplementationDto.class));
     }
 
@@ -743,11 +744,14 @@ public class ImplementationController {
 
     @Operation(responses = {
             @ApiResponse(responseCode = "200"),
+            @ApiResponse(responseCode = "206", description = "Partial content of the file for a Range request"),
             @ApiResponse(responseCode = "404",
-                         description = "File of Implementation with given ID doesn't exist")
-    }, description = "Downloads a specific file content of an Implementation")
+                         description = "File of Implementation with given ID doesn't exist"),
+            @ApiResponse(responseCode = "416", description = "Requested range is not satisfiable")
+    }, description = "Downloads a specific file content of an Implementation. The content is streamed from the storage " +
+            "and single or multiple byte ranges can be requested using the Range header.")
     @GetMapping("/{implementationId}/" + Constants.IMPLEMENTATION_PACKAGES + "/{implementationPackageId}/" + Constants.FILE + "/content")
-    public ResponseEntity<byte[]> downloadFileContent(
+    public ResponseEntity<Resource> downloadFileContent(
             @PathVariable UUID algorithmId,
             @PathVariable UUID implementationId,
             @PathVariable UUID implementationPackageId
@@ -763,7 +767,7 @@ public class ImplementationController {
                 .ok()
                 .contentType(MediaType.parseMediaType(file.getMimeType()))
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.getName())
-                .body(fileService.getFileContent(file.getId()));
+                .body(fileService.getFileResource(file.getId()));
     }
 
     @Operation(responses = {
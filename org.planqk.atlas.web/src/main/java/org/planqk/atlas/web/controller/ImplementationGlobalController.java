@@ -29,7 +29,9 @@ import org.planqk.atlas.web.dtos.RevisionDto;
 import org.planqk.atlas.web.utils.ListParameters;
 import org.planqk.atlas.web.utils.ListParametersDoc;
 import org.planqk.atlas.web.utils.ModelMapperUtils;
+import org.planqk.atlas.web.utils.StreamedSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -59,12 +61,24 @@ public class ImplementationGlobalController {
 
     @Operation(responses = {
             @ApiResponse(responseCode = "200"),
-    }, description = "Retrieve all implementations unaffected by its implemented algorithm")
+    }, description = "Retrieve all implementations unaffected by its implemented algorithm. If a cursor is given, a slice " +
+            "of the implementations is retrieved using keyset pagination instead of a page.")
     @ListParametersDoc
     @GetMapping
-    public ResponseEntity<Page<ImplementationDto>> getImplementations(@Parameter(hidden = true) ListParameters listParameters) {
-        final var implementations = implementationService.findAll(listParameters.getPageable());
-        return ResponseEntity.ok(ModelMapperUtils.convertPage(implementations, ImplementationDto.class));
+    public ResponseEntity<Slice<ImplementationDto>> getImplementations(@Parameter(hidden = true) ListParameters listParameters) {
+        if (listParameters.isCursorPaged()) {
+            final var slice = implementationService.findSlice(listParameters.getCursorPageRequest(), listParameters.getSearch());
+            return ResponseEntity.ok(ModelMapperUtils.convertSlice(slice, ImplementationDto.class));
+        }
+        if (listParameters.isUnpaged()) {
+            final var implementations = new StreamedSlice<Implementation>(
+                    action -> implementationService.streamAll(listParameters.getSort(), listParameters.getSearch(), action),
+                    listParameters.getSort());
+            return ResponseEntity.ok(ModelMapperUtils.convertSlice(implementations, ImplementationDto.class));
+        }
+        final var implementations = implementationService.findAll(listParameters.getPageable(), listParameters.getSearch(),
+                listParameters.getCountMode());
+        return ResponseEntity.ok(ModelMapperUtils.convertSlice(implementations, ImplementationDto.class));
     }
 
     @Operation(responses = {
@@ -75,7 +89,7 @@ public class ImplementationGlobalController {
     }, description = "Retrieve a specific implementation and its basic properties.")
     @GetMapping("/{implementationId}")
     public ResponseEntity<ImplementationDto> getImplementation(@PathVariable UUID implementationId) {
-        final var implementation = this.implementationService.findById(implementationId);
+        final var implementation = this.implementationService.findDetailedById(implementationId);
         return ResponseEntity.ok(ModelMapperUtils.convert(implementation, ImplementationDto.class));
     }
 
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Validator;
+
+import org.planqk.atlas.core.services.ImportResult;
+import org.planqk.atlas.core.services.ImportService;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.dtos.ImportResultDto;
+import org.planqk.atlas.web.utils.ImportRecordReader;
+import org.planqk.atlas.web.utils.ModelMapperUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@Tag(name = Constants.TAG_IMPORT)
+@RestController
+@CrossOrigin(allowedHeaders = "*", origins = "*")
+@RequestMapping("/" + Constants.IMPORT)
+@AllArgsConstructor
+public class ImportController {
+
+    private final ImportService importService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "200")
+    }, description = "Import entities and links between them in bulk from newline-delimited JSON or a JSON array, " +
+            "optionally gzip-compressed (Content-Encoding: gzip). Each record is either an entity, e.g. " +
+            "{\"type\":\"algorithm\",\"ref\":\"a1\",\"data\":{...}}, or a link between two entities, e.g. " +
+            "{\"type\":\"link\",\"link\":{\"algorithm\":\"a1\",\"publication\":\"p1\"}}. Entities are referred to by " +
+            "the reference of an earlier record or by their ID. An implementation needs its algorithm as parent, a " +
+            "problem type can have a parent problem type. Records that cannot be imported are skipped and reported " +
+            "in the result.")
+    @PostMapping
+    public ResponseEntity<ImportResultDto> importAll(HttpServletRequest request) throws IOException {
+        final InputStream input = "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))
+                ? new GZIPInputStream(request.getInputStream())
+                : request.getInputStream();
+        final ImportResult result = importService.importAll(new ImportRecordReader(objectMapper, validator, input));
+        return ResponseEntity.ok(toDto(result));
+    }
+
+    private static ImportResultDto toDto(ImportResult result) {
+        final ImportResultDto dto = new ImportResultDto();
+        dto.setImportedRecords(result.getImportedRecords());
+        dto.setFailedRecords(result.getFailedRecords());
+        dto.setDurationMillis(result.getDuration().toMillis());
+        dto.setRecordsPerSecond(result.getRecordsPerSecond());
+        dto.setErrors(result.getErrors().stream()
+                .map(error -> ModelMapperUtils.convert(error, ImportResultDto.RecordErrorDto.class))
+                .collect(Collectors.toList()));
+        return dto;
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.controller;
+
+import java.util.Locale;
+
+import org.planqk.atlas.core.services.LinkType;
+import org.planqk.atlas.core.services.LinkingService;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.dtos.LinkBatchDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@Tag(name = Constants.TAG_LINKS)
+@RestController
+@CrossOrigin(allowedHeaders = "*", origins = "*")
+@RequestMapping("/" + Constants.LINKS)
+@AllArgsConstructor
+public class LinkController {
+
+    private static final String LINK_TYPE_DESCRIPTION = "The type of the links, e.g. algorithm-publication, " +
+            "algorithm-problem-type, algorithm-application-area, algorithm-learning-method, implementation-publication, " +
+            "implementation-software-platform, software-platform-cloud-service, software-platform-compute-resource or " +
+            "cloud-service-compute-resource";
+
+    private final LinkingService linkingService;
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "200"),
+            @ApiResponse(responseCode = "400", description = "Bad Request. Unknown link type, invalid request body " +
+                    "or more than " + LinkingService.MAX_BATCH_SIZE + " IDs on either side."),
+            @ApiResponse(responseCode = "404", description = "Not Found. An entity with one of the given IDs doesn't exist.")
+    }, description = "Link every source entity with every target entity, e.g. many algorithms with one problem type. " +
+            "Pairs that are already linked are skipped. The response contains the amount of created links.")
+    @PostMapping("/{linkType}")
+    public ResponseEntity<LinkBatchDto> linkAll(
+            @Parameter(description = LINK_TYPE_DESCRIPTION) @PathVariable String linkType,
+            @Validated @RequestBody LinkBatchDto linkBatchDto) {
+        final int linked = linkingService.linkAll(parseLinkType(linkType), linkBatchDto.getSourceIds(),
+                linkBatchDto.getTargetIds());
+        linkBatchDto.setChangedLinks(linked);
+        return ResponseEntity.ok(linkBatchDto);
+    }
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "200"),
+            @ApiResponse(responseCode = "400", description = "Bad Request. Unknown link type, invalid request body " +
+                    "or more than " + LinkingService.MAX_BATCH_SIZE + " IDs on either side.")
+    }, description = "Remove the links between every source entity and every target entity. Pairs that are not " +
+            "linked are skipped. The response contains the amount of removed links.")
+    @DeleteMapping("/{linkType}")
+    public ResponseEntity<LinkBatchDto> unlinkAll(
+            @Parameter(description = LINK_TYPE_DESCRIPTION) @PathVariable String linkType,
+            @Validated @RequestBody LinkBatchDto linkBatchDto) {
+        final int unlinked = linkingService.unlinkAll(parseLinkType(linkType), linkBatchDto.getSourceIds(),
+                linkBatchDto.getTargetIds());
+        linkBatchDto.setChangedLinks(unlinked);
+        return ResponseEntity.ok(linkBatchDto);
+    }
+
+    private static LinkType parseLinkType(String linkType) {
+        // throws an IllegalArgumentException for unknown link types
+        return LinkType.valueOf(linkType.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
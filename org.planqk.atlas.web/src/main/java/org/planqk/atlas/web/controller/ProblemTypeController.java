@@ -42,6 +42,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -134,4 +135,33 @@ public class ProblemTypeController {
         final var problemTypeParentList = problemTypeService.getParentList(problemTypeId);
         return ResponseEntity.ok(ModelMapperUtils.convertCollection(problemTypeParentList, ProblemTypeDto.class));
     }
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "200"),
+            @ApiResponse(responseCode = "400", description = "Bad Request. Max depth is not positive."),
+            @ApiResponse(responseCode = "404", description = "Not Found. Problem type with given ID doesn't exist.")
+    }, description = "Retrieve all descendant problem types of a specific problem type ordered by their depth. " +
+            "The depth of the returned descendants can be limited, e.g. a max depth of 1 only returns the children. " +
+            "The tree can be assembled from the parent problem type of each descendant.")
+    @GetMapping("/{problemTypeId}/" + Constants.PROBLEM_TYPE_DESCENDANTS)
+    public ResponseEntity<Collection<ProblemTypeDto>> getProblemTypeDescendants(
+            @PathVariable UUID problemTypeId,
+            @RequestParam(required = false) Integer maxDepth) {
+        final var descendants = problemTypeService.findDescendants(problemTypeId, maxDepth);
+        return ResponseEntity.ok(ModelMapperUtils.convertCollection(descendants, ProblemTypeDto.class));
+    }
+
+    @Operation(responses = {
+            @ApiResponse(responseCode = "204"),
+            @ApiResponse(responseCode = "400", description = "Bad Request. New parent is part of the subtree of the problem type."),
+            @ApiResponse(responseCode = "404", description = "Not Found. Problem type or new parent with given ID doesn't exist.")
+    }, description = "Move all children of a specific problem type, together with their subtrees, to a new parent problem type. " +
+            "If no new parent is given the children become root problem types.")
+    @PutMapping("/{problemTypeId}/" + Constants.PROBLEM_TYPE_CHILDREN)
+    public ResponseEntity<Void> moveProblemTypeChildren(
+            @PathVariable UUID problemTypeId,
+            @RequestParam(required = false) UUID newParentProblemTypeId) {
+        problemTypeService.moveChildren(problemTypeId, newParentProblemTypeId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
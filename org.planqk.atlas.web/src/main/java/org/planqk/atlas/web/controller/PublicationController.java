@@ -35,8 +35,10 @@ import org.planqk.atlas.web.dtos.PublicationDto;
 import org.planqk.atlas.web.utils.ListParameters;
 import org.planqk.atlas.web.utils.ListParametersDoc;
 import org.planqk.atlas.web.utils.ModelMapperUtils;
+import org.planqk.atlas.web.utils.StreamedSlice;
 import org.planqk.atlas.web.utils.ValidationGroups;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -80,13 +82,25 @@ public class PublicationController {
 
     @Operation(responses = {
             @ApiResponse(responseCode = "200")
-    }, description = "Retrieve all publications.")
+    }, description = "Retrieve all publications. If a cursor is given, a slice of the publications is retrieved using " +
+            "keyset pagination instead of a page.")
     @ListParametersDoc
     @GetMapping
-    public ResponseEntity<Page<PublicationDto>> getPublications(
+    public ResponseEntity<Slice<PublicationDto>> getPublications(
             @Parameter(hidden = true) ListParameters listParameters) {
-        final var entities = publicationService.findAll(listParameters.getPageable(), listParameters.getSearch());
-        return ResponseEntity.ok(ModelMapperUtils.convertPage(entities, PublicationDto.class));
+        if (listParameters.isCursorPaged()) {
+            final var slice = publicationService.findSlice(listParameters.getCursorPageRequest(), listParameters.getSearch());
+            return ResponseEntity.ok(ModelMapperUtils.convertSlice(slice, PublicationDto.class));
+        }
+        if (listParameters.isUnpaged()) {
+            final var publications = new StreamedSlice<Publication>(
+                    action -> publicationService.streamAll(listParameters.getSort(), listParameters.getSearch(), action),
+                    listParameters.getSort());
+            return ResponseEntity.ok(ModelMapperUtils.convertSlice(publications, PublicationDto.class));
+        }
+        final var entities = publicationService.findAll(listParameters.getPageable(), listParameters.getSearch(),
+                listParameters.getCountMode());
+        return ResponseEntity.ok(ModelMapperUtils.convertSlice(entities, PublicationDto.class));
     }
 
     @Operation(responses = {
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.dtos;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object for the result of a bulk import ({@link org.planqk.atlas.core.services.ImportResult}).
+ */
+@Data
+@NoArgsConstructor
+public class ImportResultDto {
+
+    private long importedRecords;
+
+    private long failedRecords;
+
+    private long durationMillis;
+
+    private double recordsPerSecond;
+
+    private List<RecordErrorDto> errors;
+
+    @Data
+    @NoArgsConstructor
+    public static class RecordErrorDto {
+
+        private long index;
+
+        private String reference;
+
+        private String message;
+    }
+}
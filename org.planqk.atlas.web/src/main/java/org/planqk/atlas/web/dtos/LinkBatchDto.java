@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.dtos;
+
+import java.util.Set;
+import java.util.UUID;
+import javax.validation.constraints.NotNull;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object for a batch of links between every source and every target entity.
+ */
+@Data
+@NoArgsConstructor
+public class LinkBatchDto {
+
+    @NotNull(message = "The source IDs must not be null!")
+    private Set<UUID> sourceIds;
+
+    @NotNull(message = "The target IDs must not be null!")
+    private Set<UUID> targetIds;
+
+    /**
+     * The amount of links created or removed, only set in responses.
+     */
+    private Integer changedLinks;
+}
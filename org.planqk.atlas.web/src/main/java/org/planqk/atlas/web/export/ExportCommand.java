@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.planqk.atlas.core.services.ExportService;
+import org.planqk.atlas.web.utils.NdjsonExportWriter;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Command line application exporting the knowledge graph as newline-delimited JSON.
+ * <p>
+ * It only starts the services of the core module, see {@link ExportConfiguration}. It is started as main
+ * class of the application archive, e.g. {@code java -cp org.planqk.atlas.web.jar
+ * -Dloader.main=org.planqk.atlas.web.export.ExportCommand org.springframework.boot.loader.PropertiesLauncher}, with the
+ * options:
+ * <ul>
+ *     <li>--output=&lt;file&gt; the file to write to, gzip-compressed if it ends with ".gz"</li>
+ *     <li>--since=&lt;ISO-8601 instant&gt; only export the knowledge artifacts modified after this date and the IDs of
+ *     all existing artifacts</li>
+ *     <li>--table=&lt;name&gt; and --after=&lt;value&gt; resume an interrupted export after the row of the table
+ *     with this key, the option is repeated for each column of the key</li>
+ * </ul>
+ * See {@link ExportService#export} for the content of the export.
+ */
+@Slf4j
+public final class ExportCommand {
+
+    private ExportCommand() {
+    }
+
+    /**
+     * Run the export.
+     *
+     * @param args The options of the export and further properties of the application
+     * @throws IOException              if writing the export fails
+     * @throws IllegalArgumentException if the output file is missing
+     */
+    public static void main(String[] args) throws IOException {
+        final ApplicationArguments arguments = new DefaultApplicationArguments(args);
+        // the log is written to the standard output, so the export has to be written to a file
+        if (getOption(arguments, "output") == null) {
+            throw new IllegalArgumentException("The output file is missing");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ExportConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            export(context, arguments);
+        }
+    }
+
+    /**
+     * Write the export described by the given options with the services of the given context.
+     *
+     * @param context   The context of the export application
+     * @param arguments The options of the export
+     * @return The amount of exported rows
+     * @throws IOException if writing the export fails
+     */
+    static long export(ApplicationContext context, ApplicationArguments arguments) throws IOException {
+        final String output = getOption(arguments, "output");
+        final String since = getOption(arguments, "since");
+        final String table = getOption(arguments, "table");
+        final List<String> after = arguments.getOptionValues("after");
+        final ExportService exportService = context.getBean(ExportService.class);
+        final ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        final Date sinceDate = since == null ? null : Date.from(Instant.parse(since));
+
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(Path.of(output)))) {
+            final long count = NdjsonExportWriter.write(objectMapper, stream, output.endsWith(".gz"),
+                    action -> exportService.export(sinceDate, table, after, action));
+            log.info("Exported {} rows to {}", count, output);
+            return count;
+        }
+    }
+
+    private static String getOption(ApplicationArguments arguments, String name) {
+        final List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+}
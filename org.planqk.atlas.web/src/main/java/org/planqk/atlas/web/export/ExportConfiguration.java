@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.export;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.envers.repository.support.EnversRevisionRepositoryFactoryBean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Application context of the {@link ExportCommand}, holding the services and repositories of the core module without
+ * the web server and the beans of the web layer.
+ * <p>
+ * The web application scans this package as well, so this configuration is skipped in web application contexts.
+ */
+@ConditionalOnNotWebApplication
+@SpringBootApplication(scanBasePackages = "org.planqk.atlas.core")
+@EntityScan("org.planqk.atlas.*")
+@EnableJpaRepositories(basePackages = "org.planqk.atlas.*", repositoryFactoryBeanClass = EnversRevisionRepositoryFactoryBean.class)
+public class ExportConfiguration {
+}
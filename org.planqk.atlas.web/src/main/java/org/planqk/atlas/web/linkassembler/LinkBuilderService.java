@@ -19,9 +19,12 @@
 
 package org.planqk.atlas.web.linkassembler;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.planqk.atlas.web.annotation.VersionedRequestHandlerMapping;
 import org.planqk.atlas.web.utils.ListParametersMethodArgumentResolver;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.MethodParameter;
@@ -47,6 +50,10 @@ import org.springframework.web.util.UriComponentsBuilder;
 /**
  * Custom HATEOAS {@link org.springframework.hateoas.server.LinkBuilder} that resolves path mappings using the
  * container's {@link RequestMappingInfoHandlerMapping} instance.
+ * <p>
+ * The mappings of the handler methods are indexed by their method. If the handler mapping is a {@link
+ * VersionedRequestHandlerMapping}, the index is rebuilt whenever handler methods are registered or unregistered. The
+ * method parameters used to contribute the arguments of an invocation to the URL are cached per method.
  */
 @Component
 public class LinkBuilderService {
@@ -56,6 +63,10 @@ public class LinkBuilderService {
 
     private final RequestMappingHandlerMapping mappings;
 
+    private final Map<Method, MethodParameter[]> methodParameters = new ConcurrentHashMap<>();
+
+    private volatile HandlerMethodIndex handlerMethodIndex;
+
     public LinkBuilderService(ListParametersMethodArgumentResolver listResolver, RequestMappingHandlerMapping mappings) {
         contributor = new CompositeUriComponentsContributor(
                 new PathVariableMethodArgumentResolver(), new RequestParamMethodArgumentResolver(false),
@@ -107,11 +118,33 @@ public class LinkBuilderService {
     }
 
     private RequestMappingInfo resolveInvocation(MethodInvocation invocation) {
-        for (var entry : this.mappings.getHandlerMethods().entrySet()) {
-            if (entry.getValue().getMethod().equals(invocation.getMethod()))
-                return entry.getKey();
+        return getHandlerMethodIndex().mappings.get(invocation.getMethod());
+    }
+
+    private HandlerMethodIndex getHandlerMethodIndex() {
+        // read the version before the handler methods, so changes made while building the index trigger a rebuild
+        final long mappingVersion = this.mappings instanceof VersionedRequestHandlerMapping
+                ? ((VersionedRequestHandlerMapping) this.mappings).getMappingVersion() : 0;
+        HandlerMethodIndex index = this.handlerMethodIndex;
+        if (index == null || index.mappingVersion != mappingVersion) {
+            index = new HandlerMethodIndex(mappingVersion);
+            for (var entry : this.mappings.getHandlerMethods().entrySet()) {
+                index.mappings.putIfAbsent(entry.getValue().getMethod(), entry.getKey());
+            }
+            this.handlerMethodIndex = index;
         }
-        return null;
+        return index;
+    }
+
+    private MethodParameter[] getMethodParameters(Method method) {
+        return methodParameters.computeIfAbsent(method, key -> {
+            final MethodParameter[] parameters = new MethodParameter[key.getParameterCount()];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = new SynthesizingMethodParameter(key, i);
+                parameters[i].initParameterNameDiscovery(parameterNameDiscoverer);
+            }
+            return parameters;
+        });
     }
 
     private UriComponentsBuilder appendMappingPath(UriComponentsBuilder builder, RequestMappingInfo mapping) {
@@ -129,14 +162,23 @@ public class LinkBuilderService {
                     " does not match number of argument values " + argCount);
         }
 
+        final MethodParameter[] params = getMethodParameters(invocation.getMethod());
         final Map<String, Object> uriVars = new HashMap<>();
         for (int i = 0; i < paramCount; i++) {
-            final MethodParameter param = new SynthesizingMethodParameter(invocation.getMethod(), i);
-            param.initParameterNameDiscovery(parameterNameDiscoverer);
-            contributor.contributeMethodArgument(param, invocation.getArguments()[i], builder, uriVars);
+            contributor.contributeMethodArgument(params[i], invocation.getArguments()[i], builder, uriVars);
         }
 
         // This may not be all the URI variables, supply what we have so far..
         return builder.uriVariables(uriVars);
     }
+
+    private static class HandlerMethodIndex {
+        private final long mappingVersion;
+
+        private final Map<Method, RequestMappingInfo> mappings = new ConcurrentHashMap<>();
+
+        HandlerMethodIndex(long mappingVersion) {
+            this.mappingVersion = mappingVersion;
+        }
+    }
 }
@@ -0,0 +1,457 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.AlgorithmRelation;
+import org.planqk.atlas.core.model.AlgorithmRelationType;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.CloudService;
+import org.planqk.atlas.core.model.ComputeResource;
+import org.planqk.atlas.core.model.ComputeResourceProperty;
+import org.planqk.atlas.core.model.ComputeResourcePropertyType;
+import org.planqk.atlas.core.model.DiscussionComment;
+import org.planqk.atlas.core.model.DiscussionTopic;
+import org.planqk.atlas.core.model.File;
+import org.planqk.atlas.core.model.FileImplementationPackage;
+import org.planqk.atlas.core.model.FunctionImplementationPackage;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.ImplementationPackage;
+import org.planqk.atlas.core.model.LearningMethod;
+import org.planqk.atlas.core.model.PatternRelation;
+import org.planqk.atlas.core.model.PatternRelationType;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.Qpu;
+import org.planqk.atlas.core.model.QuantumAlgorithm;
+import org.planqk.atlas.core.model.Simulator;
+import org.planqk.atlas.core.model.Sketch;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.model.TOSCAImplementationPackage;
+import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.web.dtos.AlgorithmDto;
+import org.planqk.atlas.web.dtos.AlgorithmRelationDto;
+import org.planqk.atlas.web.dtos.AlgorithmRelationTypeDto;
+import org.planqk.atlas.web.dtos.ApplicationAreaDto;
+import org.planqk.atlas.web.dtos.ClassicAlgorithmDto;
+import org.planqk.atlas.web.dtos.CloudServiceDto;
+import org.planqk.atlas.web.dtos.ComputeResourceDto;
+import org.planqk.atlas.web.dtos.ComputeResourcePropertyDto;
+import org.planqk.atlas.web.dtos.ComputeResourcePropertyTypeDto;
+import org.planqk.atlas.web.dtos.DiscussionCommentDto;
+import org.planqk.atlas.web.dtos.DiscussionTopicDto;
+import org.planqk.atlas.web.dtos.FileDto;
+import org.planqk.atlas.web.dtos.FileImplementationPackageDto;
+import org.planqk.atlas.web.dtos.FunctionImplementationPackageDto;
+import org.planqk.atlas.web.dtos.ImplementationDto;
+import org.planqk.atlas.web.dtos.ImplementationPackageDto;
+import org.planqk.atlas.web.dtos.LearningMethodDto;
+import org.planqk.atlas.web.dtos.PatternRelationDto;
+import org.planqk.atlas.web.dtos.PatternRelationTypeDto;
+import org.planqk.atlas.web.dtos.ProblemTypeDto;
+import org.planqk.atlas.web.dtos.PublicationDto;
+import org.planqk.atlas.web.dtos.QPUDto;
+import org.planqk.atlas.web.dtos.QuantumAlgorithmDto;
+import org.planqk.atlas.web.dtos.RevisionDto;
+import org.planqk.atlas.web.dtos.SimulatorDto;
+import org.planqk.atlas.web.dtos.SketchDto;
+import org.planqk.atlas.web.dtos.SoftwarePlatformDto;
+import org.planqk.atlas.web.dtos.TOSCAImplementationPackageDto;
+import org.planqk.atlas.web.dtos.TagDto;
+import org.springframework.data.history.Revision;
+
+/**
+ * Reflection free mappers converting the entities of the core module into the DTOs of the API.
+ * <p>
+ * The mappers produce the same DTOs as the type maps of {@link ModelMapperUtils#mapper}, including the dispatch to
+ * the DTO subtype matching the entity subtype (e.g. {@link QuantumAlgorithm} to {@link QuantumAlgorithmDto}), but
+ * copy the properties with plain getter and setter calls. Mappers are looked up by the class of the source object
+ * and its superclasses, so Hibernate proxies and entity subtypes without an own mapper use the mapper of their
+ * entity type. Conversions without a mapper, e.g. from DTOs into entities, are left to the model mapper.
+ */
+public final class DtoMappers {
+
+    public static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN)
+            .withZone(ZoneOffset.UTC);
+
+    private static final Map<Class<?>, Map<Class<?>, Function<?, ?>>> MAPPERS = new HashMap<>();
+
+    private static final ClassValue<Map<Class<?>, Function<?, ?>>> RESOLVED_MAPPERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Function<?, ?>> computeValue(Class<?> sourceClass) {
+            final Map<Class<?>, Function<?, ?>> resolved = new HashMap<>();
+            for (Class<?> type = sourceClass; type != null; type = type.getSuperclass()) {
+                MAPPERS.getOrDefault(type, Map.of()).forEach(resolved::putIfAbsent);
+            }
+            return resolved;
+        }
+    };
+
+    static {
+        register(Algorithm.class, AlgorithmDto.class, algorithm -> fillAlgorithmDto(algorithm, new AlgorithmDto()));
+        register(ClassicAlgorithm.class, AlgorithmDto.class, DtoMappers::toClassicAlgorithmDto);
+        register(ClassicAlgorithm.class, ClassicAlgorithmDto.class, DtoMappers::toClassicAlgorithmDto);
+        register(QuantumAlgorithm.class, AlgorithmDto.class, DtoMappers::toQuantumAlgorithmDto);
+        register(QuantumAlgorithm.class, QuantumAlgorithmDto.class, DtoMappers::toQuantumAlgorithmDto);
+        register(AlgorithmRelation.class, AlgorithmRelationDto.class, DtoMappers::toAlgorithmRelationDto);
+        register(AlgorithmRelationType.class, AlgorithmRelationTypeDto.class, DtoMappers::toAlgorithmRelationTypeDto);
+        register(ApplicationArea.class, ApplicationAreaDto.class, DtoMappers::toApplicationAreaDto);
+        register(CloudService.class, CloudServiceDto.class, DtoMappers::toCloudServiceDto);
+        register(ComputeResource.class, ComputeResourceDto.class,
+                computeResource -> fillComputeResourceDto(computeResource, new ComputeResourceDto()));
+        register(Qpu.class, ComputeResourceDto.class, DtoMappers::toQpuDto);
+        register(Qpu.class, QPUDto.class, DtoMappers::toQpuDto);
+        register(Simulator.class, ComputeResourceDto.class, DtoMappers::toSimulatorDto);
+        register(Simulator.class, SimulatorDto.class, DtoMappers::toSimulatorDto);
+        register(ComputeResourceProperty.class, ComputeResourcePropertyDto.class, DtoMappers::toComputeResourcePropertyDto);
+        register(ComputeResourcePropertyType.class, ComputeResourcePropertyTypeDto.class,
+                DtoMappers::toComputeResourcePropertyTypeDto);
+        register(DiscussionComment.class, DiscussionCommentDto.class, DtoMappers::toDiscussionCommentDto);
+        register(DiscussionTopic.class, DiscussionTopicDto.class, DtoMappers::toDiscussionTopicDto);
+        register(File.class, FileDto.class, DtoMappers::toFileDto);
+        register(Implementation.class, ImplementationDto.class, DtoMappers::toImplementationDto);
+        register(ImplementationPackage.class, ImplementationPackageDto.class,
+                implementationPackage -> fillImplementationPackageDto(implementationPackage, new ImplementationPackageDto()));
+        register(FileImplementationPackage.class, ImplementationPackageDto.class, DtoMappers::toFileImplementationPackageDto);
+        register(FileImplementationPackage.class, FileImplementationPackageDto.class,
+                DtoMappers::toFileImplementationPackageDto);
+        register(TOSCAImplementationPackage.class, ImplementationPackageDto.class,
+                DtoMappers::toToscaImplementationPackageDto);
+        register(TOSCAImplementationPackage.class, TOSCAImplementationPackageDto.class,
+                DtoMappers::toToscaImplementationPackageDto);
+        register(FunctionImplementationPackage.class, ImplementationPackageDto.class,
+                DtoMappers::toFunctionImplementationPackageDto);
+        register(FunctionImplementationPackage.class, FunctionImplementationPackageDto.class,
+                DtoMappers::toFunctionImplementationPackageDto);
+        register(LearningMethod.class, LearningMethodDto.class, DtoMappers::toLearningMethodDto);
+        register(PatternRelation.class, PatternRelationDto.class, DtoMappers::toPatternRelationDto);
+        register(PatternRelationType.class, PatternRelationTypeDto.class, DtoMappers::toPatternRelationTypeDto);
+        register(ProblemType.class, ProblemTypeDto.class, DtoMappers::toProblemTypeDto);
+        register(Publication.class, PublicationDto.class, DtoMappers::toPublicationDto);
+        register(Revision.class, RevisionDto.class, DtoMappers::toRevisionDto);
+        register(Sketch.class, SketchDto.class, DtoMappers::toSketchDto);
+        register(SoftwarePlatform.class, SoftwarePlatformDto.class, DtoMappers::toSoftwarePlatformDto);
+        register(Tag.class, TagDto.class, DtoMappers::toTagDto);
+    }
+
+    private DtoMappers() {
+    }
+
+    /**
+     * Returns the mapper converting objects of the given source class into the given target class.
+     *
+     * @param sourceClass The class of the object to convert
+     * @param targetClass The class the object should be converted into
+     * @return The mapper for the conversion or null if there is no reflection free mapper for it
+     */
+    @SuppressWarnings("unchecked")
+    public static <D> Function<Object, D> find(Class<?> sourceClass, Class<D> targetClass) {
+        return (Function<Object, D>) RESOLVED_MAPPERS.get(sourceClass).get(targetClass);
+    }
+
+    private static <S, D> void register(Class<S> sourceClass, Class<D> targetClass, Function<? super S, ? extends D> mapper) {
+        MAPPERS.computeIfAbsent(sourceClass, type -> new HashMap<>()).put(targetClass, mapper);
+    }
+
+    private static <D extends AlgorithmDto> D fillAlgorithmDto(Algorithm algorithm, D dto) {
+        dto.setId(algorithm.getId());
+        dto.setCreationDate(algorithm.getCreationDate());
+        dto.setLastModifiedAt(algorithm.getLastModifiedAt());
+        dto.setName(algorithm.getName());
+        dto.setAcronym(algorithm.getAcronym());
+        dto.setIntent(algorithm.getIntent());
+        dto.setProblem(algorithm.getProblem());
+        dto.setInputFormat(algorithm.getInputFormat());
+        dto.setAlgoParameter(algorithm.getAlgoParameter());
+        dto.setOutputFormat(algorithm.getOutputFormat());
+        // the model mapper creates an empty list of sketches if the algorithm has none
+        dto.setSketches(algorithm.getSketches() == null ? new ArrayList<>() : mapList(algorithm.getSketches(), DtoMappers::toSketchDto));
+        dto.setSolution(algorithm.getSolution());
+        dto.setAssumptions(algorithm.getAssumptions());
+        dto.setComputationModel(algorithm.getComputationModel());
+        return dto;
+    }
+
+    private static ClassicAlgorithmDto toClassicAlgorithmDto(ClassicAlgorithm algorithm) {
+        return fillAlgorithmDto(algorithm, new ClassicAlgorithmDto());
+    }
+
+    private static QuantumAlgorithmDto toQuantumAlgorithmDto(QuantumAlgorithm algorithm) {
+        final QuantumAlgorithmDto dto = fillAlgorithmDto(algorithm, new QuantumAlgorithmDto());
+        dto.setNisqReady(algorithm.isNisqReady());
+        dto.setQuantumComputationModel(algorithm.getQuantumComputationModel());
+        dto.setSpeedUp(algorithm.getSpeedUp());
+        return dto;
+    }
+
+    private static AlgorithmRelationDto toAlgorithmRelationDto(AlgorithmRelation algorithmRelation) {
+        final AlgorithmRelationDto dto = new AlgorithmRelationDto();
+        dto.setId(algorithmRelation.getId());
+        dto.setSourceAlgorithmId(algorithmRelation.getSourceAlgorithm() == null ? null : algorithmRelation.getSourceAlgorithm().getId());
+        dto.setTargetAlgorithmId(algorithmRelation.getTargetAlgorithm() == null ? null : algorithmRelation.getTargetAlgorithm().getId());
+        dto.setAlgorithmRelationType(map(algorithmRelation.getAlgorithmRelationType(), DtoMappers::toAlgorithmRelationTypeDto));
+        dto.setDescription(algorithmRelation.getDescription());
+        return dto;
+    }
+
+    private static AlgorithmRelationTypeDto toAlgorithmRelationTypeDto(AlgorithmRelationType algorithmRelationType) {
+        final AlgorithmRelationTypeDto dto = new AlgorithmRelationTypeDto();
+        dto.setId(algorithmRelationType.getId());
+        dto.setName(algorithmRelationType.getName());
+        dto.setInverseTypeName(algorithmRelationType.getInverseTypeName());
+        return dto;
+    }
+
+    private static ApplicationAreaDto toApplicationAreaDto(ApplicationArea applicationArea) {
+        final ApplicationAreaDto dto = new ApplicationAreaDto();
+        dto.setId(applicationArea.getId());
+        dto.setName(applicationArea.getName());
+        return dto;
+    }
+
+    private static CloudServiceDto toCloudServiceDto(CloudService cloudService) {
+        final CloudServiceDto dto = new CloudServiceDto();
+        dto.setId(cloudService.getId());
+        dto.setName(cloudService.getName());
+        dto.setProvider(cloudService.getProvider());
+        dto.setUrl(cloudService.getUrl());
+        dto.setDescription(cloudService.getDescription());
+        dto.setCostModel(cloudService.getCostModel());
+        return dto;
+    }
+
+    private static <D extends ComputeResourceDto> D fillComputeResourceDto(ComputeResource computeResource, D dto) {
+        dto.setId(computeResource.getId());
+        dto.setName(computeResource.getName());
+        dto.setVendor(computeResource.getVendor());
+        dto.setTechnology(computeResource.getTechnology());
+        dto.setQuantumComputationModel(computeResource.getQuantumComputationModel());
+        return dto;
+    }
+
+    private static QPUDto toQpuDto(Qpu qpu) {
+        return fillComputeResourceDto(qpu, new QPUDto());
+    }
+
+    private static SimulatorDto toSimulatorDto(Simulator simulator) {
+        return fillComputeResourceDto(simulator, new SimulatorDto());
+    }
+
+    private static ComputeResourcePropertyDto toComputeResourcePropertyDto(ComputeResourceProperty computeResourceProperty) {
+        final ComputeResourcePropertyDto dto = new ComputeResourcePropertyDto();
+        dto.setId(computeResourceProperty.getId());
+        dto.setValue(computeResourceProperty.getValue());
+        dto.setType(map(computeResourceProperty.getComputeResourcePropertyType(), DtoMappers::toComputeResourcePropertyTypeDto));
+        return dto;
+    }
+
+    private static ComputeResourcePropertyTypeDto toComputeResourcePropertyTypeDto(ComputeResourcePropertyType type) {
+        final ComputeResourcePropertyTypeDto dto = new ComputeResourcePropertyTypeDto();
+        dto.setId(type.getId());
+        dto.setName(type.getName());
+        dto.setDatatype(type.getDatatype());
+        dto.setDescription(type.getDescription());
+        return dto;
+    }
+
+    private static DiscussionCommentDto toDiscussionCommentDto(DiscussionComment discussionComment) {
+        final DiscussionCommentDto dto = new DiscussionCommentDto();
+        dto.setId(discussionComment.getId());
+        dto.setText(discussionComment.getText());
+        dto.setDate(discussionComment.getDate());
+        dto.setReplyTo(map(discussionComment.getReplyTo(), DtoMappers::toDiscussionCommentDto));
+        dto.setDiscussionTopic(map(discussionComment.getDiscussionTopic(), DtoMappers::toDiscussionTopicDto));
+        return dto;
+    }
+
+    private static DiscussionTopicDto toDiscussionTopicDto(DiscussionTopic discussionTopic) {
+        final DiscussionTopicDto dto = new DiscussionTopicDto();
+        dto.setId(discussionTopic.getId());
+        dto.setTitle(discussionTopic.getTitle());
+        dto.setDescription(discussionTopic.getDescription());
+        dto.setStatus(discussionTopic.getStatus());
+        dto.setDate(discussionTopic.getDate());
+        return dto;
+    }
+
+    private static FileDto toFileDto(File file) {
+        final FileDto dto = new FileDto();
+        dto.setId(file.getId());
+        dto.setName(file.getName());
+        dto.setMimeType(file.getMimeType());
+        dto.setFileURL(file.getFileURL());
+        return dto;
+    }
+
+    private static ImplementationDto toImplementationDto(Implementation implementation) {
+        final ImplementationDto dto = new ImplementationDto();
+        dto.setId(implementation.getId());
+        dto.setImplementedAlgorithmId(implementation.getImplementedAlgorithm() == null ? null : implementation.getImplementedAlgorithm().getId());
+        dto.setName(implementation.getName());
+        dto.setInputFormat(implementation.getInputFormat());
+        dto.setOutputFormat(implementation.getOutputFormat());
+        dto.setDescription(implementation.getDescription());
+        dto.setContributors(implementation.getContributors());
+        dto.setAssumptions(implementation.getAssumptions());
+        dto.setParameter(implementation.getParameter());
+        dto.setDependencies(implementation.getDependencies());
+        dto.setVersion(implementation.getVersion());
+        dto.setLicense(implementation.getLicense());
+        dto.setTechnology(implementation.getTechnology());
+        dto.setProblemStatement(implementation.getProblemStatement());
+        dto.setSoftwarePlatforms(mapSet(implementation.getSoftwarePlatforms(), DtoMappers::toSoftwarePlatformDto));
+        return dto;
+    }
+
+    private static <D extends ImplementationPackageDto> D fillImplementationPackageDto(ImplementationPackage implementationPackage, D dto) {
+        dto.setId(implementationPackage.getId());
+        dto.setName(implementationPackage.getName());
+        dto.setDescription(implementationPackage.getDescription());
+        dto.setPackageType(implementationPackage.getPackageType());
+        return dto;
+    }
+
+    private static FileImplementationPackageDto toFileImplementationPackageDto(FileImplementationPackage implementationPackage) {
+        return fillImplementationPackageDto(implementationPackage, new FileImplementationPackageDto());
+    }
+
+    private static TOSCAImplementationPackageDto toToscaImplementationPackageDto(TOSCAImplementationPackage implementationPackage) {
+        return fillImplementationPackageDto(implementationPackage, new TOSCAImplementationPackageDto());
+    }
+
+    private static FunctionImplementationPackageDto toFunctionImplementationPackageDto(
+            FunctionImplementationPackage implementationPackage) {
+        return fillImplementationPackageDto(implementationPackage, new FunctionImplementationPackageDto());
+    }
+
+    private static LearningMethodDto toLearningMethodDto(LearningMethod learningMethod) {
+        final LearningMethodDto dto = new LearningMethodDto();
+        dto.setId(learningMethod.getId());
+        dto.setName(learningMethod.getName());
+        return dto;
+    }
+
+    private static PatternRelationDto toPatternRelationDto(PatternRelation patternRelation) {
+        final PatternRelationDto dto = new PatternRelationDto();
+        dto.setId(patternRelation.getId());
+        dto.setAlgorithmId(patternRelation.getAlgorithm() == null ? null : patternRelation.getAlgorithm().getId());
+        dto.setPattern(patternRelation.getPattern());
+        dto.setPatternRelationType(map(patternRelation.getPatternRelationType(), DtoMappers::toPatternRelationTypeDto));
+        dto.setDescription(patternRelation.getDescription());
+        return dto;
+    }
+
+    private static PatternRelationTypeDto toPatternRelationTypeDto(PatternRelationType patternRelationType) {
+        final PatternRelationTypeDto dto = new PatternRelationTypeDto();
+        dto.setId(patternRelationType.getId());
+        dto.setName(patternRelationType.getName());
+        return dto;
+    }
+
+    private static ProblemTypeDto toProblemTypeDto(ProblemType problemType) {
+        final ProblemTypeDto dto = new ProblemTypeDto();
+        dto.setId(problemType.getId());
+        dto.setName(problemType.getName());
+        dto.setParentProblemType(problemType.getParentProblemType());
+        return dto;
+    }
+
+    private static PublicationDto toPublicationDto(Publication publication) {
+        final PublicationDto dto = new PublicationDto();
+        dto.setId(publication.getId());
+        dto.setTitle(publication.getTitle());
+        dto.setDoi(publication.getDoi());
+        dto.setUrl(publication.getUrl());
+        dto.setAuthors(publication.getAuthors() == null ? null : new ArrayList<>(publication.getAuthors()));
+        return dto;
+    }
+
+    private static RevisionDto toRevisionDto(Revision<?, ?> revision) {
+        final RevisionDto dto = new RevisionDto();
+        revision.getRevisionNumber().ifPresent(revisionNumber -> dto.setRevisionNumber(revisionNumber.intValue()));
+        dto.setRevisionInstant(revision.getRevisionInstant().map(DATE_TIME_FORMATTER::format).orElse(null));
+        return dto;
+    }
+
+    private static SketchDto toSketchDto(Sketch sketch) {
+        final SketchDto dto = new SketchDto();
+        dto.setId(sketch.getId());
+        dto.setImageURL(sketch.getImageURL());
+        dto.setDescription(sketch.getDescription());
+        return dto;
+    }
+
+    private static SoftwarePlatformDto toSoftwarePlatformDto(SoftwarePlatform softwarePlatform) {
+        final SoftwarePlatformDto dto = new SoftwarePlatformDto();
+        dto.setId(softwarePlatform.getId());
+        dto.setName(softwarePlatform.getName());
+        dto.setLink(softwarePlatform.getLink());
+        dto.setLicence(softwarePlatform.getLicence());
+        dto.setVersion(softwarePlatform.getVersion());
+        return dto;
+    }
+
+    private static TagDto toTagDto(Tag tag) {
+        final TagDto dto = new TagDto();
+        dto.setCategory(tag.getCategory());
+        dto.setValue(tag.getValue());
+        return dto;
+    }
+
+    private static <S, D> D map(S source, Function<S, D> mapper) {
+        return source == null ? null : mapper.apply(source);
+    }
+
+    private static <S, D> List<D> mapList(Collection<S> sources, Function<S, D> mapper) {
+        if (sources == null) {
+            return null;
+        }
+        final List<D> result = new ArrayList<>(sources.size());
+        for (final S source : sources) {
+            result.add(mapper.apply(source));
+        }
+        return result;
+    }
+
+    private static <S, D> Set<D> mapSet(Collection<S> sources, Function<S, D> mapper) {
+        if (sources == null) {
+            return null;
+        }
+        final Set<D> result = new HashSet<>();
+        for (final S source : sources) {
+            result.add(mapper.apply(source));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.ComputeResource;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.LearningMethod;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.core.services.ImportRecord;
+import org.planqk.atlas.web.dtos.AlgorithmDto;
+import org.planqk.atlas.web.dtos.ApplicationAreaDto;
+import org.planqk.atlas.web.dtos.ComputeResourceDto;
+import org.planqk.atlas.web.dtos.ImplementationDto;
+import org.planqk.atlas.web.dtos.LearningMethodDto;
+import org.planqk.atlas.web.dtos.ProblemTypeDto;
+import org.planqk.atlas.web.dtos.PublicationDto;
+import org.planqk.atlas.web.dtos.SoftwarePlatformDto;
+import org.planqk.atlas.web.dtos.TagDto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Reads the records of a bulk import from newline-delimited JSON or from a JSON array, one object per record.
+ * <p>
+ * An entity record has the type of the entity, an optional reference other records can refer to the entity with, an
+ * optional parent (the implemented algorithm of an implementation or the parent of a problem type) and the DTO of the
+ * entity as data:
+ * <pre>{"type":"algorithm","ref":"a1","data":{"name":"Shor","computationModel":"QUANTUM"}}
+ * {"type":"implementation","ref":"i1","parent":"a1","data":{"name":"Shor in Qiskit"}}</pre>
+ * A link record links two entities by their references or IDs, e.g. {@code {"type":"link","link":{"algorithm":"a1",
+ * "publication":"p1"}}}.
+ * <p>
+ * The records are read lazily, so the input is never held in memory completely. Invalid records are passed on as
+ * {@link ImportRecord#invalid(String, String) invalid records}; malformed JSON ends the input.
+ */
+public class ImportRecordReader implements Iterator<ImportRecord> {
+
+    public static final String LINK_TYPE = "link";
+
+    private static final Map<String, EntityType> ENTITY_TYPES = Map.of(
+            "algorithm", new EntityType(AlgorithmDto.class, Algorithm.class),
+            "implementation", new EntityType(ImplementationDto.class, Implementation.class),
+            "publication", new EntityType(PublicationDto.class, Publication.class),
+            "problem-type", new EntityType(ProblemTypeDto.class, ProblemType.class),
+            "application-area", new EntityType(ApplicationAreaDto.class, ApplicationArea.class),
+            "learning-method", new EntityType(LearningMethodDto.class, LearningMethod.class),
+            "software-platform", new EntityType(SoftwarePlatformDto.class, SoftwarePlatform.class),
+            "tag", new EntityType(TagDto.class, Tag.class),
+            "compute-resource", new EntityType(ComputeResourceDto.class, ComputeResource.class));
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final MappingIterator<JsonNode> nodes;
+
+    private String malformedMessage;
+
+    private boolean malformed;
+
+    public ImportRecordReader(@NonNull ObjectMapper objectMapper, @NonNull Validator validator,
+                              @NonNull InputStream input) throws IOException {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.nodes = objectMapper.readerFor(JsonNode.class).readValues(input);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (malformed) {
+            return false;
+        }
+        if (malformedMessage != null) {
+            return true;
+        }
+        try {
+            return nodes.hasNextValue();
+        } catch (IOException e) {
+            // reported as an invalid record by next()
+            malformedMessage = "Malformed JSON: " + e.getMessage();
+            return true;
+        }
+    }
+
+    @Override
+    public ImportRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (malformedMessage != null) {
+            malformed = true;
+            return ImportRecord.invalid(null, malformedMessage);
+        }
+        final JsonNode node;
+        try {
+            node = nodes.nextValue();
+        } catch (IOException e) {
+            malformed = true;
+            return ImportRecord.invalid(null, "Malformed JSON: " + e.getMessage());
+        }
+        return toRecord(node);
+    }
+
+    private ImportRecord toRecord(JsonNode node) {
+        final String reference = node.hasNonNull("ref") ? node.get("ref").asText() : null;
+        final String type = node.path("type").asText();
+        if (type.equals(LINK_TYPE)) {
+            return toLink(node.path("link"));
+        }
+        final EntityType entityType = ENTITY_TYPES.get(type);
+        if (entityType == null) {
+            return ImportRecord.invalid(reference, "Unknown record type \"" + type + "\"");
+        }
+
+        final Object dto;
+        try {
+            dto = objectMapper.treeToValue(node.path("data"), entityType.dtoClass);
+        } catch (JsonProcessingException e) {
+            return ImportRecord.invalid(reference, "Invalid data: " + e.getOriginalMessage());
+        }
+        if (dto == null) {
+            return ImportRecord.invalid(reference, "The data of the entity is missing");
+        }
+        final Set<ConstraintViolation<Object>> violations = validator.validate(dto, ValidationGroups.Create.class);
+        if (!violations.isEmpty()) {
+            return ImportRecord.invalid(reference, violations.stream().map(ConstraintViolation::getMessage)
+                    .sorted().collect(Collectors.joining(", ")));
+        }
+        final String parent = node.hasNonNull("parent") ? node.get("parent").asText() : null;
+        return ImportRecord.ofEntity(reference, () -> ModelMapperUtils.convert(dto, entityType.entityClass), parent);
+    }
+
+    private ImportRecord toLink(JsonNode link) {
+        final List<String> types = new ArrayList<>();
+        link.fieldNames().forEachRemaining(types::add);
+        if (types.size() != 2 || !ENTITY_TYPES.containsKey(types.get(0)) || !ENTITY_TYPES.containsKey(types.get(1))
+                || !link.get(types.get(0)).isValueNode() || !link.get(types.get(1)).isValueNode()) {
+            return ImportRecord.invalid(null, "A link must contain the references of exactly two entities");
+        }
+        return ImportRecord.ofLink(ENTITY_TYPES.get(types.get(0)).entityClass, link.get(types.get(0)).asText(),
+                ENTITY_TYPES.get(types.get(1)).entityClass, link.get(types.get(1)).asText());
+    }
+
+    @AllArgsConstructor
+    private static class EntityType {
+
+        private final Class<?> dtoClass;
+
+        private final Class<?> entityClass;
+    }
+}
@@ -19,9 +19,12 @@
 
 package org.planqk.atlas.web.utils;
 
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorPageRequest;
 import org.planqk.atlas.web.Constants;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
@@ -30,6 +33,17 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * Core parameters for a generic data list
+ * <p>
+ * If the cursor ("after" parameter) is set, the list is requested using keyset (cursor) pagination, starting after the
+ * element the cursor was returned for. An empty cursor requests the first slice. Only the size and sort of the
+ * pageable are used in this case.
+ * <p>
+ * The count mode ("count" parameter) defines whether the total amount of elements of a paged list is counted exactly
+ * (default, "true"), estimated ("estimated") or not determined at all ("false").
+ * <p>
+ * If the page and size are both -1, the whole list is requested at once. Such lists are streamed from the database to
+ * the response in the requested sort followed by the ID. As an unpaged {@link Pageable} cannot be sorted, the sort is
+ * kept separately, see {@link #getSort()}.
  */
 @RequiredArgsConstructor
 @Data
@@ -40,6 +54,42 @@ public class ListParameters {
     @Nullable
     private final String search;
 
+    @Nullable
+    private final String after;
+
+    @NonNull
+    private final CountMode countMode;
+
+    /**
+     * The sort of the list, which equals the sort of the pageable unless the list is unpaged.
+     */
+    @NonNull
+    private final Sort sort;
+
+    public ListParameters(@NonNull Pageable pageable, @Nullable String search) {
+        this(pageable, search, null);
+    }
+
+    public ListParameters(@NonNull Pageable pageable, @Nullable String search, @Nullable String after) {
+        this(pageable, search, after, CountMode.EXACT);
+    }
+
+    public ListParameters(@NonNull Pageable pageable, @Nullable String search, @Nullable String after, @NonNull CountMode countMode) {
+        this(pageable, search, after, countMode, pageable.getSort());
+    }
+
+    public boolean isCursorPaged() {
+        return after != null;
+    }
+
+    public boolean isUnpaged() {
+        return after == null && pageable.isUnpaged();
+    }
+
+    public CursorPageRequest getCursorPageRequest() {
+        return CursorPageRequest.of(pageable, after);
+    }
+
     public static ListParameters getDefault() {
         return new ListParameters(PageRequest.of(Constants.DEFAULT_PAGE_NUMBER, Constants.DEFAULT_PAGE_SIZE), "");
     }
@@ -36,5 +36,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @PageableAsQueryParam
 @Parameter(in = ParameterIn.QUERY, description = "Filter criteria for this query ", name = "search",
            content = @Content(schema = @Schema(type = "string")))
+@Parameter(in = ParameterIn.QUERY, description = "Cursor returned as nextCursor by the previous slice. If present (empty for the "
+        + "first slice), a slice without total count is returned using keyset pagination and the page parameter is ignored. "
+        + "Only supported by the algorithm, implementation and publication lists.", name = "after",
+           content = @Content(schema = @Schema(type = "string")))
+@Parameter(in = ParameterIn.QUERY, description = "Whether the total amount of elements is counted (true, default), estimated "
+        + "from the table statistics for unfiltered lists (estimated) or not determined (false). Without count a slice is "
+        + "returned. Only supported by the algorithm, implementation and publication lists.", name = "count",
+           content = @Content(schema = @Schema(type = "string", allowableValues = {"true", "false", "estimated"})))
 public @interface ListParametersDoc {
 }
@@ -21,6 +21,7 @@ package org.planqk.atlas.web.utils;
 
 import java.util.Map;
 
+import org.planqk.atlas.core.util.CountMode;
 import org.planqk.atlas.web.Constants;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.ConversionService;
@@ -42,6 +43,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ListParametersMethodArgumentResolver extends PageableHandlerMethodArgumentResolverSupport
         implements HandlerMethodArgumentResolver, UriComponentsContributor {
+    private static final String COUNT_ESTIMATED = "estimated";
+
     private final HateoasSortHandlerMethodArgumentResolver sortResolver = new HateoasSortHandlerMethodArgumentResolver();
 
     @Override
@@ -50,18 +53,36 @@ public class ListParametersMethodArgumentResolver extends PageableHandlerMethodA
         final String page = webRequest.getParameter(getParameterNameToUse(Constants.PAGE, methodParameter));
         final String pageSize = webRequest.getParameter(getParameterNameToUse(Constants.SIZE, methodParameter));
         final String searchQuery = webRequest.getParameter(getParameterNameToUse(Constants.SEARCH, methodParameter));
+        final String after = webRequest.getParameter(getParameterNameToUse(Constants.AFTER, methodParameter));
 
         final Sort sort = sortResolver.resolveArgument(methodParameter, mavContainer, webRequest, binderFactory);
-        Pageable pageable = getPageable(methodParameter, page, pageSize);
-
-        if ((page != null && pageSize != null) && ("-1".equals(page) && "-1".equals(pageSize))) {
+        Pageable pageable;
+        if (after != null) {
+            // slices of a cursor paginated list are not numbered, so the page is ignored
+            pageable = getPageable(methodParameter, null, pageSize);
+        } else if ((page != null && pageSize != null) && ("-1".equals(page) && "-1".equals(pageSize))) {
             pageable = Pageable.unpaged();
+        } else {
+            pageable = getPageable(methodParameter, page, pageSize);
         }
 
-        if (sort.isSorted()) {
+        if (sort.isSorted() && pageable.isPaged()) {
             pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
         }
-        return new ListParameters(pageable, searchQuery);
+        final String count = webRequest.getParameter(getParameterNameToUse(Constants.COUNT, methodParameter));
+        // an unpaged pageable cannot carry the sort
+        return new ListParameters(pageable, searchQuery, after, parseCountMode(count), pageable.isPaged() ? pageable.getSort() : sort);
+    }
+
+    private static CountMode parseCountMode(@Nullable String count) {
+        if (count == null || count.isEmpty() || "true".equalsIgnoreCase(count)) {
+            return CountMode.EXACT;
+        } else if ("false".equalsIgnoreCase(count)) {
+            return CountMode.NONE;
+        } else if (COUNT_ESTIMATED.equalsIgnoreCase(count)) {
+            return CountMode.ESTIMATED;
+        }
+        throw new IllegalArgumentException("Invalid count mode \"" + count + "\", expected true, false or " + COUNT_ESTIMATED);
     }
 
     @Override
@@ -77,7 +98,11 @@ public class ListParametersMethodArgumentResolver extends PageableHandlerMethodA
 
         final var pagePropertyName = getParameterNameToUse(Constants.PAGE, parameter);
         final var sizePropertyName = getParameterNameToUse(Constants.SIZE, parameter);
-        if (!pageable.isUnpaged()) {
+        if (listParams.isCursorPaged()) {
+            builder.replaceQueryParam(getParameterNameToUse(Constants.AFTER, parameter), listParams.getAfter());
+            builder.replaceQueryParam(sizePropertyName,
+                    pageable.getPageSize() <= getMaxPageSize() ? pageable.getPageSize() : getMaxPageSize());
+        } else if (!pageable.isUnpaged()) {
             final var pageNumber = pageable.getPageNumber();
             builder.replaceQueryParam(pagePropertyName, isOneIndexedParameters() ? pageNumber + 1 : pageNumber);
             builder.replaceQueryParam(sizePropertyName,
@@ -87,8 +112,13 @@ public class ListParametersMethodArgumentResolver extends PageableHandlerMethodA
             builder.replaceQueryParam(sizePropertyName, "-1");
         }
 
-        if (pageable.getSort().isSorted()) {
-            sortResolver.enhance(builder, parameter, pageable.getSort());
+        if (listParams.getSort().isSorted()) {
+            sortResolver.enhance(builder, parameter, listParams.getSort());
+        }
+
+        if (listParams.getCountMode() != CountMode.EXACT) {
+            builder.replaceQueryParam(getParameterNameToUse(Constants.COUNT, parameter),
+                    listParams.getCountMode() == CountMode.NONE ? "false" : COUNT_ESTIMATED);
         }
 
         if (listParams.getSearch() != null && !listParams.getSearch().isEmpty()) {
@@ -23,6 +23,7 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
@@ -55,6 +56,7 @@ import org.planqk.atlas.web.dtos.QuantumAlgorithmDto;
 import org.planqk.atlas.web.dtos.SimulatorDto;
 import org.planqk.atlas.web.dtos.TOSCAImplementationPackageDto;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import lombok.NonNull;
 
@@ -69,11 +71,21 @@ public final class ModelMapperUtils {
         return entities.map(objectEntity -> convert(objectEntity, dtoClass));
     }
 
+    public static <D, T> Slice<D> convertSlice(@NonNull Slice<T> entities, @NonNull Class<D> dtoClass) {
+        return entities.map(objectEntity -> convert(objectEntity, dtoClass));
+    }
+
     public static <D, T> Collection<D> convertCollection(@NonNull Collection<T> entities, @NonNull Class<D> dtoClass) {
         return entities.stream().map(objectEntity -> convert(objectEntity, dtoClass)).collect(Collectors.toCollection(ArrayList::new));
     }
 
     public static <D, T> D convert(final T entity, Class<D> outClass) {
+        if (entity != null) {
+            final Function<Object, D> dtoMapper = DtoMappers.find(entity.getClass(), outClass);
+            if (dtoMapper != null) {
+                return dtoMapper.apply(entity);
+            }
+        }
         return mapper.map(entity, outClass);
     }
 
@@ -82,8 +94,8 @@ public final class ModelMapperUtils {
         initializeConverters(mapper);
         initializeUUIDMappings(mapper);
         final Jsr310ModuleConfig config = Jsr310ModuleConfig.builder()
-                .dateTimePattern("yyyy-MM-dd HH:mm:ss")
-                .datePattern("yyyy-MM-dd HH:mm:ss")
+                .dateTimePattern(DtoMappers.DATE_TIME_PATTERN)
+                .datePattern(DtoMappers.DATE_TIME_PATTERN)
                 .zoneId(ZoneOffset.UTC)
                 .build();
         mapper.registerModule(new Jsr310Module(config));
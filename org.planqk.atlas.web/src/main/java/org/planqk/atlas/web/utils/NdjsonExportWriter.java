@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPOutputStream;
+
+import org.planqk.atlas.core.services.ExportRow;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+
+/**
+ * Writes the rows of an export as newline-delimited JSON, one object with the table, key and columns of a row per
+ * line.
+ * <p>
+ * The output is flushed after every {@link #FLUSH_INTERVAL} rows. If it is gzip-compressed, each flush completes a
+ * compressed chunk, so the receiver can decompress the rows written so far even if the export is interrupted.
+ */
+public final class NdjsonExportWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    public static final String GZIP_MEDIA_TYPE = "application/gzip";
+
+    static final int FLUSH_INTERVAL = 1000;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private NdjsonExportWriter() {
+    }
+
+    /**
+     * Write the rows passed on by the given export to the output stream, which is not closed afterwards.
+     *
+     * @param objectMapper The mapper serializing the rows
+     * @param output       The stream to write to
+     * @param gzip         Whether the output is gzip-compressed
+     * @param export       Passes all rows to the given action and returns their amount
+     * @return The amount of written rows
+     * @throws IOException if writing to the output stream fails
+     */
+    public static long write(@NonNull ObjectMapper objectMapper, @NonNull OutputStream output, boolean gzip,
+                             @NonNull ToLongFunction<Consumer<? super ExportRow>> export) throws IOException {
+        final GZIPOutputStream gzipOutput = gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE, true) : null;
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip ? gzipOutput : output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        final long[] written = {0};
+        final long count;
+        try {
+            count = export.applyAsLong(row -> {
+                try {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.close();
+        if (gzipOutput != null) {
+            gzipOutput.finish();
+        }
+        output.flush();
+        return count;
+    }
+}
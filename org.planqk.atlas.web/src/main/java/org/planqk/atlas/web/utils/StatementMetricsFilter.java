@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.planqk.atlas.core.util.StatementMonitor;
+import org.planqk.atlas.core.util.StatementStatistics;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the JDBC statements executed while handling a request, including the statements of lazy loads during the
+ * serialization of the response.
+ * <p>
+ * The amount of statements and the JDBC time of each request are published as the histograms {@value
+ * #STATEMENTS_METRIC} and {@value #TIME_METRIC}, tagged with the handler method the request was mapped to by the
+ * {@link org.planqk.atlas.web.annotation.VersionedRequestHandlerMapping}. The slowest statements of a request are
+ * logged on debug level.
+ * <p>
+ * Optionally the statistics are returned in a {@code Server-Timing} header. As headers cannot be added to a committed
+ * response, the header contains the statements executed before the response body was started.
+ */
+@Slf4j
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "atlas.http.jdbc.statements";
+
+    public static final String TIME_METRIC = "atlas.http.jdbc.time";
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String NO_HANDLER = "none";
+
+    private final StatementMonitor statementMonitor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean serverTiming;
+
+    public StatementMetricsFilter(@NonNull StatementMonitor statementMonitor, @NonNull MeterRegistry meterRegistry,
+                                  boolean serverTiming) {
+        this.statementMonitor = statementMonitor;
+        this.meterRegistry = meterRegistry;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (StatementMonitor.Scope scope = statementMonitor.open()) {
+            final ServerTimingResponse serverTimingResponse = serverTiming
+                    ? new ServerTimingResponse(response, scope.getStatistics()) : null;
+            try {
+                filterChain.doFilter(request, serverTimingResponse == null ? response : serverTimingResponse);
+            } finally {
+                if (serverTimingResponse != null && !response.isCommitted()) {
+                    serverTimingResponse.addServerTiming();
+                }
+                record(getHandlerName(request), scope.getStatistics());
+            }
+        }
+    }
+
+    private void record(String handler, StatementStatistics statistics) {
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("JDBC statements executed per request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getStatementCount());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing JDBC statements per request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getTotalTime());
+        if (log.isDebugEnabled() && statistics.getStatementCount() > 0) {
+            log.debug("{} executed {} statements in {} ms, slowest: {}", handler, statistics.getStatementCount(),
+                    statistics.getTotalTime().toMillis(), statistics.getSlowestStatements().stream()
+                            .map(statement -> statement.getDuration().toMillis() + " ms " + statement.getSql())
+                            .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static String getHandlerName(HttpServletRequest request) {
+        final Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod)) {
+            return NO_HANDLER;
+        }
+        final HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header right before the response is committed.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final StatementStatistics statistics;
+
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, StatementStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void addServerTiming() {
+            if (added) {
+                return;
+            }
+            added = true;
+            setHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;desc=\"%d statements\";dur=%.3f",
+                    statistics.getStatementCount(), statistics.getTotalTime().toNanos() / 1e6));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.NonNull;
+
+/**
+ * Unpaged {@link Slice} whose elements are not held in memory but are passed one by one from a source, e.g. a database
+ * cursor, to the serializer of the response.
+ * <p>
+ * The slice is serialized by {@link StreamedSliceSerializer} in the same format as an unpaged page, so clients do not
+ * notice the difference. {@link #map(Function)} is applied lazily to each element when it is passed on. Methods
+ * requiring the whole content, e.g. {@link #getContent()}, read all elements from the source into memory and should
+ * therefore be avoided.
+ *
+ * @param <T> The type of the elements
+ */
+@JsonSerialize(using = StreamedSliceSerializer.class)
+public class StreamedSlice<T> implements Slice<T> {
+
+    private final ToLongFunction<Consumer<? super T>> source;
+
+    private final Sort sort;
+
+    private List<T> content;
+
+    /**
+     * @param source Passes all elements to the given action and returns their amount
+     * @param sort   The sort the source returns the elements in
+     */
+    public StreamedSlice(@NonNull ToLongFunction<Consumer<? super T>> source, @NonNull Sort sort) {
+        this.source = source;
+        this.sort = sort;
+    }
+
+    /**
+     * Pass all elements of the slice to the given action, reading them from the source again.
+     *
+     * @param action The action processing each element
+     * @return The amount of elements
+     */
+    public long forEachElement(@NonNull Consumer<? super T> action) {
+        return source.applyAsLong(action);
+    }
+
+    @Override
+    public <U> StreamedSlice<U> map(@NonNull Function<? super T, ? extends U> converter) {
+        return new StreamedSlice<>(action -> source.applyAsLong(element -> action.accept(converter.apply(element))), sort);
+    }
+
+    @Override
+    public List<T> getContent() {
+        if (content == null) {
+            final List<T> elements = new ArrayList<>();
+            forEachElement(elements::add);
+            content = Collections.unmodifiableList(elements);
+        }
+        return content;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return getContent().iterator();
+    }
+
+    @Override
+    public int getNumber() {
+        return 0;
+    }
+
+    @Override
+    public int getSize() {
+        return getContent().size();
+    }
+
+    @Override
+    public int getNumberOfElements() {
+        return getContent().size();
+    }
+
+    @Override
+    public boolean hasContent() {
+        return !getContent().isEmpty();
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return true;
+    }
+
+    @Override
+    public boolean isLast() {
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return false;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return false;
+    }
+
+    @Override
+    public Pageable getPageable() {
+        return Pageable.unpaged();
+    }
+
+    @Override
+    public Pageable nextPageable() {
+        return Pageable.unpaged();
+    }
+
+    @Override
+    public Pageable previousPageable() {
+        return Pageable.unpaged();
+    }
+}
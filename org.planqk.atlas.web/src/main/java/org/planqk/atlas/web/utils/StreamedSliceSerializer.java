@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializes a {@link StreamedSlice} in the format of an unpaged page.
+ * <p>
+ * The elements are written one by one while they are read from the source of the slice, the page information
+ * depending on their amount is written after them.
+ */
+public class StreamedSliceSerializer extends StdSerializer<StreamedSlice<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    public StreamedSliceSerializer() {
+        super(StreamedSlice.class, false);
+    }
+
+    @Override
+    public void serialize(StreamedSlice<?> slice, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("content");
+        final long count;
+        try {
+            count = slice.forEachElement(element -> {
+                try {
+                    provider.defaultSerializeValue(element, gen);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+
+        provider.defaultSerializeField("pageable", slice.getPageable(), gen);
+        gen.writeNumberField("totalElements", count);
+        gen.writeNumberField("totalPages", 1);
+        gen.writeBooleanField("last", true);
+        gen.writeBooleanField("first", true);
+        gen.writeNumberField("size", count);
+        gen.writeNumberField("number", 0);
+        provider.defaultSerializeField("sort", slice.getSort(), gen);
+        gen.writeNumberField("numberOfElements", count);
+        gen.writeBooleanField("empty", count == 0);
+        gen.writeEndObject();
+    }
+}
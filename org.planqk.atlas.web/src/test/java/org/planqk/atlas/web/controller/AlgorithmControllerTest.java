@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -36,6 +37,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,6 +54,7 @@ import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.hibernate.envers.DefaultRevisionEntity;
 import org.json.JSONObject;
@@ -72,6 +75,7 @@ import org.planqk.atlas.core.model.ComputeResourcePropertyType;
 import org.planqk.atlas.core.model.DiscussionComment;
 import org.planqk.atlas.core.model.DiscussionTopic;
 import org.planqk.atlas.core.model.Image;
+import org.planqk.atlas.core.model.ImageMetadata;
 import org.planqk.atlas.core.model.Implementation;
 import org.planqk.atlas.core.model.LearningMethod;
 import org.planqk.atlas.core.model.PatternRelation;
@@ -95,6 +99,10 @@ import org.planqk.atlas.core.services.ProblemTypeService;
 import org.planqk.atlas.core.services.PublicationService;
 import org.planqk.atlas.core.services.SketchService;
 import org.planqk.atlas.core.services.TagService;
+import org.planqk.atlas.core.services.Thumbnail;
+import org.planqk.atlas.core.services.ThumbnailService;
+import org.planqk.atlas.core.util.CountMode;
+import org.planqk.atlas.core.util.CursorSlice;
 import org.planqk.atlas.web.controller.util.ObjectMapperUtils;
 import org.planqk.atlas.web.dtos.AlgorithmDto;
 import org.planqk.atlas.web.dtos.AlgorithmRelationDto;
@@ -118,13 +126,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.envers.repository.support.DefaultRevisionMetadata;
 import org.springframework.data.history.Revision;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
@@ -186,6 +199,9 @@ public class AlgorithmControllerTest {
     @MockBean
     private SketchService sketchService;
 
+    @MockBean
+    private ThumbnailService thumbnailService;
+
     @MockBean
     private PublicationService publicationService;
 
@@ -357,7 +373,7 @@ public class AlgorithmControllerTest {
     void getAlgorithms_EmptyList_returnOk() {
         initializeAlgorithms();
 
-        doReturn(Page.empty()).when(algorithmService).findAll(any(), any());
+        doReturn(Page.empty()).when(algorithmService).findAll(any(), any(), any());
 
         var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
                 .getAlgorithms(new ListParameters(pageable, null)));
@@ -381,7 +397,7 @@ public class AlgorithmControllerTest {
         Page<Algorithm> pageAlg = new PageImpl<>(algorithmList);
         Page<AlgorithmDto> pageAlgDto = ModelMapperUtils.convertPage(pageAlg, AlgorithmDto.class);
 
-        doReturn(pageAlg).when(algorithmService).findAll(any(), any());
+        doReturn(pageAlg).when(algorithmService).findAll(any(), any(), any());
 
         var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
                 .getAlgorithms(new ListParameters(pageable, null)));
@@ -395,6 +411,128 @@ public class AlgorithmControllerTest {
         assertEquals(array.size(), 2);
     }
 
+    @Test
+    @SneakyThrows
+    void getAlgorithms_WithoutCount_returnSlice() {
+        initializeAlgorithms();
+
+        doReturn(new SliceImpl<>(List.of(algorithm1), pageable, true)).when(algorithmService).findAll(any(), any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(new ListParameters(pageable, null, null, CountMode.NONE)));
+
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(algorithm1.getId().toString()))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        Mockito.verify(algorithmService).findAll(pageable, null, CountMode.NONE);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAlgorithms_EstimatedCount_returnPage() {
+        initializeAlgorithms();
+
+        doReturn(new PageImpl<>(List.of(algorithm1), pageable, 1000)).when(algorithmService).findAll(any(), any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(new ListParameters(pageable, null, null, CountMode.ESTIMATED)));
+
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1000));
+
+        Mockito.verify(algorithmService).findAll(pageable, null, CountMode.ESTIMATED);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAlgorithms_InvalidCount_returnBadRequest() {
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(ListParameters.getDefault()));
+
+        mockMvc.perform(get(url).param("count", "sometimes").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAlgorithms_Cursor_returnSlice() {
+        initializeAlgorithms();
+        final Pageable slicePageable = PageRequest.of(0, 1, Sort.by("name"));
+
+        doReturn(new CursorSlice<>(List.of(algorithm1), slicePageable, "next")).when(algorithmService).findSlice(any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(new ListParameters(slicePageable, "shor", "previous")));
+
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(algorithm1.getId().toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        Mockito.verify(algorithmService).findSlice(Mockito.argThat(request -> request.getSize() == 1
+                && "previous".equals(request.getCursor()) && Sort.by("name").equals(request.getSort())), Mockito.eq("shor"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAlgorithms_Unpaged_returnStreamedPage() {
+        initializeAlgorithms();
+        doAnswer(invocation -> {
+            final Consumer<Algorithm> action = invocation.getArgument(2);
+            action.accept(algorithm1);
+            action.accept(algorithm2);
+            return 2L;
+        }).when(algorithmService).streamAll(any(), any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(new ListParameters(Pageable.unpaged(), "shor")));
+
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(algorithm1.getId().toString()))
+                .andExpect(jsonPath("$.content[1].id").value(algorithm2.getId().toString()))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.last").value(true));
+
+        Mockito.verify(algorithmService).streamAll(Mockito.eq(Sort.unsorted()), Mockito.eq("shor"), any());
+        Mockito.verify(algorithmService, times(0)).findAll(any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAlgorithms_UnpagedSorted_passSort() {
+        doReturn(0L).when(algorithmService).streamAll(any(), any(), any());
+        final Sort sort = Sort.by(Sort.Direction.DESC, "name");
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(new ListParameters(Pageable.unpaged(), null, null, CountMode.EXACT, sort)));
+
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sort.sorted").value(true));
+
+        Mockito.verify(algorithmService).streamAll(Mockito.eq(sort), Mockito.isNull(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAlgorithms_InvalidCursor_returnBadRequest() {
+        doThrow(new IllegalArgumentException()).when(algorithmService).findSlice(any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getAlgorithms(new ListParameters(pageable, null, "invalid")));
+
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @SneakyThrows
     void createAlgorithm_returnBadRequest() {
@@ -504,7 +642,7 @@ public class AlgorithmControllerTest {
     void getAlgorithm_returnNotFound() {
         initializeAlgorithms();
 
-        doThrow(NoSuchElementException.class).when(algorithmService).findById(any());
+        doThrow(NoSuchElementException.class).when(algorithmService).findDetailedById(any());
 
         var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
                 .getAlgorithm(UUID.randomUUID()));
@@ -518,7 +656,7 @@ public class AlgorithmControllerTest {
     void getAlgorithm_returnOk() {
         initializeAlgorithms();
 
-        doReturn(algorithm1).when(algorithmService).findById(any());
+        doReturn(algorithm1).when(algorithmService).findDetailedById(any());
 
         var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
                 .getAlgorithm(UUID.randomUUID()));
@@ -1987,19 +2125,90 @@ public class AlgorithmControllerTest {
         image.setImage(new byte[20]);
         image.setMimeType("img/png");
 
-        doReturn(image).when(sketchService).getImageBySketch(sketchId);
+        final ImageMetadata imageMetadata = mockImageMetadata();
+        doReturn(imageMetadata).when(sketchService).getImageMetadataBySketch(sketchId);
+        doReturn(new ByteArrayResource(image.getImage())).when(sketchService).getImageContent(imageMetadata);
 
         var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
-                .getSketchImage(algorithmId, sketchId));
+                .getSketchImage(algorithmId, sketchId, null, null));
 
         // call
-        var resultActions = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        var resultActions = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=2592000"))
+                .andReturn();
 
         byte[] responseImage = resultActions.getResponse().getContentAsByteArray();
 
         assertThat(image.getImage()).isEqualTo(responseImage);
     }
 
+    @Test
+    @SneakyThrows
+    void getSketchImage_matchingETag_returnNotModified() {
+        final UUID algorithmId = UUID.randomUUID();
+        final UUID sketchId = UUID.randomUUID();
+
+        final ImageMetadata imageMetadata = mockImageMetadata();
+        final Resource content = Mockito.mock(Resource.class);
+        doReturn(imageMetadata).when(sketchService).getImageMetadataBySketch(sketchId);
+        doReturn(content).when(sketchService).getImageContent(imageMetadata);
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getSketchImage(algorithmId, sketchId, null, null));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        // the content of the image is not read for a not modified response
+        Mockito.verifyNoInteractions(content);
+    }
+
+    @Test
+    @SneakyThrows
+    void getSketchImage_withWidth_returnThumbnail() {
+        final UUID algorithmId = UUID.randomUUID();
+        final UUID sketchId = UUID.randomUUID();
+
+        final ImageMetadata imageMetadata = Mockito.mock(ImageMetadata.class);
+        final Thumbnail thumbnail = new Thumbnail(new byte[] {1, 2, 3}, "image/jpeg", "def456");
+        doReturn(imageMetadata).when(sketchService).getImageMetadataBySketch(sketchId);
+        doReturn(thumbnail).when(thumbnailService).getThumbnail(imageMetadata, 64, "jpeg");
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getSketchImage(algorithmId, sketchId, 64, "jpeg"));
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"def456\""))
+                .andExpect(content().bytes(thumbnail.getContent()));
+
+        Mockito.verify(sketchService, times(0)).getImageContent(any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getSketchImage_invalidWidth_returnBadRequest() {
+        final UUID sketchId = UUID.randomUUID();
+        final ImageMetadata imageMetadata = Mockito.mock(ImageMetadata.class);
+        doReturn(imageMetadata).when(sketchService).getImageMetadataBySketch(sketchId);
+        doThrow(new IllegalArgumentException()).when(thumbnailService).getThumbnail(imageMetadata, 0, null);
+
+        var url = linkBuilderService.urlStringTo(methodOn(AlgorithmController.class)
+                .getSketchImage(UUID.randomUUID(), sketchId, 0, null));
+
+        mockMvc.perform(get(url)).andExpect(status().isBadRequest());
+    }
+
+    private ImageMetadata mockImageMetadata() {
+        final ImageMetadata imageMetadata = Mockito.mock(ImageMetadata.class);
+        when(imageMetadata.getMimeType()).thenReturn("image/png");
+        when(imageMetadata.getContentHash()).thenReturn("abc123");
+        return imageMetadata;
+    }
+
     @Test
     @SneakyThrows
     void getDiscussionTopics() {
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.planqk.atlas.core.services.ExportRow;
+import org.planqk.atlas.core.services.ExportService;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.linkassembler.EnableLinkAssemblers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+
+@WebMvcTest(ExportController.class)
+@ExtendWith(MockitoExtension.class)
+@AutoConfigureMockMvc
+@EnableLinkAssemblers
+public class ExportControllerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final UUID algorithmId = UUID.randomUUID();
+
+    @MockBean
+    private ExportService exportService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void initialize() {
+        doReturn(List.of("algorithm", "algorithm_tag")).when(exportService).getTables();
+        doAnswer(invocation -> {
+            final Consumer<ExportRow> action = invocation.getArgument(3);
+            final Map<String, Object> algorithm = new LinkedHashMap<>();
+            algorithm.put("id", algorithmId);
+            algorithm.put("name", "Shor");
+            action.accept(new ExportRow("algorithm", List.of(algorithmId), algorithm));
+            action.accept(new ExportRow("algorithm_tag", List.of(algorithmId, "quantum"),
+                    Map.of("algorithm_id", algorithmId, "tag_value", "quantum")));
+            return 2L;
+        }).when(exportService).export(any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAll_returnNdjson() {
+        final String content = mockMvc.perform(get("/" + Constants.EXPORT))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        final List<JsonNode> rows = parseLines(content);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).get("table").asText()).isEqualTo("algorithm");
+        assertThat(rows.get(0).get("key").get(0).asText()).isEqualTo(algorithmId.toString());
+        assertThat(rows.get(0).get("columns").get("id").asText()).isEqualTo(algorithmId.toString());
+        assertThat(rows.get(1).get("table").asText()).isEqualTo("algorithm_tag");
+        assertThat(rows.get(1).get("columns").get("tag_value").asText()).isEqualTo("quantum");
+        verify(exportService).export(isNull(), isNull(), isNull(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAll_Gzip_returnCompressedNdjson() {
+        final byte[] content = mockMvc.perform(get("/" + Constants.EXPORT).param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            final List<JsonNode> rows = parseLines(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0).get("columns").get("name").asText()).isEqualTo("Shor");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAll_Resume_passPosition() {
+        final Instant since = Instant.parse("2021-03-01T12:00:00Z");
+
+        mockMvc.perform(get("/" + Constants.EXPORT).param("since", since.toString())
+                .param("table", "algorithm_tag").param("after", algorithmId.toString()).param("after", "quantum"))
+                .andExpect(status().isOk());
+
+        verify(exportService).export(eq(Date.from(since)), eq("algorithm_tag"), eq(List.of(algorithmId.toString(), "quantum")), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAll_UnknownTable_returnBadRequest() {
+        mockMvc.perform(get("/" + Constants.EXPORT).param("table", "unknown"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportService, never()).export(any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAll_KeyWithoutTable_returnBadRequest() {
+        mockMvc.perform(get("/" + Constants.EXPORT).param("after", algorithmId.toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(exportService, never()).export(any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getExportedTables_returnOk() {
+        mockMvc.perform(get("/" + Constants.EXPORT + "/" + Constants.TABLES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("algorithm"))
+                .andExpect(jsonPath("$[1]").value("algorithm_tag"));
+    }
+
+    private List<JsonNode> parseLines(String content) throws IOException {
+        final List<JsonNode> rows = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(mapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+}
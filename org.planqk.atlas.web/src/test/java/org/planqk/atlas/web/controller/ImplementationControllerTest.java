@@ -33,6 +33,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -95,11 +97,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
@@ -574,7 +578,7 @@ public class ImplementationControllerTest {
         impl.setImplementedAlgorithm(algo);
 
         doNothing().when(implementationService).checkIfImplementationIsOfAlgorithm(any(), any());
-        doReturn(impl).when(implementationService).findById(any());
+        doReturn(impl).when(implementationService).findDetailedById(any());
 
         var url = linkBuilderService.urlStringTo(methodOn(ImplementationController.class)
                 .getImplementation(algo.getId(), impl.getId()));
@@ -2015,6 +2019,7 @@ public class ImplementationControllerTest {
         file.setMimeType("img/png");
 
         when(implementationPackageService.findLinkedFile(implementationPackage.getId())).thenReturn(file);
+        when(fileService.getFileResource(file.getId())).thenReturn(new ByteArrayResource("0123456789".getBytes()));
 
         // When
         final String path = linkBuilderService.urlStringTo(methodOn(ImplementationController.class)
@@ -2023,10 +2028,43 @@ public class ImplementationControllerTest {
         ResultActions result = mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON));
 
         // Then
-        result.andExpect(status().isOk()).andReturn();
+        result.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string("0123456789")).andReturn();
         Mockito.verify(implementationPackageService, times(1)).findLinkedFile(implementationPackage.getId());
     }
 
+    @Test
+    @SneakyThrows
+    public void testDownloadFileContent_range_response_PARTIAL_CONTENT() {
+        var implementationPackage = new FileImplementationPackage();
+        implementationPackage.setId(UUID.randomUUID());
+
+        var impl = new Implementation();
+        impl.setId(UUID.randomUUID());
+
+        var algo = new Algorithm();
+        algo.setId(UUID.randomUUID());
+
+        var file = new File();
+        file.setId(UUID.randomUUID());
+        file.setMimeType("application/zip");
+
+        when(implementationPackageService.findLinkedFile(implementationPackage.getId())).thenReturn(file);
+        when(fileService.getFileResource(file.getId())).thenReturn(new ByteArrayResource("0123456789".getBytes()));
+
+        final String path = linkBuilderService.urlStringTo(methodOn(ImplementationController.class)
+                .downloadFileContent(algo.getId(), impl.getId(), implementationPackage.getId()));
+
+        mockMvc.perform(get(path).header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(content().string("234"));
+
+        mockMvc.perform(get(path).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
     @Test
     @SneakyThrows
     public void testDeleteFile_response_file_not_found() {
@@ -46,6 +46,7 @@ import org.planqk.atlas.core.model.Algorithm;
 import org.planqk.atlas.core.model.Implementation;
 import org.planqk.atlas.core.services.FileService;
 import org.planqk.atlas.core.services.ImplementationService;
+import org.planqk.atlas.core.util.CursorSlice;
 import org.planqk.atlas.web.controller.util.ObjectMapperUtils;
 import org.planqk.atlas.web.dtos.ImplementationDto;
 import org.planqk.atlas.web.dtos.RevisionDto;
@@ -99,7 +100,7 @@ public class ImplementationGlobalControllerTest {
     @Test
     @SneakyThrows
     void getImplementations_EmptyList_returnOk() {
-        doReturn(new PageImpl<>(List.of())).when(implementationService).findAll(any());
+        doReturn(new PageImpl<>(List.of())).when(implementationService).findAll(any(), any(), any());
 
         var url = linkBuilderService.urlStringTo(methodOn(ImplementationGlobalController.class)
                 .getImplementations(ListParameters.getDefault()));
@@ -118,7 +119,7 @@ public class ImplementationGlobalControllerTest {
         algo.setId(UUID.randomUUID());
         impl.setImplementedAlgorithm(algo);
 
-        doReturn(new PageImpl<>(List.of(impl))).when(implementationService).findAll(any());
+        doReturn(new PageImpl<>(List.of(impl))).when(implementationService).findAll(any(), any(), any());
 
         var url = linkBuilderService.urlStringTo(methodOn(ImplementationGlobalController.class)
                 .getImplementations(ListParameters.getDefault()));
@@ -130,6 +131,23 @@ public class ImplementationGlobalControllerTest {
         assertEquals(implementationDto.getImplementedAlgorithmId(), algo.getId());
     }
 
+    @Test
+    @SneakyThrows
+    void getImplementations_Cursor_returnSlice() {
+        var impl = new Implementation();
+        impl.setName("test-i");
+        impl.setId(UUID.randomUUID());
+
+        doReturn(new CursorSlice<>(List.of(impl), pageable, "next")).when(implementationService).findSlice(any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(ImplementationGlobalController.class)
+                .getImplementations(new ListParameters(pageable, null, "")));
+        mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(impl.getName()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
     @Test
     @SneakyThrows
     public void getImplementation_returnOk() {
@@ -141,7 +159,7 @@ public class ImplementationGlobalControllerTest {
         impl.setId(UUID.randomUUID());
         impl.setImplementedAlgorithm(algo);
 
-        doReturn(impl).when(implementationService).findById(any());
+        doReturn(impl).when(implementationService).findDetailedById(any());
 
         var url = linkBuilderService.urlStringTo(methodOn(ImplementationGlobalController.class)
                 .getImplementation(impl.getId()));
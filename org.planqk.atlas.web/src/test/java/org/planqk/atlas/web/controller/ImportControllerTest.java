@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.QuantumAlgorithm;
+import org.planqk.atlas.core.services.ImportRecord;
+import org.planqk.atlas.core.services.ImportResult;
+import org.planqk.atlas.core.services.ImportService;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.linkassembler.EnableLinkAssemblers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import lombok.SneakyThrows;
+
+@WebMvcTest(ImportController.class)
+@ExtendWith(MockitoExtension.class)
+@AutoConfigureMockMvc
+@EnableLinkAssemblers
+public class ImportControllerTest {
+
+    private final List<ImportRecord> records = new ArrayList<>();
+
+    @MockBean
+    private ImportService importService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void initialize() {
+        doAnswer(invocation -> {
+            final Iterator<ImportRecord> iterator = invocation.getArgument(0);
+            iterator.forEachRemaining(records::add);
+            final long failed = records.stream().filter(record -> record.getKind() == ImportRecord.Kind.INVALID).count();
+            return new ImportResult(records.size() - failed, failed,
+                    List.of(new ImportResult.RecordError(3, null, "error")), Duration.ofMillis(500));
+        }).when(importService).importAll(any());
+    }
+
+    @Test
+    @SneakyThrows
+    void importAll_Ndjson_returnResult() {
+        final String content = "{\"type\":\"algorithm\",\"ref\":\"a1\",\"data\":{\"name\":\"Shor\",\"computationModel\":\"QUANTUM\"}}\n" +
+                "{\"type\":\"implementation\",\"ref\":\"i1\",\"parent\":\"a1\",\"data\":{\"name\":\"Shor in Qiskit\"}}\n" +
+                "{\"type\":\"link\",\"link\":{\"algorithm\":\"a1\",\"publication\":\"p1\"}}\n" +
+                "{\"type\":\"algorithm\",\"data\":{\"computationModel\":\"CLASSIC\"}}\n" +
+                "{\"type\":\"unknown\",\"data\":{}}\n";
+
+        mockMvc.perform(post("/" + Constants.IMPORT).content(content).contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRecords").value(3))
+                .andExpect(jsonPath("$.failedRecords").value(2))
+                .andExpect(jsonPath("$.durationMillis").value(500))
+                .andExpect(jsonPath("$.recordsPerSecond").value(10.0))
+                .andExpect(jsonPath("$.errors[0].index").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("error"));
+
+        assertThat(records).hasSize(5);
+        final Object algorithm = records.get(0).getEntity().get();
+        assertThat(records.get(0).getReference()).isEqualTo("a1");
+        assertThat(algorithm).isInstanceOf(QuantumAlgorithm.class);
+        assertThat(((Algorithm) algorithm).getName()).isEqualTo("Shor");
+        assertThat(records.get(1).getParent()).isEqualTo("a1");
+        assertThat(records.get(1).getEntity().get()).isInstanceOf(Implementation.class);
+        assertThat(records.get(2).getKind()).isEqualTo(ImportRecord.Kind.LINK);
+        assertThat(records.get(2).getSourceType()).isEqualTo(Algorithm.class);
+        assertThat(records.get(2).getSource()).isEqualTo("a1");
+        assertThat(records.get(2).getTargetType()).isEqualTo(Publication.class);
+        assertThat(records.get(2).getTarget()).isEqualTo("p1");
+        assertThat(records.get(3).getKind()).isEqualTo(ImportRecord.Kind.INVALID);
+        assertThat(records.get(3).getMessage()).isEqualTo("Algorithm-Name must not be null!");
+        assertThat(records.get(4).getKind()).isEqualTo(ImportRecord.Kind.INVALID);
+    }
+
+    @Test
+    @SneakyThrows
+    void importAll_GzipJsonArray_returnResult() {
+        final String content = "[{\"type\":\"publication\",\"ref\":\"p1\",\"data\":{\"title\":\"Publication\",\"authors\":[\"author\"]}}," +
+                "{\"type\":\"tag\",\"data\":{\"value\":\"quantum\"}}]";
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockMvc.perform(post("/" + Constants.IMPORT).content(compressed.toByteArray())
+                .contentType("application/json").header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRecords").value(2));
+
+        assertThat(records).hasSize(2);
+        assertThat(records).allMatch(record -> record.getKind() == ImportRecord.Kind.ENTITY);
+        assertThat(records.get(0).getEntity().get()).isInstanceOf(Publication.class);
+    }
+
+    @Test
+    @SneakyThrows
+    void importAll_MalformedJson_reportInvalidRecord() {
+        final String content = "{\"type\":\"tag\",\"data\":{\"value\":\"quantum\"}}\n{\"type\":";
+
+        mockMvc.perform(post("/" + Constants.IMPORT).content(content).contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failedRecords").value(1));
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(1).getKind()).isEqualTo(ImportRecord.Kind.INVALID);
+        assertThat(records.get(1).getMessage()).startsWith("Malformed JSON");
+    }
+}
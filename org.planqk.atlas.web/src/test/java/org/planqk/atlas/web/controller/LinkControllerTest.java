@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2020 the qc-atlas contributors.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.planqk.atlas.core.services.LinkType;
+import org.planqk.atlas.core.services.LinkingService;
+import org.planqk.atlas.web.Constants;
+import org.planqk.atlas.web.dtos.LinkBatchDto;
+import org.planqk.atlas.web.linkassembler.EnableLinkAssemblers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+
+@WebMvcTest(LinkController.class)
+@ExtendWith(MockitoExtension.class)
+@AutoConfigureMockMvc
+@EnableLinkAssemblers
+public class LinkControllerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Set<UUID> algorithmIds = Set.of(UUID.randomUUID(), UUID.randomUUID());
+
+    private final Set<UUID> problemTypeIds = Set.of(UUID.randomUUID());
+
+    @MockBean
+    private LinkingService linkingService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SneakyThrows
+    void linkAll_returnOk() {
+        doReturn(2).when(linkingService).linkAll(LinkType.ALGORITHM_PROBLEM_TYPE, algorithmIds, problemTypeIds);
+
+        mockMvc.perform(post("/" + Constants.LINKS + "/algorithm-problem-type")
+                .content(mapper.writeValueAsString(getLinkBatch())).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changedLinks").value(2));
+    }
+
+    @Test
+    @SneakyThrows
+    void linkAll_returnNotFound() {
+        doThrow(new NoSuchElementException()).when(linkingService).linkAll(any(), any(), any());
+
+        mockMvc.perform(post("/" + Constants.LINKS + "/algorithm-problem-type")
+                .content(mapper.writeValueAsString(getLinkBatch())).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @SneakyThrows
+    void linkAll_UnknownLinkType_returnBadRequest() {
+        mockMvc.perform(post("/" + Constants.LINKS + "/algorithm-sketch")
+                .content(mapper.writeValueAsString(getLinkBatch())).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(linkingService);
+    }
+
+    @Test
+    @SneakyThrows
+    void linkAll_MissingIds_returnBadRequest() {
+        mockMvc.perform(post("/" + Constants.LINKS + "/algorithm-problem-type")
+                .content("{\"sourceIds\":[]}").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(linkingService);
+    }
+
+    @Test
+    @SneakyThrows
+    void unlinkAll_returnOk() {
+        doReturn(1).when(linkingService).unlinkAll(eq(LinkType.ALGORITHM_PROBLEM_TYPE), eq(algorithmIds),
+                eq(problemTypeIds));
+
+        mockMvc.perform(delete("/" + Constants.LINKS + "/algorithm-problem-type")
+                .content(mapper.writeValueAsString(getLinkBatch())).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changedLinks").value(1));
+    }
+
+    private LinkBatchDto getLinkBatch() {
+        final LinkBatchDto linkBatch = new LinkBatchDto();
+        linkBatch.setSourceIds(algorithmIds);
+        linkBatch.setTargetIds(problemTypeIds);
+        return linkBatch;
+    }
+}
@@ -305,4 +305,64 @@ public class ProblemTypeControllerTest {
                         .accept(APPLICATION_JSON)
         ).andExpect(status().isNotFound());
     }
+
+    @Test
+    @SneakyThrows
+    void getProblemTypeDescendants_returnOk() {
+        var parent = UUID.randomUUID();
+        var child = new ProblemType();
+        child.setId(UUID.randomUUID());
+        child.setName("child");
+        child.setParentProblemType(parent);
+
+        doReturn(List.of(child)).when(problemTypeService).findDescendants(parent, 1);
+        var url = linkBuilderService.urlStringTo(methodOn(ProblemTypeController.class)
+                .getProblemTypeDescendants(parent, 1));
+        MvcResult mvcResult = mockMvc.perform(
+                get(url)
+                        .accept(APPLICATION_JSON)
+        ).andExpect(status().isOk()).andReturn();
+        var descendants = ObjectMapperUtils.mapResponseToList(mvcResult, ProblemTypeDto.class);
+        assertEquals(1, descendants.size());
+        assertEquals(child.getId(), descendants.get(0).getId());
+        assertEquals(parent, descendants.get(0).getParentProblemType());
+    }
+
+    @Test
+    @SneakyThrows
+    void getProblemTypeDescendants_returnNotFound() {
+        doThrow(new NoSuchElementException()).when(problemTypeService).findDescendants(any(), any());
+        var url = linkBuilderService.urlStringTo(methodOn(ProblemTypeController.class)
+                .getProblemTypeDescendants(UUID.randomUUID(), null));
+        mockMvc.perform(
+                get(url)
+                        .accept(APPLICATION_JSON)
+        ).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @SneakyThrows
+    void moveProblemTypeChildren_returnNoContent() {
+        var problemTypeId = UUID.randomUUID();
+        var newParentId = UUID.randomUUID();
+        doReturn(2).when(problemTypeService).moveChildren(problemTypeId, newParentId);
+        var url = linkBuilderService.urlStringTo(methodOn(ProblemTypeController.class)
+                .moveProblemTypeChildren(problemTypeId, newParentId));
+        mockMvc.perform(
+                put(url)
+                        .accept(APPLICATION_JSON)
+        ).andExpect(status().isNoContent());
+    }
+
+    @Test
+    @SneakyThrows
+    void moveProblemTypeChildren_returnBadRequest() {
+        doThrow(new IllegalArgumentException()).when(problemTypeService).moveChildren(any(), any());
+        var url = linkBuilderService.urlStringTo(methodOn(ProblemTypeController.class)
+                .moveProblemTypeChildren(UUID.randomUUID(), UUID.randomUUID()));
+        mockMvc.perform(
+                put(url)
+                        .accept(APPLICATION_JSON)
+        ).andExpect(status().isBadRequest());
+    }
 }
@@ -62,6 +62,7 @@ import org.planqk.atlas.core.services.DiscussionTopicService;
 import org.planqk.atlas.core.services.ImplementationService;
 import org.planqk.atlas.core.services.LinkingService;
 import org.planqk.atlas.core.services.PublicationService;
+import org.planqk.atlas.core.util.CursorSlice;
 import org.planqk.atlas.web.controller.util.ObjectMapperUtils;
 import org.planqk.atlas.web.dtos.AlgorithmDto;
 import org.planqk.atlas.web.dtos.ClassicAlgorithmDto;
@@ -206,7 +207,7 @@ public class PublicationControllerTest {
     @Test
     @SneakyThrows
     void getPublications_EmptyList_returnOk() {
-        doReturn(new PageImpl<Publication>(List.of())).when(publicationService).findAll(any(), any());
+        doReturn(new PageImpl<Publication>(List.of())).when(publicationService).findAll(any(), any(), any());
 
         var url = linkBuilderService.urlStringTo(methodOn(PublicationController.class)
                 .getPublications(ListParameters.getDefault()));
@@ -216,6 +217,24 @@ public class PublicationControllerTest {
         Assert.assertEquals(ObjectMapperUtils.mapResponseToList(mvcResult, ProblemTypeDto.class).size(), 0);
     }
 
+    @Test
+    @SneakyThrows
+    void getPublications_Cursor_returnSlice() {
+        var publ = new Publication();
+        publ.setId(UUID.randomUUID());
+        publ.setTitle("test");
+
+        doReturn(new CursorSlice<>(List.of(publ), pageable, null)).when(publicationService).findSlice(any(), any());
+
+        var url = linkBuilderService.urlStringTo(methodOn(PublicationController.class)
+                .getPublications(new ListParameters(pageable, null, "")));
+        mockMvc.perform(get(url).accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(publ.getId().toString()))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     @SneakyThrows
     void getPublications_SingleElement_returnOk() {
@@ -224,7 +243,7 @@ public class PublicationControllerTest {
         publ.setAuthors(List.of("test", "test-2"));
         publ.setTitle("test");
 
-        doReturn(new PageImpl<Publication>(List.of(publ))).when(publicationService).findAll(any(), any());
+        doReturn(new PageImpl<Publication>(List.of(publ))).when(publicationService).findAll(any(), any(), any());
 
         var url = linkBuilderService.urlStringTo(methodOn(PublicationController.class)
                 .getPublications(ListParameters.getDefault()));
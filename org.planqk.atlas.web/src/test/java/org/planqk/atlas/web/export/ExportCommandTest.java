@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.services.AlgorithmService;
+import org.planqk.atlas.web.linkassembler.LinkBuilderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(classes = ExportConfiguration.class, webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=${DB_JDBC_URL}",
+        "spring.datasource.username=${DB_USERNAME}",
+        "spring.datasource.password=${DB_PASSWORD}"})
+public class ExportCommandTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:12-alpine");
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void setDatabaseProperties() {
+        System.setProperty("DB_JDBC_URL", postgreSQLContainer.getJdbcUrl());
+        System.setProperty("DB_USERNAME", postgreSQLContainer.getUsername());
+        System.setProperty("DB_PASSWORD", postgreSQLContainer.getPassword());
+    }
+
+    @Test
+    void context_WithoutWebLayer() {
+        assertThat(context.getBeanNamesForType(LinkBuilderService.class)).isEmpty();
+    }
+
+    @Test
+    void export_WritesNdjson() throws IOException {
+        final Algorithm algorithm = new ClassicAlgorithm();
+        algorithm.setName("exported");
+        algorithmService.create(algorithm);
+        final Path output = directory.resolve("export.ndjson");
+
+        final long count = ExportCommand.export(context, new DefaultApplicationArguments("--output=" + output));
+
+        final List<JsonNode> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(output)) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).hasSize((int) count);
+        assertThat(rows).anySatisfy(row -> {
+            assertThat(row.get("table").asText()).isEqualTo("algorithm");
+            assertThat(row.get("columns").get("name").asText()).isEqualTo("exported");
+        });
+    }
+}
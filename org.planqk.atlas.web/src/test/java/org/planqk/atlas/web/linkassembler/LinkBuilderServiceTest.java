@@ -22,13 +22,19 @@ package org.planqk.atlas.web.linkassembler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.util.UUID;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.planqk.atlas.web.annotation.VersionedRequestHandlerMapping;
 import org.planqk.atlas.web.utils.ListParametersMethodArgumentResolver;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import lombok.SneakyThrows;
 
 public class LinkBuilderServiceTest {
     private final VersionedRequestHandlerMapping mappings = new VersionedRequestHandlerMapping();
@@ -62,6 +68,36 @@ public class LinkBuilderServiceTest {
         assertEquals("/test/test/something", link.getHref());
     }
 
+    @Test
+    public void pathVariables() {
+        final UUID firstId = UUID.randomUUID();
+        final UUID secondId = UUID.randomUUID();
+
+        assertEquals("/test/" + firstId, service.urlStringTo(methodOn(Controller.class).endpointWithId(firstId)));
+        assertEquals("/test/" + secondId, service.urlStringTo(methodOn(Controller.class).endpointWithId(secondId)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void registeredMappingChanges() {
+        final RequestMappingInfo mapping = RequestMappingInfo.paths("/registered").build();
+        assertEquals("/", service.urlStringTo(methodOn(NonController.class).test()));
+
+        mappings.registerMapping(mapping, new NonController(), NonController.class.getMethod("test"));
+        assertEquals("/registered", service.urlStringTo(methodOn(NonController.class).test()));
+
+        mappings.unregisterMapping(mapping);
+        assertEquals("/", service.urlStringTo(methodOn(NonController.class).test()));
+    }
+
+    @Test
+    public void populatedHandlerAfterLinkBuilding() {
+        assertEquals("/", service.urlStringTo(methodOn(NonController.class).test()));
+
+        mappings.populateFromHandler(new OtherController());
+        assertEquals("/other/test", service.urlStringTo(methodOn(OtherController.class).endpoint()));
+    }
+
     static class NonController {
         public HttpEntity<Void> test() {
             return null;
@@ -75,8 +111,21 @@ public class LinkBuilderServiceTest {
             return null;
         }
 
+        @RequestMapping("/{id}")
+        public HttpEntity<Void> endpointWithId(@PathVariable UUID id) {
+            return null;
+        }
+
         public HttpEntity<Void> nonEndpoint() {
             return null;
         }
     }
+
+    @RequestMapping("/other")
+    static class OtherController {
+        @RequestMapping("/test")
+        public HttpEntity<Void> endpoint() {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,411 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.model.Algorithm;
+import org.planqk.atlas.core.model.AlgorithmRelation;
+import org.planqk.atlas.core.model.AlgorithmRelationType;
+import org.planqk.atlas.core.model.ApplicationArea;
+import org.planqk.atlas.core.model.ClassicAlgorithm;
+import org.planqk.atlas.core.model.ClassicImplementation;
+import org.planqk.atlas.core.model.CloudService;
+import org.planqk.atlas.core.model.ComputationModel;
+import org.planqk.atlas.core.model.ComputeResource;
+import org.planqk.atlas.core.model.ComputeResourceProperty;
+import org.planqk.atlas.core.model.ComputeResourcePropertyDataType;
+import org.planqk.atlas.core.model.ComputeResourcePropertyType;
+import org.planqk.atlas.core.model.DiscussionComment;
+import org.planqk.atlas.core.model.DiscussionTopic;
+import org.planqk.atlas.core.model.File;
+import org.planqk.atlas.core.model.FileImplementationPackage;
+import org.planqk.atlas.core.model.FunctionImplementationPackage;
+import org.planqk.atlas.core.model.Implementation;
+import org.planqk.atlas.core.model.ImplementationPackage;
+import org.planqk.atlas.core.model.ImplementationPackageType;
+import org.planqk.atlas.core.model.LearningMethod;
+import org.planqk.atlas.core.model.PatternRelation;
+import org.planqk.atlas.core.model.PatternRelationType;
+import org.planqk.atlas.core.model.ProblemType;
+import org.planqk.atlas.core.model.Publication;
+import org.planqk.atlas.core.model.Qpu;
+import org.planqk.atlas.core.model.QuantumAlgorithm;
+import org.planqk.atlas.core.model.QuantumComputationModel;
+import org.planqk.atlas.core.model.Simulator;
+import org.planqk.atlas.core.model.Sketch;
+import org.planqk.atlas.core.model.SoftwarePlatform;
+import org.planqk.atlas.core.model.Status;
+import org.planqk.atlas.core.model.TOSCAImplementationPackage;
+import org.planqk.atlas.core.model.Tag;
+import org.planqk.atlas.web.dtos.AlgorithmDto;
+import org.planqk.atlas.web.dtos.AlgorithmRelationDto;
+import org.planqk.atlas.web.dtos.AlgorithmRelationTypeDto;
+import org.planqk.atlas.web.dtos.ApplicationAreaDto;
+import org.planqk.atlas.web.dtos.ClassicAlgorithmDto;
+import org.planqk.atlas.web.dtos.CloudServiceDto;
+import org.planqk.atlas.web.dtos.ComputeResourceDto;
+import org.planqk.atlas.web.dtos.ComputeResourcePropertyDto;
+import org.planqk.atlas.web.dtos.ComputeResourcePropertyTypeDto;
+import org.planqk.atlas.web.dtos.DiscussionCommentDto;
+import org.planqk.atlas.web.dtos.DiscussionTopicDto;
+import org.planqk.atlas.web.dtos.FileDto;
+import org.planqk.atlas.web.dtos.FileImplementationPackageDto;
+import org.planqk.atlas.web.dtos.FunctionImplementationPackageDto;
+import org.planqk.atlas.web.dtos.ImplementationDto;
+import org.planqk.atlas.web.dtos.ImplementationPackageDto;
+import org.planqk.atlas.web.dtos.LearningMethodDto;
+import org.planqk.atlas.web.dtos.PatternRelationDto;
+import org.planqk.atlas.web.dtos.PatternRelationTypeDto;
+import org.planqk.atlas.web.dtos.ProblemTypeDto;
+import org.planqk.atlas.web.dtos.PublicationDto;
+import org.planqk.atlas.web.dtos.QPUDto;
+import org.planqk.atlas.web.dtos.QuantumAlgorithmDto;
+import org.planqk.atlas.web.dtos.RevisionDto;
+import org.planqk.atlas.web.dtos.SimulatorDto;
+import org.planqk.atlas.web.dtos.SketchDto;
+import org.planqk.atlas.web.dtos.SoftwarePlatformDto;
+import org.planqk.atlas.web.dtos.TOSCAImplementationPackageDto;
+import org.planqk.atlas.web.dtos.TagDto;
+import org.springframework.data.envers.repository.support.DefaultRevisionMetadata;
+import org.springframework.data.history.Revision;
+import org.springframework.data.history.RevisionMetadata;
+
+import lombok.SneakyThrows;
+
+/**
+ * Verifies that the reflection free mappers produce the same DTOs as the type maps of the model mapper.
+ */
+public class DtoMappersTest {
+
+    @Test
+    void mapAlgorithms() {
+        assertSameAsModelMapper(fillAlgorithm(new Algorithm()), AlgorithmDto.class);
+        assertSameAsModelMapper(fillAlgorithm(new ClassicAlgorithm()), AlgorithmDto.class);
+        assertSameAsModelMapper(fillAlgorithm(new ClassicAlgorithm()), ClassicAlgorithmDto.class);
+        assertSameAsModelMapper(quantumAlgorithm(), AlgorithmDto.class);
+        assertSameAsModelMapper(quantumAlgorithm(), QuantumAlgorithmDto.class);
+
+        final Algorithm withoutSketches = fillAlgorithm(new ClassicAlgorithm());
+        withoutSketches.setSketches(null);
+        assertSameAsModelMapper(withoutSketches, AlgorithmDto.class);
+        assertSameAsModelMapper(new Algorithm(), AlgorithmDto.class);
+    }
+
+    @Test
+    void mapAlgorithmRelations() {
+        final AlgorithmRelationType type = new AlgorithmRelationType();
+        type.setId(UUID.randomUUID());
+        type.setName("Type");
+        type.setInverseTypeName("InverseType");
+        final AlgorithmRelation relation = new AlgorithmRelation();
+        relation.setId(UUID.randomUUID());
+        relation.setSourceAlgorithm(fillAlgorithm(new ClassicAlgorithm()));
+        relation.setTargetAlgorithm(quantumAlgorithm());
+        relation.setAlgorithmRelationType(type);
+        relation.setDescription("Description");
+
+        assertSameAsModelMapper(relation, AlgorithmRelationDto.class);
+        assertSameAsModelMapper(type, AlgorithmRelationTypeDto.class);
+        assertSameAsModelMapper(new AlgorithmRelation(), AlgorithmRelationDto.class);
+    }
+
+    @Test
+    void mapImplementations() {
+        final Implementation implementation = fillImplementation(new Implementation());
+        assertSameAsModelMapper(implementation, ImplementationDto.class);
+
+        final ClassicImplementation classicImplementation = fillImplementation(new ClassicImplementation());
+        classicImplementation.setAlgorithm(fillAlgorithm(new ClassicAlgorithm()));
+        assertSameAsModelMapper(classicImplementation, ImplementationDto.class);
+
+        final Implementation withoutPlatforms = new Implementation();
+        withoutPlatforms.setSoftwarePlatforms(null);
+        assertSameAsModelMapper(withoutPlatforms, ImplementationDto.class);
+    }
+
+    @Test
+    void mapImplementationPackages() {
+        assertSameAsModelMapper(fillImplementationPackage(new ImplementationPackage()), ImplementationPackageDto.class);
+        assertSameAsModelMapper(fillImplementationPackage(new FileImplementationPackage()), ImplementationPackageDto.class);
+        assertSameAsModelMapper(fillImplementationPackage(new FileImplementationPackage()), FileImplementationPackageDto.class);
+        assertSameAsModelMapper(fillImplementationPackage(new TOSCAImplementationPackage()), ImplementationPackageDto.class);
+        assertSameAsModelMapper(fillImplementationPackage(new TOSCAImplementationPackage()), TOSCAImplementationPackageDto.class);
+        assertSameAsModelMapper(fillImplementationPackage(new FunctionImplementationPackage()), ImplementationPackageDto.class);
+        assertSameAsModelMapper(fillImplementationPackage(new FunctionImplementationPackage()),
+                FunctionImplementationPackageDto.class);
+    }
+
+    @Test
+    @SneakyThrows
+    void mapComputeResources() {
+        assertSameAsModelMapper(fillComputeResource(new ComputeResource()), ComputeResourceDto.class);
+        assertSameAsModelMapper(fillComputeResource(new Qpu()), ComputeResourceDto.class);
+        assertSameAsModelMapper(fillComputeResource(new Qpu()), QPUDto.class);
+        assertSameAsModelMapper(fillComputeResource(new Simulator()), ComputeResourceDto.class);
+        assertSameAsModelMapper(fillComputeResource(new Simulator()), SimulatorDto.class);
+
+        final ComputeResourcePropertyType type = new ComputeResourcePropertyType();
+        type.setId(UUID.randomUUID());
+        type.setName("Qubits");
+        type.setDatatype(ComputeResourcePropertyDataType.INTEGER);
+        type.setDescription("Description");
+        final ComputeResourceProperty property = new ComputeResourceProperty();
+        property.setId(UUID.randomUUID());
+        property.setValue("5");
+        property.setComputeResourcePropertyType(type);
+        property.setComputeResource(fillComputeResource(new Qpu()));
+        assertSameAsModelMapper(property, ComputeResourcePropertyDto.class);
+        assertSameAsModelMapper(type, ComputeResourcePropertyTypeDto.class);
+        assertSameAsModelMapper(new ComputeResourceProperty(), ComputeResourcePropertyDto.class);
+
+        final CloudService cloudService = new CloudService();
+        cloudService.setId(UUID.randomUUID());
+        cloudService.setName("Cloud");
+        cloudService.setProvider("Provider");
+        cloudService.setUrl(new URL("http://www.example.com"));
+        cloudService.setDescription("Description");
+        cloudService.setCostModel("CostModel");
+        cloudService.getProvidedComputeResources().add(fillComputeResource(new Qpu()));
+        assertSameAsModelMapper(cloudService, CloudServiceDto.class);
+        assertSameAsModelMapper(softwarePlatform(), SoftwarePlatformDto.class);
+    }
+
+    @Test
+    void mapDiscussions() {
+        final DiscussionTopic topic = new DiscussionTopic();
+        topic.setId(UUID.randomUUID());
+        topic.setTitle("Title");
+        topic.setDescription("Description");
+        topic.setStatus(Status.OPEN);
+        topic.setDate(OffsetDateTime.now());
+        topic.setKnowledgeArtifact(fillAlgorithm(new Algorithm()));
+        final DiscussionComment reply = new DiscussionComment();
+        reply.setId(UUID.randomUUID());
+        reply.setText("Reply");
+        reply.setDate(OffsetDateTime.now());
+        reply.setDiscussionTopic(topic);
+        final DiscussionComment comment = new DiscussionComment();
+        comment.setId(UUID.randomUUID());
+        comment.setText("Comment");
+        comment.setDate(OffsetDateTime.now());
+        comment.setReplyTo(reply);
+        comment.setDiscussionTopic(topic);
+        topic.getDiscussionComments().add(comment);
+
+        assertSameAsModelMapper(comment, DiscussionCommentDto.class);
+        assertSameAsModelMapper(topic, DiscussionTopicDto.class);
+        assertSameAsModelMapper(new DiscussionComment(), DiscussionCommentDto.class);
+    }
+
+    @Test
+    void mapSimpleEntities() {
+        final ApplicationArea applicationArea = new ApplicationArea();
+        applicationArea.setId(UUID.randomUUID());
+        applicationArea.setName("ApplicationArea");
+        applicationArea.getAlgorithms().add(fillAlgorithm(new Algorithm()));
+        assertSameAsModelMapper(applicationArea, ApplicationAreaDto.class);
+
+        final LearningMethod learningMethod = new LearningMethod();
+        learningMethod.setId(UUID.randomUUID());
+        learningMethod.setName("LearningMethod");
+        assertSameAsModelMapper(learningMethod, LearningMethodDto.class);
+
+        final ProblemType problemType = new ProblemType();
+        problemType.setId(UUID.randomUUID());
+        problemType.setName("ProblemType");
+        problemType.setParentProblemType(UUID.randomUUID());
+        assertSameAsModelMapper(problemType, ProblemTypeDto.class);
+
+        final Publication publication = new Publication();
+        publication.setId(UUID.randomUUID());
+        publication.setTitle("Title");
+        publication.setDoi("Doi");
+        publication.setUrl("http://www.example.com");
+        publication.setAuthors(new ArrayList<>(List.of("Author1", "Author2")));
+        assertSameAsModelMapper(publication, PublicationDto.class);
+        final Publication withoutAuthors = new Publication();
+        withoutAuthors.setAuthors(null);
+        assertSameAsModelMapper(withoutAuthors, PublicationDto.class);
+
+        final File file = new File();
+        file.setId(UUID.randomUUID());
+        file.setName("File");
+        file.setMimeType("text/plain");
+        file.setFileURL("/files/file");
+        file.setContentHash("hash");
+        assertSameAsModelMapper(file, FileDto.class);
+
+        final Tag tag = new Tag();
+        tag.setCategory("Category");
+        tag.setValue("Value");
+        tag.getAlgorithms().add(fillAlgorithm(new Algorithm()));
+        assertSameAsModelMapper(tag, TagDto.class);
+
+        final PatternRelationType patternRelationType = new PatternRelationType();
+        patternRelationType.setId(UUID.randomUUID());
+        patternRelationType.setName("PatternRelationType");
+        final PatternRelation patternRelation = new PatternRelation();
+        patternRelation.setId(UUID.randomUUID());
+        patternRelation.setAlgorithm(quantumAlgorithm());
+        patternRelation.setPattern(URI.create("http://www.example.com/pattern"));
+        patternRelation.setPatternRelationType(patternRelationType);
+        patternRelation.setDescription("Description");
+        assertSameAsModelMapper(patternRelation, PatternRelationDto.class);
+        assertSameAsModelMapper(patternRelationType, PatternRelationTypeDto.class);
+        assertSameAsModelMapper(new PatternRelation(), PatternRelationDto.class);
+
+        assertSameAsModelMapper(sketch(), SketchDto.class);
+    }
+
+    @Test
+    void mapRevision() {
+        final Instant instant = Instant.now();
+        final DefaultRevisionEntity revisionEntity = new DefaultRevisionEntity();
+        revisionEntity.setId(42);
+        revisionEntity.setTimestamp(instant.toEpochMilli());
+        final RevisionMetadata<Integer> metadata = new DefaultRevisionMetadata(revisionEntity);
+
+        final RevisionDto dto = ModelMapperUtils.convert(Revision.of(metadata, new Algorithm()), RevisionDto.class);
+
+        assertEquals(42, dto.getRevisionNumber());
+        assertEquals(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC).format(instant),
+                dto.getRevisionInstant());
+    }
+
+    @Test
+    void findMapper_unmappedConversion_returnNull() {
+        assertNull(DtoMappers.find(AlgorithmDto.class, Algorithm.class));
+        assertNull(DtoMappers.find(QuantumAlgorithm.class, ClassicAlgorithmDto.class));
+        assertNotNull(DtoMappers.find(ClassicImplementation.class, ImplementationDto.class));
+    }
+
+    private void assertSameAsModelMapper(Object source, Class<?> targetClass) {
+        final Function<Object, ?> mapper = DtoMappers.find(source.getClass(), targetClass);
+        assertNotNull(mapper, "No mapper for " + source.getClass().getSimpleName() + " to " + targetClass.getSimpleName());
+
+        final Object expected = ModelMapperUtils.mapper.map(source, targetClass);
+        final Object actual = mapper.apply(source);
+
+        assertThat(actual).isExactlyInstanceOf(expected.getClass());
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    private static <T extends Algorithm> T fillAlgorithm(T algorithm) {
+        algorithm.setId(UUID.randomUUID());
+        algorithm.setCreationDate(new Date());
+        algorithm.setLastModifiedAt(new Date());
+        algorithm.setName("Algorithm");
+        algorithm.setAcronym("ALG");
+        algorithm.setIntent("Intent");
+        algorithm.setProblem("Problem");
+        algorithm.setInputFormat("InputFormat");
+        algorithm.setAlgoParameter("Parameter");
+        algorithm.setOutputFormat("OutputFormat");
+        algorithm.setSolution("Solution");
+        algorithm.setAssumptions("Assumptions");
+        algorithm.setComputationModel(algorithm instanceof QuantumAlgorithm ? ComputationModel.QUANTUM : ComputationModel.CLASSIC);
+        algorithm.getSketches().add(sketch());
+        algorithm.getSketches().add(sketch());
+        return algorithm;
+    }
+
+    private static QuantumAlgorithm quantumAlgorithm() {
+        final QuantumAlgorithm algorithm = fillAlgorithm(new QuantumAlgorithm());
+        algorithm.setNisqReady(true);
+        algorithm.setQuantumComputationModel(QuantumComputationModel.GATE_BASED);
+        algorithm.setSpeedUp("SpeedUp");
+        return algorithm;
+    }
+
+    private static Sketch sketch() {
+        final Sketch sketch = new Sketch();
+        sketch.setId(UUID.randomUUID());
+        sketch.setImageURL("/sketches/image");
+        sketch.setDescription("Sketch");
+        return sketch;
+    }
+
+    private static <T extends Implementation> T fillImplementation(T implementation) {
+        implementation.setId(UUID.randomUUID());
+        implementation.setImplementedAlgorithm(quantumAlgorithm());
+        implementation.setName("Implementation");
+        implementation.setInputFormat("InputFormat");
+        implementation.setOutputFormat("OutputFormat");
+        implementation.setDescription("Description");
+        implementation.setContributors("Contributors");
+        implementation.setAssumptions("Assumptions");
+        implementation.setParameter("Parameter");
+        implementation.setDependencies("Dependencies");
+        implementation.setVersion("1.0");
+        implementation.setLicense("License");
+        implementation.setTechnology("Technology");
+        implementation.setProblemStatement("ProblemStatement");
+        implementation.getSoftwarePlatforms().add(softwarePlatform());
+        implementation.getSoftwarePlatforms().add(softwarePlatform());
+        return implementation;
+    }
+
+    @SneakyThrows
+    private static SoftwarePlatform softwarePlatform() {
+        final SoftwarePlatform softwarePlatform = new SoftwarePlatform();
+        softwarePlatform.setId(UUID.randomUUID());
+        softwarePlatform.setName("SoftwarePlatform");
+        softwarePlatform.setLink(new URL("http://www.example.com"));
+        softwarePlatform.setLicence("Licence");
+        softwarePlatform.setVersion("1.0");
+        return softwarePlatform;
+    }
+
+    private static <T extends ImplementationPackage> T fillImplementationPackage(T implementationPackage) {
+        implementationPackage.setId(UUID.randomUUID());
+        implementationPackage.setName("Package");
+        implementationPackage.setDescription("Description");
+        implementationPackage.setPackageType(ImplementationPackageType.FILE);
+        implementationPackage.setImplementation(fillImplementation(new Implementation()));
+        return implementationPackage;
+    }
+
+    private static <T extends ComputeResource> T fillComputeResource(T computeResource) {
+        computeResource.setId(UUID.randomUUID());
+        computeResource.setName("ComputeResource");
+        computeResource.setVendor("Vendor");
+        computeResource.setTechnology("Technology");
+        computeResource.setQuantumComputationModel(QuantumComputationModel.GATE_BASED);
+        return computeResource;
+    }
+}
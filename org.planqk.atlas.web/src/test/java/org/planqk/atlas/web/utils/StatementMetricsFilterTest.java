@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.atlas.web.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import javax.servlet.FilterChain;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.planqk.atlas.core.util.StatementMonitor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+
+public class StatementMetricsFilterTest {
+
+    private final StatementMonitor statementMonitor = new StatementMonitor(-1, 5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void initialize() throws SQLException {
+        final Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        final DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = statementMonitor.wrap(target);
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_RecordsStatementsOfHandler() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/algorithms");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new StatementMetricsFilter(statementMonitor, meterRegistry, false).doFilter(request, response,
+                executeStatements(2, new HandlerMethod(new TestController(), "getAlgorithms")));
+
+        assertThat(meterRegistry.get(StatementMetricsFilter.STATEMENTS_METRIC)
+                .tag("handler", "TestController.getAlgorithms").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get(StatementMetricsFilter.TIME_METRIC)
+                .tag("handler", "TestController.getAlgorithms").timer().count()).isEqualTo(1);
+        assertThat(response.getHeader(StatementMetricsFilter.SERVER_TIMING_HEADER)).isNull();
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_AddsServerTimingBeforeBody() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/unknown");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new StatementMetricsFilter(statementMonitor, meterRegistry, true).doFilter(request, response,
+                (filterRequest, filterResponse) -> {
+                    executeStatements(1, null).doFilter(filterRequest, filterResponse);
+                    filterResponse.getWriter().write("body");
+                    // executed after the header was sent
+                    executeStatements(1, null).doFilter(filterRequest, filterResponse);
+                });
+
+        assertThat(response.getHeader(StatementMetricsFilter.SERVER_TIMING_HEADER))
+                .startsWith("db;desc=\"1 statements\";dur=");
+        assertThat(meterRegistry.get(StatementMetricsFilter.STATEMENTS_METRIC)
+                .tag("handler", "none").summary().totalAmount()).isEqualTo(2);
+    }
+
+    private FilterChain executeStatements(int count, HandlerMethod handler) {
+        return (request, response) -> {
+            if (handler != null) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                for (int i = 0; i < count; i++) {
+                    connection.prepareStatement("select " + i).executeQuery();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static class TestController {
+
+        public void getAlgorithms() {
+        }
+    }
+}